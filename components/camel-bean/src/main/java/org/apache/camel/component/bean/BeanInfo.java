@@ -29,6 +29,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.camel.Body;
 import org.apache.camel.CamelContext;
@@ -66,6 +69,8 @@ public class BeanInfo {
     private static final String BYTE_BUDDY_METHOD_MARKER = "$accessor$";
     private static final String CLIENT_PROXY_SUFFIX = "_ClientProxy";
     private static final String SUBCLASS_SUFFIX = "_Subclass";
+    private static final int CHOSEN_METHODS_MAX_SIZE = 1000;
+    private static final Expression EXCEPTION_EXPRESSION = ExpressionBuilder.exchangeExceptionExpression();
     private static final String[] EXCLUDED_METHOD_NAMES = new String[] {
             "equals", "finalize", "getClass", "hashCode", "notify", "notifyAll", "wait", // java.lang.Object
             "getInvocationHandler", "getProxyClass", "isProxyClass", "newProxyInstance" // java.lang.Proxy
@@ -82,6 +87,8 @@ public class BeanInfo {
     private List<MethodInfo> operationsWithCustomAnnotation = new ArrayList<>();
     private List<MethodInfo> operationsWithHandlerAnnotation = new ArrayList<>();
     private Map<Method, MethodInfo> methodMap = new HashMap<>();
+    // the methods chosen among overloaded methods, which are shared with the cached bean info
+    private ConcurrentMap<ChosenMethodKey, MethodInfo> chosenMethods = new ConcurrentHashMap<>();
     private boolean publicConstructors;
     private boolean publicNoArgConstructors;
 
@@ -120,6 +127,7 @@ public class BeanInfo {
             operationsWithCustomAnnotation = beanInfo.operationsWithCustomAnnotation;
             operationsWithHandlerAnnotation = beanInfo.operationsWithHandlerAnnotation;
             methodMap = beanInfo.methodMap;
+            chosenMethods = beanInfo.chosenMethods;
             publicConstructors = beanInfo.publicConstructors;
             publicNoArgConstructors = beanInfo.publicNoArgConstructors;
             return;
@@ -234,7 +242,7 @@ public class BeanInfo {
 
                     // but first let's try to choose a method and see if that complies with the name
                     // must use the method name which may have qualifiers
-                    methodInfo = chooseMethod(pojo, exchange, methodName);
+                    methodInfo = chooseMethodCached(pojo, exchange, methodName);
 
                     // validate that if we want an explicit no-arg method, then that's what we get
                     if (emptyParameters) {
@@ -256,7 +264,7 @@ public class BeanInfo {
 
         if (methodInfo == null && methodMap.size() >= 2) {
             // only try to choose if there is at least 2 methods
-            methodInfo = chooseMethod(pojo, exchange, null);
+            methodInfo = chooseMethodCached(pojo, exchange, null);
         }
         if (methodInfo == null) {
             methodInfo = defaultMethod;
@@ -483,6 +491,38 @@ public class BeanInfo {
         }
     }
 
+    /**
+     * Choose one of the available methods to invoke, and remember the chosen method for the type of the message body,
+     * so the overloaded methods do not have to be matched again for the next message with the same type of body.
+     *
+     * @see #chooseMethod(Object, Exchange, String)
+     */
+    private MethodInfo chooseMethodCached(Object pojo, Exchange exchange, String name)
+            throws AmbiguousMethodCallException {
+        // hardcoded parameter values are matched by their values, so the chosen method cannot be cached
+        if (name != null && name.indexOf('(') != -1 && !name.endsWith("()")) {
+            return chooseMethod(pojo, exchange, name);
+        }
+
+        Message in = exchange.getIn();
+        Object body = in.getBody();
+        ChosenMethodKey key = new ChosenMethodKey(
+                name, body != null ? body.getClass() : null, exchange.getPattern().isOutCapable(),
+                EXCEPTION_EXPRESSION.evaluate(exchange, Exception.class) != null);
+        MethodInfo answer = chosenMethods.get(key);
+        if (answer != null) {
+            LOG.trace("Using cached chosen method: {} for body type: {}", answer, key.bodyType);
+            return answer;
+        }
+
+        answer = chooseMethod(pojo, exchange, name);
+        // only cache when the body was not converted to choose the method, as the conversion depends on the value
+        if (answer != null && in.getBody() == body && chosenMethods.size() < CHOSEN_METHODS_MAX_SIZE) {
+            chosenMethods.putIfAbsent(key, answer);
+        }
+        return answer;
+    }
+
     /**
      * Choose one of the available methods to invoke if we can match the message body to the body parameter
      *
@@ -1318,4 +1358,41 @@ public class BeanInfo {
         return name;
     }
 
+    /**
+     * Key for the methods chosen among overloaded methods.
+     */
+    private static final class ChosenMethodKey {
+        private final String name;
+        private final Class<?> bodyType;
+        private final boolean outCapable;
+        private final boolean exception;
+        private final int hash;
+
+        ChosenMethodKey(String name, Class<?> bodyType, boolean outCapable, boolean exception) {
+            this.name = name;
+            this.bodyType = bodyType;
+            this.outCapable = outCapable;
+            this.exception = exception;
+            this.hash = Objects.hash(name, bodyType, outCapable, exception);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ChosenMethodKey that = (ChosenMethodKey) o;
+            return outCapable == that.outCapable && exception == that.exception && bodyType == that.bodyType
+                    && Objects.equals(name, that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
 }
@@ -17,6 +17,9 @@
 package org.apache.camel.component.bean;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -63,12 +66,14 @@ import org.slf4j.LoggerFactory;
 
 import static org.apache.camel.util.ObjectHelper.asList;
 import static org.apache.camel.util.ObjectHelper.asString;
+import static org.apache.camel.util.ObjectHelper.convertPrimitiveTypeToWrapperType;
 
 /**
  * Information about a method to be used for invocation.
  */
 public class MethodInfo {
     private static final Logger LOG = LoggerFactory.getLogger(MethodInfo.class);
+    private static final Object[] EMPTY_ARGUMENTS = new Object[0];
 
     private CamelContext camelContext;
     private Class<?> type;
@@ -78,6 +83,11 @@ public class MethodInfo {
     private final boolean hasCustomAnnotation;
     private final boolean hasHandlerAnnotation;
     private Expression parametersExpression;
+    private volatile boolean parametersExpressionInitialized;
+    private final boolean staticMethod;
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] argumentTypes;
+    private final MethodHandle methodHandle;
     private ExchangePattern pattern = ExchangePattern.InOut;
     private AsyncProcessor recipientList;
     private AsyncProcessor routingSlip;
@@ -121,6 +131,10 @@ public class MethodInfo {
         this.hasCustomAnnotation = hasCustomAnnotation;
         this.hasHandlerAnnotation = hasHandlerAnnotation;
         this.parametersExpression = createParametersExpression();
+        this.staticMethod = Modifier.isStatic(method.getModifiers());
+        this.parameterTypes = method.getParameterTypes();
+        this.argumentTypes = createArgumentTypes(parameterTypes);
+        this.methodHandle = createMethodHandle(method);
 
         Map<Class<?>, Annotation> collectedMethodAnnotation = collectMethodAnnotations(type, method);
 
@@ -258,7 +272,11 @@ public class MethodInfo {
     private Object[] initializeArguments(boolean hasParameters, Exchange exchange) {
         if (hasParameters) {
             if (parametersExpression != null) {
-                parametersExpression.init(camelContext);
+                if (!parametersExpressionInitialized) {
+                    // the parameter expressions only need to be initialized once
+                    parametersExpression.init(camelContext);
+                    parametersExpressionInitialized = true;
+                }
 
                 return parametersExpression.evaluate(exchange, Object[].class);
             }
@@ -475,7 +493,7 @@ public class MethodInfo {
     }
 
     public boolean isStaticMethod() {
-        return Modifier.isStatic(method.getModifiers());
+        return staticMethod;
     }
 
     /**
@@ -490,6 +508,15 @@ public class MethodInfo {
     }
 
     protected Object invoke(Method mth, Object pojo, Object[] arguments, Exchange exchange) throws InvocationTargetException {
+        if (mth == method && methodHandle != null && isMatchingArguments(pojo, arguments)) {
+            Object[] args = arguments != null ? arguments : EMPTY_ARGUMENTS;
+            try {
+                return (Object) methodHandle.invokeExact(pojo, args);
+            } catch (Throwable e) {
+                // wrap the exception the same way as when the method is invoked by reflection
+                throw new InvocationTargetException(e);
+            }
+        }
         try {
             return ObjectHelper.invokeMethodSafe(mth, pojo, arguments);
         } catch (IllegalAccessException e) {
@@ -503,6 +530,60 @@ public class MethodInfo {
         }
     }
 
+    /**
+     * Whether the bean and arguments can be passed to the method handle as-is. Otherwise the method is invoked by
+     * reflection, which widens primitive values, and fails with the same exceptions as before for invalid arguments.
+     */
+    private boolean isMatchingArguments(Object pojo, Object[] arguments) {
+        if (!staticMethod && !method.getDeclaringClass().isInstance(pojo)) {
+            return false;
+        }
+        int size = arguments != null ? arguments.length : 0;
+        if (size != argumentTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            Object argument = arguments[i];
+            if (argument == null ? parameterTypes[i].isPrimitive() : !argumentTypes[i].isInstance(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a method handle which takes the bean and an array of the arguments, and returns the result, so the
+     * method can be invoked without the overhead of reflection.
+     *
+     * @return the method handle, or <tt>null</tt> if the method cannot be accessed, and is invoked by reflection
+     */
+    private static MethodHandle createMethodHandle(Method method) {
+        try {
+            if (!method.trySetAccessible()) {
+                return null;
+            }
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            int size = method.getParameterCount();
+            if (Modifier.isStatic(method.getModifiers())) {
+                // ignore the bean when invoking a static method
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.genericMethodType(size + 1)).asSpreader(Object[].class, size);
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOG.debug("Cannot create method handle for method: {} due to: {}. The method is invoked by reflection.",
+                    method, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Class<?>[] createArgumentTypes(Class<?>[] types) {
+        Class<?>[] answer = new Class<?>[types.length];
+        for (int i = 0; i < types.length; i++) {
+            answer[i] = convertPrimitiveTypeToWrapperType(types[i]);
+        }
+        return answer;
+    }
+
     protected Expression[] createParameterExpressions() {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
@@ -608,7 +689,7 @@ public class MethodInfo {
                 // grab the parameter value for the given index
                 Object parameterValue = it != null && it.hasNext() ? it.next() : null;
                 // and the expected parameter type
-                Class<?> parameterType = parameters.get(i).getType();
+                Class<?> parameterType = parameterTypes[i];
                 // the value for the parameter to use
                 Object value = null;
 
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.apache.camel.spi.ThrottlerStateRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A {@link ThrottlerStateRepository} backed by a Hazelcast map, which allows several Camel instances to enforce one
+ * throttle rate.
+ * <p/>
+ * The entries are stored with a time to live until their theoretical arrival time has passed (which is at most about
+ * one throttle period ahead), as a state in the past allows the same as no state at all.
+ */
+public class HazelcastThrottlerStateRepository extends ServiceSupport implements ThrottlerStateRepository {
+
+    private String repositoryName;
+    private IMap<String, Long> repo;
+    private HazelcastInstance hazelcastInstance;
+
+    public HazelcastThrottlerStateRepository(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, HazelcastThrottlerStateRepository.class.getSimpleName());
+    }
+
+    public HazelcastThrottlerStateRepository(HazelcastInstance hazelcastInstance, String repositoryName) {
+        this.repositoryName = repositoryName;
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        repo = hazelcastInstance.getMap(repositoryName);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // noop
+    }
+
+    @Override
+    public long get(String key) {
+        Long value = repo.get(key);
+        return value != null ? value : 0;
+    }
+
+    @Override
+    public boolean compareAndSet(String key, long expect, long update) {
+        long ttl = timeToLive(update);
+        if (expect == 0) {
+            return repo.putIfAbsent(key, update, ttl, TimeUnit.MILLISECONDS) == null;
+        }
+        if (repo.replace(key, expect, update)) {
+            // replace does not take a time to live, so extend it for the new state
+            repo.setTtl(key, ttl, TimeUnit.MILLISECONDS);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The time to live in millis of the given theoretical arrival time, with a second of margin as the clocks of the
+     * Camel instances may differ.
+     */
+    protected long timeToLive(long update) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(update) - System.currentTimeMillis();
+        return Math.max(0, remaining) + 1000;
+    }
+
+    @Override
+    public void clear() {
+        repo.clear();
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+}
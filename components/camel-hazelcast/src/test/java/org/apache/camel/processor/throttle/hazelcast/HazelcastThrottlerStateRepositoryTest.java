@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.ThrottlerRejectedExecutionException;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class HazelcastThrottlerStateRepositoryTest extends CamelTestSupport {
+
+    private HazelcastInstance hazelcastInstance;
+    private HazelcastThrottlerStateRepository repo;
+
+    @BeforeAll
+    void setupHazelcast() throws Exception {
+        hazelcastInstance = Hazelcast.newHazelcastInstance(null);
+        repo = new HazelcastThrottlerStateRepository(hazelcastInstance, "myThrottle");
+        repo.start();
+    }
+
+    @AfterAll
+    void teardownHazelcast() {
+        hazelcastInstance.getLifecycleService().terminate();
+    }
+
+    @BeforeEach
+    void clearRepo() {
+        repo.clear();
+    }
+
+    @Test
+    public void testCompareAndSet() {
+        assertEquals(0, repo.get("foo"));
+
+        assertTrue(repo.compareAndSet("foo", 0, 100));
+        assertFalse(repo.compareAndSet("foo", 0, 200));
+        assertEquals(100, repo.get("foo"));
+
+        assertFalse(repo.compareAndSet("foo", 99, 200));
+        assertTrue(repo.compareAndSet("foo", 100, 200));
+        assertEquals(200, repo.get("foo"));
+    }
+
+    @Test
+    public void testSharedRate() throws Exception {
+        // the two routes act as two instances enforcing the same rate of 2 messages per minute
+        assertNull(template.send("direct:a", e -> e.getMessage().setBody("A")).getException());
+        assertNull(template.send("direct:b", e -> e.getMessage().setBody("B")).getException());
+
+        Exchange out = template.send("direct:a", e -> e.getMessage().setBody("C"));
+        assertTrue(out.getException() instanceof ThrottlerRejectedExecutionException);
+        out = template.send("direct:b", e -> e.getMessage().setBody("D"));
+        assertTrue(out.getException() instanceof ThrottlerRejectedExecutionException);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(noErrorHandler());
+
+                from("direct:a")
+                        .throttle(2).timePeriodMillis(60000).rejectExecution(true).stateRepository(repo)
+                        .to("mock:result");
+
+                from("direct:b")
+                        .throttle(2).timePeriodMillis(60000).rejectExecution(true).stateRepository(repo)
+                        .to("mock:result");
+            }
+        };
+    }
+}
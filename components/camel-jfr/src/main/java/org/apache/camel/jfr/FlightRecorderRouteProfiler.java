@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jdk.jfr.FlightRecorder;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.NamedNode;
+import org.apache.camel.NamedRoute;
+import org.apache.camel.Processor;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+
+/**
+ * A sampling profiler of the steps in the routes, which has a low overhead so it can be used on busy routes in
+ * production.
+ * <p/>
+ * For 1 in every {@link #getSampleRate()} exchanges, the time spent in each step of the routes is recorded, including
+ * whether the step was completed by another thread than it began on (an async hop). The steps are emitted as
+ * {@link FlightRecorderRouteStep} events to Java Flight Recorder, and are kept in a fixed-size ring buffer of the most
+ * recent steps, which can be dumped as folded stacks for building flame graphs. Whether an exchange is sampled is
+ * decided from its exchange id, and a sampled exchange is marked with an exchange property, which the sub exchanges
+ * created by the split and multicast EIPs inherit, so an exchange is profiled together with its sub exchanges. The
+ * exchanges which are not sampled are not marked, and only pay for looking up the mark and hashing the exchange id, at
+ * each step.
+ * <p/>
+ * The profiler is enabled by adding it as an {@link InterceptStrategy} to the {@link CamelContext}, such as by binding
+ * it to the registry when using Camel Main.
+ */
+public class FlightRecorderRouteProfiler implements InterceptStrategy {
+
+    /**
+     * The exchange property marking that the exchange is sampled, which is copied to its sub exchanges
+     */
+    public static final String SAMPLED = "CamelJfrRouteProfilerSampled";
+
+    private int sampleRate = 100;
+    private int bufferSize = 4096;
+    private volatile boolean enabled = true;
+    private AtomicReferenceArray<RouteStepSample> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public FlightRecorderRouteProfiler() {
+        FlightRecorder.register(FlightRecorderRouteStep.class);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * To sample 1 in every N exchanges. Setting this to 1 samples every exchange. The default is 100.
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * The number of the most recent steps to keep in the ring buffer, which is rounded up to a power of two. The
+     * default is 4096.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * To turn sampling on or off at runtime.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(
+            CamelContext context, NamedNode definition, Processor target, Processor nextTarget)
+            throws Exception {
+        return new ProfilingProcessor(definition, target);
+    }
+
+    /**
+     * Whether the exchange is sampled. A sampled exchange is marked by an exchange property at its first step, so all
+     * the steps of the exchange and its sub exchanges are sampled. The exchanges which are not sampled are not marked,
+     * and the decision is made again at each step, which gives the same answer for the same exchange id.
+     */
+    protected boolean isSampled(Exchange exchange) {
+        if (!enabled) {
+            return false;
+        }
+        if (exchange.getProperty(SAMPLED) != null) {
+            return true;
+        }
+        if (exchange.getProperty(ExchangePropertyKey.CORRELATION_ID) != null) {
+            // a sub exchange is only sampled together with the exchange it was created from, which was not sampled
+            return false;
+        }
+        if (sampleRate == 1 || isSampled(exchange.getExchangeId())) {
+            exchange.setProperty(SAMPLED, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isSampled(String exchangeId) {
+        // spread the hash code, as the exchange ids are sequential
+        int hash = exchangeId.hashCode() * 0x9E3779B9;
+        return (hash >>> 1) % sampleRate == 0;
+    }
+
+    /**
+     * The most recent steps of the sampled exchanges, oldest first
+     */
+    public List<RouteStepSample> getSamples() {
+        AtomicReferenceArray<RouteStepSample> steps = getBuffer();
+        long end = sequence.get();
+        long begin = Math.max(0, end - steps.length());
+        List<RouteStepSample> answer = new ArrayList<>((int) (end - begin));
+        for (long i = begin; i < end; i++) {
+            RouteStepSample sample = steps.get((int) (i & (steps.length() - 1)));
+            if (sample != null) {
+                answer.add(sample);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Dumps the most recent steps as folded stacks, with a line per stack followed by the time spent in the step itself
+     * (excluding the nested steps) in microseconds, which is the input format for building flame graphs.
+     */
+    public String dumpFoldedStacks() {
+        Map<String, Long> totals = new TreeMap<>();
+        for (RouteStepSample sample : getSamples()) {
+            totals.merge(sample.getStack(), sample.getDurationNanos(), Long::sum);
+        }
+        Map<String, Long> self = new TreeMap<>(totals);
+        for (Map.Entry<String, Long> entry : totals.entrySet()) {
+            // subtract from the nearest parent step, as not all nodes are steps (such as when in a choice)
+            String parent = entry.getKey();
+            int pos = parent.lastIndexOf(';');
+            while (pos > 0) {
+                parent = parent.substring(0, pos);
+                if (self.containsKey(parent)) {
+                    self.merge(parent, -entry.getValue(), Long::sum);
+                    break;
+                }
+                pos = parent.lastIndexOf(';');
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> entry : self.entrySet()) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, entry.getValue()));
+            sb.append(entry.getKey()).append(' ').append(micros).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Clears the recorded steps
+     */
+    public void clear() {
+        AtomicReferenceArray<RouteStepSample> steps = getBuffer();
+        for (int i = 0; i < steps.length(); i++) {
+            steps.set(i, null);
+        }
+    }
+
+    private AtomicReferenceArray<RouteStepSample> getBuffer() {
+        if (buffer == null) {
+            synchronized (this) {
+                if (buffer == null) {
+                    int size = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+                    buffer = new AtomicReferenceArray<>(size);
+                }
+            }
+        }
+        return buffer;
+    }
+
+    private void record(RouteStepSample sample) {
+        AtomicReferenceArray<RouteStepSample> steps = getBuffer();
+        // claim the next slot, which overwrites the oldest step when the buffer is full
+        long index = sequence.getAndIncrement();
+        steps.set((int) (index & (steps.length() - 1)), sample);
+    }
+
+    private static String stackOf(NamedNode definition) {
+        List<String> ids = new ArrayList<>();
+        NamedNode node = definition;
+        while (node != null) {
+            if (node instanceof NamedRoute) {
+                ids.add(((NamedRoute) node).getRouteId());
+                break;
+            }
+            ids.add(idOf(node));
+            node = node.getParent();
+        }
+        Collections.reverse(ids);
+        return String.join(";", ids);
+    }
+
+    private static String routeIdOf(NamedNode definition) {
+        NamedNode node = definition;
+        while (node != null) {
+            if (node instanceof NamedRoute) {
+                return ((NamedRoute) node).getRouteId();
+            }
+            node = node.getParent();
+        }
+        return null;
+    }
+
+    private static String idOf(NamedNode node) {
+        return node.getId() != null ? node.getId() : node.getShortName();
+    }
+
+    private final class ProfilingProcessor extends DelegateAsyncProcessor {
+
+        private final String routeId;
+        private final String nodeId;
+        private final String shortName;
+        private final String stack;
+
+        ProfilingProcessor(NamedNode definition, Processor target) {
+            super(target);
+            this.routeId = routeIdOf(definition);
+            this.nodeId = idOf(definition);
+            this.shortName = definition.getShortName();
+            this.stack = stackOf(definition);
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            if (!isSampled(exchange)) {
+                return processor.process(exchange, callback);
+            }
+
+            final FlightRecorderRouteStep event = new FlightRecorderRouteStep();
+            event.begin();
+            final Thread beginThread = Thread.currentThread();
+            final long begin = System.nanoTime();
+            return processor.process(exchange, doneSync -> {
+                try {
+                    long duration = System.nanoTime() - begin;
+                    Thread endThread = Thread.currentThread();
+                    // compare the threads by identity, as virtual threads have no name and pool threads may share names
+                    boolean asyncHop = beginThread != endThread;
+                    boolean failed = exchange.isFailed();
+                    record(new RouteStepSample(
+                            routeId, nodeId, shortName, stack, exchange.getExchangeId(), begin, duration,
+                            beginThread.getName(), endThread.getName(), asyncHop, failed));
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.routeId = routeId;
+                        event.nodeId = nodeId;
+                        event.processor = shortName;
+                        event.stack = stack;
+                        event.exchangeId = exchange.getExchangeId();
+                        event.beginThread = beginThread;
+                        event.asyncHop = asyncHop;
+                        event.failed = failed;
+                        event.commit();
+                    }
+                } finally {
+                    callback.done(doneSync);
+                }
+            });
+        }
+
+        @Override
+        public String toString() {
+            return "Profiling[" + stack + "]";
+        }
+    }
+
+}
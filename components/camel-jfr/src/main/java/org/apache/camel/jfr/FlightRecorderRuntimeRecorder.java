@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.FlightRecorder;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.VetoCamelContextStartException;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeCompletedEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeCreatedEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeFailedEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeRedeliveryEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeSentEvent;
+import org.apache.camel.support.EventNotifierSupport;
+import org.apache.camel.support.LifecycleStrategySupport;
+import org.apache.camel.util.URISupport;
+
+/**
+ * To emit runtime events to Java Flight Recorder, for diagnosing latency in production with the standard JDK tooling.
+ * <p/>
+ * The exchanges which are completed, and sent to endpoints, are recorded when they took at least
+ * {@link #getThreshold()} millis, and the exchanges which are created are only recorded when there is no threshold.
+ * Failed exchanges, redelivery attempts and tasks rejected by thread pools are always recorded. The depth of the SEDA
+ * queues (when camel-seda is on the classpath) and the usage of the thread pools created by Camel are recorded
+ * periodically. Only thread pools backed by a {@link ThreadPoolExecutor} are recorded, so the executors of the virtual
+ * thread based {@link org.apache.camel.spi.ThreadPoolFactory} are not.
+ * <p/>
+ * The recorder is enabled by adding it as a {@link org.apache.camel.spi.LifecycleStrategy} to the
+ * {@link CamelContext} before it is started, such as by binding it to the registry when using Camel Main.
+ */
+public class FlightRecorderRuntimeRecorder extends LifecycleStrategySupport {
+
+    private boolean enabled = true;
+    private long threshold;
+    private final Map<ThreadPoolExecutor, RecordingRejectedExecutionHandler> threadPools = new ConcurrentHashMap<>();
+    private RuntimeEventNotifier notifier;
+    private Runnable sedaQueueHook;
+    private Runnable threadPoolHook;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the recorder is enabled. The default is true.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * The minimum time in millis an exchange must take to be recorded when it is completed or sent to an endpoint. The
+     * default is 0, which records all exchanges, including when they are created.
+     */
+    public void setThreshold(long threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void onContextStarting(CamelContext context) throws VetoCamelContextStartException {
+        if (!enabled || notifier != null) {
+            return;
+        }
+
+        FlightRecorder.register(FlightRecorderExchangeCreated.class);
+        FlightRecorder.register(FlightRecorderExchangeCompleted.class);
+        FlightRecorder.register(FlightRecorderExchangeFailed.class);
+        FlightRecorder.register(FlightRecorderEndpointSend.class);
+        FlightRecorder.register(FlightRecorderExchangeRedelivery.class);
+        FlightRecorder.register(FlightRecorderAggregateCompleted.class);
+        FlightRecorder.register(FlightRecorderThreadPoolRejected.class);
+
+        notifier = new RuntimeEventNotifier();
+        notifier.setIgnoreCamelContextEvents(true);
+        notifier.setIgnoreRouteEvents(true);
+        notifier.setIgnoreServiceEvents(true);
+        notifier.setIgnoreStepEvents(true);
+        // the sending events are not recorded, but must be accepted, as otherwise the sent events are not emitted
+        // created exchanges have taken no time yet, so they are only of interest when there is no threshold
+        notifier.setIgnoreExchangeCreatedEvent(threshold > 0);
+        context.getManagementStrategy().addEventNotifier(notifier);
+
+        // camel-seda is optional, so only refer to the seda endpoint when it is on the classpath
+        if (context.getClassResolver().resolveClass(FlightRecorderSedaQueueHook.SEDA_ENDPOINT) != null) {
+            sedaQueueHook = new FlightRecorderSedaQueueHook(context);
+            FlightRecorder.addPeriodicEvent(FlightRecorderSedaQueue.class, sedaQueueHook);
+        }
+        threadPoolHook = this::recordThreadPools;
+        FlightRecorder.addPeriodicEvent(FlightRecorderThreadPool.class, threadPoolHook);
+    }
+
+    @Override
+    public void onContextStopped(CamelContext context) {
+        if (notifier == null) {
+            return;
+        }
+        context.getManagementStrategy().removeEventNotifier(notifier);
+        if (sedaQueueHook != null) {
+            FlightRecorder.removePeriodicEvent(sedaQueueHook);
+        }
+        FlightRecorder.removePeriodicEvent(threadPoolHook);
+        notifier = null;
+        sedaQueueHook = null;
+        threadPoolHook = null;
+    }
+
+    @Override
+    public void onThreadPoolAdd(
+            CamelContext camelContext, ThreadPoolExecutor threadPool, String id, String sourceId, String routeId,
+            String threadPoolProfileId) {
+        if (!enabled) {
+            return;
+        }
+        RecordingRejectedExecutionHandler handler
+                = new RecordingRejectedExecutionHandler(threadPool.getRejectedExecutionHandler(), id, routeId);
+        threadPool.setRejectedExecutionHandler(handler);
+        threadPools.put(threadPool, handler);
+    }
+
+    @Override
+    public void onThreadPoolRemove(CamelContext camelContext, ThreadPoolExecutor threadPool) {
+        RecordingRejectedExecutionHandler handler = threadPools.remove(threadPool);
+        if (handler != null && threadPool.getRejectedExecutionHandler() == handler) {
+            threadPool.setRejectedExecutionHandler(handler.delegate);
+        }
+    }
+
+    private void recordThreadPools() {
+        for (Map.Entry<ThreadPoolExecutor, RecordingRejectedExecutionHandler> entry : threadPools.entrySet()) {
+            ThreadPoolExecutor threadPool = entry.getKey();
+            RecordingRejectedExecutionHandler handler = entry.getValue();
+            FlightRecorderThreadPool event = new FlightRecorderThreadPool();
+            event.id = handler.id;
+            event.routeId = handler.routeId;
+            event.activeCount = threadPool.getActiveCount();
+            event.poolSize = threadPool.getPoolSize();
+            event.maxPoolSize = threadPool.getMaximumPoolSize();
+            event.queueSize = threadPool.getQueue().size();
+            event.rejectedCount = handler.rejected.sum();
+            event.saturated = event.activeCount >= event.maxPoolSize;
+            event.commit();
+        }
+    }
+
+    private static String endpointOf(Endpoint endpoint) {
+        return endpoint != null ? URISupport.sanitizeUri(endpoint.getEndpointUri()) : null;
+    }
+
+    private final class RuntimeEventNotifier extends EventNotifierSupport {
+
+        @Override
+        public void notify(CamelEvent event) throws Exception {
+            if (event instanceof ExchangeSentEvent) {
+                onExchangeSent((ExchangeSentEvent) event);
+            } else if (event instanceof ExchangeCompletedEvent) {
+                onExchangeCompleted(((ExchangeCompletedEvent) event).getExchange());
+            } else if (event instanceof ExchangeFailedEvent) {
+                onExchangeFailed(((ExchangeFailedEvent) event).getExchange());
+            } else if (event instanceof ExchangeRedeliveryEvent) {
+                onExchangeRedelivery((ExchangeRedeliveryEvent) event);
+            } else if (event instanceof ExchangeCreatedEvent) {
+                onExchangeCreated(((ExchangeCreatedEvent) event).getExchange());
+            }
+        }
+
+        private void onExchangeCreated(Exchange exchange) {
+            FlightRecorderExchangeCreated event = new FlightRecorderExchangeCreated();
+            if (event.isEnabled()) {
+                event.exchangeId = exchange.getExchangeId();
+                event.endpoint = endpointOf(exchange.getFromEndpoint());
+                event.commit();
+            }
+        }
+
+        private void onExchangeCompleted(Exchange exchange) {
+            long elapsed = System.currentTimeMillis() - exchange.getCreated();
+            if (elapsed < threshold) {
+                return;
+            }
+            String completedBy = exchange.getProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, String.class);
+            if (completedBy != null) {
+                FlightRecorderAggregateCompleted event = new FlightRecorderAggregateCompleted();
+                if (event.isEnabled()) {
+                    event.routeId = exchange.getFromRouteId();
+                    event.exchangeId = exchange.getExchangeId();
+                    event.correlationKey
+                            = exchange.getProperty(ExchangePropertyKey.AGGREGATED_CORRELATION_KEY, String.class);
+                    event.completedBy = completedBy;
+                    Integer size = exchange.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, Integer.class);
+                    event.size = size != null ? size : 0;
+                    event.elapsed = elapsed;
+                    event.commit();
+                }
+            }
+            FlightRecorderExchangeCompleted event = new FlightRecorderExchangeCompleted();
+            if (event.isEnabled()) {
+                event.routeId = exchange.getFromRouteId();
+                event.exchangeId = exchange.getExchangeId();
+                event.endpoint = endpointOf(exchange.getFromEndpoint());
+                event.elapsed = elapsed;
+                event.commit();
+            }
+        }
+
+        private void onExchangeFailed(Exchange exchange) {
+            FlightRecorderExchangeFailed event = new FlightRecorderExchangeFailed();
+            if (event.isEnabled()) {
+                event.routeId = exchange.getFromRouteId();
+                event.exchangeId = exchange.getExchangeId();
+                event.endpoint = endpointOf(exchange.getFromEndpoint());
+                event.elapsed = System.currentTimeMillis() - exchange.getCreated();
+                Exception cause = exchange.getException();
+                if (cause != null) {
+                    event.exception = cause.getClass().getName();
+                    event.message = cause.getMessage();
+                }
+                event.commit();
+            }
+        }
+
+        private void onExchangeRedelivery(ExchangeRedeliveryEvent redelivery) {
+            FlightRecorderExchangeRedelivery event = new FlightRecorderExchangeRedelivery();
+            if (event.isEnabled()) {
+                Exchange exchange = redelivery.getExchange();
+                event.routeId = exchange.getFromRouteId();
+                event.exchangeId = exchange.getExchangeId();
+                event.attempt = redelivery.getAttempt();
+                Exception cause = exchange.getException();
+                if (cause == null) {
+                    cause = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class);
+                }
+                if (cause != null) {
+                    event.exception = cause.getClass().getName();
+                    event.message = cause.getMessage();
+                }
+                event.commit();
+            }
+        }
+
+        private void onExchangeSent(ExchangeSentEvent sent) {
+            if (sent.getTimeTaken() < threshold) {
+                return;
+            }
+            FlightRecorderEndpointSend event = new FlightRecorderEndpointSend();
+            if (event.isEnabled()) {
+                Exchange exchange = sent.getExchange();
+                event.routeId = exchange.getFromRouteId();
+                event.exchangeId = exchange.getExchangeId();
+                event.endpoint = endpointOf(sent.getEndpoint());
+                event.timeTaken = sent.getTimeTaken();
+                event.failed = exchange.isFailed();
+                event.commit();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "FlightRecorderRuntimeEventNotifier";
+        }
+    }
+
+    private static final class RecordingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler delegate;
+        private final String id;
+        private final String routeId;
+        private final LongAdder rejected = new LongAdder();
+
+        RecordingRejectedExecutionHandler(RejectedExecutionHandler delegate, String id, String routeId) {
+            this.delegate = delegate;
+            this.id = id;
+            this.routeId = routeId;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            rejected.increment();
+            FlightRecorderThreadPoolRejected event = new FlightRecorderThreadPoolRejected();
+            if (event.isEnabled()) {
+                event.id = id;
+                event.routeId = routeId;
+                event.activeCount = executor.getActiveCount();
+                event.maxPoolSize = executor.getMaximumPoolSize();
+                event.queueSize = executor.getQueue().size();
+                event.commit();
+            }
+            delegate.rejectedExecution(task, executor);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.component.seda.SedaEndpoint;
+import org.apache.camel.util.URISupport;
+
+/**
+ * Records the depth of the queues of the SEDA endpoints. This is a separate class as camel-seda is an optional
+ * dependency, so it is only loaded when the SEDA endpoint is on the classpath.
+ */
+final class FlightRecorderSedaQueueHook implements Runnable {
+
+    static final String SEDA_ENDPOINT = "org.apache.camel.component.seda.SedaEndpoint";
+
+    private final CamelContext camelContext;
+
+    FlightRecorderSedaQueueHook(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public void run() {
+        for (Endpoint endpoint : camelContext.getEndpoints()) {
+            if (endpoint instanceof SedaEndpoint) {
+                SedaEndpoint seda = (SedaEndpoint) endpoint;
+                if (!seda.isStarted()) {
+                    continue;
+                }
+                FlightRecorderSedaQueue event = new FlightRecorderSedaQueue();
+                event.endpoint = URISupport.sanitizeUri(seda.getEndpointUri());
+                event.queueSize = seda.getQueue().size();
+                event.capacity = seda.getSize();
+                event.concurrentConsumers = seda.getConcurrentConsumers();
+                event.commit();
+            }
+        }
+    }
+}
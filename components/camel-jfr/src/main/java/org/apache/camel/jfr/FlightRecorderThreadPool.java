@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+@Name(FlightRecorderThreadPool.NAME)
+@Category({ "Camel Application", "Runtime" })
+@Label("Thread Pool")
+@Description("The usage of a thread pool created by Camel")
+@StackTrace(false)
+@Period("5 s")
+public class FlightRecorderThreadPool extends Event {
+
+    public static final String NAME = "org.apache.camel.ThreadPool";
+
+    @Label("Id")
+    public String id;
+    @Label("Route Id")
+    public String routeId;
+    @Label("Active Count")
+    public int activeCount;
+    @Label("Pool Size")
+    public int poolSize;
+    @Label("Max Pool Size")
+    public int maxPoolSize;
+    @Label("Queue Size")
+    public int queueSize;
+    @Label("Rejected Count")
+    @Description("The number of tasks rejected since the thread pool was created")
+    public long rejectedCount;
+    @Label("Saturated")
+    @Description("Whether all the threads are busy, so new tasks are queued or rejected")
+    public boolean saturated;
+
+}
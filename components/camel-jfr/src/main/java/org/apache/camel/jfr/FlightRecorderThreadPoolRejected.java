@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(FlightRecorderThreadPoolRejected.NAME)
+@Category({ "Camel Application", "Runtime" })
+@Label("Thread Pool Rejected")
+@Description("A task was rejected by a thread pool created by Camel, which is recorded regardless of the threshold")
+public class FlightRecorderThreadPoolRejected extends Event {
+
+    public static final String NAME = "org.apache.camel.ThreadPoolRejected";
+
+    @Label("Id")
+    public String id;
+    @Label("Route Id")
+    public String routeId;
+    @Label("Active Count")
+    public int activeCount;
+    @Label("Max Pool Size")
+    public int maxPoolSize;
+    @Label("Queue Size")
+    public int queueSize;
+
+}
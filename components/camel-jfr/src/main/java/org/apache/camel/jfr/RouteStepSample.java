@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+/**
+ * The timing of a step in a route for a sampled exchange, as recorded by the {@link FlightRecorderRouteProfiler}.
+ */
+public final class RouteStepSample {
+
+    private final String routeId;
+    private final String nodeId;
+    private final String processor;
+    private final String stack;
+    private final String exchangeId;
+    private final long beginNanos;
+    private final long durationNanos;
+    private final String beginThread;
+    private final String endThread;
+    private final boolean asyncHop;
+    private final boolean failed;
+
+    public RouteStepSample(String routeId, String nodeId, String processor, String stack, String exchangeId,
+                           long beginNanos, long durationNanos, String beginThread, String endThread, boolean asyncHop,
+                           boolean failed) {
+        this.routeId = routeId;
+        this.nodeId = nodeId;
+        this.processor = processor;
+        this.stack = stack;
+        this.exchangeId = exchangeId;
+        this.beginNanos = beginNanos;
+        this.durationNanos = durationNanos;
+        this.beginThread = beginThread;
+        this.endThread = endThread;
+        this.asyncHop = asyncHop;
+        this.failed = failed;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * The short name of the processor, such as to or split
+     */
+    public String getProcessor() {
+        return processor;
+    }
+
+    /**
+     * The route id and the ids of the nodes the step is nested in, and the step itself, separated by semicolon
+     */
+    public String getStack() {
+        return stack;
+    }
+
+    public String getExchangeId() {
+        return exchangeId;
+    }
+
+    /**
+     * The time the step began, from {@link System#nanoTime()}
+     */
+    public long getBeginNanos() {
+        return beginNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getBeginThread() {
+        return beginThread;
+    }
+
+    public String getEndThread() {
+        return endThread;
+    }
+
+    /**
+     * Whether the step was completed by another thread than it began on
+     */
+    public boolean isAsyncHop() {
+        return asyncHop;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteStepSample[" + stack + " " + exchangeId + " " + durationNanos + "ns]";
+    }
+}
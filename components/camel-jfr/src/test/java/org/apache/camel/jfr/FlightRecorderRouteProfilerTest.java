@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightRecorderRouteProfilerTest extends CamelTestSupport {
+
+    private final FlightRecorderRouteProfiler profiler = new FlightRecorderRouteProfiler();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.adapt(ExtendedCamelContext.class).addInterceptStrategy(profiler);
+        return context;
+    }
+
+    @Test
+    public void testSteps() throws Exception {
+        profiler.setSampleRate(1);
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", i % 2 == 0 ? "slow" : "fast");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        List<RouteStepSample> samples = profiler.getSamples();
+        // choice and to for all the exchanges, and delay for the slow exchanges
+        assertEquals(25, samples.size());
+        for (RouteStepSample sample : samples) {
+            assertEquals("foo", sample.getRouteId());
+            assertTrue(sample.getStack().startsWith("foo;"), sample.getStack());
+        }
+        RouteStepSample delay = samples.stream().filter(s -> "delay1".equals(s.getNodeId())).findFirst().get();
+        assertEquals("foo;choice1;when1;delay1", delay.getStack());
+        assertEquals("delay", delay.getProcessor());
+        assertTrue(delay.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+
+        String folded = profiler.dumpFoldedStacks();
+        assertTrue(folded.contains("foo;choice1 "), folded);
+        assertTrue(folded.contains("foo;choice1;when1;delay1 "), folded);
+        assertTrue(folded.contains("foo;to1 "), folded);
+
+        profiler.clear();
+        assertEquals(0, profiler.getSamples().size());
+    }
+
+    @Test
+    public void testSampling() throws Exception {
+        profiler.setSampleRate(10);
+        getMockEndpoint("mock:result").expectedMessageCount(100);
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("direct:start", "fast");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        long exchanges = profiler.getSamples().stream().map(RouteStepSample::getExchangeId).distinct().count();
+        assertTrue(exchanges > 0 && exchanges < 100, "Should sample some of the exchanges: " + exchanges);
+    }
+
+    @Test
+    public void testSplitFollowsParent() throws Exception {
+        profiler.setSampleRate(2);
+        getMockEndpoint("mock:split").expectedMessageCount(60);
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:split", "a,b,c");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the sub exchanges are sampled when the exchange they were split from is sampled
+        List<RouteStepSample> samples = profiler.getSamples();
+        long parents = samples.stream().filter(s -> "split1".equals(s.getNodeId())).count();
+        long children = samples.stream().filter(s -> "to2".equals(s.getNodeId())).count();
+        assertTrue(parents > 0 && parents < 20, "Should sample some of the exchanges: " + parents);
+        assertEquals(parents * 3, children);
+    }
+
+    @Test
+    public void testOnlySampledExchangesAreMarked() throws Exception {
+        profiler.setSampleRate(10);
+        getMockEndpoint("mock:result").expectedMessageCount(100);
+
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            Exchange out = template.send("direct:start", e -> e.getMessage().setBody("fast"));
+            String id = out.getExchangeId();
+            boolean hasSamples = profiler.getSamples().stream().anyMatch(s -> id.equals(s.getExchangeId()));
+            if (hasSamples) {
+                sampled++;
+                assertEquals(Boolean.TRUE, out.getProperty(FlightRecorderRouteProfiler.SAMPLED));
+            } else {
+                assertNull(out.getProperty(FlightRecorderRouteProfiler.SAMPLED));
+            }
+        }
+
+        assertMockEndpointsSatisfied();
+        assertTrue(sampled > 0 && sampled < 100, "Should sample some of the exchanges: " + sampled);
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        profiler.setEnabled(false);
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "fast");
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, profiler.getSamples().size());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                        .choice()
+                            .when(body().isEqualTo("slow")).delay(10).endChoice()
+                        .end()
+                        .to("mock:result");
+
+                from("direct:split").routeId("bar")
+                        .split(body().tokenize(","))
+                            .to("mock:split")
+                        .end();
+            }
+        };
+    }
+}
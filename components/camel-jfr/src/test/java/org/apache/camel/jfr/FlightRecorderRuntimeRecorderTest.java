@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightRecorderRuntimeRecorderTest extends CamelTestSupport {
+
+    private Recording recording;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        FlightRecorderRuntimeRecorder recorder = new FlightRecorderRuntimeRecorder();
+        recorder.setThreshold(50);
+        context.addLifecycleStrategy(recorder);
+
+        recording = new Recording();
+        recording.enable(FlightRecorderExchangeCreated.NAME);
+        recording.enable(FlightRecorderExchangeCompleted.NAME);
+        recording.enable(FlightRecorderExchangeFailed.NAME);
+        recording.enable(FlightRecorderEndpointSend.NAME);
+        recording.enable(FlightRecorderExchangeRedelivery.NAME);
+        recording.start();
+        return context;
+    }
+
+    @AfterEach
+    public void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    public void testRuntimeEvents() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+
+        template.sendBody("direct:start", 0);
+        template.sendBody("direct:start", 0);
+        template.sendBody("direct:start", 100);
+        template.sendBody("direct:start", 0);
+        assertThrows(Exception.class, () -> template.sendBody("direct:fail", "Hello"));
+
+        assertMockEndpointsSatisfied();
+
+        List<RecordedEvent> events = stopRecording();
+        assertEquals(0, count(events, FlightRecorderExchangeCreated.NAME));
+
+        // only the slow exchange is above the threshold
+        List<RecordedEvent> completed = filter(events, FlightRecorderExchangeCompleted.NAME);
+        assertEquals(1, completed.size());
+        assertEquals("foo", completed.get(0).getString("routeId"));
+        assertTrue(completed.get(0).getLong("elapsed") >= 100);
+
+        List<RecordedEvent> sent = filter(events, FlightRecorderEndpointSend.NAME);
+        assertTrue(sent.stream().allMatch(e -> e.getLong("timeTaken") >= 50));
+        assertTrue(sent.stream().anyMatch(e -> "direct://start".equals(e.getString("endpoint"))));
+
+        // failures and redeliveries are recorded regardless of the threshold
+        List<RecordedEvent> failed = filter(events, FlightRecorderExchangeFailed.NAME);
+        assertEquals(1, failed.size());
+        assertEquals(IllegalArgumentException.class.getName(), failed.get(0).getString("exception"));
+
+        List<RecordedEvent> redeliveries = filter(events, FlightRecorderExchangeRedelivery.NAME);
+        assertEquals(2, redeliveries.size());
+        assertEquals(1, redeliveries.get(0).getInt("attempt"));
+        assertEquals(2, redeliveries.get(1).getInt("attempt"));
+    }
+
+    private List<RecordedEvent> stopRecording() throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("camel-runtime", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> name.equals(e.getEventType().getName()))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return filter(events, name).size();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                        .delay(body())
+                        .to("mock:result");
+
+                from("direct:fail").routeId("bar")
+                        .errorHandler(defaultErrorHandler().maximumRedeliveries(2).redeliveryDelay(0))
+                        .throwException(new IllegalArgumentException("Forced"));
+            }
+        };
+    }
+}
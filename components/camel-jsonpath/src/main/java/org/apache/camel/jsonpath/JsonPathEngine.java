@@ -29,6 +29,7 @@ import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
@@ -39,6 +40,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.StreamCache;
 import org.apache.camel.component.file.GenericFile;
+import org.apache.camel.support.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +59,7 @@ public class JsonPathEngine {
     private final boolean writeAsString;
     private final String headerName;
     private final Configuration configuration;
+    private final Object documentCacheKey;
     private final boolean hasSimple;
     private JsonPathAdapter adapter;
     private volatile boolean initJsonAdapter;
@@ -90,6 +93,8 @@ public class JsonPathEngine {
             builder.options(SUPPRESS_EXCEPTIONS);
         }
         this.configuration = builder.build();
+        // the parsed body can be shared with other engines using the same object mapper
+        this.documentCacheKey = objectMapper != null ? objectMapper : JsonPathEngine.class;
 
         boolean simpleInUse = false;
         if (allowSimple) {
@@ -173,6 +178,15 @@ public class JsonPathEngine {
     private Object doRead(String path, Exchange exchange) throws IOException, CamelExchangeException {
         Object json = headerName != null ? exchange.getIn().getHeader(headerName) : exchange.getIn().getBody();
 
+        if (isCacheDocument()) {
+            // the body has already been parsed and the message has not been changed since
+            Object document = MessageHelper.getCachedResult(exchange.getIn(), documentCacheKey);
+            if (document != null) {
+                LOG.trace("JSonPath: {} is read from cached document", path);
+                return JsonPath.using(configuration).parse(document).read(path);
+            }
+        }
+
         if (json instanceof InputStream) {
             return readWithInputStream(path, exchange);
         } else if (json instanceof GenericFile) {
@@ -181,14 +195,15 @@ public class JsonPathEngine {
             if (genericFile.getCharset() != null) {
                 // special treatment for generic file with charset
                 InputStream inputStream = new FileInputStream((File) genericFile.getFile());
-                return JsonPath.using(configuration).parse(inputStream, genericFile.getCharset()).read(path);
+                return readAndCache(JsonPath.using(configuration).parse(inputStream, genericFile.getCharset()), path,
+                        exchange);
             }
         }
 
         if (json instanceof String) {
             LOG.trace("JSonPath: {} is read as String: {}", path, json);
             String str = (String) json;
-            return JsonPath.using(configuration).parse(str).read(path);
+            return readAndCache(JsonPath.using(configuration).parse(str), path, exchange);
         } else if (json instanceof Map) {
             LOG.trace("JSonPath: {} is read as Map: {}", path, json);
             Map map = (Map) json;
@@ -240,12 +255,13 @@ public class JsonPathEngine {
             String jsonEncoding = exchange.getIn().getHeader(JsonPathConstants.HEADER_JSON_ENCODING, String.class);
             if (jsonEncoding != null) {
                 // json encoding specified in header
-                return JsonPath.using(configuration).parse(is, jsonEncoding).read(path);
+                return readAndCache(JsonPath.using(configuration).parse(is, jsonEncoding), path, exchange);
             } else {
                 // No json encoding specified --> assume json encoding is unicode and determine the specific unicode encoding according to RFC-4627.
                 // This is a temporary solution, it can be removed as soon as jsonpath offers the encoding detection
                 JsonStream jsonStream = new JsonStream(is);
-                return JsonPath.using(configuration).parse(jsonStream, jsonStream.getEncoding().name()).read(path);
+                DocumentContext context = JsonPath.using(configuration).parse(jsonStream, jsonStream.getEncoding().name());
+                return readAndCache(context, path, exchange);
             }
         }
 
@@ -271,6 +287,7 @@ public class JsonPathEngine {
                     LOG.debug("JacksonJsonAdapter converted object from: {} to: java.util.Map",
                             ObjectHelper.classCanonicalName(json));
                 }
+                // not cached as the map is converted from an object which may be updated in place
                 return JsonPath.using(configuration).parse(map).read(path);
             }
         }
@@ -278,6 +295,23 @@ public class JsonPathEngine {
         return null;
     }
 
+    /**
+     * Whether the document parsed from the message body is cached on the message, so the body is only parsed once
+     * until the message is changed.
+     * <p/>
+     * The document is not cached when writing as string, as the result may be updated in place.
+     */
+    private boolean isCacheDocument() {
+        return headerName == null && !writeAsString;
+    }
+
+    private Object readAndCache(DocumentContext context, String path, Exchange exchange) {
+        if (isCacheDocument()) {
+            MessageHelper.setCachedResult(exchange.getIn(), documentCacheKey, context.json());
+        }
+        return context.read(path);
+    }
+
     private void doInitAdapter(Exchange exchange) {
         if (!initJsonAdapter) {
             try {
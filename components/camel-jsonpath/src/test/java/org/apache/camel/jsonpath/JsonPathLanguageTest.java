@@ -16,7 +16,9 @@
  */
 package org.apache.camel.jsonpath;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +70,22 @@ public class JsonPathLanguageTest extends CamelTestSupport {
         assertEquals("19.95", price, "Got a wrong result");
     }
 
+    @Test
+    public void testExpressionCachedDocument() {
+        Exchange exchange = new DefaultExchange(context);
+        // the stream can only be read once, so the second expression uses the document cached on the message
+        String json = "{\"store\": {\"bicycle\": {\"color\": \"red\", \"price\": 19.95}}}";
+        exchange.getIn().setBody(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        Language lan = context.resolveLanguage("jsonpath");
+        assertEquals("red", lan.createExpression("$.store.bicycle.color").evaluate(exchange, String.class));
+        assertEquals("19.95", lan.createExpression("$.store.bicycle.price").evaluate(exchange, String.class));
+
+        // the cached document is discarded when the message is changed
+        exchange.getIn().setBody("{\"store\": {\"bicycle\": {\"color\": \"blue\"}}}");
+        assertEquals("blue", lan.createExpression("$.store.bicycle.color").evaluate(exchange, String.class));
+    }
+
     @Test
     public void testExpressionField() {
         Exchange exchange = new DefaultExchange(context);
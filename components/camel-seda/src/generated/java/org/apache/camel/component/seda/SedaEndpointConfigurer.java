@@ -21,6 +21,8 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
     public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
         SedaEndpoint target = (SedaEndpoint) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "batchprocessing":
+        case "batchProcessing": target.setBatchProcessing(property(camelContext, boolean.class, value)); return true;
         case "blockwhenfull":
         case "blockWhenFull": target.setBlockWhenFull(property(camelContext, boolean.class, value)); return true;
         case "bridgeerrorhandler":
@@ -45,6 +47,11 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
         case "multipleConsumers": target.setMultipleConsumers(property(camelContext, boolean.class, value)); return true;
         case "offertimeout":
         case "offerTimeout": target.setOfferTimeout(property(camelContext, java.time.Duration.class, value).toMillis()); return true;
+        case "partitionkey":
+        case "partitionKey": target.setPartitionKey(property(camelContext, java.lang.String.class, value)); return true;
+        case "partitions": target.setPartitions(property(camelContext, int.class, value)); return true;
+        case "pollbatchsize":
+        case "pollBatchSize": target.setPollBatchSize(property(camelContext, int.class, value)); return true;
         case "polltimeout":
         case "pollTimeout": target.setPollTimeout(property(camelContext, int.class, value)); return true;
         case "purgewhenstopping":
@@ -61,6 +68,8 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
     @Override
     public Class<?> getOptionType(String name, boolean ignoreCase) {
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "batchprocessing":
+        case "batchProcessing": return boolean.class;
         case "blockwhenfull":
         case "blockWhenFull": return boolean.class;
         case "bridgeerrorhandler":
@@ -85,6 +94,11 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
         case "multipleConsumers": return boolean.class;
         case "offertimeout":
         case "offerTimeout": return long.class;
+        case "partitionkey":
+        case "partitionKey": return java.lang.String.class;
+        case "partitions": return int.class;
+        case "pollbatchsize":
+        case "pollBatchSize": return int.class;
         case "polltimeout":
         case "pollTimeout": return int.class;
         case "purgewhenstopping":
@@ -102,6 +116,8 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
     public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
         SedaEndpoint target = (SedaEndpoint) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "batchprocessing":
+        case "batchProcessing": return target.isBatchProcessing();
         case "blockwhenfull":
         case "blockWhenFull": return target.isBlockWhenFull();
         case "bridgeerrorhandler":
@@ -126,6 +142,11 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
         case "multipleConsumers": return target.isMultipleConsumers();
         case "offertimeout":
         case "offerTimeout": return target.getOfferTimeout();
+        case "partitionkey":
+        case "partitionKey": return target.getPartitionKey();
+        case "partitions": return target.getPartitions();
+        case "pollbatchsize":
+        case "pollBatchSize": return target.getPollBatchSize();
         case "polltimeout":
         case "pollTimeout": return target.getPollTimeout();
         case "purgewhenstopping":
@@ -21,7 +21,8 @@ public class SedaEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(19);
+        Set<String> props = new HashSet<>(23);
+        props.add("batchProcessing");
         props.add("blockWhenFull");
         props.add("bridgeErrorHandler");
         props.add("concurrentConsumers");
@@ -35,6 +36,9 @@ public class SedaEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("multipleConsumers");
         props.add("name");
         props.add("offerTimeout");
+        props.add("partitionKey");
+        props.add("partitions");
+        props.add("pollBatchSize");
         props.add("pollTimeout");
         props.add("purgeWhenStopping");
         props.add("queue");
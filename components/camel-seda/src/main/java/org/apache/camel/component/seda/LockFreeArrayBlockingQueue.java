@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded lock-free {@link BlockingQueue} backed by a ring of slots, where each slot has a sequence number telling
+ * whether it is free or holds an element of the current lap.
+ * <p/>
+ * Producers and consumers claim slots by a compare-and-set of the tail and head counters, so they never contend on a
+ * lock. The queue is designed for many producers and a single consumer, such as a partition of a partitioned SEDA
+ * queue, but it is safe to use with several consumers as well.
+ * <p/>
+ * Threads which must wait for an element or a free slot spin for a short while, and then park on a condition. The lock
+ * of the conditions is only used when a thread is parked, so producers and consumers do not signal each other on the
+ * fast path. A consumer can take a batch of elements at once by {@link #drainTo(Collection, int)}, which only updates
+ * the head once for the batch.
+ * <p/>
+ * The capacity is rounded up to the nearest power of two. An element removed by {@link #remove(Object)} is only marked
+ * as removed, and its slot is freed when the consumers have passed it.
+ *
+ * @param <E> Element type, usually {@link org.apache.camel.Exchange}
+ */
+public class LockFreeArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * Capacity used when none provided
+     */
+    public static final int DEFAULT_CAPACITY = SedaConstants.QUEUE_SIZE;
+
+    /**
+     * The maximum capacity, as the slots are allocated up front
+     */
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    /**
+     * The default number of times to spin before parking a waiting thread
+     */
+    public static final int DEFAULT_SPINS = 100;
+
+    // marks an element which has been removed from the middle of the queue, and is skipped by the consumers
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    private final int mask;
+    private final int spins;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<Object> elements;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+    private final AtomicInteger removedCount = new AtomicInteger();
+
+    public LockFreeArrayBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LockFreeArrayBlockingQueue(int capacity) {
+        this(capacity, DEFAULT_SPINS);
+    }
+
+    /**
+     * Creates the queue.
+     *
+     * @param capacity the capacity, which is rounded up to the nearest power of two
+     * @param spins    the number of times a waiting thread spins before it is parked, where 0 parks the thread at once
+     */
+    public LockFreeArrayBlockingQueue(int capacity, int spins) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, was: " + capacity);
+        }
+        int size = 1;
+        while (size < Math.min(capacity, MAX_CAPACITY)) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.spins = Math.max(0, spins);
+        this.sequences = new AtomicLongArray(size);
+        this.elements = new AtomicReferenceArray<>(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * The capacity of the queue
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The number of elements which have been added to the queue since it was created
+     */
+    public long getEnqueuedCount() {
+        return tail.get();
+    }
+
+    /**
+     * The number of elements which have been taken from (or removed from) the queue since it was created
+     */
+    public long getDequeuedCount() {
+        return head.get();
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        while (true) {
+            long pos = tail.get();
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.lazySet(index, e);
+                    // publish the element to the consumers
+                    sequences.set(index, pos + 1);
+                    if (waitingConsumers.get() > 0) {
+                        signal(notEmpty);
+                    }
+                    return true;
+                }
+            } else if (diff < 0) {
+                // the slot still holds an element of the previous lap, so the queue is full
+                return false;
+            }
+            // another producer claimed the slot, so try again
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Object e = elements.getAndSet(index, null);
+                    // free the slot for the next lap of the producers
+                    sequences.set(index, pos + capacity);
+                    if (waitingProducers.get() > 0) {
+                        signal(notFull);
+                    }
+                    if (e != REMOVED) {
+                        return (E) e;
+                    }
+                    removedCount.decrementAndGet();
+                }
+            } else if (diff < 0) {
+                // the slot has not been published yet, so the queue is empty
+                return null;
+            }
+            // another consumer claimed the slot, so try again
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        while (!offer(e, Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+            // wait until there is room
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        if (nanos <= 0) {
+            return false;
+        }
+        long deadline = System.nanoTime() + nanos;
+        for (int i = 0; i < spins; i++) {
+            Thread.onSpinWait();
+            if (offer(e)) {
+                return true;
+            }
+        }
+        while (true) {
+            nanos = deadline - System.nanoTime();
+            if (nanos <= 0) {
+                return false;
+            }
+            lock.lockInterruptibly();
+            try {
+                waitingProducers.incrementAndGet();
+                try {
+                    if (occupied() >= capacity) {
+                        notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (offer(e)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e;
+        do {
+            e = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } while (e == null);
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        long nanos = unit.toNanos(timeout);
+        if (nanos <= 0) {
+            return null;
+        }
+        long deadline = System.nanoTime() + nanos;
+        for (int i = 0; i < spins; i++) {
+            Thread.onSpinWait();
+            e = poll();
+            if (e != null) {
+                return e;
+            }
+        }
+        while (true) {
+            nanos = deadline - System.nanoTime();
+            if (nanos <= 0) {
+                return null;
+            }
+            lock.lockInterruptibly();
+            try {
+                waitingConsumers.incrementAndGet();
+                try {
+                    // the producers read the waiting counter after publishing, so either we see the element here,
+                    // or the producer sees us waiting and signals when we have released the lock by awaiting
+                    if (occupied() == 0) {
+                        notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            } finally {
+                lock.unlock();
+            }
+            e = poll();
+            if (e != null) {
+                return e;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        for (Object e : snapshot(1)) {
+            return (E) e;
+        }
+        return null;
+    }
+
+    /**
+     * The number of elements in the queue, which does not include the elements marked as removed.
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0, occupied() - removedCount.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * The number of free slots. The slots of the elements marked as removed are not free until the consumers have
+     * passed them, so the remaining capacity may be less than the capacity minus the size.
+     */
+    @Override
+    public int remainingCapacity() {
+        return capacity - occupied();
+    }
+
+    // the number of slots between the head and the tail, including the elements marked as removed
+    private int occupied() {
+        // read the head before the tail, so the number is never negative
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(capacity, t - h));
+    }
+
+    /**
+     * Removes the element from the queue, by marking its slot, so the element is skipped by the consumers. The slot
+     * still takes up room in the queue until the consumers have passed it, so removing an element does not let a
+     * producer add an element to a full queue.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long t = tail.get();
+        for (long pos = Math.max(head.get(), t - capacity); pos < t; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) == pos + 1) {
+                Object e = elements.get(index);
+                // the element is only marked if it has not been taken meanwhile
+                if (e != REMOVED && o.equals(e) && elements.compareAndSet(index, e, REMOVED)) {
+                    removedCount.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Drains the published elements from the queue, by claiming all the slots at once, so a consumer draining a batch
+     * of elements only updates the head once.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        while (maxElements > 0) {
+            long pos = head.get();
+            // count the published slots from the head
+            int n = 0;
+            while (n < maxElements && n < capacity && sequences.get((int) (pos + n) & mask) == pos + n + 1) {
+                n++;
+            }
+            if (n == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(pos, pos + n)) {
+                int drained = 0;
+                for (int i = 0; i < n; i++) {
+                    int index = (int) (pos + i) & mask;
+                    Object e = elements.getAndSet(index, null);
+                    sequences.set(index, pos + i + capacity);
+                    if (e != REMOVED) {
+                        c.add((E) e);
+                        drained++;
+                    }
+                }
+                if (drained < n) {
+                    removedCount.addAndGet(drained - n);
+                }
+                if (waitingProducers.get() > 0) {
+                    signal(notFull);
+                }
+                if (drained > 0) {
+                    return drained;
+                }
+                // all the elements were removed, so try the next slots
+            }
+            // otherwise another consumer moved the head, so try again
+        }
+        return 0;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in the queue.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> it = snapshot(Integer.MAX_VALUE).iterator();
+        return new Iterator<E>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                LockFreeArrayBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot(int max) {
+        List<E> answer = new ArrayList<>(Math.min(max, occupied()));
+        long t = tail.get();
+        for (long pos = Math.max(head.get(), t - capacity); pos < t && answer.size() < max; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) == pos + 1) {
+                Object e = elements.get(index);
+                // check the slot again, as the element may have been taken while reading it
+                if (e != null && e != REMOVED && sequences.get(index) == pos + 1) {
+                    answer.add((E) e);
+                }
+            }
+        }
+        return answer;
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link BlockingQueue} which is split into a number of partitions, where each partition is a
+ * {@link LockFreeArrayBlockingQueue} that is consumed by its own consumer thread.
+ * <p/>
+ * Elements with the same partition key are added to the same partition, and are therefore consumed in the same order
+ * as they were added. Elements added without a key are spread over the partitions in turn, and when the partition is
+ * full the next partitions are tried, so the whole capacity of the queue is used. The order of the elements added
+ * without a key is therefore not kept, not even for the elements added by the same thread.
+ * <p/>
+ * The methods of the {@link BlockingQueue} interface spread over all the partitions, which allows to use this queue
+ * where any other queue is used, such as for a polling consumer.
+ *
+ * @param <E> Element type, usually {@link org.apache.camel.Exchange}
+ */
+public class PartitionedBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    // the time to wait on a partition before polling the next partition
+    private static final long POLL_SLICE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final List<LockFreeArrayBlockingQueue<E>> partitions;
+    // where to start the next poll from, which does not need to be exact
+    private int nextPoll;
+    // where to add the next element without a key
+    private final AtomicInteger nextOffer = new AtomicInteger();
+
+    /**
+     * Creates the queue.
+     *
+     * @param partitions the number of partitions
+     * @param capacity   the total capacity, which is divided evenly between the partitions
+     */
+    public PartitionedBlockingQueue(int partitions, int capacity) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Partitions must be positive, was: " + partitions);
+        }
+        int partitionCapacity = Math.max(1, capacity / partitions);
+        this.partitions = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            this.partitions.add(new LockFreeArrayBlockingQueue<>(partitionCapacity));
+        }
+    }
+
+    /**
+     * The number of partitions
+     */
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * Gets the partition with the given index
+     */
+    public LockFreeArrayBlockingQueue<E> getPartition(int index) {
+        return partitions.get(index);
+    }
+
+    /**
+     * Gets the partition for the given partition key, where a <tt>null</tt> key is using the first partition.
+     */
+    public LockFreeArrayBlockingQueue<E> getPartitionForKey(Object key) {
+        return partitions.get(indexOf(key == null ? 0 : key.hashCode()));
+    }
+
+    private int indexOf(int hash) {
+        // spread the high bits of the hash, as keys often only differ in their low bits
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.size());
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return offer(e, nextOfferIndex());
+    }
+
+    /**
+     * Adds the element to the next partition in turn, or if full to any of the other partitions, and otherwise waits
+     * for room in the next partition.
+     */
+    @Override
+    public void put(E e) throws InterruptedException {
+        int index = nextOfferIndex();
+        if (!offer(e, index)) {
+            partitions.get(index).put(e);
+        }
+    }
+
+    /**
+     * Adds the element to the next partition in turn, or if full to any of the other partitions, and otherwise waits
+     * for room in the next partition.
+     */
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        int index = nextOfferIndex();
+        return offer(e, index) || partitions.get(index).offer(e, timeout, unit);
+    }
+
+    private int nextOfferIndex() {
+        return Math.floorMod(nextOffer.getAndIncrement(), partitions.size());
+    }
+
+    private boolean offer(E e, int start) {
+        int n = partitions.size();
+        for (int i = 0; i < n; i++) {
+            if (partitions.get((start + i) % n).offer(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public E poll() {
+        int n = partitions.size();
+        int start = nextPoll;
+        for (int i = 0; i < n; i++) {
+            int index = (start + i) % n;
+            E e = partitions.get(index).poll();
+            if (e != null) {
+                nextPoll = (index + 1) % n;
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e;
+        do {
+            e = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } while (e == null);
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        long nanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + nanos;
+        int index = nextPoll;
+        // we cannot wait on all the partitions at once, so wait on the partitions in turn
+        while (nanos > 0) {
+            e = partitions.get(index).poll(Math.min(nanos, POLL_SLICE), TimeUnit.NANOSECONDS);
+            if (e == null) {
+                e = poll();
+            }
+            if (e != null) {
+                return e;
+            }
+            index = (index + 1) % partitions.size();
+            nanos = deadline - System.nanoTime();
+        }
+        return null;
+    }
+
+    @Override
+    public E peek() {
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            E e = partition.peek();
+            if (e != null) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            if (!partition.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        int remaining = 0;
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            remaining += partition.remainingCapacity();
+        }
+        return remaining;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            if (partition.remove(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            partition.clear();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int n = 0;
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            if (n >= maxElements) {
+                break;
+            }
+            n += partition.drainTo(c, maxElements - n);
+        }
+        return n;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in the partitions.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> answer = new ArrayList<>();
+        for (LockFreeArrayBlockingQueue<E> partition : partitions) {
+            answer.addAll(partition);
+        }
+        final Iterator<E> it = answer.iterator();
+        return new Iterator<E>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                PartitionedBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+}
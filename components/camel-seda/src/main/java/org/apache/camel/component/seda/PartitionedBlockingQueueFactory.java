@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+/**
+ * Implementation of {@link BlockingQueueFactory} producing {@link PartitionedBlockingQueue}
+ */
+public class PartitionedBlockingQueueFactory<E> implements BlockingQueueFactory<E> {
+
+    /**
+     * Number of partitions
+     */
+    private int partitions;
+
+    /**
+     * Capacity used when none provided
+     */
+    private int defaultCapacity = SedaConstants.QUEUE_SIZE;
+
+    public PartitionedBlockingQueueFactory() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public PartitionedBlockingQueueFactory(int partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * @return Number of partitions
+     */
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * @param partitions Number of partitions
+     */
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * @return Default total capacity
+     */
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /**
+     * @param defaultCapacity Default total capacity
+     */
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    @Override
+    public PartitionedBlockingQueue<E> create() {
+        return create(defaultCapacity);
+    }
+
+    @Override
+    public PartitionedBlockingQueue<E> create(int capacity) {
+        return new PartitionedBlockingQueue<>(partitions, capacity);
+    }
+}
@@ -16,12 +16,14 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
@@ -31,6 +33,7 @@ import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.Suspendable;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.Synchronization;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.DefaultConsumer;
 import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ExchangeHelper;
@@ -44,21 +47,31 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * In this implementation there is a little <i>slack period</i> when you suspend/stop the consumer, by which the
  * consumer may pickup a newly arrived messages and process it. That period is up till 1 second.
+ * <p/>
+ * If the queue is a {@link PartitionedBlockingQueue} then each partition is consumed by its own thread, which keeps
+ * the order of the exchanges within each partition.
  */
 public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownAware, Suspendable {
 
     private static final Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // the exchanges drained from the queue which are not yet processed (or are being processed as a batch)
+    private final AtomicInteger drainedCount = new AtomicInteger();
+    private volatile AtomicIntegerArray partitionTasks;
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int pollBatchSize;
+    private final boolean batchProcessing;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.pollBatchSize = endpoint.getPollBatchSize();
+        this.batchProcessing = endpoint.isBatchProcessing() && pollBatchSize > 1;
     }
 
     @Override
@@ -80,7 +93,8 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         if (getEndpoint().isPurgeWhenStopping()) {
             getEndpoint().purgeQueue();
         }
-        return getEndpoint().getQueue().size();
+        // include the exchanges drained from the queue which are not yet processed, as they are no longer on the queue
+        return getEndpoint().getQueue().size() + drainedCount.get();
     }
 
     @Override
@@ -136,7 +150,16 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     }
 
     protected void doRun() {
-        BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        doRun(getEndpoint().getQueue());
+    }
+
+    /**
+     * Polls and processes the exchanges from the given queue, which is either the queue of the endpoint, or a
+     * partition of the queue.
+     */
+    protected void doRun(BlockingQueue<Exchange> queue) {
+        // the exchanges drained from the queue after a poll, which is reused by this thread
+        List<Exchange> batch = pollBatchSize > 1 ? new ArrayList<>(pollBatchSize) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -179,21 +202,38 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                     LOG.trace("Polled queue {} with timeout {} ms. -> {}", ObjectHelper.getIdentityHashCode(queue), pollTimeout,
                             exchange);
                 }
-                if (exchange != null) {
+                if (exchange != null && batchProcessing) {
+                    // route the polled exchange together with the exchanges which are already on the queue
+                    batch.add(exchange);
+                    int drained = queue.drainTo(batch, pollBatchSize - 1);
+                    drainedCount.addAndGet(drained);
+                    LOG.trace("Drained {} exchanges from queue {}", drained, ObjectHelper.getIdentityHashCode(queue));
                     try {
-                        // prepare the exchange before sending to consumer
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy result back
-                        ExchangeHelper.copyResults(exchange, newExchange);
-                        // log exception if an exception occurred and was not handled
-                        if (exchange.getException() != null) {
-                            getExceptionHandler().handleException("Error processing exchange", exchange,
-                                    exchange.getException());
+                        processBatch(batch);
+                    } finally {
+                        batch.clear();
+                        drainedCount.addAndGet(-drained);
+                    }
+                } else if (exchange != null) {
+                    processExchange(exchange);
+                    // take the exchanges which are already on the queue, and process them without polling again
+                    int drained = batch != null ? queue.drainTo(batch, pollBatchSize - 1) : 0;
+                    if (drained > 0) {
+                        drainedCount.addAndGet(drained);
+                        LOG.trace("Drained {} exchanges from queue {}", drained, ObjectHelper.getIdentityHashCode(queue));
+                        int taken = 0;
+                        try {
+                            for (int i = 0; i < batch.size(); i++) {
+                                exchange = batch.get(i);
+                                // the exchange is no longer pending once its being processed
+                                drainedCount.decrementAndGet();
+                                taken++;
+                                processExchange(exchange);
+                            }
+                        } finally {
+                            batch.clear();
+                            drainedCount.addAndGet(taken - drained);
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -213,6 +253,54 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    private void processExchange(Exchange exchange) {
+        try {
+            // prepare the exchange before sending to consumer
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy result back
+            ExchangeHelper.copyResults(exchange, newExchange);
+            // log exception if an exception occurred and was not handled
+            if (exchange.getException() != null) {
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
+    private void processBatch(List<Exchange> exchanges) {
+        if (getEndpoint().isMultipleConsumersSupported()) {
+            // each consumer receives a copy of the exchanges
+            for (Exchange exchange : exchanges) {
+                processExchange(exchange);
+            }
+            return;
+        }
+
+        List<Exchange> newExchanges = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            // prepare the exchange before sending to consumer
+            newExchanges.add(prepareExchange(exchange));
+        }
+        try {
+            // process the exchanges as a batch
+            BatchProcessorHelper.process(getProcessor(), newExchanges);
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing batch of exchanges", e);
+        }
+        for (int i = 0; i < exchanges.size(); i++) {
+            Exchange exchange = exchanges.get(i);
+            // copy result back
+            ExchangeHelper.copyResults(exchange, newExchanges.get(i));
+            // log exception if an exception occurred and was not handled
+            if (exchange.getException() != null) {
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -273,7 +361,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     @Override
     protected void doStart() throws Exception {
         super.doStart();
-        latch = new CountDownLatch(getEndpoint().getConcurrentConsumers());
+        latch = new CountDownLatch(getPoolSize());
         shutdownPending = false;
         forceShutdown = false;
 
@@ -317,11 +405,22 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    /**
+     * The number of consumer threads, which is one per partition if the queue is partitioned
+     */
+    private int getPoolSize() {
+        BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        if (queue instanceof PartitionedBlockingQueue) {
+            return ((PartitionedBlockingQueue<Exchange>) queue).getPartitionCount();
+        }
+        return getEndpoint().getConcurrentConsumers();
+    }
+
     /**
      * Setup the thread pool and ensures tasks gets executed (if needed)
      */
     private void setupTasks() {
-        int poolSize = getEndpoint().getConcurrentConsumers();
+        int poolSize = getPoolSize();
 
         // create thread pool if needed
         if (executor == null) {
@@ -329,6 +428,22 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                     getEndpoint().getEndpointUri(), poolSize);
         }
 
+        BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        if (queue instanceof PartitionedBlockingQueue) {
+            PartitionedBlockingQueue<Exchange> partitioned = (PartitionedBlockingQueue<Exchange>) queue;
+            if (partitionTasks == null || partitionTasks.length() != poolSize) {
+                partitionTasks = new AtomicIntegerArray(poolSize);
+            }
+            // submit a task for each partition which has no task, so each partition has a single consumer thread
+            LOG.debug("Creating consumer tasks for {} partitions with poll timeout {} ms.", poolSize, pollTimeout);
+            for (int i = 0; i < poolSize; i++) {
+                if (partitionTasks.compareAndSet(i, 0, 1)) {
+                    executor.execute(new PartitionTask(i, partitioned.getPartition(i), partitionTasks));
+                }
+            }
+            return;
+        }
+
         // submit needed number of tasks
         int tasks = poolSize - taskCount.get();
         LOG.debug("Creating {} consumer tasks with poll timeout {} ms.", tasks, pollTimeout);
@@ -337,4 +452,34 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    /**
+     * Task consuming a single partition of a partitioned queue.
+     */
+    private final class PartitionTask implements Runnable {
+
+        private final int index;
+        private final BlockingQueue<Exchange> partition;
+        private final AtomicIntegerArray tasks;
+
+        PartitionTask(int index, BlockingQueue<Exchange> partition, AtomicIntegerArray tasks) {
+            this.index = index;
+            this.partition = partition;
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void run() {
+            taskCount.incrementAndGet();
+            try {
+                doRun(partition);
+            } finally {
+                tasks.set(index, 0);
+                taskCount.decrementAndGet();
+                latch.countDown();
+                LOG.debug("Ending consumer thread of partition {}, there are still {} consumer threads left.", index,
+                        latch.getCount());
+            }
+        }
+    }
+
 }
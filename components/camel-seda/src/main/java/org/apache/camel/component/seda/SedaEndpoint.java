@@ -24,17 +24,29 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
 import org.apache.camel.AsyncEndpoint;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Category;
 import org.apache.camel.Component;
 import org.apache.camel.Consumer;
 import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.MultipleConsumersSupport;
 import org.apache.camel.PollingConsumer;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.WaitForTaskToComplete;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
@@ -74,6 +86,9 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     @UriParam(defaultValue = "" + SedaConstants.QUEUE_SIZE)
     private int size = SedaConstants.QUEUE_SIZE;
 
+    @UriParam(label = "advanced")
+    private int partitions;
+
     @UriParam(label = "consumer", defaultValue = "1")
     private int concurrentConsumers = 1;
     @UriParam(label = "consumer,advanced", defaultValue = "true")
@@ -84,6 +99,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int pollBatchSize = 1;
+    @UriParam(label = "consumer,advanced")
+    private boolean batchProcessing;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -99,8 +118,11 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean failIfNoConsumers;
     @UriParam(label = "producer")
     private boolean discardIfNoConsumers;
+    @UriParam(label = "producer,advanced")
+    private String partitionKey;
 
     private BlockingQueueFactory<Exchange> queueFactory;
+    private Expression partitionKeyExpression;
 
     public SedaEndpoint() {
         queueFactory = new LinkedBlockingQueueFactory<>();
@@ -182,9 +204,17 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
             if (getComponent() != null) {
                 // use null to indicate default size (= use what the existing queue has been configured with)
                 Integer size = (getSize() == Integer.MAX_VALUE || getSize() == SedaConstants.QUEUE_SIZE) ? null : getSize();
-                QueueReference ref = getComponent().getOrCreateQueue(this, size, isMultipleConsumers(), queueFactory);
-                queue = ref.getQueue();
+                QueueReference ref
+                        = getComponent().getOrCreateQueue(this, size, isMultipleConsumers(), getEffectiveQueueFactory());
                 String key = getComponent().getQueueKey(getEndpointUri());
+                if (partitions > 0 && partitions != getPartitionCount(ref.getQueue())) {
+                    // there is already a queue, so make sure the partitions matches
+                    throw new IllegalArgumentException(
+                            "Cannot use existing queue " + key + " as the existing queue partitions "
+                                                       + getPartitionCount(ref.getQueue())
+                                                       + " does not match given partitions " + partitions);
+                }
+                queue = ref.getQueue();
                 LOG.debug("Endpoint {} is using shared queue: {} with size: {}", this, key,
                         ref.getSize() != null ? ref.getSize() : Integer.MAX_VALUE);
                 // and set the size we are using
@@ -201,13 +231,28 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     }
 
     protected BlockingQueue<Exchange> createQueue() {
+        BlockingQueueFactory<Exchange> factory = getEffectiveQueueFactory();
         if (size > 0) {
-            return queueFactory.create(size);
+            return factory.create(size);
         } else {
-            return queueFactory.create();
+            return factory.create();
         }
     }
 
+    private BlockingQueueFactory<Exchange> getEffectiveQueueFactory() {
+        if (partitions > 0) {
+            return new PartitionedBlockingQueueFactory<>(partitions);
+        }
+        return queueFactory;
+    }
+
+    private static int getPartitionCount(BlockingQueue<Exchange> queue) {
+        if (queue instanceof PartitionedBlockingQueue) {
+            return ((PartitionedBlockingQueue<Exchange>) queue).getPartitionCount();
+        }
+        return 0;
+    }
+
     /**
      * Get's the {@link QueueReference} for the this endpoint.
      *
@@ -329,6 +374,45 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         return concurrentConsumers;
     }
 
+    @ManagedAttribute(description = "Number of partitions of the queue")
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Number of partitions of the queue, to scale across cores while keeping the order of the exchanges with the same
+     * partition key. Each partition is a lock-free queue, which is consumed by its own consumer thread, so the
+     * concurrentConsumers option is not in use. The size of the queue is divided between the partitions (size /
+     * partitions), and the capacity of each partition is rounded up to the nearest power of two, so the total capacity
+     * of the queue can be larger than the configured size.
+     * <p/>
+     * Use the partitionKey option on the producer to choose the partition of the exchanges. Exchanges without a
+     * partition key are added to a partition chosen by the thread sending the exchange.
+     * <p/>
+     * The order is only kept when there is a single consumer of the queue.
+     */
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    @ManagedAttribute(description = "Expression of the partition key")
+    public String getPartitionKey() {
+        return partitionKey;
+    }
+
+    /**
+     * An expression (using the simple language) which is evaluated on the exchange to choose the partition of the
+     * queue, when the queue is partitioned. Exchanges with the same key are added to the same partition, and are
+     * consumed in the order they were sent.
+     */
+    public void setPartitionKey(String partitionKey) {
+        this.partitionKey = partitionKey;
+    }
+
+    public Expression getPartitionKeyExpression() {
+        return partitionKeyExpression;
+    }
+
     @ManagedAttribute
     public boolean isLimitConcurrentConsumers() {
         return limitConcurrentConsumers;
@@ -440,6 +524,38 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    /**
+     * The maximum number of exchanges each consumer thread takes from the queue when it wakes up. The exchanges which
+     * are already on the queue are then processed one after the other without polling the queue again, which reduces
+     * the hand-off overhead when the queue is busy. The default is 1, which polls the queue for every exchange.
+     * <p/>
+     * The exchanges taken from the queue are processed even if the consumer is stopping.
+     */
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
+    @ManagedAttribute
+    public boolean isBatchProcessing() {
+        return batchProcessing;
+    }
+
+    /**
+     * Whether the exchanges each consumer thread takes from the queue in one go (see pollBatchSize) are routed together
+     * as a batch. Steps which can process a batch of exchanges in one call, such as sending to a producer which
+     * supports batches, then receive all the exchanges in one call. Each exchange still has its own unit of work and
+     * error handling. This option is only in use when pollBatchSize is greater than 1, and the queue has a single
+     * consumer (multipleConsumers is disabled).
+     */
+    public void setBatchProcessing(boolean batchProcessing) {
+        this.batchProcessing = batchProcessing;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -476,6 +592,38 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         queue.clear();
     }
 
+    /**
+     * Statistics of each partition of the queue
+     */
+    @ManagedOperation(description = "Statistics of each partition of the seda queue")
+    public TabularData partitionStatistics() {
+        try {
+            CompositeType ct = new CompositeType(
+                    "partition", "Partition",
+                    new String[] { "index", "size", "capacity", "enqueued", "dequeued" },
+                    new String[] { "Index", "Size", "Capacity", "Enqueued", "Dequeued" },
+                    new OpenType[] { SimpleType.INTEGER, SimpleType.INTEGER, SimpleType.INTEGER, SimpleType.LONG,
+                            SimpleType.LONG });
+            TabularData answer = new TabularDataSupport(
+                    new TabularType("partitions", "Statistics of the partitions", ct, new String[] { "index" }));
+
+            BlockingQueue<Exchange> queue = getQueue();
+            for (int i = 0; i < getPartitionCount(queue); i++) {
+                LockFreeArrayBlockingQueue<Exchange> partition = ((PartitionedBlockingQueue<Exchange>) queue).getPartition(i);
+                CompositeData data = new CompositeDataSupport(
+                        ct,
+                        new String[] { "index", "size", "capacity", "enqueued", "dequeued" },
+                        new Object[] {
+                                i, partition.size(), partition.getCapacity(), partition.getEnqueuedCount(),
+                                partition.getDequeuedCount() });
+                answer.put(data);
+            }
+            return answer;
+        } catch (OpenDataException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
     /**
      * Returns the current active consumers on this endpoint
      */
@@ -525,6 +673,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
                     "Cannot enable both discardWhenFull=true and blockWhenFull=true."
                                                + " You can only either discard or block when full.");
         }
+        if (partitionKey != null) {
+            partitionKeyExpression = getCamelContext().resolveLanguage("simple").createExpression(partitionKey);
+            partitionKeyExpression.init(getCamelContext());
+        }
     }
 
     @Override
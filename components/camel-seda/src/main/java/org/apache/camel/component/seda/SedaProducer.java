@@ -16,11 +16,15 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangeTimedOutException;
 import org.apache.camel.ExtendedExchange;
@@ -31,7 +35,7 @@ import org.apache.camel.support.SynchronizationAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class SedaProducer extends DefaultAsyncProducer {
+public class SedaProducer extends DefaultAsyncProducer implements BatchProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(SedaProducer.class);
     private final SedaEndpoint endpoint;
@@ -160,6 +164,73 @@ public class SedaProducer extends DefaultAsyncProducer {
         return true;
     }
 
+    /**
+     * Sends the batch of exchanges, where all the exchanges that should wait for their task to complete are added to
+     * the queue before waiting, so they can be processed concurrently by the consumers, and the timeout applies to the
+     * batch as a whole.
+     */
+    @Override
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        List<Exchange> waiting = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            WaitForTaskToComplete wait = waitForTaskToComplete;
+            if (exchange.getProperty(Exchange.ASYNC_WAIT) != null) {
+                wait = exchange.getProperty(Exchange.ASYNC_WAIT, WaitForTaskToComplete.class);
+            }
+            if (wait == WaitForTaskToComplete.Always
+                    || wait == WaitForTaskToComplete.IfReplyExpected && ExchangeHelper.isOutCapable(exchange)) {
+                waiting.add(exchange);
+            } else {
+                // no wait, eg its a InOnly then just add to queue
+                try {
+                    addToQueue(exchange, true);
+                } catch (SedaConsumerNotAvailableException e) {
+                    exchange.setException(e);
+                }
+            }
+        }
+        if (waiting.isEmpty()) {
+            return;
+        }
+
+        final CountDownLatch latch = new CountDownLatch(waiting.size());
+        List<BatchTask> tasks = new ArrayList<>(waiting.size());
+        for (Exchange exchange : waiting) {
+            // do not handover the completion as we wait for the copy to complete, and copy its result back when it done
+            BatchTask task = new BatchTask(exchange, prepareCopy(exchange, false), latch);
+            task.copy.adapt(ExtendedExchange.class).addOnCompletion(task);
+            tasks.add(task);
+            try {
+                // do not copy as we already did the copy
+                addToQueue(task.copy, false);
+            } catch (SedaConsumerNotAvailableException e) {
+                exchange.setException(e);
+                task.complete();
+            }
+        }
+
+        boolean done = false;
+        try {
+            if (timeout > 0) {
+                done = latch.await(timeout, TimeUnit.MILLISECONDS);
+            } else {
+                latch.await();
+                done = true;
+            }
+        } catch (InterruptedException e) {
+            // ignore
+        }
+        if (!done) {
+            for (BatchTask task : tasks) {
+                if (task.complete()) {
+                    // the task was not done before the timeout so remove it from the queue
+                    task.exchange.setException(new ExchangeTimedOutException(task.exchange, timeout));
+                    endpoint.getQueue().remove(task.copy);
+                }
+            }
+        }
+    }
+
     protected Exchange prepareCopy(Exchange exchange, boolean handover) {
         // use a new copy of the exchange to route async (and use same message id)
         // if handover we need to do special handover to avoid handing over
@@ -216,6 +287,12 @@ public class SedaProducer extends DefaultAsyncProducer {
             target = prepareCopy(exchange, true);
         }
 
+        // add the exchange to the partition of its key, so exchanges with the same key are consumed in order
+        if (endpoint.getPartitionKeyExpression() != null && queue instanceof PartitionedBlockingQueue) {
+            Object key = endpoint.getPartitionKeyExpression().evaluate(target, Object.class);
+            queue = ((PartitionedBlockingQueue<Exchange>) queue).getPartitionForKey(key);
+        }
+
         LOG.trace("Adding Exchange to queue: {}", target);
         if (discardWhenFull) {
             try {
@@ -251,4 +328,60 @@ public class SedaProducer extends DefaultAsyncProducer {
         }
     }
 
+    /**
+     * A task of a batch that waits for the copy of the exchange to be done, and then copies the result back.
+     */
+    private final class BatchTask extends SynchronizationAdapter {
+
+        private final Exchange exchange;
+        private final Exchange copy;
+        private final CountDownLatch latch;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private BatchTask(Exchange exchange, Exchange copy, CountDownLatch latch) {
+            this.exchange = exchange;
+            this.copy = copy;
+            this.latch = latch;
+        }
+
+        /**
+         * Marks the task as complete.
+         *
+         * @return <tt>true</tt> if the task was completed by this call, <tt>false</tt> if it was already complete
+         */
+        boolean complete() {
+            if (completed.compareAndSet(false, true)) {
+                latch.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void onDone(Exchange response) {
+            // check for timeout, which then already would have completed this task
+            if (completed.compareAndSet(false, true)) {
+                LOG.trace("{} with response: {}", this, response.getMessage());
+                try {
+                    ExchangeHelper.copyResults(exchange, response);
+                } finally {
+                    latch.countDown();
+                }
+            } else {
+                LOG.trace("{}. Timeout occurred so response will be ignored: {}", this, response.getMessage());
+            }
+        }
+
+        @Override
+        public boolean allowHandover() {
+            // do not allow handover as we want to seda producer to have its completion triggered at this point
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "onDone at endpoint: " + endpoint;
+        }
+    }
+
 }
@@ -1022,13 +1022,18 @@ public class XPathBuilder extends ServiceSupport
                     document = getDocument(exchange, headerObject);
                 }
             } else {
-                // only convert to input stream if really needed
-                if (isInputStreamNeeded(exchange)) {
-                    is = exchange.getIn().getBody(InputStream.class);
-                    document = getDocument(exchange, is);
-                } else {
-                    Object body = exchange.getIn().getBody();
-                    document = getDocument(exchange, body);
+                // the document is cached on the message so the body is only parsed once until the message is changed
+                document = getCachedDocument(exchange);
+                if (document == null) {
+                    // only convert to input stream if really needed
+                    if (isInputStreamNeeded(exchange)) {
+                        is = exchange.getIn().getBody(InputStream.class);
+                        document = getDocument(exchange, is);
+                    } else {
+                        Object body = exchange.getIn().getBody();
+                        document = getDocument(exchange, body);
+                    }
+                    cacheDocument(exchange, document);
                 }
             }
 
@@ -1259,6 +1264,26 @@ public class XPathBuilder extends ServiceSupport
         return false;
     }
 
+    /**
+     * Gets the document parsed from the message body by a previous evaluation, if the message has not been changed
+     * since.
+     */
+    private Object getCachedDocument(Exchange exchange) {
+        Class<?> type = getDocumentType();
+        if (type != Document.class) {
+            return null;
+        }
+        return MessageHelper.getCachedResult(exchange.getIn(), type);
+    }
+
+    private void cacheDocument(Exchange exchange, Object document) {
+        // only cache documents parsed from the body, as other document types such as sources can only be read once
+        if (document instanceof Document && getDocumentType() == Document.class
+                && document != exchange.getIn().getBody()) {
+            MessageHelper.setCachedResult(exchange.getIn(), Document.class, document);
+        }
+    }
+
     /**
      * Strategy method to extract the document from the exchange.
      */
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import java.util.List;
+
+/**
+ * A {@link Processor} which can process a batch of message exchanges in one call, such as a producer which can send
+ * many messages to its sink in bulk.
+ * <p/>
+ * Processing a batch must give the same result as processing each exchange individually, which means that a failure
+ * processing one of the exchanges is set on that exchange (see {@link Exchange#setException(Throwable)}) and the
+ * remainder of the batch is still processed.
+ * <p/>
+ * Use <tt>org.apache.camel.support.BatchProcessorHelper</tt> to process a batch with any processor, which will process
+ * the exchanges one by one if the processor is not a {@link BatchProcessor}.
+ */
+public interface BatchProcessor extends Processor {
+
+    /**
+     * Processes the batch of message exchanges.
+     *
+     * @param  exchanges the message exchanges to process
+     * @throws Exception if an internal processing error has occurred, which means the batch as a whole failed
+     */
+    void processBatch(List<Exchange> exchanges) throws Exception;
+
+}
@@ -41,6 +41,35 @@ public interface EndpointUtilizationStatistics {
      */
     void onHit(String uri);
 
+    /**
+     * Callback when an exchange has been sent to an endpoint by an {@link org.apache.camel.Processor} EIP, to track the
+     * time taken.
+     *
+     * @param uri       the endpoint uri
+     * @param timeTaken the time taken in millis
+     */
+    default void onSent(String uri, long timeTaken) {
+        // noop
+    }
+
+    /**
+     * Gets the mean time taken in millis to send to the endpoint, or -1 if not tracked.
+     *
+     * @param uri the endpoint uri
+     */
+    default long getMeanTime(String uri) {
+        return -1;
+    }
+
+    /**
+     * Gets the max time taken in millis to send to the endpoint, or -1 if not tracked.
+     *
+     * @param uri the endpoint uri
+     */
+    default long getMaxTime(String uri) {
+        return -1;
+    }
+
     /**
      * To remove an endpoint from tracking information about its utilization
      *
@@ -132,6 +132,27 @@ public interface ProducerCache extends Service {
      */
     EndpointUtilizationStatistics getEndpointUtilizationStatistics();
 
+    /**
+     * Number of times a producer was acquired from the cache without creating a new producer
+     */
+    default long getHits() {
+        return 0;
+    }
+
+    /**
+     * Number of times a new producer was created when acquiring a producer
+     */
+    default long getMisses() {
+        return 0;
+    }
+
+    /**
+     * Number of producers evicted from the cache
+     */
+    default long getEvictions() {
+        return 0;
+    }
+
     /**
      * Sends an exchange to an endpoint using a supplied callback supporting the asynchronous routing engine.
      * <p/>
@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
@@ -62,6 +63,32 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the size in bytes of the off-heap arena, or <tt>0</tt> if off-heap stream caching is not in use.
+         */
+        long getOffHeapArenaSize();
+
+        /**
+         * Gets the number of bytes of the off-heap arena currently in use by stream caches.
+         */
+        long getOffHeapArenaUsed();
+
+        /**
+         * Gets the size in bytes of the memory-mapped spool file used for overflow of the off-heap arena.
+         */
+        long getOffHeapSpoolSize();
+
+        /**
+         * Gets the number of bytes of the memory-mapped spool file currently in use by stream caches.
+         */
+        long getOffHeapSpoolUsed();
+
+        /**
+         * Gets the counter for number of segments spilled to the memory-mapped spool file, because the off-heap arena
+         * was exhausted or the stream cache was over the spool threshold.
+         */
+        long getOffHeapSpillCounter();
+
         /**
          * Reset the counters
          */
@@ -88,6 +115,28 @@ public interface StreamCachingStrategy extends StaticService {
         Max
     }
 
+    /**
+     * A fixed size segment of off-heap memory used by stream caches when {@link #isOffHeapEnabled()} is in use.
+     */
+    interface OffHeapSegment {
+
+        /**
+         * The buffer of the segment. The buffer is shared, so callers should work on a
+         * {@link ByteBuffer#duplicate()} of the buffer.
+         */
+        ByteBuffer getBuffer();
+
+        /**
+         * Whether the segment is from the memory-mapped spool file, or <tt>false</tt> if from the off-heap arena.
+         */
+        boolean isSpooled();
+
+        /**
+         * Releases the segment so it can be reused by other stream caches.
+         */
+        void release();
+    }
+
     /**
      * Rule for determine if stream caching should be spooled to disk or kept in-memory.
      */
@@ -206,6 +255,62 @@ public interface StreamCachingStrategy extends StaticService {
 
     boolean isAnySpoolRules();
 
+    /**
+     * Sets whether stream caches should be kept in segments of a pooled off-heap arena instead of in-memory byte
+     * arrays. When the arena is exhausted, or the stream cache is over the spool threshold, the segments overflow to a
+     * memory-mapped spool file in the spool directory, where the segments are recycled instead of creating a new file
+     * per stream cache.
+     * <p/>
+     * The memory-mapped spool file is not used when a spool cipher is configured, and spooling then happens to
+     * encrypted temporary files as usual.
+     * <p/>
+     * <b>Notice:</b> This cannot be changed at runtime.
+     *
+     * Default is disabled.
+     */
+    void setOffHeapEnabled(boolean offHeapEnabled);
+
+    boolean isOffHeapEnabled();
+
+    /**
+     * Sets the size in bytes of the off-heap arena.
+     * <p/>
+     * The default size is 64mb.
+     */
+    void setOffHeapArenaSize(long offHeapArenaSize);
+
+    long getOffHeapArenaSize();
+
+    /**
+     * Sets the size in bytes of the segments of the off-heap arena and memory-mapped spool file.
+     * <p/>
+     * The default size is 8kb.
+     */
+    void setOffHeapSegmentSize(int offHeapSegmentSize);
+
+    int getOffHeapSegmentSize();
+
+    /**
+     * Sets the max size in bytes of the memory-mapped spool file. When the spool file is at its max size, then stream
+     * caches are spooled to temporary files as usual. Use a negative value for no limit.
+     * <p/>
+     * The regions at the end of the spool file are dropped, and the file truncated, when no longer in use.
+     * <p/>
+     * The default size is 1gb.
+     */
+    void setOffHeapMaxSpoolSize(long offHeapMaxSpoolSize);
+
+    long getOffHeapMaxSpoolSize();
+
+    /**
+     * Allocates a segment for use by a stream cache, when {@link #isOffHeapEnabled()} is in use.
+     *
+     * @param  spool whether the stream cache is over the spool threshold, and the segment should be allocated from the
+     *               memory-mapped spool file
+     * @return       the segment, or <tt>null</tt> if no segment is available
+     */
+    OffHeapSegment allocateOffHeapSegment(boolean spool);
+
     /**
      * Gets the utilization statistics.
      */
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Service;
+
+/**
+ * Access to a repository which stores the state of the token bucket mode of the
+ * <a href="http://camel.apache.org/throttler.html">Throttler</a>.
+ * <p/>
+ * The state of each correlation key is the theoretical arrival time (in nanoseconds since the epoch) of the next
+ * message, as used by the generic cell rate algorithm. The state is updated with compare and set semantic, which
+ * allows a repository backed by a shared store to enforce one rate across several Camel instances.
+ */
+public interface ThrottlerStateRepository extends Service {
+
+    /**
+     * Gets the state of the correlation key.
+     *
+     * @param  key the correlation key
+     * @return     the theoretical arrival time, or <tt>0</tt> if there is no state for the key
+     */
+    long get(String key);
+
+    /**
+     * Atomically sets the state of the correlation key to the given value if the current value is the expected value.
+     *
+     * @param  key    the correlation key
+     * @param  expect the expected value, where <tt>0</tt> is expected when there is no state for the key
+     * @param  update the new value
+     * @return        <tt>true</tt> if successful, or <tt>false</tt> if the current value was not the expected value
+     */
+    boolean compareAndSet(String key, long expect, long update);
+
+    /**
+     * Clear the repository.
+     */
+    void clear();
+
+}
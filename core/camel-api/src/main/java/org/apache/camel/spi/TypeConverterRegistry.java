@@ -16,6 +16,9 @@
  */
 package org.apache.camel.spi;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.StaticService;
@@ -76,6 +79,49 @@ public interface TypeConverterRegistry extends StaticService, CamelContextAware
          * @param statisticsEnabled <tt>true</tt> to enable
          */
         void setStatisticsEnabled(boolean statisticsEnabled);
+
+        /**
+         * The utilization statistics per conversion (from -> to), which is only captured when statistics is enabled.
+         */
+        default Collection<ConversionStatistics> getConversionStatistics() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Utilization statistics of converting from a given type to a given type.
+     */
+    interface ConversionStatistics {
+
+        /**
+         * The type converted from
+         */
+        Class<?> getFromType();
+
+        /**
+         * The type converted to
+         */
+        Class<?> getToType();
+
+        /**
+         * Number of successful conversions
+         */
+        long getHitCounter();
+
+        /**
+         * Number of attempts which cannot be converted as no suitable type converter exists
+         */
+        long getMissCounter();
+
+        /**
+         * Number of failed attempts during type conversion
+         */
+        long getFailedCounter();
+
+        /**
+         * Number of conversions where the type converter was found in the lookup table
+         */
+        long getLookupTableCounter();
     }
 
     /**
@@ -129,6 +175,72 @@ public interface TypeConverterRegistry extends StaticService, CamelContextAware
      */
     TypeConverter lookup(Class<?> toType, Class<?> fromType);
 
+    /**
+     * Creates a handle for converting to the given type, for call sites which converts to the same type over and over
+     * again, such as expressions. The handle keeps the type converter used for the type of the last value converted,
+     * which avoids looking up the type converter on each conversion. Conversions to other types are delegated to this
+     * registry.
+     *
+     * <p/>
+     * The default implementation returns the type converter of the {@link org.apache.camel.CamelContext}.
+     *
+     * @param  toType the type to convert to
+     * @return        the handle which is used as a regular type converter
+     */
+    default TypeConverter createTypeConverterHandle(Class<?> toType) {
+        return getCamelContext().getTypeConverter();
+    }
+
+    /**
+     * Gets the handle shared for converting to the given type, for call sites which converts to different types, such
+     * as {@link org.apache.camel.Message#getBody(Class)}. The shared handles are only in use when the lookup table is
+     * enabled, otherwise the type converter of the {@link org.apache.camel.CamelContext} is returned.
+     *
+     * @param  toType the type to convert to
+     * @return        the handle which is used as a regular type converter
+     * @see           #createTypeConverterHandle(Class)
+     */
+    default TypeConverter getTypeConverterHandle(Class<?> toType) {
+        return getCamelContext().getTypeConverter();
+    }
+
+    /**
+     * Whether the type converters used while starting Camel (such as when starting the routes) are resolved into an
+     * immutable lookup table when Camel has been started. The lookup table is indexed by the types, which avoids
+     * hashing the types and walking the super types of the value to look up the type converter on each conversion.
+     * <p/>
+     * This is by default disabled.
+     */
+    default boolean isLookupTableEnabled() {
+        return false;
+    }
+
+    /**
+     * Whether the type converters used while starting Camel (such as when starting the routes) are resolved into an
+     * immutable lookup table when Camel has been started. The lookup table is indexed by the types, which avoids
+     * hashing the types and walking the super types of the value to look up the type converter on each conversion.
+     * <p/>
+     * This is by default disabled, and registries without a lookup table ignore this option.
+     */
+    default void setLookupTableEnabled(boolean lookupTableEnabled) {
+        // noop
+    }
+
+    /**
+     * Resolves the type converters for the conversions used so far into the lookup table. This is done automatically
+     * when Camel has been started, but can be invoked again, such as after a warm up of the routes.
+     */
+    default void buildLookupTable() {
+        // noop
+    }
+
+    /**
+     * Number of conversions in the lookup table, or <tt>0</tt> if the lookup table is not in use.
+     */
+    default int getLookupTableSize() {
+        return 0;
+    }
+
     /**
      * Sets the injector to be used for creating new instances during type conversions.
      *
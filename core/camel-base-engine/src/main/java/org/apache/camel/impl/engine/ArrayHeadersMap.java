@@ -0,0 +1,477 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.apache.camel.Exchange;
+
+/**
+ * A case insensitive {@link Map} for message headers, which stores the headers in open addressing parallel arrays.
+ * <p/>
+ * Unlike {@link org.apache.camel.util.CaseInsensitiveMap} then there are no entry objects allocated per header, and the
+ * keys are not lower cased on lookup. Instead the case folded hash of the key is computed (without allocating), and is
+ * precomputed for the well known header constants from {@link Exchange}. The original case of the key is preserved.
+ * <p/>
+ * Copying this map (such as when the multicast, splitter or wire tap EIPs copies the exchange) is cheap, as the arrays
+ * are shared between the maps until either map is changed (copy on write). Clearing the map keeps the arrays so they
+ * can be reused when the exchange is pooled.
+ * <p/>
+ * This map is not thread-safe, and does not allow <tt>null</tt> keys.
+ */
+public class ArrayHeadersMap extends AbstractMap<String, Object> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    // do not keep very large arrays around when clearing the map
+    private static final int MAX_RECYCLED_CAPACITY = 256;
+    // marker for removed slots
+    private static final String TOMBSTONE = new String("");
+
+    private static final String[] KNOWN_KEYS;
+    private static final int[] KNOWN_HASHES;
+    private static final int KNOWN_MASK;
+
+    static {
+        List<String> known = new ArrayList<>();
+        try {
+            for (Field field : Exchange.class.getFields()) {
+                if (field.getType() == String.class && Modifier.isStatic(field.getModifiers())) {
+                    known.add((String) field.get(null));
+                }
+            }
+        } catch (Exception e) {
+            // ignore as its only an optimization
+        }
+        int capacity = tableSizeFor(known.size() * 2);
+        KNOWN_KEYS = new String[capacity];
+        KNOWN_HASHES = new int[capacity];
+        KNOWN_MASK = capacity - 1;
+        for (String key : known) {
+            int i = key.hashCode() & KNOWN_MASK;
+            while (KNOWN_KEYS[i] != null && KNOWN_KEYS[i] != key) {
+                i = (i + 1) & KNOWN_MASK;
+            }
+            KNOWN_KEYS[i] = key;
+            KNOWN_HASHES[i] = foldedHash(key);
+        }
+    }
+
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+    private int used;
+    private boolean shared;
+    private int modCount;
+    private transient EntrySet entrySet;
+
+    public ArrayHeadersMap() {
+    }
+
+    public ArrayHeadersMap(Map<? extends String, ?> map) {
+        if (map instanceof ArrayHeadersMap) {
+            ArrayHeadersMap other = (ArrayHeadersMap) map;
+            if (other.size > 0) {
+                // share the arrays until either map is changed
+                other.shared = true;
+                this.shared = true;
+                this.keys = other.keys;
+                this.values = other.values;
+                this.hashes = other.hashes;
+                this.size = other.size;
+                this.used = other.used;
+            }
+        } else if (!map.isEmpty()) {
+            allocate(tableSizeFor(map.size() * 4 / 3 + 1));
+            putAll(map);
+        }
+    }
+
+    /**
+     * Computes the case insensitive hash of the key
+     */
+    static int hash(String key) {
+        // the known keys are string constants so we can use the cached string hash and identity
+        int i = key.hashCode() & KNOWN_MASK;
+        String known;
+        while ((known = KNOWN_KEYS[i]) != null) {
+            if (known == key) {
+                return KNOWN_HASHES[i];
+            }
+            i = (i + 1) & KNOWN_MASK;
+        }
+        return foldedHash(key);
+    }
+
+    private static int foldedHash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char ch = key.charAt(i);
+            if (ch < 128) {
+                if (ch >= 'A' && ch <= 'Z') {
+                    ch += 32;
+                }
+            } else {
+                // same folding as String.equalsIgnoreCase
+                ch = Character.toLowerCase(Character.toUpperCase(ch));
+            }
+            h = 31 * h + ch;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = DEFAULT_CAPACITY;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        used = 0;
+        shared = false;
+    }
+
+    private void ensureWritable() {
+        if (keys == null) {
+            allocate(DEFAULT_CAPACITY);
+        } else if (shared) {
+            keys = keys.clone();
+            values = values.clone();
+            hashes = hashes.clone();
+            shared = false;
+        }
+    }
+
+    private int indexOf(Object key) {
+        if (size == 0 || !(key instanceof String)) {
+            return -1;
+        }
+        String name = (String) key;
+        if (keys.length == DEFAULT_CAPACITY) {
+            // headers are often looked up using the same string constant as they were stored with,
+            // which for small maps is faster to find by identity than by computing the case insensitive hash
+            for (int i = 0; i < DEFAULT_CAPACITY; i++) {
+                if (keys[i] == name) {
+                    return i;
+                }
+            }
+        }
+        int h = hash(name);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        String k;
+        while ((k = keys[i]) != null) {
+            if (k == name || k != TOMBSTONE && hashes[i] == h && k.equalsIgnoreCase(name)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        if (keys == null) {
+            allocate(DEFAULT_CAPACITY);
+        } else if ((used + 1) * 4 > keys.length * 3) {
+            // resizing creates new arrays so there is no need to copy the shared arrays first
+            resize();
+        } else {
+            ensureWritable();
+        }
+
+        int h = hash(key);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        int free = -1;
+        String k;
+        while ((k = keys[i]) != null) {
+            if (k == TOMBSTONE) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (k == key || hashes[i] == h && k.equalsIgnoreCase(key)) {
+                // keep the original key as the case insensitive map does
+                Object old = values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        if (free >= 0) {
+            i = free;
+        } else {
+            used++;
+        }
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = h;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        ensureWritable();
+        Object old = values[i];
+        keys[i] = TOMBSTONE;
+        values[i] = null;
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (keys != null) {
+            if (shared || keys.length > MAX_RECYCLED_CAPACITY) {
+                // do not touch the shared arrays
+                keys = null;
+                values = null;
+                hashes = null;
+                shared = false;
+            } else if (used > 0) {
+                // keep the arrays for reuse
+                Arrays.fill(keys, null);
+                Arrays.fill(values, null);
+            }
+        }
+        size = 0;
+        used = 0;
+        modCount++;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        // only grow if the table is full of live entries, otherwise just rehash to get rid of removed slots
+        int capacity = (size + 1) * 2 > oldKeys.length ? oldKeys.length << 1 : oldKeys.length;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            String k = oldKeys[j];
+            if (k != null && k != TOMBSTONE) {
+                int i = oldHashes[j] & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+                hashes[i] = oldHashes[j];
+                used++;
+            }
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        if (size == 0) {
+            return;
+        }
+        String[] k = keys;
+        Object[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != null && k[i] != TOMBSTONE) {
+                action.accept(k[i], v[i]);
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ArrayHeadersMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private int next;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            while (keys != null && next < keys.length && (keys[next] == null || keys[next] == TOMBSTONE)) {
+                next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return keys != null && next < keys.length;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            advance();
+            return new Entry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // removing leaves a tombstone so the positions of the other entries are not changed
+            ArrayHeadersMap.this.remove(keys[current]);
+            expectedModCount = modCount;
+            current = -1;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+
+        private final int index;
+        private final String key;
+
+        Entry(int index) {
+            this.index = index;
+            this.key = keys[index];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            // the value may have been changed after the entry was created
+            return keys != null && keys[index] == key ? values[index] : get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if (keys != null && keys[index] == key) {
+                ensureWritable();
+                Object old = values[index];
+                values[index] = value;
+                return old;
+            }
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return key.equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
@@ -57,7 +58,9 @@ import org.apache.camel.spi.Transformer;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.spi.UnitOfWorkFactory;
 import org.apache.camel.spi.annotations.EagerClassloaded;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.CamelContextHelper;
+import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LoggerHelper;
 import org.apache.camel.support.MessageHelper;
@@ -97,9 +100,15 @@ import org.slf4j.LoggerFactory;
  * {@link #process(org.apache.camel.Exchange, org.apache.camel.AsyncCallback)} method.
  * <p/>
  * The added advices can implement {@link Ordered} to control in which order the advices are executed.
+ * <p/>
+ * A batch of exchanges (see {@link BatchProcessor}) is processed by executing the advices for each exchange before and
+ * after the processor processes the batch.
+ * <p/>
+ * Compiled routes process the exchange with {@link #processCompiled(Exchange, AsyncCallback)}, which executes the
+ * advices directly before and after the processor without scheduling with the reactive executor.
  */
 @EagerClassloaded
-public class CamelInternalProcessor extends DelegateAsyncProcessor implements InternalProcessor {
+public class CamelInternalProcessor extends DelegateAsyncProcessor implements InternalProcessor, BatchProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelInternalProcessor.class);
 
@@ -419,6 +428,211 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         }
     }
 
+    /**
+     * Processes the batch of exchanges, where the before advices are executed for each exchange, then the exchanges are
+     * processed as a batch, and then the after advices are executed for each exchange. If the processor cannot process
+     * batches (see {@link #isBatchSupported()}) then the exchanges are processed one by one.
+     * <p/>
+     * Transacted exchanges, and exchanges where the unit of work must do work before and after processing (such as MDC
+     * logging), are processed one by one as they are bound to the current thread.
+     */
+    @Override
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        if (processor == null || !isBatchSupported()) {
+            BatchProcessorHelper.processEach(this, exchanges);
+            return;
+        }
+
+        List<Exchange> batch = new ArrayList<>(exchanges.size());
+        List<Object[]> batchStates = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            if (exchange.isRouteStop()) {
+                // we should not continue
+                continue;
+            }
+            if (shutdownStrategy.isForceShutdown()) {
+                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: "
+                             + exchange;
+                LOG.debug(msg);
+                if (exchange.getException() == null) {
+                    exchange.setException(new RejectedExecutionException(msg));
+                }
+                continue;
+            }
+
+            Object[] states = statefulAdvices > 0 ? new Object[statefulAdvices] : EMPTY_STATES;
+            if (!before(exchange, states)) {
+                // error in before so break out
+                continue;
+            }
+
+            UnitOfWork uow = exchange.getUnitOfWork();
+            if (exchange.isTransacted() || uow != null && uow.isBeforeAfterProcess()) {
+                // must be processed on its own
+                processSingle(exchange, uow);
+                after(exchange, states);
+            } else {
+                batch.add(exchange);
+                batchStates.add(states);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Processing batch of {} exchanges -> {}", batch.size(), batch);
+            }
+            // ----------------------------------------------------------
+            // CAMEL END USER - DEBUG ME HERE +++ START +++
+            // ----------------------------------------------------------
+            doProcessBatch(batch);
+            // ----------------------------------------------------------
+            // CAMEL END USER - DEBUG ME HERE +++ END +++
+            // ----------------------------------------------------------
+        } catch (Throwable e) {
+            // the batch as a whole failed
+            for (Exchange exchange : batch) {
+                if (exchange.getException() == null) {
+                    exchange.setException(e);
+                }
+            }
+        } finally {
+            for (int i = 0; i < batch.size(); i++) {
+                after(batch.get(i), batchStates.get(i));
+            }
+        }
+    }
+
+    /**
+     * Whether the processor can process a batch of exchanges in one call.
+     */
+    protected boolean isBatchSupported() {
+        return processor instanceof BatchProcessor;
+    }
+
+    /**
+     * Processes the batch of exchanges with the processor, which is called after the before advices have been executed
+     * for each exchange.
+     */
+    protected void doProcessBatch(List<Exchange> batch) throws Exception {
+        ((BatchProcessor) processor).processBatch(batch);
+    }
+
+    /**
+     * Processes the exchange as {@link #process(Exchange, AsyncCallback)} does, but the advices are executed directly
+     * before and after the processor, and the callback is called directly when the processor is done, instead of being
+     * scheduled with the reactive executor. This is used by compiled routes (see {@link Route#COMPILED_PROPERTY}) which
+     * run their steps in a loop for as long as they complete synchronously. If the processor cannot be processed
+     * directly (see {@link #isCompiledSupported()}) then the exchange is processed as usual.
+     * <p/>
+     * The exchange must not be transacted, and its unit of work must not do work before and after processing (such as
+     * MDC logging), as these rely on the ordering of the reactive executor.
+     */
+    public boolean processCompiled(Exchange exchange, AsyncCallback callback) {
+        if (processor == null || !isCompiledSupported()) {
+            return process(exchange, callback);
+        }
+        if (exchange.isRouteStop()) {
+            // we should not continue then we are done
+            callback.done(true);
+            return true;
+        }
+        if (shutdownStrategy.isForceShutdown()) {
+            String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: "
+                         + exchange;
+            LOG.debug(msg);
+            if (exchange.getException() == null) {
+                exchange.setException(new RejectedExecutionException(msg));
+            }
+            callback.done(true);
+            return true;
+        }
+
+        Object[] states = statefulAdvices > 0 ? new Object[statefulAdvices] : EMPTY_STATES;
+        if (!before(exchange, states)) {
+            // error in before so break out
+            callback.done(true);
+            return true;
+        }
+        // ----------------------------------------------------------
+        // CAMEL END USER - DEBUG ME HERE +++ START +++
+        // ----------------------------------------------------------
+        return doProcessCompiled(exchange, doneSync -> {
+            // ----------------------------------------------------------
+            // CAMEL END USER - DEBUG ME HERE +++ END +++
+            // ----------------------------------------------------------
+            after(exchange, states);
+            callback.done(doneSync);
+        });
+    }
+
+    /**
+     * Whether the processor can be processed directly by {@link #processCompiled(Exchange, AsyncCallback)}.
+     */
+    protected boolean isCompiledSupported() {
+        return false;
+    }
+
+    /**
+     * Processes the exchange with the processor, which is called after the before advices have been executed. The
+     * callback executes the after advices.
+     */
+    protected boolean doProcessCompiled(Exchange exchange, AsyncCallback callback) {
+        return processor.process(exchange, callback);
+    }
+
+    private boolean before(Exchange exchange, Object[] states) {
+        for (int i = 0, j = 0; i < advices.size(); i++) {
+            CamelInternalProcessorAdvice<?> task = advices.get(i);
+            try {
+                Object state = task.before(exchange);
+                if (task.hasState()) {
+                    states[j++] = state;
+                }
+            } catch (Throwable e) {
+                exchange.setException(e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void after(Exchange exchange, Object[] states) {
+        for (int i = advices.size() - 1, j = states.length - 1; i >= 0; i--) {
+            CamelInternalProcessorAdvice task = advices.get(i);
+            Object state = null;
+            if (task.hasState()) {
+                state = states[j--];
+            }
+            try {
+                task.after(exchange, state);
+            } catch (Throwable e) {
+                exchange.setException(e);
+                // allow all advices to complete even if there was an exception
+            }
+        }
+    }
+
+    private void processSingle(Exchange exchange, UnitOfWork uow) {
+        AsyncCallback async = EmptyAsyncCallback.get();
+        boolean beforeAndAfter = !exchange.isTransacted() && uow != null && uow.isBeforeAfterProcess();
+        if (beforeAndAfter) {
+            async = uow.beforeProcess(processor, exchange, async);
+        }
+        try {
+            processor.process(exchange);
+        } catch (Throwable e) {
+            exchange.setException(e);
+        }
+        if (beforeAndAfter) {
+            async.done(true);
+            uow.afterProcess(processor, exchange, async, true);
+        }
+    }
+
     @Override
     public String toString() {
         return processor != null ? processor.toString() : super.toString();
@@ -20,8 +20,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.Channel;
@@ -38,9 +41,12 @@ import org.apache.camel.spi.ErrorHandlerRedeliveryCustomizer;
 import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.spi.ManagementInterceptStrategy;
 import org.apache.camel.spi.MessageHistoryFactory;
+import org.apache.camel.spi.ReactiveExecutor;
 import org.apache.camel.spi.Tracer;
 import org.apache.camel.spi.WrapAwareProcessor;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
 import org.apache.camel.support.OrderedComparator;
+import org.apache.camel.support.processor.DelegateSyncProcessor;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +58,16 @@ import org.slf4j.LoggerFactory;
  * added to the route graph directly. <br/>
  * With this {@link Channel} we can in the future implement better strategies for routing the {@link Exchange} in the
  * route graph, as we have a {@link Channel} between each and every node in the graph.
+ * <p/>
+ * A batch of exchanges is processed by the next processor in one call if it is a {@link BatchProcessor} which is not
+ * wrapped by interceptors. The exchanges which failed in the batch are then handed to the error handler, which regards
+ * the batch as their first delivery attempt, so redelivery and dead letter handling apply to each of them. The failed
+ * exchanges are handed to the error handler together before awaiting them, so the delays of asynchronous delayed
+ * redeliveries (asyncDelayedRedelivery) overlap, whereas synchronous delayed redeliveries block the thread for one
+ * exchange at a time.
+ * <p/>
+ * Compiled routes invoke the output directly, and only hand the exchange to the error handler if the output failed.
+ * This is only done when the error handler cannot redeliver, otherwise the error handler invokes the output as usual.
  */
 public class DefaultChannel extends CamelInternalProcessor implements Channel {
 
@@ -63,6 +79,12 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
     // the real output to invoke that has been wrapped
     private Processor output;
     private ManagementInterceptStrategy.InstrumentationProcessor<?> instrumentationProcessor;
+    // whether the instrumentation processor wraps the output of the error handler (instead of being an advice)
+    private boolean instrumentationInErrorHandler;
+    // whether the error handler can redeliver, which requires the error handler to invoke the output
+    private boolean redeliveryPossible;
+    private AsyncProcessor asyncOutput;
+    private AsyncProcessor asyncErrorHandler;
     private Route route;
 
     public DefaultChannel(CamelContext camelContext) {
@@ -123,6 +145,8 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
 
         // the output has now been created, so assign the output as the processor
         setProcessor(getOutput());
+        asyncOutput = AsyncProcessorConverterHelper.convert(output);
+        asyncErrorHandler = errorHandler != null ? AsyncProcessorConverterHelper.convert(errorHandler) : null;
         ServiceHelper.startService(errorHandler, output);
     }
 
@@ -244,19 +268,21 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
 
     @Override
     public void postInitChannel() throws Exception {
+        if (errorHandler instanceof ErrorHandlerRedeliveryCustomizer) {
+            redeliveryPossible = ((ErrorHandlerRedeliveryCustomizer) errorHandler).determineIfRedeliveryIsEnabled();
+        }
         // if jmx was enabled for the processor then either add as advice or wrap and change the processor
         // on the error handler. See more details in the class javadoc of InstrumentationProcessor
         if (instrumentationProcessor != null) {
-            boolean redeliveryPossible = false;
             if (errorHandler instanceof ErrorHandlerRedeliveryCustomizer) {
                 ErrorHandlerRedeliveryCustomizer erh = (ErrorHandlerRedeliveryCustomizer) errorHandler;
-                redeliveryPossible = erh.determineIfRedeliveryIsEnabled();
                 if (redeliveryPossible) {
                     // okay we can redeliver then we need to change the output in the error handler
                     // to use us which we then wrap the call so we can capture before/after for redeliveries as well
                     Processor currentOutput = erh.getOutput();
                     instrumentationProcessor.setProcessor(currentOutput);
                     erh.changeOutput(instrumentationProcessor);
+                    instrumentationInErrorHandler = true;
                 }
             }
             if (!redeliveryPossible) {
@@ -266,6 +292,111 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
         }
     }
 
+    @Override
+    protected boolean isBatchSupported() {
+        // interceptors process one exchange at a time, and the error handler must be able to handle the exchanges
+        // which failed in the batch, without processing them again
+        return output == nextProcessor && getBatchProcessor() != null
+                && (errorHandler == null || errorHandler instanceof ErrorHandlerRedeliveryCustomizer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void doProcessBatch(List<Exchange> batch) throws Exception {
+        ManagementInterceptStrategy.InstrumentationProcessor<Object> instrumentation
+                = instrumentationInErrorHandler
+                        ? (ManagementInterceptStrategy.InstrumentationProcessor<Object>) instrumentationProcessor : null;
+        Object[] data = null;
+        if (instrumentation != null) {
+            data = new Object[batch.size()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = instrumentation.before(batch.get(i));
+            }
+        }
+        try {
+            getBatchProcessor().processBatch(batch);
+        } catch (Throwable e) {
+            // the batch as a whole failed
+            for (Exchange exchange : batch) {
+                if (exchange.getException() == null) {
+                    exchange.setException(e);
+                }
+            }
+        } finally {
+            if (instrumentation != null) {
+                for (int i = 0; i < data.length; i++) {
+                    instrumentation.after(batch.get(i), data[i]);
+                }
+            }
+        }
+
+        if (asyncErrorHandler != null) {
+            handleBatchFailures(batch);
+        }
+    }
+
+    private void handleBatchFailures(List<Exchange> batch) throws InterruptedException {
+        List<Exchange> failed = new ArrayList<>();
+        for (Exchange exchange : batch) {
+            if (exchange.getException() != null) {
+                failed.add(exchange);
+            }
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        // hand all the failed exchanges to the error handler before waiting, so they are handled at the same time
+        // (such as waiting for asynchronous delayed redeliveries)
+        CountDownLatch latch = new CountDownLatch(failed.size());
+        for (Exchange exchange : failed) {
+            // the error handler regards the exception as the outcome of the first delivery attempt
+            asyncErrorHandler.process(exchange, doneSync -> latch.countDown());
+        }
+        // run the error handling which has been scheduled on the current thread, before waiting for the rest
+        ReactiveExecutor reactiveExecutor = camelContext.adapt(ExtendedCamelContext.class).getReactiveExecutor();
+        while (latch.getCount() > 0 && reactiveExecutor.executeFromQueue()) {
+            // continue
+        }
+        latch.await();
+    }
+
+    @Override
+    protected boolean isCompiledSupported() {
+        // the error handler must be able to handle the exchange which failed, without processing it again, and
+        // redelivery must start from a copy of the exchange taken before the output is processed
+        return errorHandler == null || errorHandler instanceof ErrorHandlerRedeliveryCustomizer && !redeliveryPossible;
+    }
+
+    @Override
+    protected boolean doProcessCompiled(Exchange exchange, AsyncCallback callback) {
+        boolean sync = asyncOutput.process(exchange, doneSync -> {
+            if (!doneSync) {
+                // the output continued asynchronously
+                afterOutput(exchange, callback, false);
+            }
+        });
+        return sync && afterOutput(exchange, callback, true);
+    }
+
+    private boolean afterOutput(Exchange exchange, AsyncCallback callback, boolean doneSync) {
+        if (asyncErrorHandler != null && exchange.getException() != null) {
+            // the error handler regards the exception as the outcome of the first delivery attempt
+            return asyncErrorHandler.process(exchange, doneSync ? callback : sync -> callback.done(false));
+        }
+        callback.done(doneSync);
+        return doneSync;
+    }
+
+    private BatchProcessor getBatchProcessor() {
+        Processor target = nextProcessor;
+        if (target instanceof DelegateSyncProcessor) {
+            // a processor from the DSL which is wrapped so it is a service
+            target = ((DelegateSyncProcessor) target).getProcessor();
+        }
+        return target instanceof BatchProcessor ? (BatchProcessor) target : null;
+    }
+
     private static BacklogTracer getOrCreateBacklogTracer(CamelContext camelContext) {
         BacklogTracer tracer = null;
         if (camelContext.getRegistry() != null) {
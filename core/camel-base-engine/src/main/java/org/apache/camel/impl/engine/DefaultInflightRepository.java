@@ -212,11 +212,11 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         return System.currentTimeMillis() - exchange.getCreated();
     }
 
-    private static final class InflightExchangeEntry implements InflightExchange {
+    static final class InflightExchangeEntry implements InflightExchange {
 
         private final Exchange exchange;
 
-        private InflightExchangeEntry(Exchange exchange) {
+        InflightExchangeEntry(Exchange exchange) {
             this.exchange = exchange;
         }
 
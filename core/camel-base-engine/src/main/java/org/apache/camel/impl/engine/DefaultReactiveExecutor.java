@@ -33,6 +33,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default {@link ReactiveExecutor}.
+ * <p/>
+ * The worker that runs the reactive tasks is bound to the current thread. When using virtual threads (see
+ * {@link org.apache.camel.support.VirtualThreadPoolFactory}) then each virtual thread has its own worker, which means
+ * that callbacks that block continue on the same virtual thread without pinning a platform thread.
  */
 @ManagedResource(description = "Managed ReactiveExecutor")
 @EagerClassloaded
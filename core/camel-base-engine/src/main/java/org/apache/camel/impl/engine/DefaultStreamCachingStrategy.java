@@ -32,6 +32,7 @@ import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.FilePathResolver;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +57,11 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
     private boolean anySpoolRules;
+    private boolean offHeapEnabled;
+    private long offHeapArenaSize = 64 * 1024 * 1024;
+    private int offHeapSegmentSize = 8 * 1024;
+    private long offHeapMaxSpoolSize = 1024 * 1024 * 1024;
+    private volatile OffHeapStreamCacheArena offHeapArena;
 
     @Override
     public CamelContext getCamelContext() {
@@ -172,6 +178,52 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.anySpoolRules = anySpoolTasks;
     }
 
+    @Override
+    public boolean isOffHeapEnabled() {
+        return offHeapEnabled;
+    }
+
+    @Override
+    public void setOffHeapEnabled(boolean offHeapEnabled) {
+        this.offHeapEnabled = offHeapEnabled;
+    }
+
+    @Override
+    public long getOffHeapArenaSize() {
+        return offHeapArenaSize;
+    }
+
+    @Override
+    public void setOffHeapArenaSize(long offHeapArenaSize) {
+        this.offHeapArenaSize = offHeapArenaSize;
+    }
+
+    @Override
+    public int getOffHeapSegmentSize() {
+        return offHeapSegmentSize;
+    }
+
+    @Override
+    public void setOffHeapSegmentSize(int offHeapSegmentSize) {
+        this.offHeapSegmentSize = offHeapSegmentSize;
+    }
+
+    @Override
+    public long getOffHeapMaxSpoolSize() {
+        return offHeapMaxSpoolSize;
+    }
+
+    @Override
+    public void setOffHeapMaxSpoolSize(long offHeapMaxSpoolSize) {
+        this.offHeapMaxSpoolSize = offHeapMaxSpoolSize;
+    }
+
+    @Override
+    public OffHeapSegment allocateOffHeapSegment(boolean spool) {
+        OffHeapStreamCacheArena arena = offHeapArena;
+        return arena != null ? arena.allocate(spool) : null;
+    }
+
     @Override
     public Statistics getStatistics() {
         return statistics;
@@ -333,6 +385,21 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             }
         }
 
+        if (offHeapEnabled) {
+            File spoolFile = null;
+            if (spoolDirectory != null) {
+                if (ObjectHelper.isNotEmpty(spoolCipher)) {
+                    LOG.info("StreamCaching spool cipher is in use, so off-heap stream caches are spooled to encrypted files"
+                             + " instead of the memory-mapped spool file");
+                } else {
+                    spoolFile = new File(spoolDirectory, "camel-offheap-spool.dat");
+                }
+            }
+            offHeapArena = new OffHeapStreamCacheArena(offHeapArenaSize, offHeapSegmentSize, spoolFile, offHeapMaxSpoolSize);
+            statistics.offHeapArena = offHeapArena;
+            LOG.debug("Using off-heap stream caching {}", offHeapArena);
+        }
+
         LOG.debug("StreamCaching configuration {}", this);
 
         if (spoolDirectory != null) {
@@ -347,6 +414,12 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
 
     @Override
     protected void doStop() throws Exception {
+        if (offHeapArena != null) {
+            offHeapArena.close();
+            offHeapArena = null;
+            statistics.offHeapArena = null;
+        }
+
         if (spoolEnabled && isSpoolRemovable()) {
             LOG.debug("Removing spool directory: {}", spoolDirectory);
             FileUtil.removeDir(spoolDirectory);
@@ -372,6 +445,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + ", spoolThreshold=" + spoolThreshold
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
                + ", bufferSize=" + bufferSize
+               + ", offHeapEnabled=" + offHeapEnabled
                + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
@@ -444,6 +518,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private static final class UtilizationStatistics implements Statistics {
 
         private boolean statisticsEnabled;
+        private volatile OffHeapStreamCacheArena offHeapArena;
         private volatile long memoryCounter;
         private volatile long memorySize;
         private volatile long memoryAverageSize;
@@ -493,6 +568,36 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             return spoolAverageSize;
         }
 
+        @Override
+        public long getOffHeapArenaSize() {
+            OffHeapStreamCacheArena arena = offHeapArena;
+            return arena != null ? arena.getArenaSize() : 0;
+        }
+
+        @Override
+        public long getOffHeapArenaUsed() {
+            OffHeapStreamCacheArena arena = offHeapArena;
+            return arena != null ? arena.getArenaUsed() : 0;
+        }
+
+        @Override
+        public long getOffHeapSpoolSize() {
+            OffHeapStreamCacheArena arena = offHeapArena;
+            return arena != null ? arena.getSpoolSize() : 0;
+        }
+
+        @Override
+        public long getOffHeapSpoolUsed() {
+            OffHeapStreamCacheArena arena = offHeapArena;
+            return arena != null ? arena.getSpoolUsed() : 0;
+        }
+
+        @Override
+        public long getOffHeapSpillCounter() {
+            OffHeapStreamCacheArena arena = offHeapArena;
+            return arena != null ? arena.getSpillCounter() : 0;
+        }
+
         @Override
         public synchronized void reset() {
             memoryCounter = 0;
@@ -501,6 +606,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             spoolCounter = 0;
             spoolSize = 0;
             spoolAverageSize = 0;
+            OffHeapStreamCacheArena arena = offHeapArena;
+            if (arena != null) {
+                arena.resetSpillCounter();
+            }
         }
 
         @Override
@@ -516,8 +625,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         @Override
         public String toString() {
             return String.format(
-                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s, offHeapSpillCounter=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize,
+                    getOffHeapSpillCounter());
         }
     }
 
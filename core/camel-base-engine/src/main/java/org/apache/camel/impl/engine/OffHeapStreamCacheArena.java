@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.spi.StreamCachingStrategy.OffHeapSegment;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of fixed size segments used by off-heap stream caches.
+ * <p/>
+ * The segments are sliced from a single direct buffer (the arena), and when the arena is exhausted (or the stream cache
+ * is over the spool threshold) from a memory-mapped spool file. The spool file is grown in regions as needed, up to the
+ * max spool size, and the segments of the spool file are recycled, so there is no file created and deleted per stream
+ * cache. The segments with the lowest offset are reused first, so the regions at the end of the spool file become idle
+ * when the load goes down, and are then dropped and the spool file truncated.
+ */
+final class OffHeapStreamCacheArena {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapStreamCacheArena.class);
+
+    // number of segments mapped at a time when growing the spool file
+    private static final int SEGMENTS_PER_REGION = 128;
+
+    private final int segmentSize;
+    private final long arenaSize;
+    private final long maxSpoolSize;
+    private final Queue<Segment> arena = new ConcurrentLinkedQueue<>();
+    private final NavigableSet<Segment> spool = new ConcurrentSkipListSet<>(Comparator.comparingLong((Segment s) -> s.offset));
+    private final List<Region> regions = new ArrayList<>();
+    private final AtomicLong arenaUsed = new AtomicLong();
+    private final AtomicLong spoolUsed = new AtomicLong();
+    private final LongAdder spillCounter = new LongAdder();
+    private final File spoolFile;
+    private volatile FileChannel spoolChannel;
+    private volatile long spoolSize;
+
+    /**
+     * Creates the arena.
+     *
+     * @param arenaSize    size in bytes of the off-heap arena
+     * @param segmentSize  size in bytes of the segments
+     * @param spoolFile    the memory-mapped spool file, or <tt>null</tt> to not overflow to a spool file
+     * @param maxSpoolSize max size in bytes of the spool file, or a negative value for no limit
+     */
+    OffHeapStreamCacheArena(long arenaSize, int segmentSize, File spoolFile, long maxSpoolSize) throws IOException {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("OffHeapSegmentSize must be positive, was: " + segmentSize);
+        }
+        int count = (int) Math.min(arenaSize / segmentSize, Integer.MAX_VALUE / segmentSize);
+        this.segmentSize = segmentSize;
+        this.arenaSize = (long) count * segmentSize;
+        this.maxSpoolSize = maxSpoolSize < 0 ? Long.MAX_VALUE : maxSpoolSize;
+        this.spoolFile = spoolFile;
+
+        if (count > 0) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(count * segmentSize);
+            for (int i = 0; i < count; i++) {
+                buffer.limit((i + 1) * segmentSize).position(i * segmentSize);
+                arena.add(new Segment(buffer.slice(), null, 0));
+            }
+        }
+        if (spoolFile != null) {
+            spoolChannel = FileChannel.open(spoolFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
+
+    OffHeapSegment allocate(boolean spooled) {
+        Segment answer = null;
+        if (!spooled) {
+            answer = arena.poll();
+        }
+        if (answer == null && spoolChannel != null) {
+            answer = spool.pollFirst();
+            if (answer == null) {
+                answer = growSpool();
+            }
+            if (answer != null) {
+                answer.region.used.incrementAndGet();
+                spillCounter.increment();
+            }
+        }
+        if (answer != null) {
+            answer.inUse.set(true);
+            (answer.isSpooled() ? spoolUsed : arenaUsed).addAndGet(segmentSize);
+        }
+        return answer;
+    }
+
+    private synchronized Segment growSpool() {
+        // another thread may have grown the spool file in the meantime
+        Segment answer = spool.pollFirst();
+        if (answer != null || spoolChannel == null) {
+            return answer;
+        }
+        int count = (int) Math.min(SEGMENTS_PER_REGION, (maxSpoolSize - spoolSize) / segmentSize);
+        if (count <= 0) {
+            // the stream cache moves to a byte array or temporary file instead
+            LOG.trace("Cannot grow stream cache spool file: {} as its max size: {} is reached", spoolFile, maxSpoolSize);
+            return null;
+        }
+        try {
+            Region region = new Region(spoolSize, count);
+            MappedByteBuffer buffer = spoolChannel.map(FileChannel.MapMode.READ_WRITE, spoolSize, region.size);
+            for (int i = 0; i < count; i++) {
+                buffer.limit((i + 1) * segmentSize).position(i * segmentSize);
+                Segment segment = new Segment(buffer.slice(), region, spoolSize + (long) i * segmentSize);
+                region.segments[i] = segment;
+                if (answer == null) {
+                    answer = segment;
+                } else {
+                    spool.add(segment);
+                }
+            }
+            regions.add(region);
+            spoolSize += region.size;
+            LOG.trace("Grown stream cache spool file: {} to {} bytes", spoolFile, spoolSize);
+        } catch (IOException e) {
+            LOG.warn("Cannot grow stream cache spool file: {} due to {}. The stream cache will not use the spool file.",
+                    spoolFile, e.getMessage(), e);
+        }
+        return answer;
+    }
+
+    /**
+     * Drops the regions at the end of the spool file which are idle, and truncates the spool file. One idle region is
+     * kept, to not map and drop a region over and over again when the load is around a region boundary.
+     */
+    private synchronized void trimSpool() {
+        int n = regions.size();
+        while (n > 1 && spoolChannel != null) {
+            Region last = regions.get(n - 1);
+            if (last.used.get() > 0 || regions.get(n - 2).used.get() > 0 || !last.evict()) {
+                return;
+            }
+            regions.remove(--n);
+            spoolSize -= last.size;
+            try {
+                // the mapped region is unmapped when garbage collected
+                spoolChannel.truncate(spoolSize);
+            } catch (IOException e) {
+                // some platforms cannot truncate a file while mapped, the region is then mapped again when growing
+                LOG.debug("Cannot truncate stream cache spool file: {} due to {}", spoolFile, e.getMessage());
+            }
+            LOG.trace("Trimmed stream cache spool file: {} to {} bytes", spoolFile, spoolSize);
+        }
+    }
+
+    private void release(Segment segment) {
+        if (segment.inUse.compareAndSet(true, false)) {
+            if (segment.isSpooled()) {
+                spoolUsed.addAndGet(-segmentSize);
+                spool.add(segment);
+                if (segment.region.used.decrementAndGet() == 0 && segment.region.offset > 0) {
+                    trimSpool();
+                }
+            } else {
+                arenaUsed.addAndGet(-segmentSize);
+                arena.add(segment);
+            }
+        }
+    }
+
+    long getArenaSize() {
+        return arenaSize;
+    }
+
+    long getArenaUsed() {
+        return arenaUsed.get();
+    }
+
+    long getSpoolSize() {
+        return spoolSize;
+    }
+
+    long getSpoolUsed() {
+        return spoolUsed.get();
+    }
+
+    long getSpillCounter() {
+        return spillCounter.sum();
+    }
+
+    void resetSpillCounter() {
+        spillCounter.reset();
+    }
+
+    synchronized void close() {
+        arena.clear();
+        spool.clear();
+        regions.clear();
+        if (spoolChannel != null) {
+            IOHelper.close(spoolChannel);
+            spoolChannel = null;
+            // the mapped regions are unmapped when garbage collected, which may prevent deleting the file on some platforms
+            FileUtil.deleteFile(spoolFile);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapStreamCacheArena[arenaSize=" + arenaSize + ", segmentSize=" + segmentSize
+               + ", spoolFile=" + spoolFile + ", maxSpoolSize=" + maxSpoolSize + "]";
+    }
+
+    /**
+     * A region of the spool file, which is mapped at once.
+     */
+    private final class Region {
+
+        private final long offset;
+        private final int size;
+        private final Segment[] segments;
+        private final AtomicInteger used = new AtomicInteger();
+
+        private Region(long offset, int count) {
+            this.offset = offset;
+            this.size = count * segmentSize;
+            this.segments = new Segment[count];
+        }
+
+        /**
+         * Removes the segments of the region from the pool, or none if a segment has been allocated concurrently.
+         */
+        private boolean evict() {
+            for (int i = 0; i < segments.length; i++) {
+                if (!spool.remove(segments[i])) {
+                    for (int j = 0; j < i; j++) {
+                        spool.add(segments[j]);
+                    }
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final class Segment implements OffHeapSegment {
+
+        private final ByteBuffer buffer;
+        private final Region region;
+        private final long offset;
+        private final AtomicBoolean inUse = new AtomicBoolean();
+
+        private Segment(ByteBuffer buffer, Region region, long offset) {
+            this.buffer = buffer;
+            this.region = region;
+            this.offset = offset;
+        }
+
+        @Override
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public boolean isSpooled() {
+            return region != null;
+        }
+
+        @Override
+        public void release() {
+            OffHeapStreamCacheArena.this.release(this);
+        }
+    }
+}
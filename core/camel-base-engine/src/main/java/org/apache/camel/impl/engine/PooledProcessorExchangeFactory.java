@@ -25,7 +25,6 @@ import org.apache.camel.PooledExchange;
 import org.apache.camel.Processor;
 import org.apache.camel.spi.ProcessorExchangeFactory;
 import org.apache.camel.support.DefaultPooledExchange;
-import org.apache.camel.support.ExchangeHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,7 +75,7 @@ public class PooledProcessorExchangeFactory extends PrototypeProcessorExchangeFa
         PooledExchange ee = (PooledExchange) answer;
         ee.reset(System.currentTimeMillis());
 
-        ExchangeHelper.copyResults(answer, exchange);
+        copyExchange(answer, exchange);
         return answer;
     }
 
@@ -102,7 +101,7 @@ public class PooledProcessorExchangeFactory extends PrototypeProcessorExchangeFa
         PooledExchange ee = (PooledExchange) answer;
         ee.reset(System.currentTimeMillis());
 
-        ExchangeHelper.copyResults(answer, exchange);
+        copyExchange(answer, exchange);
         // do not reuse message id on copy
         answer.getIn().setMessageId(null);
         if (handover) {
@@ -136,6 +135,34 @@ public class PooledProcessorExchangeFactory extends PrototypeProcessorExchangeFa
         return answer;
     }
 
+    /**
+     * Copies the exchange into the pooled exchange, where the messages are copied into the existing pooled messages
+     * (reusing their headers map), and the IN and OUT message are kept as is, the same as {@link Exchange#copy()} does.
+     */
+    private static void copyExchange(ExtendedExchange answer, Exchange exchange) {
+        answer.setPattern(exchange.getPattern());
+        answer.getIn().copyFrom(exchange.getIn());
+        if (exchange.hasOut()) {
+            answer.getOut().copyFrom(exchange.getOut());
+        }
+
+        ExtendedExchange source = (ExtendedExchange) exchange;
+        if (source.hasProperties()) {
+            answer.getProperties().putAll(source.getProperties());
+        }
+        source.copyInternalProperties(answer);
+
+        // copy over state
+        answer.setException(source.getException());
+        answer.setRouteStop(source.isRouteStop());
+        answer.setRollbackOnly(source.isRollbackOnly());
+        answer.setRollbackOnlyLast(source.isRollbackOnlyLast());
+        answer.setNotifyEvent(source.isNotifyEvent());
+        answer.setRedeliveryExhausted(source.isRedeliveryExhausted());
+        answer.setErrorHandlerHandled(source.getErrorHandlerHandled());
+        answer.setStreamCacheDisabled(source.isStreamCacheDisabled());
+    }
+
     @Override
     public boolean release(Exchange exchange) {
         try {
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link org.apache.camel.spi.InflightRepository} for highly concurrent systems, which uses striped counters for the
+ * total and per route number of inflight exchanges, so many threads can add and remove exchanges without contending on
+ * the same counter.
+ * <p/>
+ * When browsing is enabled then only a bounded sample of the inflight exchanges is kept, in a fixed number of slots
+ * (see {@link #setSampleSize(int)}). Each exchange maps to a slot, and if the slot is already taken by another exchange
+ * then the exchange is not sampled. This means {@link #browse()} and {@link #oldest(String)} only see the sampled
+ * exchanges, which is usually good enough for management purposes, while adding and removing exchanges stays O(1). Use
+ * {@link DefaultInflightRepository} if all the inflight exchanges must be tracked.
+ */
+public class StripedInflightRepository extends ServiceSupport implements InflightRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StripedInflightRepository.class);
+
+    private final LongAdder size = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private volatile AtomicReferenceArray<Exchange> samples;
+    private boolean inflightExchangeEnabled;
+    private int sampleSize = 1024;
+
+    @Override
+    public void add(Exchange exchange) {
+        size.increment();
+
+        AtomicReferenceArray<Exchange> arr = samples;
+        if (arr != null) {
+            // only sample the exchange if its slot is free
+            arr.compareAndSet(slot(arr, exchange), null, exchange);
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange) {
+        size.decrement();
+
+        AtomicReferenceArray<Exchange> arr = samples;
+        if (arr != null) {
+            arr.compareAndSet(slot(arr, exchange), exchange, null);
+        }
+    }
+
+    @Override
+    public void add(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.increment();
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.decrement();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void addRoute(String routeId) {
+        routeCount.putIfAbsent(routeId, new LongAdder());
+    }
+
+    @Override
+    public void removeRoute(String routeId) {
+        routeCount.remove(routeId);
+    }
+
+    @Override
+    public int size(String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        return existing != null ? existing.intValue() : 0;
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightExchangeEnabled;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        this.inflightExchangeEnabled = inflightBrowseEnabled;
+        if (inflightBrowseEnabled) {
+            if (samples == null) {
+                samples = new AtomicReferenceArray<>(tableSizeFor(sampleSize));
+            }
+        } else {
+            samples = null;
+        }
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * The maximum number of inflight exchanges sampled for browsing, which is rounded up to a power of two. The default
+     * is 1024.
+     */
+    public void setSampleSize(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("SampleSize must be positive, was: " + sampleSize);
+        }
+        this.sampleSize = sampleSize;
+        if (samples != null) {
+            samples = new AtomicReferenceArray<>(tableSizeFor(sampleSize));
+        }
+    }
+
+    @Override
+    public Collection<InflightExchange> browse() {
+        return browse(null, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId) {
+        return browse(fromRouteId, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(int limit, boolean sortByLongestDuration) {
+        return browse(null, limit, sortByLongestDuration);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId, int limit, boolean sortByLongestDuration) {
+        if (!inflightExchangeEnabled) {
+            return Collections.emptyList();
+        }
+
+        Stream<Exchange> values = sampled(fromRouteId).stream();
+        if (sortByLongestDuration) {
+            values = values.sorted(Comparator.comparingLong(Exchange::getCreated));
+        } else {
+            values = values.sorted(Comparator.comparing(Exchange::getExchangeId));
+        }
+        if (limit > 0) {
+            values = values.limit(limit);
+        }
+
+        List<InflightExchange> answer = values.map(DefaultInflightRepository.InflightExchangeEntry::new)
+                .collect(Collectors.toList());
+        return Collections.unmodifiableCollection(answer);
+    }
+
+    @Override
+    public InflightExchange oldest(String fromRouteId) {
+        if (!inflightExchangeEnabled) {
+            return null;
+        }
+
+        // the oldest has the earliest created timestamp
+        Exchange first = null;
+        for (Exchange exchange : sampled(fromRouteId)) {
+            if (first == null || exchange.getCreated() < first.getCreated()) {
+                first = exchange;
+            }
+        }
+        return first != null ? new DefaultInflightRepository.InflightExchangeEntry(first) : null;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        int count = size();
+        if (count > 0) {
+            LOG.warn("Shutting down while there are still {} inflight exchanges.", count);
+        } else {
+            LOG.debug("Shutting down with no inflight exchanges.");
+        }
+        routeCount.clear();
+    }
+
+    private List<Exchange> sampled(String fromRouteId) {
+        AtomicReferenceArray<Exchange> arr = samples;
+        if (arr == null) {
+            return Collections.emptyList();
+        }
+        List<Exchange> answer = new ArrayList<>();
+        for (int i = 0; i < arr.length(); i++) {
+            Exchange exchange = arr.get(i);
+            if (exchange != null && (fromRouteId == null || fromRouteId.equals(exchange.getFromRouteId()))) {
+                answer.add(exchange);
+            }
+        }
+        return answer;
+    }
+
+    private static int slot(AtomicReferenceArray<Exchange> arr, Exchange exchange) {
+        // spread the identity hash as the low bits are used for the slot
+        int h = System.identityHashCode(exchange);
+        h ^= h >>> 16;
+        return h & (arr.length() - 1);
+    }
+
+    private static int tableSizeFor(int size) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(size - 1);
+        return n < 0 ? 1 : n + 1;
+    }
+
+}
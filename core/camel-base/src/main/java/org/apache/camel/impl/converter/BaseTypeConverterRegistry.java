@@ -34,6 +34,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.NoFactoryAvailableException;
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StartupListener;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.TypeConverterLoaderException;
 import org.apache.camel.spi.Injector;
@@ -63,6 +64,7 @@ public abstract class BaseTypeConverterRegistry extends CoreTypeConverterRegistr
     protected CamelContext camelContext;
     protected PackageScanClassResolver resolver;
     protected Injector injector;
+    private boolean startupListenerAdded;
 
     public BaseTypeConverterRegistry(CamelContext camelContext, PackageScanClassResolver resolver, Injector injector) {
         this.camelContext = camelContext;
@@ -306,4 +308,29 @@ public abstract class BaseTypeConverterRegistry extends CoreTypeConverterRegistr
         fallbackConverters.addAll(fallbacks);
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (camelContext != null && !startupListenerAdded) {
+            // build the lookup table from the conversions used while starting the routes
+            // (the lookup table may be enabled after this registry has been started, such as from camel-main)
+            // and only add the listener once, as this registry may be stopped and started again
+            startupListenerAdded = true;
+            camelContext.addStartupListener(new StartupListener() {
+                @Override
+                public void onCamelContextStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+                    if (alreadyStarted) {
+                        buildLookupTable();
+                    }
+                }
+
+                @Override
+                public void onCamelContextFullyStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+                    buildLookupTable();
+                }
+            });
+        }
+    }
+
 }
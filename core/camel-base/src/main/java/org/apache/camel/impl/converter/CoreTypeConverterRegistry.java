@@ -17,7 +17,10 @@
 package org.apache.camel.impl.converter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -48,6 +51,9 @@ import org.slf4j.LoggerFactory;
 
 public class CoreTypeConverterRegistry extends ServiceSupport implements TypeConverter, TypeConverterRegistry {
 
+    // the maximum number of conversions recorded for the lookup table (and of shared handles)
+    protected static final int LOOKUP_TABLE_MAX_CONVERSIONS = 256;
+
     protected static final TypeConverter MISS_CONVERTER = new TypeConverterSupport() {
         @Override
         public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
@@ -72,6 +78,18 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected final LongAdder missCounter = new LongAdder();
     protected final LongAdder hitCounter = new LongAdder();
     protected final LongAdder failedCounter = new LongAdder();
+    // utilization statistics per conversion (to, from)
+    protected final DoubleMap<Class<?>, Class<?>, ConversionCounter> conversionCounters = new DoubleMap<>(16);
+
+    // the conversions used (to, from) which are resolved into the lookup table
+    protected final DoubleMap<Class<?>, Class<?>, Boolean> lookupTableConversions = new DoubleMap<>(16);
+    protected volatile int lookupTableConversionsSize;
+    // the handles shared for the types to convert to (such as by Message.getBody(Class))
+    protected final Map<Class<?>, TypeConverter> sharedHandles = new ConcurrentHashMap<>();
+    protected volatile TypeConverterLookupTable lookupTable;
+    protected boolean lookupTableEnabled;
+    // changed when type converters are added or removed, so handles knows to resolve their type converter again
+    protected final AtomicInteger generation = new AtomicInteger();
 
     protected TypeConverterExists typeConverterExists = TypeConverterExists.Ignore;
     protected LoggingLevel typeConverterExistsLoggingLevel = LoggingLevel.DEBUG;
@@ -93,6 +111,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         }
         this.typeConverterExistsLoggingLevel = registry.getTypeConverterExistsLoggingLevel();
         this.typeConverterExists = registry.getTypeConverterExists();
+        this.lookupTableEnabled = registry.isLookupTableEnabled();
     }
 
     @Override
@@ -350,16 +369,28 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected Object doConvertTo(
             final Class<?> type, final Exchange exchange, final Object value,
             final boolean mandatory, final boolean tryConvert) {
+        return doConvertTo(type, exchange, value, mandatory, tryConvert, null);
+    }
+
+    /**
+     * Converts the value, where the given type converter (such as from a type converter handle) is attempted first.
+     */
+    protected Object doConvertTo(
+            final Class<?> type, final Exchange exchange, final Object value,
+            final boolean mandatory, final boolean tryConvert, final TypeConverter resolved) {
 
         boolean statisticsEnabled = !tryConvert && statistics.isStatisticsEnabled(); // we only capture if not try-convert in use
 
         Object answer;
         try {
-            answer = doConvertTo(type, exchange, value, tryConvert);
+            answer = doConvertTo(type, exchange, value, tryConvert, resolved);
         } catch (Exception e) {
             // only record if not try
             if (statisticsEnabled) {
                 failedCounter.increment();
+                if (value != null) {
+                    getOrCreateConversionCounter(type, value.getClass()).failed.increment();
+                }
             }
             if (tryConvert) {
                 return null;
@@ -379,11 +410,17 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             // Could not find suitable conversion
             if (statisticsEnabled) {
                 missCounter.increment();
+                if (value != null) {
+                    getOrCreateConversionCounter(type, value.getClass()).miss.increment();
+                }
             }
             return null;
         } else {
             if (statisticsEnabled) {
                 hitCounter.increment();
+                if (value != null && !type.isInstance(value)) {
+                    getOrCreateConversionCounter(type, value.getClass()).hit.increment();
+                }
             }
             return answer;
         }
@@ -393,6 +430,13 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             final Class<?> type, final Exchange exchange, final Object value,
             final boolean tryConvert)
             throws Exception {
+        return doConvertTo(type, exchange, value, tryConvert, null);
+    }
+
+    protected Object doConvertTo(
+            final Class<?> type, final Exchange exchange, final Object value,
+            final boolean tryConvert, final TypeConverter resolved)
+            throws Exception {
         boolean trace = LOG.isTraceEnabled();
         boolean statisticsEnabled = !tryConvert && statistics.isStatisticsEnabled(); // we only capture if not try-convert in use
 
@@ -451,6 +495,37 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             attemptCounter.increment();
         }
 
+        // use the type converter already resolved (from a handle or the lookup table) which avoids looking it up
+        TypeConverter known = resolved;
+        if (known == null) {
+            TypeConverterLookupTable table = lookupTable;
+            if (table != null) {
+                known = table.get(type, value.getClass());
+            }
+            if (known == null) {
+                // remember the conversion so its included when the lookup table is built
+                recordLookupTableConversion(type, value.getClass());
+            }
+        }
+        if (known != null) {
+            if (trace) {
+                LOG.trace("Using resolved converter: {} to convert [{}=>{}]", known, value.getClass(), type);
+            }
+            Object rc;
+            if (tryConvert) {
+                rc = known.tryConvertTo(type, exchange, value);
+            } else {
+                rc = known.convertTo(type, exchange, value);
+            }
+            if (rc != null) {
+                if (statisticsEnabled) {
+                    getOrCreateConversionCounter(type, value.getClass()).lookupTable.increment();
+                }
+                return rc;
+            }
+            // otherwise continue as usual which takes care of null values and the fallback converters
+        }
+
         // attempt bulk first which is the fastest
         for (BulkTypeConverters bulk : bulkTypeConverters) {
             if (trace) {
@@ -564,6 +639,155 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         return typeMappings.get(toType, fromType);
     }
 
+    /**
+     * Resolves the type converter to use for converting from the given type to the given type, in the same order as
+     * when converting a value, where the bulk type converters are used first.
+     *
+     * @return the type converter, or <tt>null</tt> if none found
+     */
+    protected TypeConverter resolveTypeConverter(Class<?> toType, Class<?> fromType) {
+        for (BulkTypeConverters bulk : bulkTypeConverters) {
+            TypeConverter converter = bulk.lookup(toType, fromType);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        TypeConverter converter = getOrFindTypeConverter(toType, fromType);
+        return converter != MISS_CONVERTER ? converter : null;
+    }
+
+    /**
+     * Whether converting from the given type to the given type is optimized by the registry itself, without using a
+     * type converter.
+     */
+    protected boolean isOptimizedConversion(Class<?> toType, Class<?> fromType) {
+        if (toType.isPrimitive() || toType.isEnum() || toType == Boolean.class) {
+            return true;
+        }
+        return toType == String.class
+                && (fromType.isPrimitive() || fromType == Boolean.class || fromType == Integer.class
+                        || fromType == Long.class);
+    }
+
+    /**
+     * Resolves the type converter for a handle, which is taken from the lookup table when possible
+     */
+    TypeConverter resolveHandleTypeConverter(Class<?> toType, Class<?> fromType) {
+        TypeConverterLookupTable table = lookupTable;
+        TypeConverter answer = table != null ? table.get(toType, fromType) : null;
+        if (answer == null) {
+            recordLookupTableConversion(toType, fromType);
+            answer = resolveTypeConverter(toType, fromType);
+        }
+        return answer;
+    }
+
+    /**
+     * Converts the value using the type converter already resolved by a handle
+     */
+    Object convertTo(
+            Class<?> type, Exchange exchange, Object value, boolean mandatory, boolean tryConvert, TypeConverter resolved) {
+        return doConvertTo(type, exchange, value, mandatory, tryConvert, resolved);
+    }
+
+    @Override
+    public TypeConverter createTypeConverterHandle(Class<?> toType) {
+        return new TypeConverterHandle(this, toType);
+    }
+
+    @Override
+    public TypeConverter getTypeConverterHandle(Class<?> toType) {
+        if (!lookupTableEnabled) {
+            return this;
+        }
+        TypeConverter answer = sharedHandles.get(toType);
+        if (answer == null) {
+            if (sharedHandles.size() >= LOOKUP_TABLE_MAX_CONVERSIONS) {
+                // do not keep handles for any number of types
+                return this;
+            }
+            answer = sharedHandles.computeIfAbsent(toType, this::createTypeConverterHandle);
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean isLookupTableEnabled() {
+        return lookupTableEnabled;
+    }
+
+    @Override
+    public void setLookupTableEnabled(boolean lookupTableEnabled) {
+        this.lookupTableEnabled = lookupTableEnabled;
+    }
+
+    @Override
+    public synchronized void buildLookupTable() {
+        if (!lookupTableEnabled) {
+            return;
+        }
+        DoubleMap<Class<?>, Class<?>, TypeConverter> converters = new DoubleMap<>(16);
+        lookupTableConversions.forEach((to, from, v) -> {
+            TypeConverter converter = resolveTypeConverter(to, from);
+            if (converter != null) {
+                converters.put(to, from, converter);
+            }
+        });
+        lookupTable = new TypeConverterLookupTable(converters);
+        LOG.debug("Built type converter lookup table with {} conversions", converters.size());
+    }
+
+    private void recordLookupTableConversion(Class<?> toType, Class<?> fromType) {
+        if (!lookupTableEnabled || lookupTableConversionsSize >= LOOKUP_TABLE_MAX_CONVERSIONS
+                || lookupTableConversions.containsKey(toType, fromType)) {
+            return;
+        }
+        synchronized (lookupTableConversions) {
+            if (lookupTableConversionsSize < LOOKUP_TABLE_MAX_CONVERSIONS
+                    && !lookupTableConversions.containsKey(toType, fromType)) {
+                lookupTableConversions.put(toType, fromType, Boolean.TRUE);
+                if (++lookupTableConversionsSize == LOOKUP_TABLE_MAX_CONVERSIONS) {
+                    LOG.debug("Recorded the maximum of {} conversions for the type converter lookup table",
+                            LOOKUP_TABLE_MAX_CONVERSIONS);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getLookupTableSize() {
+        TypeConverterLookupTable table = lookupTable;
+        return table != null ? table.size() : 0;
+    }
+
+    /**
+     * Invoked when type converters has been added or removed, which rebuilds the lookup table if in use.
+     */
+    protected void onTypeConvertersChanged() {
+        generation.incrementAndGet();
+        if (lookupTable != null) {
+            buildLookupTable();
+        }
+    }
+
+    int getGeneration() {
+        return generation.get();
+    }
+
+    private ConversionCounter getOrCreateConversionCounter(Class<?> toType, Class<?> fromType) {
+        ConversionCounter counter = conversionCounters.get(toType, fromType);
+        if (counter == null) {
+            synchronized (conversionCounters) {
+                counter = conversionCounters.get(toType, fromType);
+                if (counter == null) {
+                    counter = new ConversionCounter(toType, fromType);
+                    conversionCounters.put(toType, fromType, counter);
+                }
+            }
+        }
+        return counter;
+    }
+
     @Override
     public void addBulkTypeConverters(BulkTypeConverters bulkTypeConverters) {
         // guard against adding duplicates
@@ -575,6 +799,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
                 this.bulkTypeConverters.add(bulkTypeConverters);
             }
             sumBulkTypeConverters += bulkTypeConverters.size();
+            onTypeConvertersChanged();
         }
     }
 
@@ -585,6 +810,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (converter == MISS_CONVERTER) {
             // we have previously attempted to convert but missed so add this converter
             typeMappings.put(toType, fromType, typeConverter);
+            onTypeConvertersChanged();
             return;
         }
 
@@ -612,13 +838,18 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                onTypeConvertersChanged();
             }
         }
     }
 
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         LOG.trace("Removing type converter from: {} to: {}", fromType, toType);
-        return typeMappings.remove(toType, fromType);
+        boolean removed = typeMappings.remove(toType, fromType);
+        if (removed) {
+            onTypeConvertersChanged();
+        }
+        return removed;
     }
 
     @Override
@@ -632,6 +863,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        onTypeConvertersChanged();
     }
 
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
@@ -771,6 +1003,13 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         }
 
         typeMappings.clear();
+        lookupTable = null;
+        synchronized (lookupTableConversions) {
+            lookupTableConversions.clear();
+            lookupTableConversionsSize = 0;
+        }
+        sharedHandles.clear();
+        generation.incrementAndGet();
         statistics.reset();
     }
 
@@ -813,6 +1052,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             hitCounter.reset();
             missCounter.reset();
             failedCounter.reset();
+            conversionCounters.clear();
         }
 
         @Override
@@ -825,6 +1065,13 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             this.statisticsEnabled = statisticsEnabled;
         }
 
+        @Override
+        public Collection<ConversionStatistics> getConversionStatistics() {
+            List<ConversionStatistics> answer = new ArrayList<>(conversionCounters.size());
+            conversionCounters.forEach((to, from, counter) -> answer.add(counter));
+            return answer;
+        }
+
         @Override
         public String toString() {
             return String.format("TypeConverterRegistry utilization[noop=%s, attempts=%s, hits=%s, misses=%s, failures=%s]",
@@ -832,6 +1079,60 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         }
     }
 
+    /**
+     * Represents utilization statistics of a conversion (from -> to)
+     */
+    private static final class ConversionCounter implements ConversionStatistics {
+        private final Class<?> toType;
+        private final Class<?> fromType;
+        private final LongAdder hit = new LongAdder();
+        private final LongAdder miss = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder lookupTable = new LongAdder();
+
+        private ConversionCounter(Class<?> toType, Class<?> fromType) {
+            this.toType = toType;
+            this.fromType = fromType;
+        }
+
+        @Override
+        public Class<?> getFromType() {
+            return fromType;
+        }
+
+        @Override
+        public Class<?> getToType() {
+            return toType;
+        }
+
+        @Override
+        public long getHitCounter() {
+            return hit.longValue();
+        }
+
+        @Override
+        public long getMissCounter() {
+            return miss.longValue();
+        }
+
+        @Override
+        public long getFailedCounter() {
+            return failed.longValue();
+        }
+
+        @Override
+        public long getLookupTableCounter() {
+            return lookupTable.longValue();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s -> %s[hits=%s, misses=%s, failures=%s, lookupTable=%s]",
+                    fromType.getName(), toType.getName(), getHitCounter(), getMissCounter(), getFailedCounter(),
+                    getLookupTableCounter());
+        }
+    }
+
     /**
      * Represents a fallback type converter
      */
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+
+/**
+ * A handle for converting to a given type, which keeps the type converter used for the type of the last value
+ * converted, so the type converter is not looked up again as long as the values are of the same type.
+ * <p/>
+ * The type converter is resolved again if type converters has been added to or removed from the registry.
+ */
+final class TypeConverterHandle implements TypeConverter {
+
+    private final CoreTypeConverterRegistry registry;
+    private final Class<?> toType;
+    private volatile Binding binding;
+
+    TypeConverterHandle(CoreTypeConverterRegistry registry, Class<?> toType) {
+        this.registry = registry;
+        this.toType = toType;
+    }
+
+    @Override
+    public boolean allowNull() {
+        return false;
+    }
+
+    @Override
+    public <T> T convertTo(Class<T> type, Object value) throws TypeConversionException {
+        return convertTo(type, null, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+        Binding b = bind(type, value);
+        if (b == null) {
+            return registry.convertTo(type, exchange, value);
+        }
+        return (T) registry.convertTo(type, exchange, value, false, false, b.converter);
+    }
+
+    @Override
+    public <T> T mandatoryConvertTo(Class<T> type, Object value)
+            throws TypeConversionException, NoTypeConversionAvailableException {
+        return mandatoryConvertTo(type, null, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value)
+            throws TypeConversionException, NoTypeConversionAvailableException {
+        Binding b = bind(type, value);
+        if (b == null) {
+            return registry.mandatoryConvertTo(type, exchange, value);
+        }
+        Object answer = registry.convertTo(type, exchange, value, true, false, b.converter);
+        if (answer == null) {
+            throw new NoTypeConversionAvailableException(value, type);
+        }
+        return (T) answer;
+    }
+
+    @Override
+    public <T> T tryConvertTo(Class<T> type, Object value) {
+        return tryConvertTo(type, null, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T tryConvertTo(Class<T> type, Exchange exchange, Object value) {
+        Binding b = bind(type, value);
+        if (b == null) {
+            return registry.tryConvertTo(type, exchange, value);
+        }
+        return (T) registry.convertTo(type, exchange, value, false, true, b.converter);
+    }
+
+    /**
+     * Gets the binding of the type converter to use for converting the value
+     *
+     * @return the binding, or <tt>null</tt> if the conversion should be done by the registry as usual
+     */
+    private Binding bind(Class<?> type, Object value) {
+        if (type != toType || value == null || type.isInstance(value)) {
+            return null;
+        }
+        Class<?> fromType = value.getClass();
+        int generation = registry.getGeneration();
+        Binding b = binding;
+        if (b == null || b.fromType != fromType || b.generation != generation) {
+            if (registry.isOptimizedConversion(toType, fromType)) {
+                return null;
+            }
+            b = new Binding(fromType, registry.resolveHandleTypeConverter(toType, fromType), generation);
+            binding = b;
+        }
+        return b;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeConverterHandle[" + toType.getName() + "]";
+    }
+
+    private static final class Binding {
+        private final Class<?> fromType;
+        private final TypeConverter converter;
+        private final int generation;
+
+        private Binding(Class<?> fromType, TypeConverter converter, int generation) {
+            this.fromType = fromType;
+            this.converter = converter;
+            this.generation = generation;
+        }
+    }
+}
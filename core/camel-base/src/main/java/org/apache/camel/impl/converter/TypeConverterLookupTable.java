@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.TypeConverter;
+import org.apache.camel.util.DoubleMap;
+
+/**
+ * An immutable lookup table of type converters (from -> to).
+ * <p/>
+ * Each type in the table is assigned an index, which is kept per type using a {@link ClassValue}, and the type
+ * converters are kept in a dense table indexed by the index of the to and from type. This allows looking up a type
+ * converter without hashing the types or walking the super types of the value.
+ */
+final class TypeConverterLookupTable {
+
+    private final Map<Class<?>, Integer> indexes;
+    private final ClassValue<Integer> index = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            Integer answer = indexes.get(type);
+            return answer != null ? answer : -1;
+        }
+    };
+    private final TypeConverter[][] table;
+    private final int size;
+
+    TypeConverterLookupTable(DoubleMap<Class<?>, Class<?>, TypeConverter> converters) {
+        Map<Class<?>, Integer> map = new HashMap<>();
+        converters.forEach((to, from, converter) -> {
+            map.putIfAbsent(to, map.size());
+            map.putIfAbsent(from, map.size());
+        });
+        this.indexes = map;
+
+        int count = map.size();
+        this.table = new TypeConverter[count][];
+        converters.forEach((to, from, converter) -> {
+            int row = map.get(to);
+            if (table[row] == null) {
+                table[row] = new TypeConverter[count];
+            }
+            table[row][map.get(from)] = converter;
+        });
+        this.size = converters.size();
+    }
+
+    /**
+     * Gets the type converter for converting from the given type to the given type
+     *
+     * @return the type converter, or <tt>null</tt> if the conversion is not in the table
+     */
+    TypeConverter get(Class<?> toType, Class<?> fromType) {
+        int to = index.get(toType);
+        if (to < 0) {
+            return null;
+        }
+        TypeConverter[] row = table[to];
+        if (row == null) {
+            return null;
+        }
+        int from = index.get(fromType);
+        return from < 0 ? null : row[from];
+    }
+
+    /**
+     * Number of conversions in the table
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.console;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.processor.ConcurrencyLimiter;
+import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.util.json.JsonObject;
+
+@DevConsole("concurrency-limit")
+public class ConcurrencyLimitDevConsole extends AbstractDevConsole {
+
+    public ConcurrencyLimitDevConsole() {
+        super("camel", "concurrency-limit", "Concurrency Limit", "Adaptive concurrency limits of the routes");
+    }
+
+    @Override
+    protected String doCallText(Map<String, Object> options) {
+        StringBuilder sb = new StringBuilder();
+        for (ConcurrencyLimiter limiter : findLimiters()) {
+            if (sb.length() > 0) {
+                sb.append("\n");
+            }
+            sb.append(String.format("    Id: %s", limiter.getId()));
+            sb.append(String.format("\n    Route Id: %s", limiter.getRouteId()));
+            sb.append(String.format("\n    Limit: %s", limiter.getCurrentLimit()));
+            sb.append(String.format("\n    Inflight: %s", limiter.getInflight()));
+            sb.append(String.format("\n    Queue Size: %s", limiter.getQueueSize()));
+            sb.append(String.format("\n    Rejected: %s", limiter.getRejectedCount()));
+            if (limiter.getCorrelationExpression() != null) {
+                for (String key : limiter.getCorrelationKeys()) {
+                    sb.append(String.format("\n        Key: %s (limit: %s inflight: %s queue: %s)", key,
+                            limiter.getCurrentLimit(key), limiter.getInflight(key), limiter.getQueueSize(key)));
+                }
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    protected JsonObject doCallJson(Map<String, Object> options) {
+        JsonObject root = new JsonObject();
+        List<JsonObject> list = new ArrayList<>();
+        for (ConcurrencyLimiter limiter : findLimiters()) {
+            JsonObject jo = new JsonObject();
+            jo.put("id", limiter.getId());
+            jo.put("routeId", limiter.getRouteId());
+            jo.put("limit", limiter.getCurrentLimit());
+            jo.put("inflight", limiter.getInflight());
+            jo.put("queueSize", limiter.getQueueSize());
+            jo.put("rejected", limiter.getRejectedCount());
+            if (limiter.getCorrelationExpression() != null) {
+                List<JsonObject> keys = new ArrayList<>();
+                for (String key : limiter.getCorrelationKeys()) {
+                    JsonObject jk = new JsonObject();
+                    jk.put("key", key);
+                    jk.put("limit", limiter.getCurrentLimit(key));
+                    jk.put("inflight", limiter.getInflight(key));
+                    jk.put("queueSize", limiter.getQueueSize(key));
+                    keys.add(jk);
+                }
+                jo.put("keys", keys);
+            }
+            list.add(jo);
+        }
+        root.put("limiters", list);
+        return root;
+    }
+
+    private List<ConcurrencyLimiter> findLimiters() {
+        List<ConcurrencyLimiter> answer = new ArrayList<>();
+        for (Route route : getCamelContext().getRoutes()) {
+            for (Processor processor : route.filter("*")) {
+                if (processor instanceof ConcurrencyLimiter) {
+                    answer.add((ConcurrencyLimiter) processor);
+                }
+            }
+        }
+        return answer;
+    }
+
+}
@@ -68,6 +68,12 @@ public class RouteDevConsole extends AbstractDevConsole {
             sb.append(String.format("\n    Mean Time: %s", TimeUtils.printDuration(mrb.getMeanProcessingTime())));
             sb.append(String.format("\n    Max Time: %s", TimeUtils.printDuration(mrb.getMaxProcessingTime())));
             sb.append(String.format("\n    Min Time: %s", TimeUtils.printDuration(mrb.getMinProcessingTime())));
+            if (mrb.isPercentileStatisticsEnabled()) {
+                sb.append(String.format("\n    P50 Time: %s", TimeUtils.printDuration(mrb.getP50ProcessingTime())));
+                sb.append(String.format("\n    P90 Time: %s", TimeUtils.printDuration(mrb.getP90ProcessingTime())));
+                sb.append(String.format("\n    P99 Time: %s", TimeUtils.printDuration(mrb.getP99ProcessingTime())));
+                sb.append(String.format("\n    P999 Time: %s", TimeUtils.printDuration(mrb.getP999ProcessingTime())));
+            }
             sb.append("\n");
             return null;
         };
@@ -98,6 +104,12 @@ public class RouteDevConsole extends AbstractDevConsole {
             stats.put("meanProcessingTime", mrb.getMeanProcessingTime());
             stats.put("maxProcessingTime", mrb.getMaxProcessingTime());
             stats.put("minProcessingTime", mrb.getMinProcessingTime());
+            if (mrb.isPercentileStatisticsEnabled()) {
+                stats.put("p50ProcessingTime", mrb.getP50ProcessingTime());
+                stats.put("p90ProcessingTime", mrb.getP90ProcessingTime());
+                stats.put("p99ProcessingTime", mrb.getP99ProcessingTime());
+                stats.put("p999ProcessingTime", mrb.getP999ProcessingTime());
+            }
             jo.put("statistics", stats);
             return null;
         };
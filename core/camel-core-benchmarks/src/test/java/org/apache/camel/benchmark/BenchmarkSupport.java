@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Launches JMH benchmarks from JUnit so they can be run from the Maven build using <tt>mvn test -Pbenchmark</tt>.
+ * <p/>
+ * The JMH settings are configured using the <tt>benchmark.*</tt> system properties from the pom.xml, which can be
+ * overridden from the command line. The results (ops/sec and the gc profiler allocation rates) are stored as JSON in
+ * <tt>target/jmh</tt> so they can be compared across releases.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Runs the benchmarks in the given class
+     *
+     * @param  benchmark the class with the JMH benchmarks
+     * @throws Exception is thrown if error running the benchmarks
+     */
+    public static void run(Class<?> benchmark) throws Exception {
+        String include = System.getProperty("benchmark.include", ".*");
+        if (!benchmark.getName().matches(include) && !benchmark.getSimpleName().matches(include)) {
+            return;
+        }
+
+        File dir = new File(System.getProperty("benchmark.resultDir", "target/jmh"));
+        dir.mkdirs();
+
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(benchmark.getName() + "\\.")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .forks(Integer.getInteger("benchmark.forks", 1))
+                .threads(Integer.getInteger("benchmark.threads", 1))
+                .warmupIterations(Integer.getInteger("benchmark.warmupIterations", 5))
+                .measurementIterations(Integer.getInteger("benchmark.measurementIterations", 5))
+                .warmupTime(TimeValue.fromString(System.getProperty("benchmark.iterationTime", "1s")))
+                .measurementTime(TimeValue.fromString(System.getProperty("benchmark.iterationTime", "1s")))
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(dir, benchmark.getSimpleName() + ".json").getAbsolutePath());
+
+        String profilers = System.getProperty("benchmark.profilers", "gc");
+        for (String profiler : profilers.split(",")) {
+            if (!profiler.isBlank()) {
+                builder.addProfiler(profiler.trim());
+            }
+        }
+
+        new Runner(builder.build()).run();
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.Route;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.PooledExchangeFactory;
+import org.apache.camel.impl.engine.PooledProcessorExchangeFactory;
+import org.apache.camel.impl.engine.PrototypeExchangeFactory;
+import org.apache.camel.impl.engine.PrototypeProcessorExchangeFactory;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks routing exchanges through the core routing engine (Pipeline, MulticastProcessor, Splitter and the
+ * CamelInternalProcessor advices, scheduled by the ReactiveExecutor) using the pooled and prototype exchange factories.
+ */
+public class DirectRoutingBenchmark {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.run(DirectRoutingBenchmark.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class RoutingState {
+
+        @Param({ "prototype", "pooled" })
+        public String exchangeFactory;
+
+        public CamelContext context;
+        public ProducerTemplate template;
+        public List<String> lines = Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H", "I", "J");
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            context = new DefaultCamelContext();
+            context.disableJMX();
+            ExtendedCamelContext ecc = context.adapt(ExtendedCamelContext.class);
+            if ("pooled".equals(exchangeFactory)) {
+                ecc.setExchangeFactory(new PooledExchangeFactory());
+                ecc.setProcessorExchangeFactory(new PooledProcessorExchangeFactory());
+            } else {
+                ecc.setExchangeFactory(new PrototypeExchangeFactory());
+                ecc.setProcessorExchangeFactory(new PrototypeProcessorExchangeFactory());
+            }
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start")
+                            .to("direct:a");
+
+                    from("direct:a")
+                            .setHeader("foo", constant("bar"))
+                            .to("direct:b");
+
+                    from("direct:b")
+                            .setBody(simple("Hello ${body}"));
+
+                    from("direct:pipeline")
+                            .setHeader("a", constant(1))
+                            .setHeader("b", constant(2))
+                            .setHeader("c", constant(3))
+                            .filter(header("a").isEqualTo(1))
+                            .setBody(constant("Bye World"));
+
+                    from("direct:compiled").routeProperty(Route.COMPILED_PROPERTY, "true")
+                            .setHeader("a", constant(1))
+                            .setHeader("b", constant(2))
+                            .setHeader("c", constant(3))
+                            .filter(header("a").isEqualTo(1))
+                            .setBody(constant("Bye World"));
+
+                    from("direct:multicast")
+                            .multicast()
+                            .to("direct:b", "direct:b", "direct:b");
+
+                    from("direct:split")
+                            .split(body())
+                            .to("direct:b");
+                }
+            });
+            context.start();
+            template = context.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            template.stop();
+            context.stop();
+        }
+    }
+
+    @Benchmark
+    public Object directToDirect(RoutingState state) {
+        return state.template.requestBody("direct:start", "World");
+    }
+
+    @Benchmark
+    public Object pipeline(RoutingState state) {
+        return state.template.requestBody("direct:pipeline", "Hello World");
+    }
+
+    @Benchmark
+    public Object compiledPipeline(RoutingState state) {
+        return state.template.requestBody("direct:compiled", "Hello World");
+    }
+
+    @Benchmark
+    public Object multicast(RoutingState state) {
+        return state.template.requestBody("direct:multicast", "World");
+    }
+
+    @Benchmark
+    public Object split(RoutingState state) {
+        return state.template.requestBody("direct:split", state.lines);
+    }
+
+}
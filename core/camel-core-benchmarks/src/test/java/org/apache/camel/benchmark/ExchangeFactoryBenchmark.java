@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.PooledExchangeFactory;
+import org.apache.camel.impl.engine.PrototypeExchangeFactory;
+import org.apache.camel.spi.ExchangeFactory;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks creating and releasing exchanges with the {@link PooledExchangeFactory} and
+ * {@link PrototypeExchangeFactory}, which is what consumers do for every incoming message.
+ */
+public class ExchangeFactoryBenchmark {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.run(ExchangeFactoryBenchmark.class);
+    }
+
+    @State(Scope.Thread)
+    public static class FactoryState {
+
+        @Param({ "prototype", "pooled" })
+        public String exchangeFactory;
+
+        public CamelContext context;
+        public ExchangeFactory factory;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            context = new DefaultCamelContext();
+            context.disableJMX();
+            context.start();
+            if ("pooled".equals(exchangeFactory)) {
+                factory = new PooledExchangeFactory();
+            } else {
+                factory = new PrototypeExchangeFactory();
+            }
+            factory.setCamelContext(context);
+            // build the factory (which creates the pool) without registering it in the exchange factory manager
+            // as it does not belong to a consumer
+            factory.build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.stop();
+        }
+    }
+
+    @Benchmark
+    public Exchange createAndRelease(FactoryState state) {
+        Exchange exchange = state.factory.create(false);
+        exchange.getMessage().setBody("Hello World");
+        exchange.getMessage().setHeader("foo", 123);
+        state.factory.release(exchange);
+        return exchange;
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Message;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.csimple.CSimpleLanguage;
+import org.apache.camel.language.csimple.CSimpleSupport;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.apache.camel.language.csimple.CSimpleHelper.bodyAs;
+import static org.apache.camel.language.csimple.CSimpleHelper.header;
+
+/**
+ * Benchmarks evaluating the same expressions and predicates with the interpreted simple language and with csimple.
+ * <p/>
+ * The csimple expressions are pre-compiled by hand in the same way as the generated source code from the
+ * camel-csimple-maven-plugin, so no compiler is needed at runtime.
+ */
+public class ExpressionBenchmark {
+
+    private static final String EXPRESSION = "Hello ${header.name} you are ${body} years old";
+    private static final String PREDICATE = "${body} > 10";
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.run(ExpressionBenchmark.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ExpressionState {
+
+        public CamelContext context;
+        public Exchange exchange;
+        public Expression simpleExpression;
+        public Predicate simplePredicate;
+        public Expression csimpleExpression;
+        public Predicate csimplePredicate;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            context = new DefaultCamelContext();
+            context.disableJMX();
+
+            CSimpleLanguage csimple = CSimpleLanguage.builder()
+                    .expression(new HelloExpression())
+                    .expression(new OlderThanPredicate())
+                    .build();
+            context.getRegistry().bind("csimple", csimple);
+            context.start();
+
+            exchange = new DefaultExchange(context);
+            exchange.getMessage().setHeader("name", "Camel");
+            exchange.getMessage().setBody(15);
+
+            simpleExpression = context.resolveLanguage("simple").createExpression(EXPRESSION);
+            simpleExpression.init(context);
+            simplePredicate = context.resolveLanguage("simple").createPredicate(PREDICATE);
+            simplePredicate.init(context);
+            csimpleExpression = context.resolveLanguage("csimple").createExpression(EXPRESSION);
+            csimpleExpression.init(context);
+            csimplePredicate = context.resolveLanguage("csimple").createPredicate(PREDICATE);
+            csimplePredicate.init(context);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.stop();
+        }
+    }
+
+    @Benchmark
+    public Object simpleExpression(ExpressionState state) {
+        return state.simpleExpression.evaluate(state.exchange, String.class);
+    }
+
+    @Benchmark
+    public boolean simplePredicate(ExpressionState state) {
+        return state.simplePredicate.matches(state.exchange);
+    }
+
+    @Benchmark
+    public Object csimpleExpression(ExpressionState state) {
+        return state.csimpleExpression.evaluate(state.exchange, String.class);
+    }
+
+    @Benchmark
+    public boolean csimplePredicate(ExpressionState state) {
+        return state.csimplePredicate.matches(state.exchange);
+    }
+
+    public static class HelloExpression extends CSimpleSupport {
+
+        @Override
+        public boolean isPredicate() {
+            return false;
+        }
+
+        @Override
+        public String getText() {
+            return EXPRESSION;
+        }
+
+        @Override
+        public Object evaluate(CamelContext context, Exchange exchange, Message message, Object body) throws Exception {
+            return "Hello " + header(message, "name") + " you are " + body + " years old";
+        }
+    }
+
+    public static class OlderThanPredicate extends CSimpleSupport {
+
+        @Override
+        public boolean isPredicate() {
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            return PREDICATE;
+        }
+
+        @Override
+        public Object evaluate(CamelContext context, Exchange exchange, Message message, Object body) throws Exception {
+            return bodyAs(message, int.class) > 10;
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import java.util.Map;
+
+import org.apache.camel.impl.engine.ArrayHeadersMapFactory;
+import org.apache.camel.impl.engine.DefaultHeadersMapFactory;
+import org.apache.camel.impl.engine.HashMapHeadersMapFactory;
+import org.apache.camel.spi.HeadersMapFactory;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the {@link HeadersMapFactory} implementations with the typical operations done on message headers: put,
+ * case insensitive lookup, and copying the headers (which happens when exchanges are copied by the EIPs).
+ */
+public class HeadersMapBenchmark {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.run(HeadersMapBenchmark.class);
+    }
+
+    @State(Scope.Thread)
+    public static class HeadersState {
+
+        @Param({ "default", "hashmap", "array" })
+        public String factory;
+
+        @Param({ "5", "20", "100" })
+        public int size;
+
+        public HeadersMapFactory headersMapFactory;
+        public String[] keys;
+        public String[] lookupKeys;
+        public Map<String, Object> headers;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            headersMapFactory = createHeadersMapFactory(factory);
+            keys = new String[size];
+            lookupKeys = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = "CamelHeader" + i;
+                // lookup using a different case for the case insensitive maps
+                lookupKeys[i] = headersMapFactory.isCaseInsensitive() ? keys[i].toLowerCase() : keys[i];
+            }
+            headers = headersMapFactory.newMap();
+            for (String key : keys) {
+                headers.put(key, key);
+            }
+        }
+    }
+
+    protected static HeadersMapFactory createHeadersMapFactory(String name) {
+        if ("hashmap".equals(name)) {
+            return new HashMapHeadersMapFactory();
+        } else if ("array".equals(name)) {
+            return new ArrayHeadersMapFactory();
+        }
+        return new DefaultHeadersMapFactory();
+    }
+
+    @Benchmark
+    public Map<String, Object> put(HeadersState state) {
+        Map<String, Object> map = state.headersMapFactory.newMap();
+        for (String key : state.keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void get(HeadersState state, Blackhole bh) {
+        for (String key : state.keys) {
+            bh.consume(state.headers.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getOtherCase(HeadersState state, Blackhole bh) {
+        for (String key : state.lookupKeys) {
+            bh.consume(state.headers.get(key));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> copy(HeadersState state) {
+        return state.headersMapFactory.newMap(state.headers);
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import java.io.InputStream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks type conversions via the {@link org.apache.camel.impl.converter.BaseTypeConverterRegistry}, covering
+ * direct converter hits, conversions needing the same type check, and conversions that are known misses.
+ */
+public class TypeConverterBenchmark {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.run(TypeConverterBenchmark.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConverterState {
+
+        public CamelContext context;
+        public TypeConverter converter;
+        public Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            context = new DefaultCamelContext();
+            context.disableJMX();
+            context.start();
+            converter = context.getTypeConverter();
+            exchange = new DefaultExchange(context);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.stop();
+        }
+    }
+
+    @Benchmark
+    public Object stringToInteger(ConverterState state) {
+        return state.converter.convertTo(Integer.class, state.exchange, "12345");
+    }
+
+    @Benchmark
+    public Object integerToString(ConverterState state) {
+        return state.converter.convertTo(String.class, state.exchange, 12345);
+    }
+
+    @Benchmark
+    public Object stringToInputStream(ConverterState state) {
+        return state.converter.convertTo(InputStream.class, state.exchange, "Hello World");
+    }
+
+    @Benchmark
+    public Object bytesToString(ConverterState state) {
+        return state.converter.convertTo(String.class, state.exchange, "Hello World".getBytes());
+    }
+
+    @Benchmark
+    public Object sameType(ConverterState state) {
+        return state.converter.convertTo(String.class, state.exchange, "Hello World");
+    }
+
+    @Benchmark
+    public Object miss(ConverterState state) {
+        return state.converter.convertTo(ConverterState.class, state.exchange, "Hello World");
+    }
+
+}
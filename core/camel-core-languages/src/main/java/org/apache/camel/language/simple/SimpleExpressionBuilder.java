@@ -34,6 +34,7 @@ import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.ClassResolver;
 import org.apache.camel.spi.ExchangeFormatter;
 import org.apache.camel.spi.Language;
@@ -465,6 +466,15 @@ public final class SimpleExpressionBuilder {
         }
 
         return new ExpressionAdapter() {
+            private TypeConverter dateConverter;
+
+            @Override
+            public void init(CamelContext context) {
+                super.init(context);
+                // the header/property values are often of the same type so use a handle to convert them
+                dateConverter = context.getTypeConverterRegistry().createTypeConverterHandle(Date.class);
+            }
+
             @Override
             public Object evaluate(Exchange exchange) {
                 Date date;
@@ -481,7 +491,7 @@ public final class SimpleExpressionBuilder {
                     } else if (obj instanceof Long) {
                         date = new Date((Long) obj);
                     } else {
-                        date = exchange.getContext().getTypeConverter().tryConvertTo(Date.class, exchange, obj);
+                        date = toDate(exchange, obj);
                         if (date == null) {
                             throw new IllegalArgumentException("Cannot find Date/long object at command: " + command);
                         }
@@ -494,7 +504,7 @@ public final class SimpleExpressionBuilder {
                     } else if (obj instanceof Long) {
                         date = new Date((Long) obj);
                     } else {
-                        date = exchange.getContext().getTypeConverter().tryConvertTo(Date.class, exchange, obj);
+                        date = toDate(exchange, obj);
                         if (date == null) {
                             throw new IllegalArgumentException("Cannot find Date/long object at command: " + command);
                         }
@@ -532,6 +542,11 @@ public final class SimpleExpressionBuilder {
                 }
             }
 
+            private Date toDate(Exchange exchange, Object value) {
+                TypeConverter converter = dateConverter != null ? dateConverter : exchange.getContext().getTypeConverter();
+                return converter.tryConvertTo(Date.class, exchange, value);
+            }
+
             @Override
             public String toString() {
                 if (timezone != null && pattern != null) {
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.language.simple.ast;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.language.simple.types.SimpleToken;
 
 /**
@@ -38,4 +39,15 @@ public abstract class BaseSimpleNode implements SimpleNode {
     public String toString() {
         return token.getText();
     }
+
+    /**
+     * Converts the boolean result to the given type, without using the type converter for the common types.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> T convertBoolean(CamelContext camelContext, Class<T> type, boolean answer) {
+        if (type == Object.class || type == Boolean.class || type == boolean.class) {
+            return (T) Boolean.valueOf(answer);
+        }
+        return camelContext.getTypeConverter().convertTo(type, answer);
+    }
 }
@@ -21,6 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -38,6 +39,9 @@ import org.apache.camel.util.StringHelper;
 
 /**
  * Represents a binary expression in the AST.
+ * <p/>
+ * When the right hand side is a constant (such as a quoted literal), then operators that otherwise parse the right hand
+ * side on every evaluation (regex, in, range, is) are prepared once when the expression is created.
  */
 public class BinaryExpression extends BaseSimpleNode {
 
@@ -135,6 +139,19 @@ public class BinaryExpression extends BaseSimpleNode {
 
     private Expression createIsExpression(
             final CamelContext camelContext, final String expression, final Expression leftExp, final Expression rightExp) {
+        String name = constantText(right);
+        if (name != null && camelContext != null && !"null".equals(name)) {
+            Class<?> rightType = camelContext.getClassResolver().resolveClass(name);
+            if (rightType != null) {
+                Predicate predicate = PredicateBuilder.isInstanceOf(leftExp, rightType);
+                if (operator == BinaryOperatorType.NOT_IS) {
+                    predicate = PredicateBuilder.not(predicate);
+                }
+                return createExpression(camelContext, leftExp, rightExp, predicate);
+            }
+            // the class is not found, which is reported when evaluating
+        }
+
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
@@ -158,7 +175,7 @@ public class BinaryExpression extends BaseSimpleNode {
                 }
                 boolean answer = predicate.matches(exchange);
 
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                return convertBoolean(camelContext, type, answer);
             }
 
             @Override
@@ -170,6 +187,19 @@ public class BinaryExpression extends BaseSimpleNode {
 
     private Expression createRegexExpression(
             final CamelContext camelContext, final Expression leftExp, final Expression rightExp) {
+        String regex = constantText(right);
+        if (regex != null) {
+            try {
+                Predicate predicate = PredicateBuilder.regex(leftExp, Pattern.compile(regex));
+                if (operator == BinaryOperatorType.NOT_REGEX) {
+                    predicate = PredicateBuilder.not(predicate);
+                }
+                return createExpression(camelContext, leftExp, rightExp, predicate);
+            } catch (PatternSyntaxException e) {
+                // the invalid pattern is reported when evaluating
+            }
+        }
+
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
@@ -179,7 +209,7 @@ public class BinaryExpression extends BaseSimpleNode {
                     predicate = PredicateBuilder.not(predicate);
                 }
                 boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                return convertBoolean(camelContext, type, answer);
             }
 
             @Override
@@ -191,6 +221,21 @@ public class BinaryExpression extends BaseSimpleNode {
 
     private Expression createInExpression(
             final CamelContext camelContext, final Expression leftExp, final Expression rightExp) {
+        String text = constantText(right);
+        if (text != null) {
+            // build the list of values only once
+            List<Object> values = new ArrayList<>();
+            Iterator<?> it = ObjectHelper.createIterator(text);
+            while (it.hasNext()) {
+                values.add(it.next());
+            }
+            Predicate predicate = new ValueBuilder(leftExp).in(values.toArray());
+            if (operator == BinaryOperatorType.NOT_IN) {
+                predicate = PredicateBuilder.not(predicate);
+            }
+            return createExpression(camelContext, leftExp, rightExp, predicate);
+        }
+
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
@@ -209,7 +254,7 @@ public class BinaryExpression extends BaseSimpleNode {
                     predicate = PredicateBuilder.not(predicate);
                 }
                 boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                return convertBoolean(camelContext, type, answer);
             }
 
             @Override
@@ -221,6 +266,16 @@ public class BinaryExpression extends BaseSimpleNode {
 
     private Expression createRangeExpression(
             final CamelContext camelContext, final String expression, final Expression leftExp, final Expression rightExp) {
+        String range = constantText(right);
+        Matcher matcher = range != null ? RANGE_PATTERN.matcher(range) : null;
+        if (matcher != null && matcher.matches()) {
+            Predicate predicate = createRangePredicate(leftExp, matcher);
+            if (operator == BinaryOperatorType.NOT_RANGE) {
+                predicate = PredicateBuilder.not(predicate);
+            }
+            return createExpression(camelContext, leftExp, rightExp, predicate);
+        }
+
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
@@ -229,13 +284,7 @@ public class BinaryExpression extends BaseSimpleNode {
                 String range = rightExp.evaluate(exchange, String.class);
                 Matcher matcher = RANGE_PATTERN.matcher(range);
                 if (matcher.matches()) {
-                    // wrap as constant expression for the from and to values
-                    Expression from = ExpressionBuilder.constantExpression(matcher.group(1));
-                    Expression to = ExpressionBuilder.constantExpression(matcher.group(3));
-
-                    // build a compound predicate for the range
-                    predicate = PredicateBuilder.isGreaterThanOrEqualTo(leftExp, from);
-                    predicate = PredicateBuilder.and(predicate, PredicateBuilder.isLessThanOrEqualTo(leftExp, to));
+                    predicate = createRangePredicate(leftExp, matcher);
                 } else {
                     throw new SimpleIllegalSyntaxException(
                             expression, right.getToken().getIndex(),
@@ -246,7 +295,7 @@ public class BinaryExpression extends BaseSimpleNode {
                 }
 
                 boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                return convertBoolean(camelContext, type, answer);
             }
 
             @Override
@@ -256,13 +305,39 @@ public class BinaryExpression extends BaseSimpleNode {
         };
     }
 
+    private static Predicate createRangePredicate(Expression leftExp, Matcher matcher) {
+        // wrap as constant expression for the from and to values
+        Expression from = ExpressionBuilder.constantExpression(matcher.group(1));
+        Expression to = ExpressionBuilder.constantExpression(matcher.group(3));
+
+        // build a compound predicate for the range
+        Predicate predicate = PredicateBuilder.isGreaterThanOrEqualTo(leftExp, from);
+        return PredicateBuilder.and(predicate, PredicateBuilder.isLessThanOrEqualTo(leftExp, to));
+    }
+
+    /**
+     * Gets the text of the node if its a constant, such as a quoted literal without functions.
+     *
+     * @return the text, or <tt>null</tt> if the node is not a constant
+     */
+    private static String constantText(SimpleNode node) {
+        if (node instanceof SingleQuoteStart) {
+            return ((SingleQuoteStart) node).getBlock().getConstantText();
+        } else if (node instanceof DoubleQuoteStart) {
+            return ((DoubleQuoteStart) node).getBlock().getConstantText();
+        } else if (node.getClass() == LiteralExpression.class) {
+            return ((LiteralExpression) node).getText();
+        }
+        return null;
+    }
+
     private Expression createExpression(
             final CamelContext camelContext, final Expression left, final Expression right, final Predicate predicate) {
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
                 boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                return convertBoolean(camelContext, type, answer);
             }
 
             @Override
@@ -53,6 +53,23 @@ public class CompositeNodes extends BaseSimpleNode {
         return children;
     }
 
+    /**
+     * Gets the text of this block if all the nodes are literals, which means the block is a constant.
+     *
+     * @return the text, or <tt>null</tt> if the block contains functions or other nodes evaluated at runtime
+     */
+    public String getConstantText() {
+        StringBuilder sb = new StringBuilder();
+        for (SimpleNode child : children) {
+            // a function is also a literal node but evaluated at runtime
+            if (child.getClass() != LiteralExpression.class) {
+                return null;
+            }
+            sb.append(((LiteralExpression) child).getText());
+        }
+        return sb.toString();
+    }
+
     @Override
     public Expression createExpression(CamelContext camelContext, String expression) {
         if (children.isEmpty()) {
@@ -60,6 +77,11 @@ public class CompositeNodes extends BaseSimpleNode {
         } else if (children.size() == 1) {
             return children.get(0).createExpression(camelContext, expression);
         } else {
+            // fold the literals into a single constant, so they are not concatenated on every evaluation
+            String text = getConstantText();
+            if (text != null) {
+                return ExpressionBuilder.constantExpression(text);
+            }
             List<Expression> answer = new ArrayList<>();
             for (SimpleNode child : children) {
                 answer.add(child.createExpression(camelContext, expression));
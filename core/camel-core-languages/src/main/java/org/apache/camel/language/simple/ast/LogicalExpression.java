@@ -86,14 +86,15 @@ public class LogicalExpression extends BaseSimpleNode {
     }
 
     private Expression createAndExpression(final Expression leftExp, final Expression rightExp) {
+        // the predicate is stateless so create it once
+        Predicate predicate = ExpressionToPredicateAdapter.toPredicate(leftExp);
+        final Predicate answerPredicate
+                = PredicateBuilder.and(predicate, ExpressionToPredicateAdapter.toPredicate(rightExp));
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
-                Predicate predicate = ExpressionToPredicateAdapter.toPredicate(leftExp);
-                predicate = PredicateBuilder.and(predicate, ExpressionToPredicateAdapter.toPredicate(rightExp));
-
-                boolean answer = predicate.matches(exchange);
-                return exchange.getContext().getTypeConverter().convertTo(type, answer);
+                boolean answer = answerPredicate.matches(exchange);
+                return convertBoolean(exchange.getContext(), type, answer);
             }
 
             @Override
@@ -104,14 +105,15 @@ public class LogicalExpression extends BaseSimpleNode {
     }
 
     private Expression createOrExpression(final Expression leftExp, final Expression rightExp) {
+        // the predicate is stateless so create it once
+        Predicate predicate = ExpressionToPredicateAdapter.toPredicate(leftExp);
+        final Predicate answerPredicate
+                = PredicateBuilder.or(predicate, ExpressionToPredicateAdapter.toPredicate(rightExp));
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
-                Predicate predicate = ExpressionToPredicateAdapter.toPredicate(leftExp);
-                predicate = PredicateBuilder.or(predicate, ExpressionToPredicateAdapter.toPredicate(rightExp));
-
-                boolean answer = predicate.matches(exchange);
-                return exchange.getContext().getTypeConverter().convertTo(type, answer);
+                boolean answer = answerPredicate.matches(exchange);
+                return convertBoolean(exchange.getContext(), type, answer);
             }
 
             @Override
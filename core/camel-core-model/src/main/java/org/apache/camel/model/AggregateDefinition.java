@@ -90,6 +90,9 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
     @Metadata(javaType = "java.lang.Boolean")
     private String optimisticLocking;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String lockStripes;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.util.concurrent.ExecutorService")
     private String executorService;
     @XmlAttribute
@@ -455,6 +458,14 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         this.optimisticLocking = optimisticLocking;
     }
 
+    public String getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(String lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public String getParallelProcessing() {
         return parallelProcessing;
     }
@@ -954,6 +965,29 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         return this;
     }
 
+    /**
+     * Turns on using lock striping, where the given number of locks is used for aggregating, each guarding a group of
+     * correlation keys. This allows exchanges with different correlation keys to be aggregated in parallel, while
+     * exchanges with the same correlation key is still aggregated one at a time. The number of locks is rounded up to
+     * a power of two. This cannot be used together with completionFromBatchConsumer or
+     * completionOnNewCorrelationGroup, and the aggregation strategy and repository must be thread safe.
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        return lockStripes(Integer.toString(lockStripes));
+    }
+
+    /**
+     * Turns on using lock striping, where the given number of locks is used for aggregating, each guarding a group of
+     * correlation keys. This allows exchanges with different correlation keys to be aggregated in parallel, while
+     * exchanges with the same correlation key is still aggregated one at a time. The number of locks is rounded up to
+     * a power of two. This cannot be used together with completionFromBatchConsumer or
+     * completionOnNewCorrelationGroup, and the aggregation strategy and repository must be thread safe.
+     */
+    public AggregateDefinition lockStripes(String lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model;
+
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementRef;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import org.apache.camel.Expression;
+import org.apache.camel.spi.Metadata;
+
+/**
+ * Limits the number of concurrent messages processed by its outputs, where the limit is adjusted dynamically based on
+ * the latency of the outputs
+ */
+@Metadata(label = "eip,routing")
+@XmlRootElement(name = "concurrencyLimit")
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(propOrder = { "correlationExpression", "outputs" })
+public class ConcurrencyLimitDefinition extends OutputDefinition<ConcurrencyLimitDefinition> {
+
+    @XmlElement(name = "correlationExpression")
+    private ExpressionSubElementDefinition correlationExpression;
+    @XmlAttribute
+    @Metadata(defaultValue = "20", javaType = "java.lang.Integer")
+    private String initialLimit;
+    @XmlAttribute
+    @Metadata(defaultValue = "1", javaType = "java.lang.Integer")
+    private String minLimit;
+    @XmlAttribute
+    @Metadata(defaultValue = "200", javaType = "java.lang.Integer")
+    private String maxLimit;
+    @XmlAttribute
+    @Metadata(defaultValue = "100", javaType = "java.lang.Integer")
+    private String maxQueueSize;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "1.5", javaType = "java.lang.Double")
+    private String rttTolerance;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "0.2", javaType = "java.lang.Double")
+    private String smoothing;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "600", javaType = "java.lang.Integer")
+    private String longWindow;
+
+    public ConcurrencyLimitDefinition() {
+    }
+
+    public ConcurrencyLimitDefinition(Expression correlationExpression) {
+        correlationExpression(correlationExpression);
+    }
+
+    @Override
+    public List<ProcessorDefinition<?>> getOutputs() {
+        return outputs;
+    }
+
+    @XmlElementRef
+    @Override
+    public void setOutputs(List<ProcessorDefinition<?>> outputs) {
+        super.setOutputs(outputs);
+    }
+
+    @Override
+    public String getShortName() {
+        return "concurrencyLimit";
+    }
+
+    @Override
+    public String getLabel() {
+        return "concurrencyLimit";
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimit[" + getOutputs() + "]";
+    }
+
+    // Fluent API
+    // -------------------------------------------------------------------------
+
+    /**
+     * To use a correlation expression that limits the concurrency by the given key instead of overall
+     *
+     * @param  correlationExpression is a correlation key as an expression that limits by the given key instead of
+     *                               overall
+     * @return                       the builder
+     */
+    public ConcurrencyLimitDefinition correlationExpression(Expression correlationExpression) {
+        ExpressionSubElementDefinition cor = new ExpressionSubElementDefinition();
+        cor.setExpressionType(ExpressionNodeHelper.toExpressionDefinition(correlationExpression));
+        setCorrelationExpression(cor);
+        return this;
+    }
+
+    /**
+     * Sets the concurrency limit to start with.
+     *
+     * @param  initialLimit the initial limit
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition initialLimit(int initialLimit) {
+        return initialLimit(Integer.toString(initialLimit));
+    }
+
+    /**
+     * Sets the concurrency limit to start with.
+     *
+     * @param  initialLimit the initial limit
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition initialLimit(String initialLimit) {
+        setInitialLimit(initialLimit);
+        return this;
+    }
+
+    /**
+     * Sets the lowest value the concurrency limit can be adjusted to.
+     *
+     * @param  minLimit the min limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition minLimit(int minLimit) {
+        return minLimit(Integer.toString(minLimit));
+    }
+
+    /**
+     * Sets the lowest value the concurrency limit can be adjusted to.
+     *
+     * @param  minLimit the min limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition minLimit(String minLimit) {
+        setMinLimit(minLimit);
+        return this;
+    }
+
+    /**
+     * Sets the highest value the concurrency limit can be adjusted to.
+     *
+     * @param  maxLimit the max limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition maxLimit(int maxLimit) {
+        return maxLimit(Integer.toString(maxLimit));
+    }
+
+    /**
+     * Sets the highest value the concurrency limit can be adjusted to.
+     *
+     * @param  maxLimit the max limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition maxLimit(String maxLimit) {
+        setMaxLimit(maxLimit);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of messages to queue when the limit is reached, before messages are rejected with a
+     * ConcurrencyLimitRejectedExecutionException. Use <tt>0</tt> to reject right away, and <tt>-1</tt> for an
+     * unbounded queue.
+     *
+     * @param  maxQueueSize the max queue size
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition maxQueueSize(int maxQueueSize) {
+        return maxQueueSize(Integer.toString(maxQueueSize));
+    }
+
+    /**
+     * Sets the maximum number of messages to queue when the limit is reached, before messages are rejected with a
+     * ConcurrencyLimitRejectedExecutionException. Use <tt>0</tt> to reject right away, and <tt>-1</tt> for an
+     * unbounded queue.
+     *
+     * @param  maxQueueSize the max queue size
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition maxQueueSize(String maxQueueSize) {
+        setMaxQueueSize(maxQueueSize);
+        return this;
+    }
+
+    /**
+     * Sets how much the latency may grow compared to the long term average latency before the limit is decreased.
+     *
+     * @param  rttTolerance the tolerance, such as 1.5 to allow the latency to grow by 50%
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition rttTolerance(double rttTolerance) {
+        return rttTolerance(Double.toString(rttTolerance));
+    }
+
+    /**
+     * Sets how much the latency may grow compared to the long term average latency before the limit is decreased.
+     *
+     * @param  rttTolerance the tolerance, such as 1.5 to allow the latency to grow by 50%
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition rttTolerance(String rttTolerance) {
+        setRttTolerance(rttTolerance);
+        return this;
+    }
+
+    /**
+     * Sets the factor (between 0 and 1) for how fast the limit is adjusted.
+     *
+     * @param  smoothing the smoothing factor
+     * @return           the builder
+     */
+    public ConcurrencyLimitDefinition smoothing(double smoothing) {
+        return smoothing(Double.toString(smoothing));
+    }
+
+    /**
+     * Sets the factor (between 0 and 1) for how fast the limit is adjusted.
+     *
+     * @param  smoothing the smoothing factor
+     * @return           the builder
+     */
+    public ConcurrencyLimitDefinition smoothing(String smoothing) {
+        setSmoothing(smoothing);
+        return this;
+    }
+
+    /**
+     * Sets the number of messages the long term average latency is calculated over.
+     *
+     * @param  longWindow the number of messages
+     * @return            the builder
+     */
+    public ConcurrencyLimitDefinition longWindow(int longWindow) {
+        return longWindow(Integer.toString(longWindow));
+    }
+
+    /**
+     * Sets the number of messages the long term average latency is calculated over.
+     *
+     * @param  longWindow the number of messages
+     * @return            the builder
+     */
+    public ConcurrencyLimitDefinition longWindow(String longWindow) {
+        setLongWindow(longWindow);
+        return this;
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public ExpressionSubElementDefinition getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    /**
+     * The expression used to calculate the correlation key to use for grouping. The Exchange which has the same
+     * correlation key is limited together.
+     */
+    public void setCorrelationExpression(ExpressionSubElementDefinition correlationExpression) {
+        this.correlationExpression = correlationExpression;
+    }
+
+    public String getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * The concurrency limit to start with
+     */
+    public void setInitialLimit(String initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public String getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * The lowest value the concurrency limit can be adjusted to
+     */
+    public void setMinLimit(String minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public String getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * The highest value the concurrency limit can be adjusted to
+     */
+    public void setMaxLimit(String maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public String getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * The maximum number of messages to queue when the limit is reached. Use 0 to reject right away, and -1 for an
+     * unbounded queue.
+     */
+    public void setMaxQueueSize(String maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    public String getRttTolerance() {
+        return rttTolerance;
+    }
+
+    /**
+     * How much the latency may grow compared to the long term average latency before the limit is decreased
+     */
+    public void setRttTolerance(String rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public String getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * The factor (between 0 and 1) for how fast the limit is adjusted
+     */
+    public void setSmoothing(String smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public String getLongWindow() {
+        return longWindow;
+    }
+
+    /**
+     * The number of messages the long term average latency is calculated over
+     */
+    public void setLongWindow(String longWindow) {
+        this.longWindow = longWindow;
+    }
+}
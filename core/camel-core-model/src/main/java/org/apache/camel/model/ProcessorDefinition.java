@@ -1960,6 +1960,36 @@ public abstract class ProcessorDefinition<Type extends ProcessorDefinition<Type>
         return answer;
     }
 
+    /**
+     * Concurrency Limit EIP: Creates a concurrency limiter which limits the number of messages processed concurrently
+     * by its outputs, where the limit is adjusted dynamically based on the latency of the outputs. Messages exceeding
+     * the limit are queued without blocking the caller thread, and are rejected when the queue is full.
+     *
+     * @return the builder
+     */
+    public ConcurrencyLimitDefinition concurrencyLimit() {
+        ConcurrencyLimitDefinition answer = new ConcurrencyLimitDefinition();
+        addOutput(answer);
+        return answer;
+    }
+
+    /**
+     * Concurrency Limit EIP: Creates a concurrency limiter which limits the number of messages processed concurrently
+     * by its outputs, where the limit is adjusted dynamically based on the latency of the outputs. Messages exceeding
+     * the limit are queued without blocking the caller thread, and are rejected when the queue is full.
+     * <p/>
+     * The messages are limited per group of the given correlation expression instead of overall.
+     *
+     * @param  correlationExpression is a correlation key as an expression that limits by the given key instead of
+     *                               overall
+     * @return                       the builder
+     */
+    public ConcurrencyLimitDefinition concurrencyLimit(Expression correlationExpression) {
+        ConcurrencyLimitDefinition answer = new ConcurrencyLimitDefinition(correlationExpression);
+        addOutput(answer);
+        return answer;
+    }
+
     /**
      * <a href="http://camel.apache.org/loop.html">Loop EIP:</a> Creates a loop allowing to process the a message a
      * number of times and possibly process them in a different way. Useful mostly for testing.
@@ -64,10 +64,16 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @Metadata(javaType = "java.lang.Boolean")
     private String parallelProcessing;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String parallelWindowSize;
+    @XmlAttribute
     @Metadata(javaType = "java.lang.Boolean")
     private String streaming;
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
+    private String streamingOrdered;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String stopOnException;
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.time.Duration", defaultValue = "0")
@@ -318,6 +324,81 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Whether to aggregate the replies in the same order as the messages was split, also when in streaming mode.
+     * <p/>
+     * In streaming mode the replies are by default aggregated out-of-order, e.g. in the order they come back. When
+     * streaming ordered is enabled, then the replies are aggregated in the same order as the messages was split, as in
+     * non-streaming mode, while still splitting the original message on-demand.
+     *
+     * @return the builder
+     */
+    public SplitDefinition streamingOrdered() {
+        return streamingOrdered(true);
+    }
+
+    /**
+     * Whether to aggregate the replies in the same order as the messages was split, also when in streaming mode.
+     * <p/>
+     * In streaming mode the replies are by default aggregated out-of-order, e.g. in the order they come back. When
+     * streaming ordered is enabled, then the replies are aggregated in the same order as the messages was split, as in
+     * non-streaming mode, while still splitting the original message on-demand.
+     *
+     * @return the builder
+     */
+    public SplitDefinition streamingOrdered(boolean streamingOrdered) {
+        return streamingOrdered(Boolean.toString(streamingOrdered));
+    }
+
+    /**
+     * Whether to aggregate the replies in the same order as the messages was split, also when in streaming mode.
+     * <p/>
+     * In streaming mode the replies are by default aggregated out-of-order, e.g. in the order they come back. When
+     * streaming ordered is enabled, then the replies are aggregated in the same order as the messages was split, as in
+     * non-streaming mode, while still splitting the original message on-demand.
+     *
+     * @return the builder
+     */
+    public SplitDefinition streamingOrdered(String streamingOrdered) {
+        setStreamingOrdered(streamingOrdered);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of split messages which can be in-flight when using parallel processing.
+     * <p/>
+     * When the window is full, then the splitter will not split (read ahead) any further messages until a reply has
+     * been aggregated. This bounds the memory in use when splitting big messages in streaming mode with parallel
+     * processing, as otherwise the splitter may split the messages faster than they can be processed. The replies
+     * waiting to be aggregated in order counts as in-flight.
+     * <p/>
+     * By default there is no limit.
+     *
+     * @param  parallelWindowSize the maximum number of in-flight split messages
+     * @return                    the builder
+     */
+    public SplitDefinition parallelWindowSize(int parallelWindowSize) {
+        return parallelWindowSize(Integer.toString(parallelWindowSize));
+    }
+
+    /**
+     * Sets the maximum number of split messages which can be in-flight when using parallel processing.
+     * <p/>
+     * When the window is full, then the splitter will not split (read ahead) any further messages until a reply has
+     * been aggregated. This bounds the memory in use when splitting big messages in streaming mode with parallel
+     * processing, as otherwise the splitter may split the messages faster than they can be processed. The replies
+     * waiting to be aggregated in order counts as in-flight.
+     * <p/>
+     * By default there is no limit.
+     *
+     * @param  parallelWindowSize the maximum number of in-flight split messages
+     * @return                    the builder
+     */
+    public SplitDefinition parallelWindowSize(String parallelWindowSize) {
+        setParallelWindowSize(parallelWindowSize);
+        return this;
+    }
+
     /**
      * Will now stop further processing if an exception or failure occurred during processing of an
      * {@link org.apache.camel.Exchange} and the caused exception will be thrown.
@@ -530,6 +611,22 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.streaming = streaming;
     }
 
+    public String getParallelWindowSize() {
+        return parallelWindowSize;
+    }
+
+    public void setParallelWindowSize(String parallelWindowSize) {
+        this.parallelWindowSize = parallelWindowSize;
+    }
+
+    public String getStreamingOrdered() {
+        return streamingOrdered;
+    }
+
+    public void setStreamingOrdered(String streamingOrdered) {
+        this.streamingOrdered = streamingOrdered;
+    }
+
     public String getParallelAggregate() {
         return parallelAggregate;
     }
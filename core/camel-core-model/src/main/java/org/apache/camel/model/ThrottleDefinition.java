@@ -30,6 +30,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.ThrottlerStateRepository;
 
 /**
  * Controls the rate at which messages are passed to the next node in the route
@@ -42,6 +43,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
 
     @XmlTransient
     private ExecutorService executorServiceBean;
+    @XmlTransient
+    private ThrottlerStateRepository stateRepositoryBean;
 
     @XmlElement(name = "correlationExpression")
     private ExpressionSubElementDefinition correlationExpression;
@@ -60,6 +63,15 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String rejectExecution;
+    @XmlAttribute
+    @Metadata(defaultValue = "DelayQueue", enums = "DelayQueue,TokenBucket")
+    private String mode;
+    @XmlAttribute
+    @Metadata(javaType = "java.lang.Integer")
+    private String burstSize;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "org.apache.camel.spi.ThrottlerStateRepository")
+    private String stateRepository;
 
     public ThrottleDefinition() {
     }
@@ -251,6 +263,73 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Sets the throttling mode, which by default is <tt>DelayQueue</tt> which uses a queue of permits. The
+     * <tt>TokenBucket</tt> mode throttles using the generic cell rate algorithm without any locking or scheduled
+     * refills, and can share the rate across several Camel instances by using a shared state repository.
+     *
+     * @param  mode the mode
+     * @return      the builder
+     */
+    public ThrottleDefinition mode(String mode) {
+        setMode(mode);
+        return this;
+    }
+
+    /**
+     * Uses the token bucket mode, which throttles using the generic cell rate algorithm.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        return mode("TokenBucket");
+    }
+
+    /**
+     * Sets the number of messages allowed in a burst in the token bucket mode, which by default is the maximum request
+     * count per period.
+     *
+     * @param  burstSize the burst size
+     * @return           the builder
+     */
+    public ThrottleDefinition burstSize(int burstSize) {
+        return burstSize(Integer.toString(burstSize));
+    }
+
+    /**
+     * Sets the number of messages allowed in a burst in the token bucket mode, which by default is the maximum request
+     * count per period.
+     *
+     * @param  burstSize the burst size
+     * @return           the builder
+     */
+    public ThrottleDefinition burstSize(String burstSize) {
+        setBurstSize(burstSize);
+        return this;
+    }
+
+    /**
+     * Sets the repository to store the state of the token bucket mode, which enables the token bucket mode.
+     *
+     * @param  stateRepository the repository
+     * @return                 the builder
+     */
+    public ThrottleDefinition stateRepository(ThrottlerStateRepository stateRepository) {
+        this.stateRepositoryBean = stateRepository;
+        return mode("TokenBucket");
+    }
+
+    /**
+     * Sets the repository to store the state of the token bucket mode, which enables the token bucket mode.
+     *
+     * @param  stateRepository the reference id of the repository
+     * @return                 the builder
+     */
+    public ThrottleDefinition stateRepository(String stateRepository) {
+        setStateRepository(stateRepository);
+        return mode("TokenBucket");
+    }
+
     /**
      * To use a custom thread pool (ScheduledExecutorService) by the throttler.
      *
@@ -329,6 +408,47 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.rejectExecution = rejectExecution;
     }
 
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the throttling mode. The DelayQueue mode uses a queue of permits. The TokenBucket mode throttles using the
+     * generic cell rate algorithm without any locking or scheduled refills, and can share the rate across several Camel
+     * instances by using a shared state repository.
+     */
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * The number of messages allowed in a burst in the token bucket mode, which by default is the maximum request count
+     * per period.
+     */
+    public void setBurstSize(String burstSize) {
+        this.burstSize = burstSize;
+    }
+
+    public ThrottlerStateRepository getStateRepositoryBean() {
+        return stateRepositoryBean;
+    }
+
+    public String getStateRepository() {
+        return stateRepository;
+    }
+
+    /**
+     * To use a custom repository to store the state of the token bucket mode, such as a repository backed by a shared
+     * store to enforce one rate across several Camel instances. By default a memory based repository is used.
+     */
+    public void setStateRepository(String stateRepository) {
+        this.stateRepository = stateRepository;
+    }
+
     /**
      * The expression used to calculate the correlation key to use for throttle grouping. The Exchange which has the
      * same correlation key is throttled together.
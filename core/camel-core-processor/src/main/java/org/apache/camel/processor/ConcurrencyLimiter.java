@@ -0,0 +1,514 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.Expression;
+import org.apache.camel.Processor;
+import org.apache.camel.Traceable;
+import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A concurrency limiter which limits the number of exchanges that are in-flight in its outputs, where the limit is
+ * adjusted dynamically based on the latency of the outputs.
+ * <p/>
+ * The limit is adjusted using a gradient algorithm, which compares the latest round trip time with a long term average
+ * of the round trip time. When the latency grows then the limit is decreased, and when the latency is stable then the
+ * limit is increased, allowing a small queue to build up at the downstream system.
+ * <p/>
+ * Exchanges exceeding the limit are queued, without blocking the calling thread, and are continued when an in-flight
+ * exchange completes. When the queue is full then the exchange is rejected with a
+ * {@link ConcurrencyLimitRejectedExecutionException}.
+ * <p/>
+ * The limit can be applied per group of exchanges by using a correlation expression. The state of a group which has no
+ * exchanges in-flight or queued is removed when it has been idle for the idle period.
+ */
+public class ConcurrencyLimiter extends DelegateAsyncProcessor implements Traceable, IdAware, RouteIdAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private static final String DEFAULT_KEY = "CamelConcurrencyLimiterDefaultKey";
+
+    private final CamelContext camelContext;
+    private final ReactiveExecutor reactiveExecutor;
+    private final Expression correlationExpression;
+    private final Map<String, LimitState> states = new ConcurrentHashMap<>();
+    private final LongAdder rejectedCounter = new LongAdder();
+    private final AtomicLong lastExpireCheck = new AtomicLong(System.nanoTime());
+
+    private String id;
+    private String routeId;
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 200;
+    private int maxQueueSize = 100;
+    private double rttTolerance = 1.5;
+    private double smoothing = 0.2;
+    private int longWindow = 600;
+    private long idlePeriodMillis = 60000;
+
+    public ConcurrencyLimiter(CamelContext camelContext, Processor processor, Expression correlationExpression) {
+        super(processor);
+        this.camelContext = camelContext;
+        this.reactiveExecutor = camelContext.adapt(ExtendedCamelContext.class).getReactiveExecutor();
+        this.correlationExpression = correlationExpression;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+            LimitState state = states.get(key);
+            for (;;) {
+                if (state == null) {
+                    expireIdleStates();
+                    state = states.computeIfAbsent(key, k -> new LimitState());
+                }
+                if (state.tryAcquire()) {
+                    return state.dispatch(exchange, callback);
+                }
+                if (!state.isExpired()) {
+                    break;
+                }
+                // the state was expired concurrently so use a new state
+                state = null;
+            }
+
+            if (maxQueueSize < 0 || state.queueSize.get() < maxQueueSize) {
+                LOG.trace("Concurrency limit {} reached, so queueing exchangeId: {}", state.getLimit(),
+                        exchange.getExchangeId());
+                state.queueSize.incrementAndGet();
+                state.queue.add(new PendingExchange(exchange, callback));
+                // an exchange may have completed while queueing
+                state.drain();
+                return false;
+            }
+
+            rejectedCounter.increment();
+            throw new ConcurrencyLimitRejectedExecutionException(
+                    "Exceeded the concurrency limit of " + state.getLimit() + " with " + state.queueSize.get()
+                                                                 + " exchanges queued");
+        } catch (Throwable e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+    }
+
+    /**
+     * Removes the state of the groups which have been idle for the idle period, which is checked at most once per idle
+     * period when a new group is created.
+     */
+    private void expireIdleStates() {
+        long now = System.nanoTime();
+        long last = lastExpireCheck.get();
+        long idlePeriod = TimeUnit.MILLISECONDS.toNanos(idlePeriodMillis);
+        if (now - last < idlePeriod || !lastExpireCheck.compareAndSet(last, now)) {
+            return;
+        }
+        states.values().removeIf(state -> now - state.lastUsed >= idlePeriod && state.expire());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        // reject any exchanges still waiting in the queues
+        for (LimitState state : states.values()) {
+            PendingExchange pending;
+            while ((pending = state.poll()) != null) {
+                pending.exchange.setException(new RejectedExecutionException("Run is not allowed"));
+                pending.callback.done(false);
+            }
+        }
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        states.clear();
+        super.doShutdown();
+    }
+
+    /**
+     * The state of the concurrency limit for a group of exchanges.
+     */
+    private final class LimitState {
+        // the in-flight count is -1 when the state has been expired
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final AtomicInteger queueSize = new AtomicInteger();
+        private final Queue<PendingExchange> queue = new ConcurrentLinkedQueue<>();
+        // the limit and the long term average are doubles stored as raw long bits so they can be updated lock-free
+        private final AtomicLong limit = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+        private final AtomicLong longRtt = new AtomicLong();
+        private volatile long lastUsed = System.nanoTime();
+
+        double limit() {
+            return Double.longBitsToDouble(limit.get());
+        }
+
+        int getLimit() {
+            return (int) limit();
+        }
+
+        int getInflight() {
+            return Math.max(0, inflight.get());
+        }
+
+        boolean isExpired() {
+            return inflight.get() < 0;
+        }
+
+        /**
+         * Expires this state if there are no exchanges in-flight or queued.
+         */
+        boolean expire() {
+            return queueSize.get() == 0 && inflight.compareAndSet(0, -1);
+        }
+
+        boolean tryAcquire() {
+            for (;;) {
+                int current = inflight.get();
+                if (current < 0 || current >= getLimit()) {
+                    return false;
+                }
+                if (inflight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        PendingExchange poll() {
+            PendingExchange pending = queue.poll();
+            if (pending != null) {
+                queueSize.decrementAndGet();
+            }
+            return pending;
+        }
+
+        /**
+         * Continues routing the queued exchanges while there are permits available.
+         */
+        void drain() {
+            while (!queue.isEmpty()) {
+                if (isExpired()) {
+                    // the state was expired while the exchange was queued, so route it again using a new state
+                    PendingExchange pending = poll();
+                    if (pending != null) {
+                        reactiveExecutor.schedule(
+                                () -> process(pending.exchange, doneSync -> pending.callback.done(false)));
+                    }
+                    continue;
+                }
+                if (!tryAcquire()) {
+                    return;
+                }
+                PendingExchange pending = poll();
+                if (pending == null) {
+                    // another thread took the exchange, so give back the permit
+                    inflight.decrementAndGet();
+                } else {
+                    // the exchange was queued so its callback is always done asynchronously
+                    reactiveExecutor.schedule(() -> dispatch(pending.exchange, doneSync -> pending.callback.done(false)));
+                }
+            }
+        }
+
+        boolean dispatch(Exchange exchange, AsyncCallback callback) {
+            final long start = System.nanoTime();
+            return processor.process(exchange, doneSync -> {
+                try {
+                    onSample(System.nanoTime() - start, exchange.getException() == null);
+                } finally {
+                    lastUsed = System.nanoTime();
+                    inflight.decrementAndGet();
+                    callback.done(doneSync);
+                    drain();
+                }
+            });
+        }
+
+        /**
+         * Adjusts the limit based on the round trip time of an exchange.
+         */
+        void onSample(long rtt, boolean success) {
+            if (!success || rtt <= 0) {
+                // failures are typically fast so they do not tell anything about the latency
+                return;
+            }
+
+            double avg = updateLongRtt(rtt);
+            for (;;) {
+                long bits = limit.get();
+                double current = Double.longBitsToDouble(bits);
+                if (inflight.get() < current / 2) {
+                    // the limit is not being used, so the latency does not tell whether it should grow
+                    return;
+                }
+
+                double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * avg / rtt));
+                double newLimit = current * gradient + Math.sqrt(current);
+                newLimit = current * (1 - smoothing) + newLimit * smoothing;
+                newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+                if (limit.compareAndSet(bits, Double.doubleToRawLongBits(newLimit))) {
+                    if ((int) newLimit != (int) current) {
+                        LOG.debug("Concurrency limit changed from {} to {}", (int) current, (int) newLimit);
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Adds the round trip time to the long term average and returns the new average.
+         */
+        private double updateLongRtt(long rtt) {
+            for (;;) {
+                long bits = longRtt.get();
+                double avg = Double.longBitsToDouble(bits);
+                avg = avg == 0 ? rtt : avg + (rtt - avg) / longWindow;
+                // the long term average recovers faster when the latency has dropped again
+                if (avg / rtt > 2) {
+                    avg = avg * 0.95;
+                }
+                if (longRtt.compareAndSet(bits, Double.doubleToRawLongBits(avg))) {
+                    return avg;
+                }
+            }
+        }
+    }
+
+    private static final class PendingExchange {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+
+        private PendingExchange(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Gets the current concurrency limit. If the limit is grouped with a correlation expression then the max limit
+     * within the groups is returned.
+     */
+    public int getCurrentLimit() {
+        return states.values().stream().mapToInt(LimitState::getLimit).max().orElse(initialLimit);
+    }
+
+    /**
+     * Gets the number of exchanges currently being processed by the outputs of this limiter.
+     */
+    public int getInflight() {
+        return states.values().stream().mapToInt(LimitState::getInflight).sum();
+    }
+
+    /**
+     * Gets the number of exchanges currently queued waiting for the limit.
+     */
+    public int getQueueSize() {
+        return states.values().stream().mapToInt(s -> s.queueSize.get()).sum();
+    }
+
+    /**
+     * Gets the correlation keys of the groups which currently is limited.
+     */
+    public Set<String> getCorrelationKeys() {
+        return states.keySet();
+    }
+
+    /**
+     * Gets the current concurrency limit of the given group, or <tt>0</tt> if there is no such group.
+     */
+    public int getCurrentLimit(String key) {
+        LimitState state = states.get(key);
+        return state != null ? state.getLimit() : 0;
+    }
+
+    /**
+     * Gets the number of exchanges currently being processed in the given group.
+     */
+    public int getInflight(String key) {
+        LimitState state = states.get(key);
+        return state != null ? state.getInflight() : 0;
+    }
+
+    /**
+     * Gets the number of exchanges currently queued in the given group.
+     */
+    public int getQueueSize(String key) {
+        LimitState state = states.get(key);
+        return state != null ? state.queueSize.get() : 0;
+    }
+
+    /**
+     * Gets the number of exchanges which has been rejected because the queue was full.
+     */
+    public long getRejectedCount() {
+        return rejectedCounter.sum();
+    }
+
+    public void resetRejectedCount() {
+        rejectedCounter.reset();
+    }
+
+    public Expression getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Sets the concurrency limit to start with
+     */
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * Sets the lowest value the concurrency limit can be adjusted to
+     */
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Sets the highest value the concurrency limit can be adjusted to
+     */
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of exchanges to queue when the limit is reached, where <tt>-1</tt> is unbounded
+     */
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    /**
+     * Sets how much the latency may grow compared to the long term average before the limit is decreased
+     */
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * Sets the factor (between 0 and 1) for how fast the limit is adjusted
+     */
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    /**
+     * Sets the number of samples the long term average of the latency is calculated over
+     */
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    public long getIdlePeriodMillis() {
+        return idlePeriodMillis;
+    }
+
+    /**
+     * Sets the time a group must have been idle, without exchanges in-flight or queued, before its state is removed
+     */
+    public void setIdlePeriodMillis(long idlePeriodMillis) {
+        this.idlePeriodMillis = idlePeriodMillis;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getRouteId() {
+        return routeId;
+    }
+
+    @Override
+    public void setRouteId(String routeId) {
+        this.routeId = routeId;
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "concurrencyLimit[" + getCurrentLimit() + "]";
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -170,6 +170,9 @@ public class MulticastProcessor extends AsyncProcessorSupport
     private final long timeout;
     private final ConcurrentMap<Processor, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
+    private int parallelWindowSize;
+    private boolean streamingOrdered;
+    private PooledExchangeTaskFactory taskFactory;
 
     public MulticastProcessor(CamelContext camelContext, Route route, Collection<Processor> processors) {
         this(camelContext, route, processors, null);
@@ -272,7 +275,29 @@ public class MulticastProcessor extends AsyncProcessorSupport
         Object dummy5 = new DefaultProcessorExchangePair(0, null, null, null);
         LOG.trace("Loaded {}", dummy5.getClass().getName());
 
-        ServiceHelper.buildService(processorExchangeFactory);
+        // the reactive tasks can only be pooled when they are not referenced after they are done,
+        // which is not the case when running in parallel or using a timeout
+        boolean pooled = camelContext.adapt(ExtendedCamelContext.class).getExchangeFactory().isPooled();
+        if (pooled && !isParallelProcessing() && timeout <= 0) {
+            taskFactory = new PooledTaskFactory(getId()) {
+                @Override
+                public PooledExchangeTask create(Exchange exchange, AsyncCallback callback) {
+                    return new MulticastReactiveTask();
+                }
+            };
+            int capacity = camelContext.adapt(ExtendedCamelContext.class).getExchangeFactory().getCapacity();
+            taskFactory.setCapacity(capacity);
+        } else {
+            taskFactory = new PrototypeTaskFactory() {
+                @Override
+                public PooledExchangeTask create(Exchange exchange, AsyncCallback callback) {
+                    return new MulticastReactiveTask();
+                }
+            };
+        }
+        LOG.trace("Using TaskFactory: {}", taskFactory);
+
+        ServiceHelper.buildService(processorExchangeFactory, taskFactory);
     }
 
     @Override
@@ -284,7 +309,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
             }
         }
 
-        ServiceHelper.initService(processorExchangeFactory);
+        ServiceHelper.initService(processorExchangeFactory, taskFactory);
     }
 
     @Override
@@ -311,9 +336,13 @@ public class MulticastProcessor extends AsyncProcessorSupport
         // the reactive mode will execute each sub task in its own runnable task which is scheduled on the reactive executor
         // which is how the routing engine normally operates
         // if we have parallel processing enabled then we cannot run in transacted mode (requires synchronous processing via same thread)
-        MulticastTask state = !isParallelProcessing() && exchange.isTransacted()
-                ? new MulticastTransactedTask(exchange, pairs, callback, size)
-                : new MulticastReactiveTask(exchange, pairs, callback, size);
+        MulticastTask state;
+        if (!isParallelProcessing() && exchange.isTransacted()) {
+            state = new MulticastTransactedTask(exchange, pairs, callback, size);
+        } else {
+            state = (MulticastReactiveTask) taskFactory.acquire(exchange, callback);
+            state.prepare(exchange, pairs, callback, size);
+        }
         if (isParallelProcessing()) {
             executorService.submit(() -> reactiveExecutor.schedule(state));
         } else {
@@ -372,30 +401,32 @@ public class MulticastProcessor extends AsyncProcessorSupport
 
     protected abstract class MulticastTask implements Runnable {
 
-        final Exchange original;
-        final Iterable<ProcessorExchangePair> pairs;
-        final AsyncCallback callback;
-        final Iterator<ProcessorExchangePair> iterator;
         final ReentrantLock lock = new ReentrantLock();
-        final AsyncCompletionService<Exchange> completion;
         final AtomicReference<Exchange> result = new AtomicReference<>();
         final AtomicInteger nbExchangeSent = new AtomicInteger();
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
-        final Map<String, String> mdc;
+        // whether sending is paused as the parallel window is full
+        final AtomicBoolean paused = new AtomicBoolean();
+        Exchange original;
+        Iterable<ProcessorExchangePair> pairs;
+        AsyncCallback callback;
+        Iterator<ProcessorExchangePair> iterator;
+        AsyncCompletionService<Exchange> completion;
+        Map<String, String> mdc;
+        // whether the task is done and should be released after the lock has been unlocked
+        boolean releasePending;
 
         private MulticastTask() {
-            // used for eager classloading
-            this.original = null;
-            this.pairs = null;
-            this.callback = null;
-            this.iterator = null;
-            this.mdc = null;
-            this.completion = null;
+            // used for eager classloading and pooled tasks
         }
 
         MulticastTask(Exchange original, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback, int capacity) {
+            prepare(original, pairs, callback, capacity);
+        }
+
+        void prepare(Exchange original, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback, int capacity) {
             this.original = original;
             this.pairs = pairs;
             this.callback = callback;
@@ -411,13 +442,45 @@ public class MulticastProcessor extends AsyncProcessorSupport
             } else {
                 this.mdc = null;
             }
-            if (capacity > 0) {
-                this.completion = new AsyncCompletionService<>(scheduler, !isStreaming(), lock, capacity);
-            } else {
-                this.completion = new AsyncCompletionService<>(scheduler, !isStreaming(), lock);
+            // the completion service is reused when the task is pooled
+            if (completion == null) {
+                boolean ordered = !isStreaming() || streamingOrdered;
+                if (isParallelWindow()) {
+                    // there is at most window size exchanges in-flight, so the ordered completions can use a ring buffer
+                    this.completion = new AsyncCompletionService<>(scheduler, ordered, lock, parallelWindowSize, true);
+                } else if (capacity > 0) {
+                    this.completion = new AsyncCompletionService<>(scheduler, ordered, lock, capacity);
+                } else {
+                    this.completion = new AsyncCompletionService<>(scheduler, ordered, lock);
+                }
             }
         }
 
+        public void reset() {
+            this.original = null;
+            this.pairs = null;
+            this.callback = null;
+            this.iterator = null;
+            this.mdc = null;
+            this.releasePending = false;
+            this.result.set(null);
+            this.nbExchangeSent.set(0);
+            this.nbAggregated.set(0);
+            this.allSent.set(false);
+            this.done.set(false);
+            this.paused.set(false);
+            if (completion != null) {
+                completion.reset();
+            }
+        }
+
+        /**
+         * Releases the task when its done, so it can be reused if the task is pooled.
+         */
+        protected void release() {
+            // noop
+        }
+
         @Override
         public String toString() {
             return "MulticastTask";
@@ -448,6 +511,50 @@ public class MulticastProcessor extends AsyncProcessorSupport
                 } finally {
                     lock.unlock();
                 }
+                if (releasePending) {
+                    releasePending = false;
+                    release();
+                }
+            }
+            // continue sending if the parallel window was full
+            resumeIfPaused();
+        }
+
+        /**
+         * Whether there is room for sending another exchange when using a parallel window.
+         */
+        boolean hasWindowCapacity() {
+            return nbExchangeSent.get() - nbAggregated.get() < parallelWindowSize;
+        }
+
+        /**
+         * Schedules sending the next exchange in parallel mode, unless the parallel window is full, in which case
+         * sending is resumed when an exchange has been aggregated.
+         */
+        void scheduleNext() {
+            if (!isParallelWindow() || hasWindowCapacity()) {
+                schedule(this);
+            } else {
+                paused.set(true);
+                // an exchange may have been aggregated in the meantime
+                resumeIfPaused();
+            }
+        }
+
+        /**
+         * Resumes sending if paused and there is room in the parallel window. Only the thread that clears the paused
+         * flag schedules sending, and as no exchanges are sent while paused, the window can only get more room.
+         */
+        void resumeIfPaused() {
+            while (paused.get() && !done.get() && hasWindowCapacity()) {
+                if (paused.compareAndSet(true, false)) {
+                    if (hasWindowCapacity()) {
+                        schedule(this);
+                        return;
+                    }
+                    // the window was filled up again before we cleared the flag, so pause again
+                    paused.set(true);
+                }
             }
         }
 
@@ -476,12 +583,22 @@ public class MulticastProcessor extends AsyncProcessorSupport
                 } finally {
                     lock.unlock();
                 }
+                if (releasePending) {
+                    releasePending = false;
+                    release();
+                }
             }
         }
 
         protected void doDone(Exchange exchange, boolean forceExhaust) {
             if (done.compareAndSet(false, true)) {
                 MulticastProcessor.this.doDone(original, exchange, pairs, callback, false, forceExhaust);
+                if (lock.isHeldByCurrentThread()) {
+                    // the task must not be reused while its still aggregating
+                    releasePending = true;
+                } else {
+                    release();
+                }
             }
         }
     }
@@ -489,7 +606,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
     /**
      * Sub task processed reactive via the {@link ReactiveExecutor}.
      */
-    protected class MulticastReactiveTask extends MulticastTask {
+    protected class MulticastReactiveTask extends MulticastTask implements PooledExchangeTask {
 
         private MulticastReactiveTask() {
         }
@@ -499,6 +616,18 @@ public class MulticastProcessor extends AsyncProcessorSupport
             super(original, pairs, callback, size);
         }
 
+        @Override
+        public void prepare(Exchange exchange, AsyncCallback callback) {
+            // the task is fully prepared with the pairs afterwards
+            this.original = exchange;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void release() {
+            taskFactory.release(this);
+        }
+
         @Override
         public void run() {
             super.run();
@@ -577,7 +706,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
                 });
                 // after submitting this pair then move on to the next pair (if in parallel mode)
                 if (hasNext && isParallelProcessing()) {
-                    schedule(this);
+                    scheduleNext();
                 }
             } catch (Exception e) {
                 original.setException(e);
@@ -1098,7 +1227,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
             shutdownAggregateExecutorService = true;
         }
         CamelContextAware.trySetCamelContext(aggregationStrategy, camelContext);
-        ServiceHelper.startService(aggregationStrategy, processors, processorExchangeFactory);
+        ServiceHelper.startService(aggregationStrategy, processors, processorExchangeFactory, taskFactory);
     }
 
     /**
@@ -1115,12 +1244,13 @@ public class MulticastProcessor extends AsyncProcessorSupport
 
     @Override
     protected void doStop() throws Exception {
-        ServiceHelper.stopService(processors, errorHandlers, aggregationStrategy, processorExchangeFactory);
+        ServiceHelper.stopService(processors, errorHandlers, aggregationStrategy, processorExchangeFactory, taskFactory);
     }
 
     @Override
     protected void doShutdown() throws Exception {
-        ServiceHelper.stopAndShutdownServices(processors, errorHandlers, aggregationStrategy, processorExchangeFactory);
+        ServiceHelper.stopAndShutdownServices(processors, errorHandlers, aggregationStrategy, processorExchangeFactory,
+                taskFactory);
         // only clear error handlers when shutting down
         errorHandlers.clear();
 
@@ -1248,6 +1378,42 @@ public class MulticastProcessor extends AsyncProcessorSupport
         return shareUnitOfWork;
     }
 
+    /**
+     * The maximum number of exchanges in-flight when using parallel processing, or <tt>0</tt> for no limit.
+     */
+    public int getParallelWindowSize() {
+        return parallelWindowSize;
+    }
+
+    /**
+     * Sets the maximum number of exchanges in-flight when using parallel processing. When the window is full, then no
+     * more exchanges are created (such as reading more from the split iterator) until an exchange has been aggregated.
+     * The exchanges waiting to be aggregated in order counts as in-flight, so the window bounds the memory in use
+     * regardless of the number of exchanges.
+     */
+    public void setParallelWindowSize(int parallelWindowSize) {
+        this.parallelWindowSize = parallelWindowSize;
+    }
+
+    /**
+     * Whether to aggregate the exchanges in the same order as they were sent, also in streaming mode.
+     */
+    public boolean isStreamingOrdered() {
+        return streamingOrdered;
+    }
+
+    /**
+     * Sets whether to aggregate the exchanges in the same order as they were sent, also in streaming mode, where the
+     * exchanges are by default aggregated in the order they are completed.
+     */
+    public void setStreamingOrdered(boolean streamingOrdered) {
+        this.streamingOrdered = streamingOrdered;
+    }
+
+    private boolean isParallelWindow() {
+        return parallelWindowSize > 0 && isParallelProcessing();
+    }
+
     public ExecutorService getAggregateExecutorService() {
         return aggregateExecutorService;
     }
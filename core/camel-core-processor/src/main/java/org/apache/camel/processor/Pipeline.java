@@ -19,22 +19,27 @@ package org.apache.camel.processor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.stream.Collectors;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.impl.engine.CamelInternalProcessor;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.ReactiveExecutor;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.spi.annotations.EagerClassloaded;
 import org.apache.camel.support.AsyncProcessorConverterHelper;
 import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
@@ -47,24 +52,37 @@ import static org.apache.camel.processor.PipelineHelper.continueProcessing;
  * message exchanges
  */
 @EagerClassloaded
-public class Pipeline extends AsyncProcessorSupport implements Navigate<Processor>, Traceable, IdAware, RouteIdAware {
+public class Pipeline extends AsyncProcessorSupport
+        implements BatchProcessor, Navigate<Processor>, Traceable, IdAware, RouteIdAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(Pipeline.class);
 
+    // states of a step when running in compiled mode
+    private static final int STEP_RUNNING = 1;
+    private static final int STEP_DONE = 2;
+    private static final int STEP_ASYNC = 3;
+    private static final AtomicIntegerFieldUpdater<PipelineTask> STEP_STATE
+            = AtomicIntegerFieldUpdater.newUpdater(PipelineTask.class, "stepState");
+
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
     private final List<AsyncProcessor> processors;
     private final int size;
     private PooledExchangeTaskFactory taskFactory;
+    private boolean compiled;
+    // the steps which are processed directly in compiled mode (null if the step is processed as usual)
+    private CamelInternalProcessor[] compiledSteps;
 
     private String id;
     private String routeId;
 
     private final class PipelineTask implements PooledExchangeTask, AsyncCallback {
 
+        volatile int stepState;
         private Exchange exchange;
         private AsyncCallback callback;
         private int index;
+        private boolean inline;
 
         PipelineTask() {
         }
@@ -74,6 +92,7 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
             this.exchange = exchange;
             this.callback = callback;
             this.index = 0;
+            this.inline = false;
         }
 
         @Override
@@ -81,15 +100,33 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
             this.exchange = null;
             this.callback = null;
             this.index = 0;
+            this.inline = false;
+            this.stepState = 0;
         }
 
         @Override
         public void done(boolean doneSync) {
+            if (inline && STEP_STATE.compareAndSet(this, STEP_RUNNING, STEP_DONE)) {
+                // the step completed before it returned, so the loop in runCompiled continues with the next step
+                return;
+            }
             reactiveExecutor.schedule(this);
         }
 
         @Override
         public void run() {
+            if (inline) {
+                // this task may also be scheduled directly as the callback of the step
+                if (STEP_STATE.compareAndSet(this, STEP_RUNNING, STEP_DONE)) {
+                    return;
+                }
+                AsyncCallback cb = callback;
+                if (runCompiled()) {
+                    reactiveExecutor.schedule(cb);
+                }
+                return;
+            }
+
             boolean stop = exchange.isRouteStop();
             int num = index;
             boolean more = num < size;
@@ -123,6 +160,55 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
                 reactiveExecutor.schedule(cb);
             }
         }
+
+        /**
+         * Runs the steps in a loop in the current thread for as long as they complete before returning, where the
+         * channel of each step executes its advices and error handler directly. When a step continues asynchronously
+         * then the loop is left, and the callback of the step will schedule this task to continue routing.
+         *
+         * @return <tt>true</tt> if all steps are done, and this task has been released, <tt>false</tt> if a step
+         *         continues asynchronously
+         */
+        boolean runCompiled() {
+            for (;;) {
+                boolean stop = exchange.isRouteStop();
+                int num = index;
+                boolean more = num < size;
+                boolean first = num == 0;
+
+                if (!stop && more && (first || continueProcessing(exchange, "so breaking out of pipeline", LOG))) {
+
+                    // prepare for next run
+                    if (exchange.hasOut()) {
+                        exchange.setIn(exchange.getOut());
+                        exchange.setOut(null);
+                    }
+
+                    index++;
+                    stepState = STEP_RUNNING;
+                    CamelInternalProcessor step = compiledSteps[num];
+                    if (step != null) {
+                        step.processCompiled(exchange, this);
+                    } else {
+                        processors.get(num).process(exchange, this);
+                    }
+                    if (STEP_STATE.compareAndSet(this, STEP_RUNNING, STEP_ASYNC)) {
+                        // the step is not done yet, and its callback will schedule this task when it is
+                        return false;
+                    }
+                } else {
+                    // copyResults is needed in case MEP is OUT and the message is not an OUT message
+                    ExchangeHelper.copyResults(exchange, exchange);
+
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                    }
+
+                    taskFactory.release(this);
+                    return true;
+                }
+            }
+        }
     }
 
     public Pipeline(CamelContext camelContext, Collection<Processor> processors) {
@@ -178,7 +264,15 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
         // create task which has state used during routing
         PooledExchangeTask task = taskFactory.acquire(exchange, callback);
 
-        if (exchange.isTransacted()) {
+        if (compiled && !exchange.isTransacted() && !isBeforeAfterProcess(exchange)) {
+            // run the steps directly while they complete synchronously
+            PipelineTask pt = (PipelineTask) task;
+            pt.inline = true;
+            if (pt.runCompiled()) {
+                reactiveExecutor.schedule(callback);
+            }
+            return false;
+        } else if (exchange.isTransacted()) {
             reactiveExecutor.scheduleQueue(task);
         } else {
             reactiveExecutor.scheduleMain(task);
@@ -186,6 +280,53 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
         return false;
     }
 
+    private static boolean isBeforeAfterProcess(Exchange exchange) {
+        // the unit of work schedules its after processing with the reactive executor, which must happen in order
+        UnitOfWork uow = exchange.getUnitOfWork();
+        return uow != null && uow.isBeforeAfterProcess();
+    }
+
+    /**
+     * Processes the batch of exchanges through the steps of the pipeline, where each step processes the exchanges that
+     * should continue routing as a batch (in one call if the step is a {@link BatchProcessor}).
+     */
+    @Override
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        List<Exchange> batch = exchanges;
+        for (int i = 0; i < size && !batch.isEmpty(); i++) {
+            batch = continueBatch(batch, i == 0);
+            for (Exchange exchange : batch) {
+                // prepare for next run
+                if (exchange.hasOut()) {
+                    exchange.setIn(exchange.getOut());
+                    exchange.setOut(null);
+                }
+            }
+            BatchProcessorHelper.process(processors.get(i), batch);
+        }
+
+        for (Exchange exchange : exchanges) {
+            // copyResults is needed in case MEP is OUT and the message is not an OUT message
+            ExchangeHelper.copyResults(exchange, exchange);
+        }
+    }
+
+    private static List<Exchange> continueBatch(List<Exchange> batch, boolean first) {
+        List<Exchange> answer = null;
+        for (int i = 0; i < batch.size(); i++) {
+            Exchange exchange = batch.get(i);
+            boolean cont = !exchange.isRouteStop()
+                    && (first || continueProcessing(exchange, "so breaking out of pipeline", LOG));
+            if (!cont && answer == null) {
+                // only create a new list when some of the exchanges should not continue
+                answer = new ArrayList<>(batch.subList(0, i));
+            } else if (cont && answer != null) {
+                answer.add(exchange);
+            }
+        }
+        return answer != null ? answer : batch;
+    }
+
     @Override
     protected void doBuild() throws Exception {
         boolean pooled = camelContext.adapt(ExtendedCamelContext.class).getExchangeFactory().isPooled();
@@ -214,6 +355,17 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
     @Override
     protected void doInit() throws Exception {
         ServiceHelper.initService(taskFactory, processors);
+
+        if (compiled) {
+            // resolve the steps which can be processed directly, once, instead of per exchange
+            compiledSteps = new CamelInternalProcessor[size];
+            for (int i = 0; i < size; i++) {
+                AsyncProcessor processor = processors.get(i);
+                if (processor instanceof CamelInternalProcessor) {
+                    compiledSteps[i] = (CamelInternalProcessor) processor;
+                }
+            }
+        }
     }
 
     @Override
@@ -231,6 +383,21 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
         ServiceHelper.stopAndShutdownServices(taskFactory, processors);
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to run the steps of the pipeline directly in a loop for as long as they complete synchronously, instead
+     * of scheduling the pipeline with the reactive executor between every step. The channel of each step then executes
+     * its advices, output and error handler directly (see {@link CamelInternalProcessor#processCompiled}). When a step
+     * continues asynchronously then the pipeline falls back to be scheduled when the step is done. Transacted exchanges
+     * are always scheduled.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     @Override
     public String toString() {
         return id;
@@ -179,6 +179,10 @@ public class RecipientList extends AsyncProcessorSupport implements IdAware, Rou
         return producerCache.getEndpointUtilizationStatistics();
     }
 
+    public ProducerCache getProducerCache() {
+        return producerCache;
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (errorHandler == null) {
@@ -381,6 +381,10 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
         return producerCache.getEndpointUtilizationStatistics();
     }
 
+    public ProducerCache getProducerCache() {
+        return producerCache;
+    }
+
     @Override
     public CamelContext getCamelContext() {
         return camelContext;
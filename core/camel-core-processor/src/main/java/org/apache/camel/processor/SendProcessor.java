@@ -16,10 +16,12 @@
  */
 package org.apache.camel.processor;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProducer;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.Endpoint;
 import org.apache.camel.EndpointAware;
 import org.apache.camel.Exchange;
@@ -31,6 +33,7 @@ import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.ProducerCache;
 import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.EndpointHelper;
 import org.apache.camel.support.EventHelper;
 import org.apache.camel.support.cache.DefaultProducerCache;
@@ -46,7 +49,8 @@ import org.slf4j.LoggerFactory;
  *
  * @see SendDynamicProcessor
  */
-public class SendProcessor extends AsyncProcessorSupport implements Traceable, EndpointAware, IdAware, RouteIdAware {
+public class SendProcessor extends AsyncProcessorSupport
+        implements BatchProcessor, Traceable, EndpointAware, IdAware, RouteIdAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(SendProcessor.class);
 
@@ -197,6 +201,61 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
         }
     }
 
+    /**
+     * Sends the batch of exchanges to the destination, in one call if the producer is a {@link BatchProcessor}, or
+     * otherwise one by one.
+     */
+    @Override
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        if (!isStarted() || !(producer instanceof BatchProcessor)) {
+            BatchProcessorHelper.processEach(this, exchanges);
+            return;
+        }
+
+        if (extendedStatistics) {
+            counter.addAndGet(exchanges.size());
+        }
+
+        // we should preserve existing MEP so remember old MEP
+        final ExchangePattern[] existingPatterns = new ExchangePattern[exchanges.size()];
+        boolean sending = false;
+        for (int i = 0; i < existingPatterns.length; i++) {
+            Exchange exchange = exchanges.get(i);
+            existingPatterns[i] = exchange.getPattern();
+            // we can send with a different MEP pattern
+            if (destinationExchangePattern != null || pattern != null) {
+                exchange.setPattern(destinationExchangePattern != null ? destinationExchangePattern : pattern);
+            }
+            // set property which endpoint we send to
+            exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, destination.getEndpointUri());
+            if (camelContext.isEventNotificationApplicable()) {
+                sending |= EventHelper.notifyExchangeSending(exchange.getContext(), exchange, destination);
+            }
+        }
+        // record timing for sending the batch using the producer
+        StopWatch watch = sending ? new StopWatch() : null;
+
+        LOG.debug(">>>> {} batch of {} exchanges", destination, exchanges.size());
+        try {
+            ((BatchProcessor) producer).processBatch(exchanges);
+        } catch (Throwable throwable) {
+            for (Exchange exchange : exchanges) {
+                exchange.setException(throwable);
+            }
+        }
+
+        long timeTaken = watch != null ? watch.taken() : 0;
+        for (int i = 0; i < existingPatterns.length; i++) {
+            Exchange exchange = exchanges.get(i);
+            // restore previous MEP
+            exchange.setPattern(existingPatterns[i]);
+            // emit event that the exchange was sent to the endpoint
+            if (watch != null) {
+                EventHelper.notifyExchangeSent(exchange.getContext(), exchange, destination, timeTaken);
+            }
+        }
+    }
+
     public Endpoint getDestination() {
         return destination;
     }
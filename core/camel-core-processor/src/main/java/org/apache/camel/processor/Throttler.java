@@ -34,7 +34,9 @@ import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.spi.ThrottlerStateRepository;
 import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +57,12 @@ import org.slf4j.LoggerFactory;
  * those permits). Callers trying to acquire a permit from the DelayQueue will block if necessary. The end result is a
  * rolling window of time. Where from the callers point of view in the last timePeriodMillis no more than
  * maxRequestsPerPeriod have been allowed to be acquired.
+ *
+ * Alternatively a token bucket mode can be used by setting a {@link ThrottlerStateRepository}, which throttles using the
+ * generic cell rate algorithm. Each exchange reserves the next free slot by atomically moving the theoretical arrival
+ * time of its correlation key forward, so there are no permits or scheduled refills, and the exchange is only delayed
+ * when the reserved slot is in the future. The repository can be backed by a shared store to enforce one rate across
+ * several Camel instances.
  */
 public class Throttler extends AsyncProcessorSupport implements Traceable, IdAware, RouteIdAware {
 
@@ -85,6 +93,12 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private boolean callerRunsWhenRejected = true;
     private Expression correlationExpression;
     private Map<String, ThrottlingState> states = new ConcurrentHashMap<>();
+    private ThrottlerStateRepository stateRepository;
+    private boolean shutdownStateRepository;
+    private int burstSize;
+    private volatile int tokenBucketRate;
+    private final long epochNanosBase = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private final long nanoTimeBase = System.nanoTime();
 
     public Throttler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression,
                      final long timePeriodMillis,
@@ -108,6 +122,10 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
 
     @Override
     public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        if (stateRepository != null) {
+            return processTokenBucket(exchange, callback);
+        }
+
         long queuedStart = 0;
         if (LOG.isTraceEnabled()) {
             queuedStart = exchange.getProperty(PROPERTY_EXCHANGE_QUEUED_TIMESTAMP, 0L, Long.class);
@@ -213,6 +231,102 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Throttles using the generic cell rate algorithm, where the exchange reserves the next free slot of its correlation
+     * key, and is delayed until the slot if its in the future.
+     */
+    protected boolean processTokenBucket(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+
+            Integer rate = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
+            if (rate == null) {
+                if (tokenBucketRate == 0) {
+                    throw new RuntimeExchangeException(
+                            "The maxRequestsPerPeriodExpression was evaluated as null: " + maxRequestsPerPeriodExpression,
+                            exchange);
+                }
+                rate = tokenBucketRate;
+            } else if (rate <= 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + rate);
+            }
+            tokenBucketRate = rate;
+
+            // the time between each exchange, and how far ahead of it the exchanges may be to allow a burst
+            long interval = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis) / rate;
+            long tolerance = interval * ((burstSize > 0 ? burstSize : rate) - 1);
+
+            long delay;
+            for (;;) {
+                long now = currentTimeNanos();
+                long tat = stateRepository.get(key);
+                long slot = Math.max(tat, now);
+                delay = slot - tolerance - now;
+                if (delay > 0 && isRejectExecution()) {
+                    throw new ThrottlerRejectedExecutionException(
+                            "Exceeded the max throttle rate of " + rate + " within " + timePeriodMillis + "ms");
+                }
+                if (stateRepository.compareAndSet(key, tat, slot + interval)) {
+                    break;
+                }
+            }
+
+            if (delay > 0) {
+                if (isAsyncDelayed() && !exchange.isTransacted()) {
+                    try {
+                        LOG.trace("Throttled for {}ns using async delay, exchangeId: {}", delay, exchange.getExchangeId());
+                        asyncExecutor.schedule(() -> callback.done(false), delay, TimeUnit.NANOSECONDS);
+                        return false;
+                    } catch (RejectedExecutionException e) {
+                        if (!isCallerRunsWhenRejected()) {
+                            throw e;
+                        }
+                        LOG.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}",
+                                exchange.getExchangeId());
+                    }
+                }
+                LOG.trace("Throttled for {}ns, exchangeId: {}", delay, exchange.getExchangeId());
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } else {
+                LOG.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+            }
+
+            callback.done(true);
+            return true;
+        } catch (final InterruptedException e) {
+            // determine if we can still run, or the camel context is forcing a shutdown
+            boolean forceShutdown = exchange.getContext().getShutdownStrategy().isForceShutdown();
+            if (forceShutdown) {
+                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: "
+                             + exchange;
+                LOG.debug(msg);
+                exchange.setException(new RejectedExecutionException(msg, e));
+            } else {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        } catch (final Throwable t) {
+            exchange.setException(t);
+            callback.done(true);
+            return true;
+        }
+    }
+
+    /**
+     * The current time in nanoseconds since the epoch, which is monotonic within this instance.
+     */
+    protected long currentTimeNanos() {
+        return epochNanosBase + (System.nanoTime() - nanoTimeBase);
+    }
+
     /**
      * Delegate blocking on the DelayQueue to an asyncExecutor. Except if the executor rejects the submission and
      * isCallerRunsWhenRejected() is enabled, then this method will delegate back to process(), but not before changing
@@ -246,10 +360,16 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         if (isAsyncDelayed()) {
             ObjectHelper.notNull(asyncExecutor, "executorService", this);
         }
+        if (shutdownStateRepository) {
+            ServiceHelper.startService(stateRepository);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
+        if (shutdownStateRepository) {
+            ServiceHelper.stopService(stateRepository);
+        }
     }
 
     @Override
@@ -421,6 +541,45 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         this.callerRunsWhenRejected = callerRunsWhenRejected;
     }
 
+    public ThrottlerStateRepository getStateRepository() {
+        return stateRepository;
+    }
+
+    /**
+     * Sets the repository to store the state of the token bucket mode, which enables the token bucket mode.
+     */
+    public void setStateRepository(ThrottlerStateRepository stateRepository) {
+        this.stateRepository = stateRepository;
+    }
+
+    public boolean isShutdownStateRepository() {
+        return shutdownStateRepository;
+    }
+
+    /**
+     * Whether the state repository is owned by this throttler, and is started and stopped together with it. This is
+     * not the case for a shared repository.
+     */
+    public void setShutdownStateRepository(boolean shutdownStateRepository) {
+        this.shutdownStateRepository = shutdownStateRepository;
+    }
+
+    public boolean isTokenBucket() {
+        return stateRepository != null;
+    }
+
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * Sets the number of exchanges which are allowed in a burst in the token bucket mode, which by default is the
+     * maximum requests per period.
+     */
+    public void setBurstSize(int burstSize) {
+        this.burstSize = burstSize;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -457,6 +616,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
      * than the max per period within the group will return
      */
     public int getCurrentMaximumRequestsPerPeriod() {
+        if (stateRepository != null) {
+            return tokenBucketRate;
+        }
         return states.values().stream().mapToInt(ThrottlingState::getThrottleRate).max().orElse(0);
     }
 
@@ -17,6 +17,7 @@
 package org.apache.camel.processor.aggregate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -100,6 +101,10 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
     private volatile Lock lock;
+    // the locks per group of correlation keys when using lock striping
+    private volatile Lock[] stripedLocks;
+    // must be held when holding the locks of more than one group of correlation keys at a time
+    private final Lock allGroupsLock = new ReentrantLock();
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
@@ -230,6 +235,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -403,13 +409,14 @@ public class AggregateProcessor extends AsyncProcessorSupport
         removeFlagCompleteAllGroupsInclusive(copy);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             aggregated = doAggregation(key, copy);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -460,10 +467,56 @@ public class AggregateProcessor extends AsyncProcessorSupport
         return exchange.getIn().getHeader(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE, false, boolean.class);
     }
 
+    /**
+     * Gets the lock to use for aggregating the given correlation key, which is the lock of its group of correlation keys
+     * when using lock striping, or otherwise the shared aggregation lock.
+     */
+    private Lock getLock(String key) {
+        Lock[] stripes = stripedLocks;
+        if (stripes == null) {
+            return lock;
+        }
+        int hash = key.hashCode();
+        // spread the bits of the hash as the number of stripes is a power of two
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    /**
+     * Acquires the locks for all the correlation keys
+     */
+    private void lockAllGroups() {
+        Lock[] stripes = stripedLocks;
+        if (stripes == null) {
+            lock.lock();
+        } else {
+            allGroupsLock.lock();
+            for (Lock stripe : stripes) {
+                stripe.lock();
+            }
+        }
+    }
+
+    /**
+     * Releases the locks for all the correlation keys
+     */
+    private void unlockAllGroups() {
+        Lock[] stripes = stripedLocks;
+        if (stripes == null) {
+            lock.unlock();
+        } else {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+            allGroupsLock.unlock();
+        }
+    }
+
     /**
      * Aggregates the exchange with the given correlation key
      * <p/>
-     * This method <b>must</b> be run synchronized as we cannot aggregate the same correlation key in parallel.
+     * This method <b>must</b> be run synchronized (using the lock of the correlation key) as we cannot aggregate the
+     * same correlation key in parallel.
      * <p/>
      * The returned {@link Exchange} should be send downstream using the
      * {@link #onSubmitCompletion(String, org.apache.camel.Exchange)} method which sends out the aggregated and
@@ -575,7 +628,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // check for the special exchange property to force completion of all groups
         if (isCompleteAllGroups(answer)) {
             removeFlagCompleteAllGroups(answer);
-            forceCompletionOfAllGroups();
+            doForceCompletionOfAllGroups(true);
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -1096,6 +1149,20 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Sets the number of locks to use for aggregating, where each lock guards a group of correlation keys. This allows
+     * aggregating exchanges with different correlation keys in parallel, while exchanges with the same correlation key
+     * is still aggregated one at a time. The number is rounded up to a power of two, and a value of 1 or less (default)
+     * uses a single lock for all the correlation keys.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1255,7 +1322,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
+            // (unless lock striping is in use where the timeout map is shared by all the groups of correlation keys)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || stripedLocks != null);
             addListener(this::onEviction);
         }
 
@@ -1279,6 +1347,22 @@ public class AggregateProcessor extends AsyncProcessorSupport
             }
             log.debug("Completion timeout triggered for correlation key: {}", key);
 
+            // the shared aggregation lock is already held when not using lock striping
+            Lock keyLock = getLock(key);
+            keyLock.lock();
+            try {
+                if (stripedLocks != null && get(key) != null) {
+                    // a new exchange was aggregated after the timeout was purged, so the group is active again
+                    log.trace("Correlation key: {} was aggregated again after completion timeout triggered.", key);
+                    return;
+                }
+                doEviction(key, exchangeId);
+            } finally {
+                keyLock.unlock();
+            }
+        }
+
+        private void doEviction(String key, String exchangeId) {
             boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
             if (inProgress) {
                 log.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
@@ -1335,27 +1419,13 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 lock.lock();
                 try {
                     for (String key : keys) {
-                        boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                                stolenInterval = true;
-                            }
-                        }
-                        if (optimisticLocking && stolenInterval) {
-                            LOG.debug(
-                                    "Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}",
-                                    key);
+                        // and the lock of the correlation key when using lock striping
+                        Lock keyLock = getLock(key);
+                        keyLock.lock();
+                        try {
+                            doIntervalCompletion(key);
+                        } finally {
+                            keyLock.unlock();
                         }
                     }
                 } finally {
@@ -1365,6 +1435,31 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
             LOG.trace("Completion interval task complete");
         }
+
+        private void doIntervalCompletion(String key) {
+            boolean stolenInterval = false;
+            Exchange exchange = aggregationRepository.get(camelContext, key);
+            if (exchange == null) {
+                stolenInterval = true;
+            } else {
+                LOG.trace("Completion interval triggered for correlation key: {}", key);
+                // indicate it was completed by interval
+                exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                try {
+                    Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                    if (answer != null) {
+                        onSubmitCompletion(key, answer);
+                    }
+                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                    stolenInterval = true;
+                }
+            }
+            if (optimisticLocking && stolenInterval) {
+                LOG.debug(
+                        "Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}",
+                        key);
+            }
+        }
     }
 
     /**
@@ -1400,7 +1495,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         LOG.info("We are shutting down so stop recovering");
                         return;
                     }
-                    lock.lock();
+                    lockAllGroups();
                     try {
                         // consider in progress if it was in progress before we did the scan, or currently after we did the scan
                         // its safer to consider it in progress than risk duplicates due both in progress + recovered
@@ -1476,7 +1571,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                             }
                         }
                     } finally {
-                        lock.unlock();
+                        unlockAllGroups();
                     }
                 }
             } finally {
@@ -1523,6 +1618,11 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 LOG.info("Using ClosedCorrelationKeys with a LRUCache with a capacity of {}",
                         getCloseCorrelationKeyOnCompletion());
                 closedCorrelationKeys = LRUCacheFactory.newLRUCache(getCloseCorrelationKeyOnCompletion());
+                if (optimisticLocking || lockStripes > 1) {
+                    // the correlation keys are closed concurrently as there is no shared aggregation lock,
+                    // and the LRU cache may not be thread safe
+                    closedCorrelationKeys = Collections.synchronizedMap(closedCorrelationKeys);
+                }
             } else {
                 LOG.info("Using ClosedCorrelationKeys with unbounded capacity");
                 closedCorrelationKeys = new ConcurrentHashMap<>();
@@ -1540,6 +1640,19 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         "Optimistic locking cannot be enabled without using an AggregationRepository that implements OptimisticLockingAggregationRepository");
             }
             LOG.info("Optimistic locking is enabled");
+        } else if (lockStripes > 1) {
+            if (isCompletionFromBatchConsumer() || isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException(
+                        "Lock striping cannot be enabled together with completionFromBatchConsumer or completionOnNewCorrelationGroup");
+            }
+            // use a power of two number of locks
+            int size = Integer.highestOneBit(lockStripes - 1) << 1;
+            Lock[] stripes = new Lock[size];
+            for (int i = 0; i < size; i++) {
+                stripes[i] = new ReentrantLock();
+            }
+            this.stripedLocks = stripes;
+            LOG.info("Lock striping is enabled with {} locks", size);
         }
 
         ServiceHelper.startService(aggregationStrategy, processor, aggregationRepository);
@@ -1625,6 +1738,9 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         .newSingleThreadScheduledExecutor(this, AGGREGATE_OPTIMISTIC_LOCKING_EXECUTOR));
                 shutdownOptimisticLockingExecutorService = true;
             }
+        } else if (stripedLocks != null) {
+            // the locks of the groups of correlation keys are used instead of the shared aggregation lock
+            lock = NoLock.INSTANCE;
         } else {
             lock = new ReentrantLock();
         }
@@ -1737,7 +1853,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1751,7 +1868,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 }
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force completion of group {}", key);
 
@@ -1762,6 +1879,16 @@ public class AggregateProcessor extends AsyncProcessorSupport
     }
 
     public int forceCompletionOfAllGroups() {
+        return doForceCompletionOfAllGroups(false);
+    }
+
+    /**
+     * Forces completion of all groups
+     *
+     * @param nested whether the lock of a correlation key is already held by the current thread, such as when forcing
+     *               completion while aggregating
+     */
+    private int doForceCompletionOfAllGroups(boolean nested) {
 
         // only run if CamelContext has been fully started or is stopping
         boolean allow = camelContext.getStatus().isStarted() || camelContext.getStatus().isStopping();
@@ -1778,24 +1905,42 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
+            // when using lock striping and the lock of a correlation key is already held, then other threads which
+            // hold the lock of another correlation key must not wait for it, so we can only force completion if
+            // no other thread is forcing completion of all groups (which then also completes the groups)
+            boolean nestedStriped = nested && stripedLocks != null;
+            if (nestedStriped && !allGroupsLock.tryLock()) {
+                LOG.debug("Force completion of all groups is already in progress by another thread");
+                return 0;
+            }
             // must acquire the shared aggregation lock to be able to trigger force completion
             lock.lock();
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
+                    // and the lock of the correlation key when using lock striping
+                    Lock keyLock = getLock(key);
+                    keyLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force completion triggered for correlation key: {}", key);
+                            // indicate it was completed by a force completion request
+                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                            Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
+                            }
                         }
+                    } finally {
+                        keyLock.unlock();
                     }
                 }
             } finally {
                 lock.unlock();
+                if (nestedStriped) {
+                    allGroupsLock.unlock();
+                }
             }
         }
         LOG.trace("Completed force completion of all groups task");
@@ -1810,7 +1955,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1820,7 +1966,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force discarded of group {}", key);
 
@@ -1852,11 +1998,18 @@ public class AggregateProcessor extends AsyncProcessorSupport
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force discarded triggered for correlation key: {}", key);
-                        // force discarding by setting aggregate failed as true
-                        onCompletion(key, exchange, exchange, false, true);
+                    // and the lock of the correlation key when using lock striping
+                    Lock keyLock = getLock(key);
+                    keyLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force discarded triggered for correlation key: {}", key);
+                            // force discarding by setting aggregate failed as true
+                            onCompletion(key, exchange, exchange, false, true);
+                        }
+                    } finally {
+                        keyLock.unlock();
                     }
                 }
             } finally {
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.reifier;
+
+import org.apache.camel.Expression;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.model.ConcurrencyLimitDefinition;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.ConcurrencyLimiter;
+
+public class ConcurrencyLimitReifier extends ProcessorReifier<ConcurrencyLimitDefinition> {
+
+    public ConcurrencyLimitReifier(Route route, ProcessorDefinition<?> definition) {
+        super(route, (ConcurrencyLimitDefinition) definition);
+    }
+
+    @Override
+    public Processor createProcessor() throws Exception {
+        Processor childProcessor = this.createChildProcessor(true);
+
+        Expression correlation = null;
+        if (definition.getCorrelationExpression() != null) {
+            correlation = createExpression(definition.getCorrelationExpression());
+        }
+
+        int minLimit = parseInt(definition.getMinLimit(), 1);
+        int maxLimit = parseInt(definition.getMaxLimit(), 200);
+        int initialLimit = parseInt(definition.getInitialLimit(), 20);
+        if (minLimit <= 0) {
+            throw new IllegalArgumentException("MinLimit must be a positive number, was: " + minLimit);
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "InitialLimit must be between minLimit (" + minLimit + ") and maxLimit (" + maxLimit + "), was: "
+                                               + initialLimit);
+        }
+
+        ConcurrencyLimiter answer = new ConcurrencyLimiter(camelContext, childProcessor, correlation);
+        answer.setInitialLimit(initialLimit);
+        answer.setMinLimit(minLimit);
+        answer.setMaxLimit(maxLimit);
+        answer.setMaxQueueSize(parseInt(definition.getMaxQueueSize(), 100));
+        answer.setRttTolerance(parse(Double.class, definition.getRttTolerance(), 1.5));
+        answer.setSmoothing(parse(Double.class, definition.getSmoothing(), 0.2));
+        answer.setLongWindow(parseInt(definition.getLongWindow(), 600));
+        return answer;
+    }
+
+    private <T> T parse(Class<T> clazz, String text, T def) {
+        T answer = parse(clazz, text);
+        return answer != null ? answer : def;
+    }
+
+}
@@ -41,6 +41,7 @@ import org.apache.camel.model.CatchDefinition;
 import org.apache.camel.model.ChoiceDefinition;
 import org.apache.camel.model.CircuitBreakerDefinition;
 import org.apache.camel.model.ClaimCheckDefinition;
+import org.apache.camel.model.ConcurrencyLimitDefinition;
 import org.apache.camel.model.ConvertBodyDefinition;
 import org.apache.camel.model.DelayDefinition;
 import org.apache.camel.model.DynamicRouterDefinition;
@@ -191,6 +192,8 @@ public abstract class ProcessorReifier<T extends ProcessorDefinition<?>> extends
             return new CircuitBreakerReifier(route, definition);
         } else if (definition instanceof ClaimCheckDefinition) {
             return new ClaimCheckReifier(route, definition);
+        } else if (definition instanceof ConcurrencyLimitDefinition) {
+            return new ConcurrencyLimitReifier(route, definition);
         } else if (definition instanceof ConvertBodyDefinition) {
             return new ConvertBodyReifier(route, definition);
         } else if (definition instanceof DelayDefinition) {
@@ -254,6 +254,11 @@ public class RouteReifier extends ProcessorReifier<RouteDefinition> {
         // handles preparing the response from the exchange in regard to IN vs OUT messages etc
         RoutePipeline target = new RoutePipeline(camelContext, eventDrivenProcessors);
         target.setRouteId(id);
+        // compiled routes runs their steps directly while they complete synchronously
+        Object compiled = routeProperties.get(Route.COMPILED_PROPERTY);
+        if (compiled != null) {
+            target.setCompiled(parseBoolean(compiled.toString(), false));
+        }
 
         // and wrap it in a unit of work so the UoW is on the top, so the entire route will be in the same UoW
         InternalProcessor internal = camelContext.adapt(ExtendedCamelContext.class).getInternalProcessorFactory()
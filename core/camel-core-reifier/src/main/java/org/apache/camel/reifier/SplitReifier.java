@@ -75,6 +75,8 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
                     threadPool, shutdownThreadPool, isStreaming, isStopOnException, timeout, prepare,
                     isShareUnitOfWork, isParallelAggregate);
         }
+        answer.setParallelWindowSize(parseInt(definition.getParallelWindowSize(), 0));
+        answer.setStreamingOrdered(parseBoolean(definition.getStreamingOrdered(), false));
 
         return answer;
     }
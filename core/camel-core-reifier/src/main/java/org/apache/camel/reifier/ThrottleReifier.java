@@ -24,6 +24,8 @@ import org.apache.camel.Route;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ThrottleDefinition;
 import org.apache.camel.processor.Throttler;
+import org.apache.camel.spi.ThrottlerStateRepository;
+import org.apache.camel.support.processor.throttle.MemoryThrottlerStateRepository;
 
 public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
 
@@ -59,9 +61,36 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
         // should be true by default
         answer.setCallerRunsWhenRejected(parseBoolean(definition.getCallerRunsWhenRejected(), true));
 
+        String mode = parseString(definition.getMode());
+        if ("TokenBucket".equalsIgnoreCase(mode)) {
+            ThrottlerStateRepository repo = resolveStateRepository();
+            if (repo != null) {
+                // the repository may be shared so let Camel control its lifecycle
+                if (!camelContext.hasService(repo)) {
+                    camelContext.addService(repo);
+                }
+            } else {
+                repo = new MemoryThrottlerStateRepository();
+                answer.setShutdownStateRepository(true);
+            }
+            answer.setStateRepository(repo);
+            answer.setBurstSize(parseInt(definition.getBurstSize(), 0));
+        } else if (mode != null && !"DelayQueue".equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Unknown throttle mode: " + mode + " on " + this);
+        }
+
         return answer;
     }
 
+    private ThrottlerStateRepository resolveStateRepository() {
+        ThrottlerStateRepository repo = definition.getStateRepositoryBean();
+        String ref = parseString(definition.getStateRepository());
+        if (repo == null && ref != null) {
+            repo = mandatoryLookup(ref, ThrottlerStateRepository.class);
+        }
+        return repo;
+    }
+
     private Expression createMaxRequestsPerPeriodExpression() {
         return definition.getExpression() != null ? createExpression(definition.getExpression()) : null;
     }
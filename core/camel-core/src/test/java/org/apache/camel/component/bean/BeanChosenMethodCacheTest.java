@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BeanChosenMethodCacheTest extends ContextTestSupport {
+
+    @Test
+    public void testChooseOverloadedMethodByBodyType() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("String:Hello", template.requestBody("direct:start", "Hello"));
+            assertEquals("Integer:42", template.requestBody("direct:start", 42));
+            assertEquals("long:43", template.requestBody("direct:start", 43L));
+        }
+    }
+
+    @Test
+    public void testChooseOverloadedMethodByName() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Hello World", template.requestBody("direct:greet", "World"));
+            assertEquals("Hello 7 times", template.requestBody("direct:greet", 7));
+        }
+    }
+
+    @Test
+    public void testConvertedBody() throws Exception {
+        // the body is converted to the parameter type, and the method must be chosen again for each message
+        assertEquals("Hello 123", template.requestBody("direct:convert", new StringBuilder("123")));
+        assertEquals("Hello 456", template.requestBody("direct:convert", new StringBuilder("456")));
+    }
+
+    @Test
+    public void testExceptionFromMethod() throws Exception {
+        CamelExecutionException e = assertThrows(CamelExecutionException.class,
+                () -> template.requestBody("direct:fail", "Kaboom"));
+        assertEquals("Forced Kaboom", e.getCause().getMessage());
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").bean(MyOverloadedBean.class, "echo");
+                from("direct:greet").bean(MyOverloadedBean.class, "greet");
+                from("direct:convert").bean(MyConvertBean.class);
+                from("direct:fail").bean(MyOverloadedBean.class, "fail");
+            }
+        };
+    }
+
+    public static class MyOverloadedBean {
+
+        public String echo(String body) {
+            return "String:" + body;
+        }
+
+        public String echo(Integer body) {
+            return "Integer:" + body;
+        }
+
+        public String echo(long body) {
+            return "long:" + body;
+        }
+
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        public String greet(int times) {
+            return "Hello " + times + " times";
+        }
+
+        public static String fail(String body) {
+            throw new IllegalStateException("Forced " + body);
+        }
+    }
+
+    public static class MyConvertBean {
+
+        public String hello(String body) {
+            return "Hello " + body;
+        }
+
+        public String bye(Thread body) {
+            return "Bye " + body;
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.BatchProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.DefaultComponent;
+import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.util.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SedaBatchProcessingTest extends ContextTestSupport {
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.addComponent("sink", new SinkComponent());
+        return context;
+    }
+
+    @Test
+    public void testBatchProcessing() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("A!", "B!", "C!", "D!", "E!");
+
+        // queue the exchanges before the consumer is started, so it takes them from the queue in one go
+        for (String body : List.of("a", "b", "c", "d", "e")) {
+            template.sendBody("seda:start", body);
+        }
+        context.getRouteController().startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+
+        // the sink received all the exchanges in one call
+        assertEquals(List.of(5), batchSizes);
+        // and each exchange was routed in its own unit of work
+        assertEquals(5, mock.getReceivedExchanges().stream().map(Exchange::getExchangeId).distinct().count());
+        assertEquals(0, context.getInflightRepository().size("batch"));
+    }
+
+    @Test
+    public void testFailedExchangeIsRedelivered() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("A!", "C!");
+        getMockEndpoint("mock:dead").expectedBodiesReceived("KABOOM!");
+
+        for (String body : List.of("a", "kaboom", "c")) {
+            template.sendBody("seda:start", body);
+        }
+        context.getRouteController().startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+
+        // the batch counts as the first attempt, and the failed exchange is then redelivered twice on its own
+        assertEquals(List.of(3, 1, 1), batchSizes);
+    }
+
+    @Test
+    public void testRedeliveryDelaysOverlap() throws Exception {
+        getMockEndpoint("mock:delayed").expectedMessageCount(0);
+        getMockEndpoint("mock:dead").expectedMessageCount(3);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:delayed", "kaboom");
+        }
+        StopWatch watch = new StopWatch();
+        context.getRouteController().startRoute("delayed");
+
+        assertMockEndpointsSatisfied();
+
+        // the failed exchanges are handed to the error handler together, so the asynchronous delays overlap
+        long taken = watch.taken();
+        assertTrue(taken < 2000, "The redelivery delays should overlap, took " + taken + " millis");
+        assertEquals(List.of(3, 1, 1, 1), batchSizes);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(deadLetterChannel("mock:dead").maximumRedeliveries(2).redeliveryDelay(0));
+
+                from("seda:start?pollBatchSize=10&batchProcessing=true").routeId("batch").autoStartup(false)
+                        .setBody(simple("${body.toUpperCase()}!"))
+                        .to("sink:batch")
+                        .to("mock:result");
+
+                from("seda:delayed?pollBatchSize=10&batchProcessing=true").routeId("delayed").autoStartup(false)
+                        .errorHandler(deadLetterChannel("mock:dead").maximumRedeliveries(1).redeliveryDelay(1000)
+                                .asyncDelayedRedelivery())
+                        .setBody(simple("${body.toUpperCase()}!"))
+                        .to("sink:batch")
+                        .to("mock:delayed");
+            }
+        };
+    }
+
+    private final class SinkComponent extends DefaultComponent {
+
+        @Override
+        protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) {
+            return new SinkEndpoint(uri, this);
+        }
+    }
+
+    private final class SinkEndpoint extends DefaultEndpoint {
+
+        private SinkEndpoint(String endpointUri, Component component) {
+            super(endpointUri, component);
+        }
+
+        @Override
+        public Producer createProducer() {
+            return new SinkProducer(this);
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) {
+            throw new UnsupportedOperationException("Consumer not supported");
+        }
+    }
+
+    private final class SinkProducer extends DefaultProducer implements BatchProcessor {
+
+        private SinkProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public void processBatch(List<Exchange> exchanges) {
+            batchSizes.add(exchanges.size());
+            for (Exchange exchange : exchanges) {
+                if ("KABOOM!".equals(exchange.getMessage().getBody())) {
+                    exchange.setException(new IllegalArgumentException("Forced"));
+                }
+            }
+        }
+
+        @Override
+        public void process(Exchange exchange) {
+            processBatch(List.of(exchange));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SedaPartitionedTest extends ContextTestSupport {
+
+    private static final int KEYS = 10;
+    private static final int MESSAGES = 500;
+
+    private final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+    private final Map<String, String> threads = new ConcurrentHashMap<>();
+
+    @Test
+    public void testPartitionKeyOrder() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(MESSAGES);
+
+        for (int i = 0; i < MESSAGES; i++) {
+            template.sendBodyAndHeader("seda:foo?partitionKey=${header.key}", i, "key", "key" + i % KEYS);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(KEYS, received.size());
+        for (Map.Entry<String, List<Integer>> entry : received.entrySet()) {
+            List<Integer> bodies = entry.getValue();
+            assertEquals(MESSAGES / KEYS, bodies.size());
+            for (int i = 1; i < bodies.size(); i++) {
+                assertTrue(bodies.get(i - 1) < bodies.get(i), "Should keep the order of " + entry.getKey());
+            }
+        }
+
+        SedaEndpoint endpoint = context.getEndpoint("seda:foo?partitions=4", SedaEndpoint.class);
+        TabularData data = endpoint.partitionStatistics();
+        assertEquals(4, data.size());
+        long dequeued = 0;
+        for (Object row : data.values()) {
+            dequeued += (Long) ((CompositeData) row).get("dequeued");
+        }
+        assertEquals(MESSAGES, dequeued);
+    }
+
+    @Test
+    public void testPartitionedQueue() throws Exception {
+        PartitionedBlockingQueue<String> queue = new PartitionedBlockingQueue<>(4, 64);
+        assertEquals(4, queue.getPartitionCount());
+        assertEquals(64, queue.remainingCapacity());
+        assertSame(queue.getPartitionForKey("foo"), queue.getPartitionForKey("foo"));
+
+        LockFreeArrayBlockingQueue<String> partition = queue.getPartitionForKey("foo");
+        for (int i = 0; i < 16; i++) {
+            assertTrue(partition.offer("foo" + i));
+        }
+        assertFalse(partition.offer("full"));
+        assertFalse(partition.offer("full", 10, TimeUnit.MILLISECONDS));
+        assertEquals(16, queue.size());
+
+        // removed elements are skipped
+        assertTrue(queue.remove("foo1"));
+        assertFalse(queue.remove("foo1"));
+        List<String> elements = new ArrayList<>(queue);
+        assertEquals(15, elements.size());
+        assertFalse(elements.contains("foo1"));
+
+        assertEquals("foo0", queue.poll());
+        assertEquals("foo2", queue.poll(1, TimeUnit.SECONDS));
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(16, partition.getDequeuedCount());
+        assertEquals(16, partition.getEnqueuedCount());
+    }
+
+    @Test
+    public void testPartitionedQueueWithoutKey() throws Exception {
+        PartitionedBlockingQueue<String> queue = new PartitionedBlockingQueue<>(4, 16);
+
+        // the elements are spread over the partitions, so the whole capacity is used from a single thread
+        for (int i = 0; i < 16; i++) {
+            assertTrue(queue.offer("foo" + i));
+        }
+        assertFalse(queue.offer("full"));
+        assertFalse(queue.offer("full", 10, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < queue.getPartitionCount(); i++) {
+            assertEquals(4, queue.getPartition(i).size());
+        }
+
+        // a full partition is skipped
+        queue.getPartition(1).clear();
+        queue.getPartition(2).clear();
+        queue.put("bar1");
+        assertTrue(queue.offer("bar2", 10, TimeUnit.MILLISECONDS));
+        assertEquals(1, queue.getPartition(1).size());
+        assertEquals(1, queue.getPartition(2).size());
+        assertEquals(6, queue.remainingCapacity());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?partitions=4").process(exchange -> {
+                    String key = exchange.getMessage().getHeader("key", String.class);
+                    String thread = Thread.currentThread().getName();
+                    // each key is consumed by the same thread
+                    assertEquals(thread, threads.computeIfAbsent(key, k -> thread));
+                    received.computeIfAbsent(key, k -> new ArrayList<>()).add(exchange.getMessage().getBody(Integer.class));
+                }).to("mock:result");
+            }
+        };
+    }
+}
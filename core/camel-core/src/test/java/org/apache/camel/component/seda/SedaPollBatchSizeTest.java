@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SedaPollBatchSizeTest extends ContextTestSupport {
+
+    private final LockFreeArrayBlockingQueueFactory<Exchange> lockFreeQueueFactory = new LockFreeArrayBlockingQueueFactory<>();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("lockFreeQueueFactory", lockFreeQueueFactory);
+        return context;
+    }
+
+    @Test
+    public void testPollBatchSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        List<Object> bodies = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            bodies.add(i);
+        }
+        mock.expectedBodiesReceived(bodies);
+
+        for (int i = 0; i < 1000; i++) {
+            template.sendBody("seda:foo", i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        SedaEndpoint endpoint = context.getEndpoint("seda:foo", SedaEndpoint.class);
+        assertIsInstanceOf(LockFreeArrayBlockingQueue.class, endpoint.getQueue());
+        assertEquals(1024, endpoint.getQueue().remainingCapacity());
+    }
+
+    @Test
+    public void testPendingExchangesSize() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:slow?pollBatchSize=10&batchProcessing=true").routeId("slow")
+                        .process(e -> latch.await(10, TimeUnit.SECONDS))
+                        .to("mock:slow");
+            }
+        });
+        getMockEndpoint("mock:slow").expectedMessageCount(5);
+
+        context.getRouteController().stopRoute("slow");
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:slow", i);
+        }
+        context.getRouteController().startRoute("slow");
+
+        // the exchanges drained with the first exchange are no longer on the queue, but are still pending
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("slow").getConsumer();
+        SedaEndpoint endpoint = context.getEndpoint("seda:slow", SedaEndpoint.class);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, endpoint.getQueue().size()));
+        assertEquals(4, consumer.getPendingExchangesSize());
+        latch.countDown();
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, consumer.getPendingExchangesSize());
+    }
+
+    @Test
+    public void testDrainTo() throws Exception {
+        LockFreeArrayBlockingQueue<String> queue = lockFreeQueueFactory.create(8);
+        for (int i = 0; i < 8; i++) {
+            queue.put("foo" + i);
+        }
+        queue.remove("foo2");
+        // the removed element is not counted, but its slot is only freed when the consumer has passed it
+        assertEquals(7, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertFalse(queue.offer("bar"));
+
+        List<String> batch = new ArrayList<>();
+        assertEquals(4, queue.drainTo(batch, 5));
+        assertEquals(List.of("foo0", "foo1", "foo3", "foo4"), batch);
+        assertEquals(3, queue.size());
+        assertEquals(5, queue.remainingCapacity());
+
+        batch.clear();
+        assertEquals(3, queue.drainTo(batch));
+        assertEquals(List.of("foo5", "foo6", "foo7"), batch);
+        assertEquals(0, queue.drainTo(batch));
+        assertNull(queue.poll());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?queueFactory=#lockFreeQueueFactory&pollBatchSize=50").to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedOutputStreamOffHeapTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+                                              + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory(true).toFile());
+        context.getStreamCachingStrategy().setOffHeapEnabled(true);
+        context.getStreamCachingStrategy().setOffHeapArenaSize(256);
+        context.getStreamCachingStrategy().setOffHeapSegmentSize(32);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        exchange = createExchangeWithUnitOfWork();
+    }
+
+    private Exchange createExchangeWithUnitOfWork() {
+        Exchange answer = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(answer);
+        answer.adapt(ExtendedExchange.class).setUnitOfWork(uow);
+        return answer;
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testCacheStreamInArena() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+        assertEquals(256, statistics.getOffHeapArenaSize());
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache instanceof OffHeapInputStreamCache, "Should get the OffHeapInputStreamCache");
+        assertTrue(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+        assertEquals(TEST_STRING, new String(((InputStream) cache).readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(128, statistics.getOffHeapArenaUsed());
+
+        // read again from a copy and after reset
+        StreamCache copy = cache.copy(exchange);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        copy.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString(StandardCharsets.UTF_8));
+        cache.reset();
+        assertEquals(TEST_STRING, new String(((InputStream) cache).readAllBytes(), StandardCharsets.UTF_8));
+
+        // no temp files are created
+        File dir = testDirectory().toFile();
+        assertFalse(dir.exists() && dir.list().length > 0, "There should be no temp files");
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics.getOffHeapArenaUsed());
+        assertThrows(Exception.class, cache::reset, "The segments should be released");
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamToSpoolFile() throws Exception {
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        // the first segment is from the arena, and the rest from the spool file as over the spool threshold
+        byte[] data = TEST_STRING.getBytes(StandardCharsets.UTF_8);
+        for (byte b : data) {
+            cos.write(b);
+        }
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache instanceof OffHeapInputStreamCache, "Should get the OffHeapInputStreamCache");
+        assertFalse(cache.inMemory());
+        assertEquals(TEST_STRING, new String(((InputStream) cache).readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(32, statistics.getOffHeapArenaUsed());
+        assertEquals(96, statistics.getOffHeapSpoolUsed());
+        assertEquals(3, statistics.getOffHeapSpillCounter());
+        assertTrue(statistics.getOffHeapSpoolSize() > 0);
+
+        File dir = testDirectory().toFile();
+        assertEquals(1, dir.list().length, "There should be only the spool file");
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics.getOffHeapArenaUsed());
+        assertEquals(0, statistics.getOffHeapSpoolUsed());
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamArenaExhausted() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        for (int i = 0; i < 4; i++) {
+            cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // the arena is too small so the stream cache is moved to memory
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache instanceof InputStreamCache, "Should get the InputStreamCache");
+        assertEquals(4 * TEST_STRING.length(), cache.length());
+        assertEquals(TEST_STRING.repeat(4), new String(((InputStream) cache).readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(0, statistics.getOffHeapArenaUsed());
+
+        exchange.getUnitOfWork().done(exchange);
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamSpoolFileMaxSize() throws Exception {
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setOffHeapMaxSpoolSize(64);
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        for (int i = 0; i < 4; i++) {
+            cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // the spool file is at its max size so the stream cache is moved to a temp file
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache instanceof FileInputStreamCache, "Should get the FileInputStreamCache");
+        assertEquals(TEST_STRING.repeat(4), new String(((InputStream) cache).readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(64, statistics.getOffHeapSpoolSize());
+        assertEquals(0, statistics.getOffHeapSpoolUsed());
+
+        exchange.getUnitOfWork().done(exchange);
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamSpoolFileTrimmed() throws Exception {
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        // each stream cache uses a full region (128 segments) of the spool file
+        byte[] data = new byte[128 * 32];
+        Exchange[] exchanges = new Exchange[3];
+        for (int i = 0; i < exchanges.length; i++) {
+            exchanges[i] = createExchangeWithUnitOfWork();
+            CachedOutputStream cos = new CachedOutputStream(exchanges[i]);
+            cos.write(data);
+            assertTrue(cos.newStreamCache() instanceof OffHeapInputStreamCache, "Should get the OffHeapInputStreamCache");
+        }
+        assertEquals(3 * data.length, statistics.getOffHeapSpoolSize());
+        assertEquals(3 * data.length, statistics.getOffHeapSpoolUsed());
+
+        for (Exchange e : exchanges) {
+            e.getUnitOfWork().done(e);
+        }
+
+        // the idle regions are dropped, except one region which is kept for reuse
+        assertEquals(0, statistics.getOffHeapSpoolUsed());
+        assertEquals(data.length, statistics.getOffHeapSpoolSize());
+        File spoolFile = testDirectory().resolve("camel-offheap-spool.dat").toFile();
+        assertEquals(data.length, spoolFile.length());
+    }
+
+    @Test
+    public void testCacheStreamReleasedWhileReading() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        StreamCache cache = cos.newStreamCache();
+
+        // the exchange is done while reading, and the segments must not be reused before the read is complete
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(new OutputStream() {
+            private boolean done;
+
+            @Override
+            public void write(int b) {
+                bos.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                if (!done) {
+                    done = true;
+                    exchange.getUnitOfWork().done(exchange);
+                    assertEquals(128, statistics.getOffHeapArenaUsed());
+                }
+                bos.write(b, off, len);
+            }
+        });
+        assertEquals(TEST_STRING, bos.toString(StandardCharsets.UTF_8));
+        assertEquals(0, statistics.getOffHeapArenaUsed());
+        assertThrows(IOException.class, () -> ((InputStream) cache).read(), "The segments should be released");
+        IOHelper.close(cos);
+    }
+
+}
@@ -18,11 +18,17 @@ package org.apache.camel.converter.stream;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
 
 import org.apache.camel.ContextTestSupport;
+import org.apache.camel.StreamCache;
+import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.util.IOHelper;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -46,4 +52,28 @@ public class FileInputStreamCacheTest extends ContextTestSupport {
         IOHelper.close(cache, bos);
     }
 
+    @Test
+    public void testFileInputStreamCacheCopy() throws Exception {
+        File file = new File(TEST_FILE);
+        byte[] expected = Files.readAllBytes(file.toPath());
+        FileInputStreamCache cache = new FileInputStreamCache(file);
+
+        // the copies are reading from the same shared view of the file
+        StreamCache copy1 = cache.copy(new DefaultExchange(context));
+        StreamCache copy2 = cache.copy(new DefaultExchange(context));
+        assertEquals(expected.length, copy1.length());
+
+        assertArrayEquals(expected, ((InputStream) copy1).readAllBytes());
+        assertArrayEquals(expected, cache.readAllBytes());
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        copy2.writeTo(bos);
+        assertArrayEquals(expected, bos.toByteArray());
+
+        // and can be read again after reset
+        copy1.reset();
+        assertArrayEquals(expected, ((InputStream) copy1).readAllBytes());
+
+        IOHelper.close(cache, (InputStream) copy1, (InputStream) copy2, bos);
+    }
+
 }
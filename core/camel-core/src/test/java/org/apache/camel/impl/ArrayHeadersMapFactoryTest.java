@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.engine.ArrayHeadersMapFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrayHeadersMapFactoryTest {
+
+    private final ArrayHeadersMapFactory factory = new ArrayHeadersMapFactory();
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = factory.newMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("fOo"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testKnownHeaders() {
+        Map<String, Object> map = factory.newMap();
+        map.put(Exchange.FILE_NAME, "hello.txt");
+        map.put(Exchange.CONTENT_TYPE, "text/plain");
+
+        assertEquals("hello.txt", map.get(Exchange.FILE_NAME));
+        assertEquals("hello.txt", map.get("camelfilename"));
+        assertEquals("text/plain", map.get("content-type"));
+        assertEquals("text/plain", map.get("CONTENT-TYPE"));
+    }
+
+    @Test
+    public void testPutKeepsOriginalKey() {
+        Map<String, Object> map = factory.newMap();
+        map.put("Foo", "cheese");
+        assertEquals("cheese", map.put("FOO", "cake"));
+
+        assertEquals(1, map.size());
+        assertEquals("Foo", map.keySet().iterator().next());
+        assertEquals("cake", map.get("foo"));
+    }
+
+    @Test
+    public void testRemove() {
+        Map<String, Object> map = factory.newMap();
+        map.put("foo", 1);
+        map.put("bar", 2);
+
+        assertEquals(1, map.remove("FOO"));
+        assertNull(map.remove("FOO"));
+        assertEquals(1, map.size());
+        assertNull(map.get("foo"));
+        assertEquals(2, map.get("BAR"));
+
+        map.put("Foo", 3);
+        assertEquals(3, map.get("foo"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testManyHeaders() {
+        Map<String, Object> map = factory.newMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put("header" + i, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.remove("HEADER" + i);
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get("Header" + i));
+            } else {
+                assertEquals(i, map.get("Header" + i));
+            }
+        }
+    }
+
+    @Test
+    public void testConstructFromOther() {
+        Map<String, Object> other = new HashMap<>();
+        other.put("Foo", "cheese");
+        other.put("bar", 123);
+
+        Map<String, Object> map = factory.newMap(other);
+
+        assertEquals("cheese", map.get("FOO"));
+        assertEquals(123, map.get("BaR"));
+        assertEquals(other, new HashMap<>(map));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        Map<String, Object> map = factory.newMap();
+        map.put("foo", 1);
+        map.put("bar", 2);
+
+        Map<String, Object> copy = factory.newMap(map);
+        assertEquals(2, copy.size());
+        assertEquals(1, copy.get("FOO"));
+
+        // changes are not visible in the other map
+        copy.put("foo", 10);
+        copy.put("baz", 3);
+        map.remove("bar");
+
+        assertEquals(1, map.get("foo"));
+        assertNull(map.get("baz"));
+        assertEquals(1, map.size());
+
+        assertEquals(10, copy.get("foo"));
+        assertEquals(2, copy.get("bar"));
+        assertEquals(3, copy.size());
+
+        // clearing a copy does not affect the other
+        Map<String, Object> copy2 = factory.newMap(copy);
+        copy2.clear();
+        assertTrue(copy2.isEmpty());
+        assertEquals(3, copy.size());
+        copy2.put("foo", "new");
+        assertEquals(10, copy.get("foo"));
+    }
+
+    @Test
+    public void testClearAndReuse() {
+        Map<String, Object> map = factory.newMap();
+        map.put("foo", 1);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("foo"));
+
+        map.put("bar", 2);
+        assertEquals(1, map.size());
+        assertEquals(2, map.get("BAR"));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Map<String, Object> map = factory.newMap();
+        for (int i = 0; i < 20; i++) {
+            map.put("header" + i, i);
+        }
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        int count = 0;
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            count++;
+            if ((Integer) entry.getValue() % 2 == 0) {
+                it.remove();
+            } else {
+                entry.setValue("odd");
+            }
+        }
+        assertEquals(20, count);
+        assertEquals(10, map.size());
+        assertEquals("odd", map.get("HEADER1"));
+        assertFalse(map.containsKey("header2"));
+    }
+
+    @Test
+    public void testEntrySetValueCopyOnWrite() {
+        Map<String, Object> map = factory.newMap();
+        map.put("foo", 1);
+        Map<String, Object> copy = factory.newMap(map);
+
+        copy.entrySet().iterator().next().setValue(2);
+
+        assertEquals(1, map.get("foo"));
+        assertEquals(2, copy.get("foo"));
+    }
+
+    @Test
+    public void testIsInstance() {
+        Map<String, Object> map = factory.newMap();
+        Map<String, Object> other = factory.newMap(map);
+
+        assertTrue(factory.isInstanceOf(map));
+        assertTrue(factory.isInstanceOf(other));
+        assertFalse(factory.isInstanceOf(new HashMap<>()));
+        assertTrue(factory.isCaseInsensitive());
+    }
+
+}
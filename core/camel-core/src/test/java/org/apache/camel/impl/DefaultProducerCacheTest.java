@@ -29,9 +29,11 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.spi.EndpointUtilizationStatistics;
 import org.apache.camel.support.DefaultComponent;
 import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultProducer;
 import org.apache.camel.support.cache.DefaultProducerCache;
 import org.apache.camel.support.cache.ProducerServicePool;
@@ -42,6 +44,7 @@ import org.junit.jupiter.api.Test;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DefaultProducerCacheTest extends ContextTestSupport {
 
@@ -154,6 +157,89 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
         cache.stop();
     }
 
+    @Test
+    public void testCacheKeepHotEndpoints() throws Exception {
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 10);
+        cache.start();
+
+        // send to a few hot endpoints in between many endpoints which are only sent to once
+        int cold = 0;
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 5; i++) {
+                Endpoint e = newEndpoint(true, i);
+                AsyncProducer p = cache.acquireProducer(e);
+                cache.releaseProducer(e, p);
+            }
+            for (int i = 0; i < 20; i++) {
+                Endpoint e = newEndpoint(true, 1000 + cold++);
+                AsyncProducer p = cache.acquireProducer(e);
+                cache.releaseProducer(e, p);
+            }
+        }
+
+        assertEquals(10, cache.size(), "Size should be 10");
+        assertEquals(50 * 25, cache.getHits() + cache.getMisses());
+        assertEquals(cache.getMisses() - 10, cache.getEvictions());
+        // the producers for the hot endpoints are kept (a LRU cache would have no hits at all)
+        long hits = cache.getHits();
+        assertTrue(hits >= 5 * 45, "Should reuse the producers for the hot endpoints: " + hits);
+
+        cache.stop();
+    }
+
+    @Test
+    public void testSendStatistics() throws Exception {
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 5);
+        cache.setExtendedStatistics(true);
+        cache.start();
+
+        Endpoint e = context.getEndpoint("direct:slow");
+        cache.send(e, new DefaultExchange(context), null);
+        cache.send(e, new DefaultExchange(context), null);
+
+        EndpointUtilizationStatistics stats = cache.getEndpointUtilizationStatistics();
+        assertEquals(2, stats.getStatistics().get("direct://slow").longValue());
+        assertTrue(stats.getMeanTime("direct://slow") >= 50);
+        assertTrue(stats.getMaxTime("direct://slow") >= 50);
+        assertEquals(-1, stats.getMeanTime("direct://unknown"));
+
+        cache.stop();
+    }
+
+    @Test
+    public void testWarmUpHotEndpoints() throws Exception {
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 10);
+        cache.start();
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 10; i++) {
+                Endpoint e = context.getEndpoint("direct:hot" + i);
+                AsyncProducer p = cache.acquireProducer(e);
+                cache.releaseProducer(e, p);
+            }
+        }
+        long misses = cache.getMisses();
+
+        // the producers for the hot endpoints are created again in the background when restarting
+        cache.stop();
+        assertEquals(0, cache.size(), "Size should be 0");
+        cache.start();
+        await().atMost(3, TimeUnit.SECONDS).untilAsserted(() -> assertTrue(cache.size() > 0));
+
+        long warmed = cache.getMisses() - misses;
+        assertEquals(warmed, cache.size());
+
+        // only the producers which were not warmed up are created
+        for (int i = 0; i < 10; i++) {
+            Endpoint e = context.getEndpoint("direct:hot" + i);
+            AsyncProducer p = cache.acquireProducer(e);
+            cache.releaseProducer(e, p);
+        }
+        assertEquals(misses + 10, cache.getMisses());
+
+        cache.stop();
+    }
+
     @Test
     public void testCacheEvictWhileInUse() throws Exception {
         producerCounter.set(0);
@@ -248,6 +334,16 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
         component = new MyComponent(context);
     }
 
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:slow").delay(50);
+            }
+        };
+    }
+
     protected MyEndpoint newEndpoint(boolean isSingleton, int number) {
         return new MyEndpoint(component, isSingleton, number);
     }
@@ -130,4 +130,43 @@ public class MessageSupportTest extends ContextTestSupport {
         assertEquals(1234L, exchange.getMessage().getMessageTimestamp());
     }
 
+    @Test
+    public void testCachedResult() {
+        Exchange exchange = new DefaultExchange(context);
+        DefaultMessage in = (DefaultMessage) exchange.getIn();
+        in.setBody("Hello World");
+        in.setHeader("foo", 123);
+
+        Object parsed = new Object();
+        in.setCachedResult("key", parsed);
+        assertSame(parsed, in.getCachedResult("key"));
+        assertNull(in.getCachedResult("other"));
+
+        // reading the message does not change the version
+        int version = in.getVersion();
+        in.getBody(String.class);
+        in.getHeader("foo");
+        assertEquals(version, in.getVersion());
+        assertSame(parsed, in.getCachedResult("key"));
+
+        // changing the message discards the cached results
+        in.setHeader("bar", 456);
+        assertNotEquals(version, in.getVersion());
+        assertNull(in.getCachedResult("key"));
+
+        in.setCachedResult("key", parsed);
+        in.removeHeader("bar");
+        assertNull(in.getCachedResult("key"));
+
+        in.setCachedResult("key", parsed);
+        in.setBody("Bye World");
+        assertNull(in.getCachedResult("key"));
+
+        // the cached results are not copied
+        in.setCachedResult("key", parsed);
+        DefaultMessage copy = (DefaultMessage) in.copy();
+        assertNull(copy.getCachedResult("key"));
+        assertSame(parsed, in.getCachedResult("key"));
+    }
+
 }
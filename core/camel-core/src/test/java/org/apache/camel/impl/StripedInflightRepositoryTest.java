@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Collection;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.StripedInflightRepository;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedInflightRepositoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        StripedInflightRepository repo = new StripedInflightRepository();
+        repo.setInflightBrowseEnabled(true);
+        context.adapt(ExtendedCamelContext.class).setInflightRepository(repo);
+        return context;
+    }
+
+    @Test
+    public void testSize() throws Exception {
+        InflightRepository repo = new StripedInflightRepository();
+        repo.addRoute("foo");
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1, "foo");
+        Exchange e2 = new DefaultExchange(context);
+        repo.add(e2);
+        assertEquals(2, repo.size());
+        assertEquals(1, repo.size("foo"));
+        assertEquals(0, repo.size("bar"));
+
+        repo.remove(e1, "foo");
+        repo.remove(e1);
+        repo.remove(e2);
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.size("foo"));
+
+        // browse is not enabled
+        repo.add(e1);
+        assertTrue(repo.browse().isEmpty());
+        assertNull(repo.oldest(null));
+    }
+
+    @Test
+    public void testSampleSize() throws Exception {
+        StripedInflightRepository repo = new StripedInflightRepository();
+        repo.setSampleSize(4);
+        repo.setInflightBrowseEnabled(true);
+
+        for (int i = 0; i < 100; i++) {
+            repo.add(new DefaultExchange(context));
+        }
+        assertEquals(100, repo.size());
+        // only a bounded sample is kept
+        Collection<InflightRepository.InflightExchange> list = repo.browse();
+        assertTrue(list.size() > 0 && list.size() <= 4, "Should sample at most 4 but was " + list.size());
+
+        // remove all the sampled exchanges
+        for (InflightRepository.InflightExchange inflight : list) {
+            repo.remove(inflight.getExchange());
+        }
+        assertEquals(100 - list.size(), repo.size());
+        assertTrue(repo.browse().isEmpty());
+    }
+
+    @Test
+    public void testBrowse() throws Exception {
+        assertEquals(0, context.getInflightRepository().browse().size());
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertEquals(0, context.getInflightRepository().browse().size());
+        assertEquals(0, context.getInflightRepository().size("foo"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo").process(exchange -> {
+                    InflightRepository repo = context.getInflightRepository();
+                    assertEquals(1, repo.size());
+                    assertEquals(1, repo.size("foo"));
+
+                    Collection<InflightRepository.InflightExchange> list = repo.browse("foo");
+                    assertEquals(1, list.size());
+                    assertSame(exchange, list.iterator().next().getExchange());
+
+                    InflightRepository.InflightExchange oldest = repo.oldest("foo");
+                    assertNotNull(oldest);
+                    assertEquals("foo", oldest.getFromRouteId());
+                    assertEquals("myProcessor", oldest.getNodeId());
+                    assertNull(repo.oldest("bar"));
+                }).id("myProcessor").to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.TypeConverterSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TypeConverterRegistryLookupTableTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setTypeConverterStatisticsEnabled(true);
+        context.getTypeConverterRegistry().setLookupTableEnabled(true);
+        return context;
+    }
+
+    @Test
+    public void testLookupTable() throws Exception {
+        getMockEndpoint("mock:a").expectedBodiesReceived(3, 7);
+
+        template.sendBody("direct:start", "3");
+
+        TypeConverterRegistry reg = context.getTypeConverterRegistry();
+        assertTrue(reg.isLookupTableEnabled());
+        reg.buildLookupTable();
+        assertTrue(reg.getLookupTableSize() > 0);
+
+        template.sendBody("direct:start", "7");
+
+        assertMockEndpointsSatisfied();
+
+        TypeConverterRegistry.ConversionStatistics stat = reg.getStatistics().getConversionStatistics().stream()
+                .filter(s -> s.getFromType() == String.class && s.getToType() == Integer.class)
+                .findFirst().orElseThrow();
+        assertTrue(stat.getHitCounter() >= 2);
+        assertEquals(0, stat.getMissCounter());
+        assertTrue(stat.getLookupTableCounter() >= 1);
+    }
+
+    @Test
+    public void testTypeConverterHandle() throws Exception {
+        TypeConverterRegistry reg = context.getTypeConverterRegistry();
+        reg.addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter("A"));
+        TypeConverter handle = reg.createTypeConverterHandle(MyOrder.class);
+
+        assertEquals("A123", handle.convertTo(MyOrder.class, "123").id);
+        assertEquals("A456", handle.convertTo(MyOrder.class, "456").id);
+        // other types are converted as usual
+        assertEquals("789", handle.convertTo(String.class, 789));
+
+        // the handle should use the new type converter
+        reg.removeTypeConverter(MyOrder.class, String.class);
+        reg.addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter("B"));
+        assertEquals("B123", handle.convertTo(MyOrder.class, "123").id);
+    }
+
+    @Test
+    public void testMessageUsesSharedTypeConverterHandle() throws Exception {
+        TypeConverterRegistry reg = context.getTypeConverterRegistry();
+        reg.addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter("A"));
+        TypeConverter handle = reg.getTypeConverterHandle(MyOrder.class);
+        assertSame(handle, reg.getTypeConverterHandle(MyOrder.class));
+        assertNotSame(reg, handle);
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setBody("123");
+        exchange.getMessage().setHeader("order", "456");
+        assertEquals("A123", exchange.getMessage().getBody(MyOrder.class).id);
+        assertEquals("A456", exchange.getMessage().getHeader("order", MyOrder.class).id);
+
+        // the shared handles are not in use when the lookup table is disabled
+        reg.setLookupTableEnabled(false);
+        assertSame(reg, reg.getTypeConverterHandle(MyOrder.class));
+        assertEquals("A123", exchange.getMessage().getBody(MyOrder.class).id);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").convertBodyTo(Integer.class).to("mock:a");
+            }
+        };
+    }
+
+    private static final class MyOrder {
+        private final String id;
+
+        private MyOrder(String id) {
+            this.id = id;
+        }
+    }
+
+    private static final class MyOrderTypeConverter extends TypeConverterSupport {
+        private final String prefix;
+
+        private MyOrderTypeConverter(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+            return type.cast(new MyOrder(prefix + value));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.VirtualThreadPoolFactory;
+import org.apache.camel.util.concurrent.ThreadHelper;
+import org.apache.camel.util.concurrent.ThreadPerTaskExecutorService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadPoolFactoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getExecutorServiceManager().setThreadPoolFactory(new VirtualThreadPoolFactory());
+        return context;
+    }
+
+    @Test
+    public void testThreadPool() {
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "foo", 5, 10);
+        if (ThreadHelper.isVirtualThreadsSupported()) {
+            // the concurrency limit is by default disabled
+            ThreadPerTaskExecutorService service = assertIsInstanceOf(ThreadPerTaskExecutorService.class, executor);
+            assertEquals(0, service.getMaxConcurrentTasks());
+            assertEquals(-1, service.getMaxQueueSize());
+        } else {
+            // fallback to regular thread pools
+            assertIsInstanceOf(ThreadPoolExecutor.class, executor);
+        }
+    }
+
+    @Test
+    public void testConcurrencyLimit() {
+        VirtualThreadPoolFactory factory
+                = (VirtualThreadPoolFactory) context.getExecutorServiceManager().getThreadPoolFactory();
+        factory.setConcurrencyLimitEnabled(true);
+
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("foo").maxPoolSize(10).maxQueueSize(0).build();
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "foo", profile);
+        if (ThreadHelper.isVirtualThreadsSupported()) {
+            ThreadPerTaskExecutorService service = assertIsInstanceOf(ThreadPerTaskExecutorService.class, executor);
+            assertEquals(10, service.getMaxConcurrentTasks());
+            // direct handoff as with regular thread pools
+            assertEquals(0, service.getMaxQueueSize());
+        } else {
+            // fallback to regular thread pools
+            assertIsInstanceOf(ThreadPoolExecutor.class, executor);
+        }
+    }
+
+    @Test
+    public void testThreads() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(50);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("seda:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        String name = mock.getReceivedExchanges().get(0).getMessage().getHeader("threadName", String.class);
+        assertTrue(name.contains("Threads"), "Should use thread from threads EIP, was: " + name);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:start")
+                        .threads(5, 20)
+                        .process(e -> e.getMessage().setHeader("threadName", Thread.currentThread().getName()))
+                        .to("mock:result");
+            }
+        };
+    }
+}
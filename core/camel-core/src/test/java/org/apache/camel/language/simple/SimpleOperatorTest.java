@@ -18,11 +18,14 @@ package org.apache.camel.language.simple;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.LanguageTestSupport;
+import org.apache.camel.Predicate;
 import org.apache.camel.language.simple.types.SimpleIllegalSyntaxException;
 import org.apache.camel.spi.Registry;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class SimpleOperatorTest extends LanguageTestSupport {
@@ -818,6 +821,43 @@ public class SimpleOperatorTest extends LanguageTestSupport {
         assertPredicate("${in.body} endsWith 'Hi'", false);
     }
 
+    @Test
+    public void testConstantRightOperandReused() throws Exception {
+        // the right hand side is constant so these predicates are prepared once and evaluated many times
+        Predicate regex = context.resolveLanguage("simple").createPredicate("${in.header.foo} regex '^a.c$'");
+        Predicate in = context.resolveLanguage("simple").createPredicate("${in.header.foo} !in 'abc,def'");
+        Predicate range = context.resolveLanguage("simple").createPredicate("${in.header.num} range '100..200'");
+        Predicate is = context.resolveLanguage("simple").createPredicate("${in.header.foo} is 'String'");
+
+        exchange.getIn().setHeader("foo", "abc");
+        exchange.getIn().setHeader("num", 123);
+        assertTrue(regex.matches(exchange));
+        assertFalse(in.matches(exchange));
+        assertTrue(range.matches(exchange));
+        assertTrue(is.matches(exchange));
+
+        exchange.getIn().setHeader("foo", "xyz");
+        exchange.getIn().setHeader("num", 99);
+        assertFalse(regex.matches(exchange));
+        assertTrue(in.matches(exchange));
+        assertFalse(range.matches(exchange));
+        assertTrue(is.matches(exchange));
+
+        exchange.getIn().setHeader("foo", 123);
+        assertFalse(is.matches(exchange));
+    }
+
+    @Test
+    public void testConstantQuotedLiterals() throws Exception {
+        exchange.getIn().setHeader("foo", "Hello World");
+        assertPredicate("${in.header.foo} == 'Hello World'", true);
+        assertPredicate("${in.header.foo} == \"Hello World\"", true);
+        assertPredicate("${in.header.foo} == 'Hello ${in.header.bar}World'", true);
+
+        exchange.getIn().setHeader("bar", "Big ");
+        assertPredicate("${in.header.foo} == 'Hello ${in.header.bar}World'", false);
+    }
+
     @Override
     protected String getLanguageName() {
         return "simple";
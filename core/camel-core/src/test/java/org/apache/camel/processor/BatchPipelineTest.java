@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.BatchProcessor;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.BatchProcessorHelper;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchPipelineTest extends ContextTestSupport {
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    private final BatchProcessor sink = new BatchProcessor() {
+        @Override
+        public void processBatch(List<Exchange> exchanges) {
+            batchSizes.add(exchanges.size());
+            for (Exchange exchange : exchanges) {
+                exchange.getMessage().setBody(exchange.getMessage().getBody(String.class) + "!");
+            }
+        }
+
+        @Override
+        public void process(Exchange exchange) {
+            processBatch(List.of(exchange));
+        }
+    };
+
+    @Test
+    public void testBatchThroughPipeline() throws Exception {
+        Processor upper = exchange -> exchange.getMessage().setBody(exchange.getMessage().getBody(String.class).toUpperCase());
+        Pipeline pipeline = (Pipeline) Pipeline.newInstance(context, upper, sink);
+
+        List<Exchange> exchanges = createBatch("a", "b", "c");
+        pipeline.processBatch(exchanges);
+
+        // the sink received all the exchanges in one call
+        assertEquals(List.of(3), batchSizes);
+        assertEquals("A!", exchanges.get(0).getMessage().getBody());
+        assertEquals("B!", exchanges.get(1).getMessage().getBody());
+        assertEquals("C!", exchanges.get(2).getMessage().getBody());
+    }
+
+    @Test
+    public void testFailedExchangeLeavesBatch() throws Exception {
+        Processor validate = exchange -> {
+            if ("kaboom".equals(exchange.getMessage().getBody())) {
+                throw new IllegalArgumentException("Forced");
+            }
+        };
+        Pipeline pipeline = (Pipeline) Pipeline.newInstance(context, validate, sink);
+
+        List<Exchange> exchanges = createBatch("a", "kaboom", "c");
+        pipeline.processBatch(exchanges);
+
+        // the failed exchange does not continue, but the remainder of the batch does
+        assertEquals(List.of(2), batchSizes);
+        assertEquals("a!", exchanges.get(0).getMessage().getBody());
+        assertTrue(exchanges.get(1).getException() instanceof IllegalArgumentException);
+        assertEquals("kaboom", exchanges.get(1).getMessage().getBody());
+        assertNull(exchanges.get(2).getException());
+        assertEquals("c!", exchanges.get(2).getMessage().getBody());
+    }
+
+    @Test
+    public void testConvert() throws Exception {
+        assertSame(sink, BatchProcessorHelper.convert(sink));
+
+        Processor upper = exchange -> exchange.getMessage().setBody(exchange.getMessage().getBody(String.class).toUpperCase());
+        List<Exchange> exchanges = createBatch("x", "y");
+        BatchProcessorHelper.convert(upper).processBatch(exchanges);
+        assertEquals("X", exchanges.get(0).getMessage().getBody());
+        assertEquals("Y", exchanges.get(1).getMessage().getBody());
+    }
+
+    private List<Exchange> createBatch(String... bodies) {
+        List<Exchange> answer = new ArrayList<>();
+        for (String body : bodies) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getMessage().setBody(body);
+            answer.add(exchange);
+        }
+        return answer;
+    }
+}
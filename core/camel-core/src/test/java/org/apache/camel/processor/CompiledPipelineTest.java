@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.DelegateProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledPipelineTest extends ContextTestSupport {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Test
+    public void testCompiled() throws Exception {
+        assertTrue(routePipeline("compiled").isCompiled());
+        assertFalse(routePipeline("async").isCompiled());
+    }
+
+    private RoutePipeline routePipeline(String routeId) {
+        Processor processor = context.getRoute(routeId).getProcessor();
+        return (RoutePipeline) ((DelegateProcessor) processor).getProcessor();
+    }
+
+    @Test
+    public void testSynchronousSteps() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", 123);
+
+        Object out = template.requestBody("direct:start", "World");
+        assertEquals("Bye World", out);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testFilter() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(0);
+
+        Object out = template.requestBodyAndHeader("direct:start", "World", "skip", true);
+        assertEquals("Hello World", out);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testException() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(0);
+        getMockEndpoint("mock:error").expectedBodiesReceived("Hello Kaboom");
+
+        template.sendBody("direct:start", "Kaboom");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testUnhandledException() throws Exception {
+        Exchange out = template.request("direct:fail", e -> e.getIn().setBody("World"));
+        assertIsInstanceOf(IllegalStateException.class, out.getException());
+        assertEquals("Hello World", out.getMessage().getBody());
+    }
+
+    @Test
+    public void testRedelivery() throws Exception {
+        Exchange out = template.request("direct:redelivery", e -> e.getIn().setBody("World"));
+        assertNull(out.getException());
+        // the redeliveries starts from the message before the step failed
+        assertEquals("Hello World!", out.getMessage().getBody());
+        assertEquals(2, out.getMessage().getHeader(Exchange.REDELIVERY_COUNTER));
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    public void testAsynchronousStep() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:async");
+        mock.expectedBodiesReceived("Bye World");
+
+        Exchange out = template.request("direct:async", e -> e.getIn().setBody("World"));
+        assertEquals("Bye World", out.getMessage().getBody());
+        // the steps after threads continues on another thread
+        assertNotEquals(Thread.currentThread().getName(), out.getMessage().getHeader("thread"));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(IllegalArgumentException.class).handled(true).to("mock:error");
+
+                from("direct:start").routeId("compiled").routeProperty(Route.COMPILED_PROPERTY, "true")
+                        .setBody(simple("Hello ${body}"))
+                        .filter(header("skip").isNull())
+                        .setHeader("foo", constant(123))
+                        .process(e -> {
+                            if (e.getIn().getBody(String.class).contains("Kaboom")) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        })
+                        .to("mock:result")
+                        .transform(constant("Bye World"))
+                        .end();
+
+                from("direct:fail").routeProperty(Route.COMPILED_PROPERTY, "true")
+                        .errorHandler(defaultErrorHandler())
+                        .setBody(simple("Hello ${body}"))
+                        .throwException(new IllegalStateException("Forced"))
+                        .setBody(constant("Bye World"));
+
+                from("direct:redelivery").routeProperty(Route.COMPILED_PROPERTY, "true")
+                        .errorHandler(defaultErrorHandler().maximumRedeliveries(3).redeliveryDelay(0))
+                        .setBody(simple("Hello ${body}"))
+                        .process(e -> {
+                            e.getIn().setBody(e.getIn().getBody(String.class) + "!");
+                            if (counter.incrementAndGet() < 3) {
+                                throw new IllegalStateException("Forced");
+                            }
+                        });
+
+                from("direct:async").routeId("async")
+                        .to("direct:async-compiled");
+
+                from("direct:async-compiled").routeProperty(Route.COMPILED_PROPERTY, "true")
+                        .setHeader("before", constant(true))
+                        .threads(1)
+                        .setHeader("thread", () -> Thread.currentThread().getName())
+                        .setBody(simple("Bye ${body}"))
+                        .to("mock:async");
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimiterTest extends ContextTestSupport {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Test
+    public void testSendMessages() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) context.getProcessor("limiter");
+        assertEquals(0, limiter.getInflight());
+        assertEquals(0, limiter.getQueueSize());
+    }
+
+    @Test
+    public void testQueueWhenLimitReached() throws Exception {
+        getMockEndpoint("mock:queue").expectedBodiesReceived("A", "B", "C");
+
+        template.asyncSendBody("direct:queue", "A");
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) context.getProcessor("queueLimiter");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getInflight() == 1);
+
+        // the limit is reached so these are queued without blocking the caller
+        template.asyncSendBody("direct:queue", "B");
+        template.asyncSendBody("direct:queue", "C");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getQueueSize() == 2);
+        assertEquals(1, limiter.getInflight());
+
+        latch.countDown();
+
+        assertMockEndpointsSatisfied();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getInflight() == 0);
+        assertEquals(0, limiter.getQueueSize());
+    }
+
+    @Test
+    public void testRejectWhenQueueFull() throws Exception {
+        getMockEndpoint("mock:reject").expectedBodiesReceived("A");
+
+        template.asyncSendBody("direct:reject", "A");
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) context.getProcessor("rejectLimiter");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getInflight() == 1);
+
+        Exchange out = template.send("direct:reject", e -> e.getMessage().setBody("B"));
+        assertTrue(out.getException() instanceof ConcurrencyLimitRejectedExecutionException);
+        assertEquals(1, limiter.getRejectedCount());
+
+        latch.countDown();
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testExpireIdleGroups() throws Exception {
+        getMockEndpoint("mock:group").expectedMessageCount(3);
+
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) context.getProcessor("groupLimiter");
+        limiter.setIdlePeriodMillis(50);
+
+        template.sendBodyAndHeader("direct:group", "A", "tenant", "foo");
+        template.sendBodyAndHeader("direct:group", "B", "tenant", "bar");
+        assertEquals(2, limiter.getCorrelationKeys().size());
+
+        Thread.sleep(100);
+
+        // the idle groups are removed when a new group is created
+        template.sendBodyAndHeader("direct:group", "C", "tenant", "baz");
+        assertMockEndpointsSatisfied();
+        assertEquals(Set.of("baz"), limiter.getCorrelationKeys());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(noErrorHandler());
+
+                from("direct:start")
+                        .concurrencyLimit().id("limiter")
+                            .to("mock:result")
+                        .end();
+
+                from("direct:queue")
+                        .concurrencyLimit().initialLimit(1).minLimit(1).maxLimit(1).id("queueLimiter")
+                            .process(e -> latch.await(10, TimeUnit.SECONDS))
+                            .to("mock:queue")
+                        .end();
+
+                from("direct:group")
+                        .concurrencyLimit(header("tenant")).id("groupLimiter")
+                            .to("mock:group")
+                        .end();
+
+                from("direct:reject")
+                        .concurrencyLimit().initialLimit(1).minLimit(1).maxLimit(1).maxQueueSize(0).id("rejectLimiter")
+                            .process(e -> latch.await(10, TimeUnit.SECONDS))
+                            .to("mock:reject")
+                        .end();
+            }
+        };
+    }
+}
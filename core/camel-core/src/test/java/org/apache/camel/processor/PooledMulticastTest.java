@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.PooledExchangeFactory;
+import org.apache.camel.impl.engine.PooledProcessorExchangeFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PooledMulticastTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        ExtendedCamelContext ecc = (ExtendedCamelContext) super.createCamelContext();
+        ecc.setExchangeFactory(new PooledExchangeFactory());
+        ecc.setProcessorExchangeFactory(new PooledProcessorExchangeFactory());
+        return ecc;
+    }
+
+    @Test
+    public void testMulticast() throws Exception {
+        getMockEndpoint("mock:a").expectedBodiesReceived("A1", "A2", "A3");
+        getMockEndpoint("mock:b").expectedBodiesReceived("B1", "B2", "B3");
+
+        // the multicast tasks are pooled and reused, so each message must start from a clean state
+        for (int i = 1; i <= 3; i++) {
+            Object out = template.requestBody("direct:multicast", "" + i);
+            assertEquals("A" + i + ",B" + i, out);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testSplit() throws Exception {
+        getMockEndpoint("mock:line").expectedBodiesReceived("a", "b", "c", "d", "e", "f");
+
+        assertEquals("a,b,c", template.requestBody("direct:split", "a,b,c"));
+        assertEquals("d", template.requestBody("direct:split", "d"));
+        assertEquals("e,f", template.requestBody("direct:split", "e,f"));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testSplitStopOnException() throws Exception {
+        getMockEndpoint("mock:line").expectedBodiesReceived("a", "b", "c", "Kaboom", "d");
+
+        assertEquals("a,b", template.requestBody("direct:split", "a,b"));
+        try {
+            template.requestBody("direct:stop", "c,Kaboom,x");
+        } catch (Exception e) {
+            // expected
+        }
+        // the task after a failure must also be reusable
+        assertEquals("d", template.requestBody("direct:split", "d"));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:multicast")
+                        .multicast(AggregationStrategies.string(","))
+                            .to("direct:a", "direct:b")
+                        .end();
+
+                from("direct:a").transform(simple("A${body}")).to("mock:a");
+                from("direct:b").transform(simple("B${body}")).to("mock:b");
+
+                from("direct:split")
+                        .split(body().tokenize(","), AggregationStrategies.string(","))
+                            .to("mock:line")
+                        .end();
+
+                from("direct:stop")
+                        .split(body().tokenize(",")).stopOnException()
+                            .to("mock:line")
+                            .filter(body().isEqualTo("Kaboom"))
+                                .throwException(new IllegalArgumentException("Forced"))
+                        .end();
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplitterParallelWindowTest extends ContextTestSupport {
+
+    private static final int SIZE = 50;
+    private static final int WINDOW = 4;
+
+    private final AtomicInteger read = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxReadAhead = new AtomicInteger();
+    private final Random random = new Random();
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        read.set(0);
+        aggregated.set(0);
+        maxReadAhead.set(0);
+    }
+
+    @Test
+    public void testSplitStreamingOrderedWithWindow() throws Exception {
+        String expected = IntStream.rangeClosed(1, SIZE).mapToObj(Integer::toString).collect(Collectors.joining("+"));
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(expected);
+
+        template.sendBody("direct:ordered", SIZE);
+
+        assertMockEndpointsSatisfied();
+        assertEquals(SIZE, aggregated.get());
+        assertTrue(maxReadAhead.get() <= WINDOW, "Should not read ahead more than the window, was: " + maxReadAhead.get());
+
+        Splitter splitter = (Splitter) context.getProcessor("ordered");
+        assertEquals(WINDOW, splitter.getParallelWindowSize());
+        assertTrue(splitter.isStreamingOrdered());
+    }
+
+    @Test
+    public void testSplitStreamingUnorderedWithWindow() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:unordered", SIZE);
+
+        assertMockEndpointsSatisfied();
+        assertEquals(SIZE, aggregated.get());
+        assertTrue(maxReadAhead.get() <= WINDOW, "Should not read ahead more than the window, was: " + maxReadAhead.get());
+
+        String[] parts = mock.getReceivedExchanges().get(0).getIn().getBody(String.class).split("\\+");
+        assertEquals(SIZE, parts.length);
+    }
+
+    public Iterator<Integer> split(int size) {
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < size;
+            }
+
+            @Override
+            public Integer next() {
+                int ahead = read.incrementAndGet() - aggregated.get();
+                maxReadAhead.accumulateAndGet(ahead, Math::max);
+                return read.get();
+            }
+        };
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                BodyInAggregatingStrategy strategy = new BodyInAggregatingStrategy() {
+                    @Override
+                    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                        aggregated.incrementAndGet();
+                        return super.aggregate(oldExchange, newExchange);
+                    }
+                };
+
+                from("direct:ordered")
+                        .split(method(SplitterParallelWindowTest.this, "split"), strategy).id("ordered")
+                            .streaming().streamingOrdered().parallelProcessing().parallelWindowSize(WINDOW)
+                            .process(e -> Thread.sleep(random.nextInt(10)))
+                        .end()
+                        .to("mock:result");
+
+                from("direct:unordered")
+                        .split(method(SplitterParallelWindowTest.this, "split"), strategy)
+                            .streaming().parallelProcessing().parallelWindowSize(WINDOW)
+                            .process(e -> Thread.sleep(random.nextInt(10)))
+                        .end()
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.processor.throttle.MemoryThrottlerStateRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThrottlerTokenBucketTest extends ContextTestSupport {
+
+    private final MemoryThrottlerStateRepository repository = new MemoryThrottlerStateRepository();
+    private final MemoryThrottlerStateRepository idleRepository = new MemoryThrottlerStateRepository();
+
+    @Test
+    public void testBurstThenReject() throws Exception {
+        getMockEndpoint("mock:reject").expectedBodiesReceived("A", "B", "C");
+
+        // a burst of 3 is allowed, and then the rate of 1 per minute applies
+        for (String body : new String[] { "A", "B", "C" }) {
+            assertNull(template.send("direct:reject", e -> e.getMessage().setBody(body)).getException());
+        }
+        Exchange out = template.send("direct:reject", e -> e.getMessage().setBody("D"));
+        assertTrue(out.getException() instanceof ThrottlerRejectedExecutionException);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testCorrelated() throws Exception {
+        getMockEndpoint("mock:correlated").expectedMessageCount(2);
+
+        template.sendBodyAndHeader("direct:correlated", "A", "key", "foo");
+        template.sendBodyAndHeader("direct:correlated", "B", "key", "bar");
+        Exchange out = template.send("direct:correlated", e -> {
+            e.getMessage().setBody("C");
+            e.getMessage().setHeader("key", "foo");
+        });
+        assertTrue(out.getException() instanceof ThrottlerRejectedExecutionException);
+
+        assertMockEndpointsSatisfied();
+        assertEquals(2, repository.getSize());
+
+        // the repository is shared so it is not stopped together with the route
+        context.getRouteController().stopRoute("correlated");
+        assertTrue(repository.isStarted());
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void testEvictIdleKeys() throws Exception {
+        getMockEndpoint("mock:idle").expectedMessageCount(3);
+        idleRepository.setIdlePeriodMillis(50);
+
+        template.sendBodyAndHeader("direct:idle", "A", "key", "foo");
+        template.sendBodyAndHeader("direct:idle", "B", "key", "bar");
+        assertEquals(2, idleRepository.getSize());
+
+        Thread.sleep(200);
+
+        // the idle keys are removed when a new key is added
+        template.sendBodyAndHeader("direct:idle", "C", "key", "baz");
+        assertMockEndpointsSatisfied();
+        assertEquals(1, idleRepository.getSize());
+    }
+
+    @Test
+    public void testDelayed() throws Exception {
+        getMockEndpoint("mock:delayed").expectedMessageCount(6);
+
+        // 5 messages per second (one each 200 millis) without burst, so the last message is delayed 1 second
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:delayed", "Message " + i);
+        }
+        long delta = System.currentTimeMillis() - start;
+
+        assertMockEndpointsSatisfied();
+        assertTrue(delta >= 900, "Should take at least 1 second, was: " + delta);
+    }
+
+    @Test
+    public void testAsyncDelayed() throws Exception {
+        getMockEndpoint("mock:async").expectedMessageCount(6);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 6; i++) {
+            template.asyncSendBody("direct:async", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        long delta = System.currentTimeMillis() - start;
+        assertTrue(delta >= 900, "Should take at least 1 second, was: " + delta);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(noErrorHandler());
+
+                from("direct:reject")
+                        .throttle(1).timePeriodMillis(60000).tokenBucket().burstSize(3).rejectExecution(true)
+                        .to("mock:reject");
+
+                from("direct:correlated").routeId("correlated")
+                        .throttle(1).timePeriodMillis(60000).correlationExpression(header("key"))
+                            .stateRepository(repository).rejectExecution(true)
+                        .to("mock:correlated");
+
+                from("direct:idle")
+                        .throttle(10).timePeriodMillis(100).correlationExpression(header("key"))
+                            .stateRepository(idleRepository)
+                        .to("mock:idle");
+
+                from("direct:delayed")
+                        .throttle(5).tokenBucket().burstSize(1)
+                        .to("mock:delayed");
+
+                from("direct:async")
+                        .throttle(5).tokenBucket().burstSize(1).asyncDelayed()
+                        .to("mock:async");
+            }
+        };
+    }
+}
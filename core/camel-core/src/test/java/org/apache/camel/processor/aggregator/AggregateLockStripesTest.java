@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.AggregateProcessor;
+import org.apache.camel.processor.aggregate.ClosedCorrelationKeyException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AggregateLockStripesTest extends ContextTestSupport {
+
+    private final int size = 400;
+
+    @Test
+    public void testAggregateConcurrentLockStripes() throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = i % 10;
+            final int count = i;
+            tasks.add(() -> {
+                template.sendBodyAndHeader("direct:start", "" + count, "id", id);
+                return null;
+            });
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_SIZE).isEqualTo(40);
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("size");
+
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+
+        AggregateProcessor aggregate = (AggregateProcessor) context.getProcessor("aggregate");
+        assertEquals(16, aggregate.getLockStripes());
+    }
+
+    @Test
+    public void testAggregateConcurrentLockStripesCloseCorrelationKey() throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < size * 2; i++) {
+            final int id = i / 2;
+            tasks.add(() -> {
+                template.sendBodyAndHeader("direct:closed", "" + id, "id", id);
+                return null;
+            });
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:closed");
+        mock.expectedMessageCount(size + 1);
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_SIZE).isEqualTo(2);
+
+        service.invokeAll(tasks);
+        service.shutdownNow();
+
+        template.sendBodyAndHeader("direct:closed", "A", "id", "last");
+        template.sendBodyAndHeader("direct:closed", "B", "id", "last");
+        Exception e = assertThrows(CamelExecutionException.class,
+                () -> template.sendBodyAndHeader("direct:closed", "C", "id", "last"));
+        ClosedCorrelationKeyException cause = assertIsInstanceOf(ClosedCorrelationKeyException.class, e.getCause());
+        assertEquals("last", cause.getCorrelationKey());
+
+        assertMockEndpointsSatisfied();
+
+        // the keys are closed concurrently, and the cache keeps the most recent of them
+        AggregateProcessor aggregate = (AggregateProcessor) context.getProcessor("closed");
+        assertEquals(100, aggregate.getClosedCorrelationKeysCacheSize());
+    }
+
+    @Test
+    public void testAggregateLockStripesTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C");
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("timeout");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", "foo");
+        template.sendBodyAndHeader("direct:start", "B", "id", "foo");
+        template.sendBodyAndHeader("direct:start", "C", "id", "bar");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateLockStripesForceCompletion() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C");
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("force");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", "foo");
+        template.sendBodyAndHeader("direct:start", "B", "id", "foo");
+        template.sendBodyAndHeader("direct:start", "C", "id", "bar");
+
+        AggregateProcessor aggregate = (AggregateProcessor) context.getProcessor("aggregate");
+        assertEquals(2, aggregate.forceCompletionOfAllGroups());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(10).id("aggregate")
+                            .completionSize(40).completionTimeout(1000)
+                            .to("mock:result");
+
+                from("direct:closed")
+                        .aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(10).id("closed")
+                            .completionSize(2).closeCorrelationKeyOnCompletion(100)
+                            .to("mock:closed");
+            }
+        };
+    }
+}
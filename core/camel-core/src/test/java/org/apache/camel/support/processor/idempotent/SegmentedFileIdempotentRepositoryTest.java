@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentedFileIdempotentRepositoryTest extends TestSupport {
+
+    private static final int SIZE = 2000;
+
+    private File directory;
+    private SegmentedFileIdempotentRepository repository;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        directory = testDirectory(true).toFile();
+        repository = createRepository();
+        repository.start();
+    }
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        repository.stop();
+        super.tearDown();
+    }
+
+    private SegmentedFileIdempotentRepository createRepository() {
+        SegmentedFileIdempotentRepository answer = new SegmentedFileIdempotentRepository(directory);
+        answer.setExpectedEntries(100);
+        answer.setMaxSegmentSize(1024);
+        return answer;
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        for (int i = 0; i < SIZE; i++) {
+            assertTrue(repository.add("key" + i));
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertFalse(repository.add("key" + i));
+            assertTrue(repository.contains("key" + i));
+            assertFalse(repository.contains("other" + i));
+        }
+        assertEquals(SIZE, repository.getSize());
+        assertTrue(repository.getSegmentCount() > 1, "Should use several segments");
+
+        assertTrue(repository.remove("key1"));
+        assertFalse(repository.remove("key1"));
+        assertFalse(repository.contains("key1"));
+        assertTrue(repository.add("key1"));
+
+        repository.clear();
+        assertEquals(0, repository.getSize());
+        assertFalse(repository.contains("key2"));
+    }
+
+    @Test
+    public void testCompaction() {
+        for (int i = 0; i < SIZE; i++) {
+            repository.add("key" + i);
+        }
+        for (int i = 0; i < SIZE; i += 2) {
+            repository.remove("key" + i);
+        }
+        // adding more keys starts new segments, and more than half the records are removed keys
+        for (int i = SIZE; i < SIZE * 2; i++) {
+            repository.add("key" + i);
+        }
+        assertTrue(repository.getCompactionCounter() > 0, "Should have compacted the segments");
+        assertTrue(repository.getRecordCount() < SIZE * 3);
+
+        for (int i = 0; i < SIZE * 2; i++) {
+            assertEquals(i >= SIZE || i % 2 == 1, repository.contains("key" + i), "key" + i);
+        }
+    }
+
+    @Test
+    public void testRestart() throws Exception {
+        for (int i = 0; i < SIZE; i++) {
+            repository.add("key" + i);
+        }
+        repository.remove("key0");
+        repository.stop();
+
+        // the index is loaded when stopped gracefully
+        repository = createRepository();
+        repository.start();
+        assertEquals(SIZE - 1, repository.getSize());
+        assertFalse(repository.contains("key0"));
+        assertTrue(repository.contains("key1"));
+
+        // the index is rebuilt from the segments when not stopped gracefully
+        repository.remove("key1");
+        SegmentedFileIdempotentRepository other = createRepository();
+        other.start();
+        try {
+            assertEquals(SIZE - 2, other.getSize());
+            assertFalse(other.contains("key0"));
+            assertFalse(other.contains("key1"));
+            for (int i = 2; i < SIZE; i++) {
+                assertTrue(other.contains("key" + i));
+            }
+        } finally {
+            other.stop();
+        }
+    }
+
+    @Test
+    public void testTimeToLive() throws Exception {
+        repository.stop();
+        repository = createRepository();
+        repository.setTimeToLive(100);
+        repository.start();
+
+        assertTrue(repository.add("foo"));
+        assertFalse(repository.add("foo"));
+        assertTrue(repository.contains("foo"));
+
+        Thread.sleep(200);
+        assertFalse(repository.contains("foo"));
+        assertTrue(repository.add("foo"));
+        assertTrue(repository.contains("foo"));
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WindowedMemoryIdempotentRepositoryTest {
+
+    private WindowedMemoryIdempotentRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new WindowedMemoryIdempotentRepository();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        repository.stop();
+    }
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        repository.setMaxEntries(0);
+        repository.start();
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+        for (String key : keys) {
+            assertTrue(repository.add(key));
+        }
+        for (String key : keys) {
+            assertFalse(repository.add(key));
+            assertTrue(repository.contains(key));
+            assertFalse(repository.contains(UUID.randomUUID().toString()));
+        }
+        assertEquals(10000, repository.getSize());
+        assertEquals(10000, repository.getDuplicateCounter());
+        assertTrue(repository.getMemoryUsage() < 10000 * 40, "Should use less than 40 bytes per key");
+
+        // removing keys must not lose the other keys in the hash tables
+        for (int i = 0; i < keys.size(); i += 3) {
+            assertTrue(repository.remove(keys.get(i)));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i % 3 != 0, repository.contains(keys.get(i)));
+        }
+
+        repository.clear();
+        assertEquals(0, repository.getSize());
+    }
+
+    @Test
+    public void testMaxEntries() throws Exception {
+        repository.setMaxEntries(100);
+        repository.start();
+
+        for (int i = 0; i < 1000; i++) {
+            repository.add("key" + i);
+        }
+        assertEquals(100, repository.getSize());
+        assertEquals(900, repository.getExpiredCounter());
+        assertFalse(repository.contains("key0"));
+        assertTrue(repository.contains("key999"));
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        repository.setMaxEntries(0);
+        repository.setWindow(500);
+        repository.setHashBits(64);
+        repository.start();
+
+        assertTrue(repository.add("foo"));
+        assertFalse(repository.add("foo"));
+        assertTrue(repository.contains("foo"));
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !repository.contains("foo"));
+        assertEquals(0, repository.getSize());
+        assertEquals(1, repository.getExpiredCounter());
+        assertTrue(repository.add("foo"));
+    }
+
+}
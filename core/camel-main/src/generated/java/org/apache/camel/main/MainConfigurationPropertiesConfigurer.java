@@ -215,6 +215,14 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingBufferSize": target.setStreamCachingBufferSize(property(camelContext, int.class, value)); return true;
         case "streamcachingenabled":
         case "StreamCachingEnabled": target.setStreamCachingEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingoffheaparenasize":
+        case "StreamCachingOffHeapArenaSize": target.setStreamCachingOffHeapArenaSize(property(camelContext, long.class, value)); return true;
+        case "streamcachingoffheapenabled":
+        case "StreamCachingOffHeapEnabled": target.setStreamCachingOffHeapEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingoffheapmaxspoolsize":
+        case "StreamCachingOffHeapMaxSpoolSize": target.setStreamCachingOffHeapMaxSpoolSize(property(camelContext, long.class, value)); return true;
+        case "streamcachingoffheapsegmentsize":
+        case "StreamCachingOffHeapSegmentSize": target.setStreamCachingOffHeapSegmentSize(property(camelContext, int.class, value)); return true;
         case "streamcachingremovespooldirectorywhenstopping":
         case "StreamCachingRemoveSpoolDirectoryWhenStopping": target.setStreamCachingRemoveSpoolDirectoryWhenStopping(property(camelContext, boolean.class, value)); return true;
         case "streamcachingspoolcipher":
@@ -241,6 +249,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "TracingPattern": target.setTracingPattern(property(camelContext, java.lang.String.class, value)); return true;
         case "tracingstandby":
         case "TracingStandby": target.setTracingStandby(property(camelContext, boolean.class, value)); return true;
+        case "typeconverterlookuptableenabled":
+        case "TypeConverterLookupTableEnabled": target.setTypeConverterLookupTableEnabled(property(camelContext, boolean.class, value)); return true;
         case "usebreadcrumb":
         case "UseBreadcrumb": target.setUseBreadcrumb(property(camelContext, boolean.class, value)); return true;
         case "usedatatype":
@@ -450,6 +460,14 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingBufferSize": return int.class;
         case "streamcachingenabled":
         case "StreamCachingEnabled": return boolean.class;
+        case "streamcachingoffheaparenasize":
+        case "StreamCachingOffHeapArenaSize": return long.class;
+        case "streamcachingoffheapenabled":
+        case "StreamCachingOffHeapEnabled": return boolean.class;
+        case "streamcachingoffheapmaxspoolsize":
+        case "StreamCachingOffHeapMaxSpoolSize": return long.class;
+        case "streamcachingoffheapsegmentsize":
+        case "StreamCachingOffHeapSegmentSize": return int.class;
         case "streamcachingremovespooldirectorywhenstopping":
         case "StreamCachingRemoveSpoolDirectoryWhenStopping": return boolean.class;
         case "streamcachingspoolcipher":
@@ -476,6 +494,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "TracingPattern": return java.lang.String.class;
         case "tracingstandby":
         case "TracingStandby": return boolean.class;
+        case "typeconverterlookuptableenabled":
+        case "TypeConverterLookupTableEnabled": return boolean.class;
         case "usebreadcrumb":
         case "UseBreadcrumb": return boolean.class;
         case "usedatatype":
@@ -686,6 +706,14 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingBufferSize": return target.getStreamCachingBufferSize();
         case "streamcachingenabled":
         case "StreamCachingEnabled": return target.isStreamCachingEnabled();
+        case "streamcachingoffheaparenasize":
+        case "StreamCachingOffHeapArenaSize": return target.getStreamCachingOffHeapArenaSize();
+        case "streamcachingoffheapenabled":
+        case "StreamCachingOffHeapEnabled": return target.isStreamCachingOffHeapEnabled();
+        case "streamcachingoffheapmaxspoolsize":
+        case "StreamCachingOffHeapMaxSpoolSize": return target.getStreamCachingOffHeapMaxSpoolSize();
+        case "streamcachingoffheapsegmentsize":
+        case "StreamCachingOffHeapSegmentSize": return target.getStreamCachingOffHeapSegmentSize();
         case "streamcachingremovespooldirectorywhenstopping":
         case "StreamCachingRemoveSpoolDirectoryWhenStopping": return target.isStreamCachingRemoveSpoolDirectoryWhenStopping();
         case "streamcachingspoolcipher":
@@ -712,6 +740,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "TracingPattern": return target.getTracingPattern();
         case "tracingstandby":
         case "TracingStandby": return target.isTracingStandby();
+        case "typeconverterlookuptableenabled":
+        case "TypeConverterLookupTableEnabled": return target.isTypeConverterLookupTableEnabled();
         case "usebreadcrumb":
         case "UseBreadcrumb": return target.isUseBreadcrumb();
         case "usedatatype":
@@ -206,6 +206,16 @@ public final class DefaultConfigurationConfigurer {
             camelContext.getStreamCachingStrategy()
                     .setSpoolUsedHeapMemoryThreshold(config.getStreamCachingSpoolUsedHeapMemoryThreshold());
         }
+        camelContext.getStreamCachingStrategy().setOffHeapEnabled(config.isStreamCachingOffHeapEnabled());
+        if (config.getStreamCachingOffHeapArenaSize() != 0) {
+            camelContext.getStreamCachingStrategy().setOffHeapArenaSize(config.getStreamCachingOffHeapArenaSize());
+        }
+        if (config.getStreamCachingOffHeapSegmentSize() != 0) {
+            camelContext.getStreamCachingStrategy().setOffHeapSegmentSize(config.getStreamCachingOffHeapSegmentSize());
+        }
+        if (config.getStreamCachingOffHeapMaxSpoolSize() != 0) {
+            camelContext.getStreamCachingStrategy().setOffHeapMaxSpoolSize(config.getStreamCachingOffHeapMaxSpoolSize());
+        }
 
         if ("default".equals(config.getUuidGenerator())) {
             camelContext.setUuidGenerator(new DefaultUuidGenerator());
@@ -232,6 +242,9 @@ public final class DefaultConfigurationConfigurer {
         camelContext.setUseMDCLogging(config.isUseMdcLogging());
         camelContext.setMDCLoggingKeysPattern(config.getMdcLoggingKeysPattern());
         camelContext.setLoadTypeConverters(config.isLoadTypeConverters());
+        if (config.isTypeConverterLookupTableEnabled()) {
+            camelContext.getTypeConverterRegistry().setLookupTableEnabled(true);
+        }
         camelContext.setLoadHealthChecks(config.isLoadHealthChecks());
         camelContext.setDevConsole(config.isDevConsoleEnabled());
         camelContext.setModeline(config.isModeline());
@@ -53,6 +53,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private int producerTemplateCacheSize = 1000;
     private int consumerTemplateCacheSize = 1000;
     private boolean loadTypeConverters;
+    private boolean typeConverterLookupTableEnabled;
     private boolean loadHealthChecks;
     private boolean devConsoleEnabled;
     private boolean modeline;
@@ -66,6 +67,10 @@ public abstract class DefaultConfigurationProperties<T> {
     private String streamCachingSpoolUsedHeapMemoryLimit;
     private boolean streamCachingAnySpoolRules;
     private int streamCachingBufferSize;
+    private boolean streamCachingOffHeapEnabled;
+    private long streamCachingOffHeapArenaSize;
+    private int streamCachingOffHeapSegmentSize;
+    private long streamCachingOffHeapMaxSpoolSize;
     private boolean streamCachingRemoveSpoolDirectoryWhenStopping = true;
     private boolean streamCachingStatisticsEnabled;
     private boolean debugging;
@@ -374,6 +379,22 @@ public abstract class DefaultConfigurationProperties<T> {
         this.loadTypeConverters = loadTypeConverters;
     }
 
+    public boolean isTypeConverterLookupTableEnabled() {
+        return typeConverterLookupTableEnabled;
+    }
+
+    /**
+     * Whether the type converters used while starting Camel (such as when starting the routes) are resolved into an
+     * immutable lookup table when Camel has been started, which is used to look up the type converter on each
+     * conversion. Message#getBody(Class) and the headers of the message then also keeps the type converter resolved
+     * per type to convert to.
+     *
+     * This is by default disabled.
+     */
+    public void setTypeConverterLookupTableEnabled(boolean typeConverterLookupTableEnabled) {
+        this.typeConverterLookupTableEnabled = typeConverterLookupTableEnabled;
+    }
+
     public boolean isLoadHealthChecks() {
         return loadHealthChecks;
     }
@@ -549,6 +570,63 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingBufferSize = streamCachingBufferSize;
     }
 
+    public boolean isStreamCachingOffHeapEnabled() {
+        return streamCachingOffHeapEnabled;
+    }
+
+    /**
+     * Sets whether stream caches should be kept in segments of a pooled off-heap arena instead of in-memory byte
+     * arrays. When the arena is exhausted, or the stream cache is over the spool threshold, the segments overflow to a
+     * memory-mapped spool file in the spool directory, which is recycled instead of creating a file per stream cache.
+     *
+     * Default is false.
+     */
+    public void setStreamCachingOffHeapEnabled(boolean streamCachingOffHeapEnabled) {
+        this.streamCachingOffHeapEnabled = streamCachingOffHeapEnabled;
+    }
+
+    public long getStreamCachingOffHeapArenaSize() {
+        return streamCachingOffHeapArenaSize;
+    }
+
+    /**
+     * Sets the size in bytes of the off-heap arena used when streamCachingOffHeapEnabled=true.
+     *
+     * The default size is 64mb.
+     */
+    public void setStreamCachingOffHeapArenaSize(long streamCachingOffHeapArenaSize) {
+        this.streamCachingOffHeapArenaSize = streamCachingOffHeapArenaSize;
+    }
+
+    public int getStreamCachingOffHeapSegmentSize() {
+        return streamCachingOffHeapSegmentSize;
+    }
+
+    /**
+     * Sets the size in bytes of the segments of the off-heap arena and memory-mapped spool file used when
+     * streamCachingOffHeapEnabled=true.
+     *
+     * The default size is 8kb.
+     */
+    public void setStreamCachingOffHeapSegmentSize(int streamCachingOffHeapSegmentSize) {
+        this.streamCachingOffHeapSegmentSize = streamCachingOffHeapSegmentSize;
+    }
+
+    public long getStreamCachingOffHeapMaxSpoolSize() {
+        return streamCachingOffHeapMaxSpoolSize;
+    }
+
+    /**
+     * Sets the max size in bytes of the memory-mapped spool file used when streamCachingOffHeapEnabled=true. When the
+     * spool file is at its max size, then stream caches are spooled to temporary files as usual. Use a negative value
+     * for no limit.
+     *
+     * The default size is 1gb.
+     */
+    public void setStreamCachingOffHeapMaxSpoolSize(long streamCachingOffHeapMaxSpoolSize) {
+        this.streamCachingOffHeapMaxSpoolSize = streamCachingOffHeapMaxSpoolSize;
+    }
+
     public boolean isStreamCachingRemoveSpoolDirectoryWhenStopping() {
         return streamCachingRemoveSpoolDirectoryWhenStopping;
     }
@@ -1689,6 +1767,19 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Whether the type converters used while starting Camel (such as when starting the routes) are resolved into an
+     * immutable lookup table when Camel has been started, which is used to look up the type converter on each
+     * conversion. Message#getBody(Class) and the headers of the message then also keeps the type converter resolved
+     * per type to convert to.
+     *
+     * This is by default disabled.
+     */
+    public T withTypeConverterLookupTableEnabled(boolean typeConverterLookupTableEnabled) {
+        this.typeConverterLookupTableEnabled = typeConverterLookupTableEnabled;
+        return (T) this;
+    }
+
     /**
      * Whether to load custom health checks by scanning classpath.
      */
@@ -1825,6 +1916,51 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets whether stream caches should be kept in segments of a pooled off-heap arena instead of in-memory byte
+     * arrays. When the arena is exhausted, or the stream cache is over the spool threshold, the segments overflow to a
+     * memory-mapped spool file in the spool directory, which is recycled instead of creating a file per stream cache.
+     *
+     * Default is false.
+     */
+    public T withStreamCachingOffHeapEnabled(boolean streamCachingOffHeapEnabled) {
+        this.streamCachingOffHeapEnabled = streamCachingOffHeapEnabled;
+        return (T) this;
+    }
+
+    /**
+     * Sets the size in bytes of the off-heap arena used when streamCachingOffHeapEnabled=true.
+     *
+     * The default size is 64mb.
+     */
+    public T withStreamCachingOffHeapArenaSize(long streamCachingOffHeapArenaSize) {
+        this.streamCachingOffHeapArenaSize = streamCachingOffHeapArenaSize;
+        return (T) this;
+    }
+
+    /**
+     * Sets the size in bytes of the segments of the off-heap arena and memory-mapped spool file used when
+     * streamCachingOffHeapEnabled=true.
+     *
+     * The default size is 8kb.
+     */
+    public T withStreamCachingOffHeapSegmentSize(int streamCachingOffHeapSegmentSize) {
+        this.streamCachingOffHeapSegmentSize = streamCachingOffHeapSegmentSize;
+        return (T) this;
+    }
+
+    /**
+     * Sets the max size in bytes of the memory-mapped spool file used when streamCachingOffHeapEnabled=true. When the
+     * spool file is at its max size, then stream caches are spooled to temporary files as usual. Use a negative value
+     * for no limit.
+     *
+     * The default size is 1gb.
+     */
+    public T withStreamCachingOffHeapMaxSpoolSize(long streamCachingOffHeapMaxSpoolSize) {
+        this.streamCachingOffHeapMaxSpoolSize = streamCachingOffHeapMaxSpoolSize;
+        return (T) this;
+    }
+
     /**
      * Whether to remove stream caching temporary directory when stopping. This option is default true.
      */
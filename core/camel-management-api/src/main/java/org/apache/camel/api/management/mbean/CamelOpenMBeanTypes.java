@@ -64,6 +64,23 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[] { SimpleType.STRING, SimpleType.BOOLEAN, SimpleType.BOOLEAN });
     }
 
+    public static TabularType listTypeConversionsTabularType() throws OpenDataException {
+        CompositeType ct = listTypeConversionsCompositeType();
+        return new TabularType(
+                "listTypeConversions", "Lists the utilization statistics per type conversion", ct,
+                new String[] { "fromType", "toType" });
+    }
+
+    public static CompositeType listTypeConversionsCompositeType() throws OpenDataException {
+        return new CompositeType(
+                "conversions", "Conversions",
+                new String[] { "fromType", "toType", "hits", "misses", "failures", "lookupTable" },
+                new String[] { "From Type", "To Type", "Hits", "Misses", "Failures", "Lookup Table" },
+                new OpenType[] {
+                        SimpleType.STRING, SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+                        SimpleType.LONG });
+    }
+
     public static TabularType listExchangeFactoryTabularType() throws OpenDataException {
         CompositeType ct = listExchangeFactoryCompositeType();
         return new TabularType("listExchangeFactory", "Lists all the exchange factories", ct, new String[] { "url" });
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedConcurrencyLimiterMBean extends ManagedProcessorMBean {
+
+    @ManagedAttribute(description = "Current concurrency limit (max limit of the groups if grouped by correlation expression)")
+    int getCurrentLimit();
+
+    @ManagedAttribute(description = "Number of exchanges currently being processed by the outputs of the limiter")
+    int getInflight();
+
+    @ManagedAttribute(description = "Number of exchanges currently queued waiting for the limit")
+    int getQueueSize();
+
+    @ManagedAttribute(description = "Number of groups by correlation expression currently being limited")
+    int getCorrelationKeySize();
+
+    @ManagedAttribute(description = "Number of exchanges rejected because the queue was full")
+    long getRejectedCount();
+
+    @ManagedAttribute(description = "The lowest value the concurrency limit can be adjusted to")
+    int getMinLimit();
+
+    @ManagedAttribute(description = "The highest value the concurrency limit can be adjusted to")
+    int getMaxLimit();
+
+    @ManagedAttribute(description = "The maximum number of exchanges to queue when the limit is reached")
+    int getMaxQueueSize();
+
+    @ManagedAttribute(description = "How much the latency may grow compared to the long term average before the limit is decreased")
+    double getRttTolerance();
+
+    @ManagedOperation(description = "Resets the rejected counter")
+    void resetRejectedCount();
+
+}
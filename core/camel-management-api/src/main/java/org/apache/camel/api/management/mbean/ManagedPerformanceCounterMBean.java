@@ -59,6 +59,24 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime();
 
+    @ManagedAttribute(description = "Whether processing time percentiles are recorded (requires Extended statistics level)")
+    boolean isPercentileStatisticsEnabled();
+
+    @ManagedAttribute(description = "50th Percentile Processing Time over the last minute [milliseconds]")
+    long getP50ProcessingTime();
+
+    @ManagedAttribute(description = "90th Percentile Processing Time over the last minute [milliseconds]")
+    long getP90ProcessingTime();
+
+    @ManagedAttribute(description = "99th Percentile Processing Time over the last minute [milliseconds]")
+    long getP99ProcessingTime();
+
+    @ManagedAttribute(description = "99.9th Percentile Processing Time over the last minute [milliseconds]")
+    long getP999ProcessingTime();
+
+    @ManagedOperation(description = "Processing Time at the given percentile over the last minute [milliseconds]")
+    long processingTimePercentile(double percentile);
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
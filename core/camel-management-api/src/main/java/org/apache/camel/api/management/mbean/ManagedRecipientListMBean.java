@@ -36,6 +36,15 @@ public interface ManagedRecipientListMBean extends ManagedProcessorMBean, Manage
     @ManagedAttribute(description = "Sets the maximum size used by the ProducerCache which is used to cache and reuse producers")
     Integer getCacheSize();
 
+    @ManagedAttribute(description = "Number of times a producer was reused from the ProducerCache")
+    Long getCacheHits();
+
+    @ManagedAttribute(description = "Number of times a new producer was created by the ProducerCache")
+    Long getCacheMisses();
+
+    @ManagedAttribute(description = "Number of producers evicted from the ProducerCache")
+    Long getCacheEvictions();
+
     @ManagedAttribute(description = "If enabled then the aggregate method on AggregationStrategy can be called concurrently.")
     Boolean isParallelAggregate();
 
@@ -33,6 +33,15 @@ public interface ManagedSendDynamicProcessorMBean extends ManagedProcessorMBean,
     @ManagedAttribute(description = "Sets the maximum size used by the ProducerCache which is used to cache and reuse producers")
     Integer getCacheSize();
 
+    @ManagedAttribute(description = "Number of times a producer was reused from the ProducerCache")
+    Long getCacheHits();
+
+    @ManagedAttribute(description = "Number of times a new producer was created by the ProducerCache")
+    Long getCacheMisses();
+
+    @ManagedAttribute(description = "Number of producers evicted from the ProducerCache")
+    Long getCacheEvictions();
+
     @ManagedAttribute(description = "Ignore the invalidate endpoint exception when try to create a producer with that endpoint")
     Boolean isIgnoreInvalidEndpoint();
 
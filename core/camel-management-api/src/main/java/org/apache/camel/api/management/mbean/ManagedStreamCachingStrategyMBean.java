@@ -77,6 +77,27 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Whether any or all spool rules determines whether to spool")
     boolean isAnySpoolRules();
 
+    @ManagedAttribute(description = "Whether stream caches are kept in an off-heap arena")
+    boolean isOffHeapEnabled();
+
+    @ManagedAttribute(description = "Size in bytes of the segments of the off-heap arena and memory-mapped spool file")
+    int getOffHeapSegmentSize();
+
+    @ManagedAttribute(description = "Size in bytes of the off-heap arena")
+    long getOffHeapArenaSize();
+
+    @ManagedAttribute(description = "Number of bytes of the off-heap arena in use")
+    long getOffHeapArenaUsed();
+
+    @ManagedAttribute(description = "Size in bytes of the memory-mapped spool file used for overflow of the off-heap arena")
+    long getOffHeapSpoolSize();
+
+    @ManagedAttribute(description = "Number of bytes of the memory-mapped spool file in use")
+    long getOffHeapSpoolUsed();
+
+    @ManagedAttribute(description = "Number of segments spilled to the memory-mapped spool file")
+    long getOffHeapSpillCounter();
+
     @ManagedAttribute(description = "Number of in-memory StreamCache created")
     long getCacheMemoryCounter();
 
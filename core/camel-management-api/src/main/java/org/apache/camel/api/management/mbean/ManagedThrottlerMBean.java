@@ -41,4 +41,10 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit")
     Boolean isRejectExecution();
 
+    @ManagedAttribute(description = "The throttling mode (DelayQueue or TokenBucket)")
+    String getMode();
+
+    @ManagedAttribute(description = "Number of requests allowed in a burst in the token bucket mode")
+    int getBurstSize();
+
 }
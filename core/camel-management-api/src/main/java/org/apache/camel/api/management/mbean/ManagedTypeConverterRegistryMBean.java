@@ -16,6 +16,8 @@
  */
 package org.apache.camel.api.management.mbean;
 
+import javax.management.openmbean.TabularData;
+
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 
@@ -57,4 +59,16 @@ public interface ManagedTypeConverterRegistryMBean extends ManagedServiceMBean {
     @ManagedOperation(description = "Checks whether a type converter exists for converting (from -> to)")
     boolean hasTypeConverter(String fromType, String toType);
 
+    @ManagedAttribute(description = "Whether the type converters used while starting are resolved into a lookup table")
+    boolean isLookupTableEnabled();
+
+    @ManagedAttribute(description = "Number of conversions in the lookup table")
+    int getLookupTableSize();
+
+    @ManagedOperation(description = "Resolves the type converters for the conversions used so far into the lookup table")
+    void buildLookupTable();
+
+    @ManagedOperation(description = "Lists the utilization statistics per type conversion (from -> to)")
+    TabularData listTypeConversions();
+
 }
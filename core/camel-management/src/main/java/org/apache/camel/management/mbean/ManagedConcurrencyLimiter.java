@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedConcurrencyLimiterMBean;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.ConcurrencyLimiter;
+
+@ManagedResource(description = "Managed ConcurrencyLimiter")
+public class ManagedConcurrencyLimiter extends ManagedProcessor implements ManagedConcurrencyLimiterMBean {
+    private final ConcurrencyLimiter limiter;
+
+    public ManagedConcurrencyLimiter(CamelContext context, ConcurrencyLimiter limiter, ProcessorDefinition<?> definition) {
+        super(context, limiter, definition);
+        this.limiter = limiter;
+    }
+
+    public ConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public int getCurrentLimit() {
+        return limiter.getCurrentLimit();
+    }
+
+    @Override
+    public int getInflight() {
+        return limiter.getInflight();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return limiter.getQueueSize();
+    }
+
+    @Override
+    public int getCorrelationKeySize() {
+        return limiter.getCorrelationKeys().size();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return limiter.getRejectedCount();
+    }
+
+    @Override
+    public int getMinLimit() {
+        return limiter.getMinLimit();
+    }
+
+    @Override
+    public int getMaxLimit() {
+        return limiter.getMaxLimit();
+    }
+
+    @Override
+    public int getMaxQueueSize() {
+        return limiter.getMaxQueueSize();
+    }
+
+    @Override
+    public double getRttTolerance() {
+        return limiter.getRttTolerance();
+    }
+
+    @Override
+    public void resetRejectedCount() {
+        limiter.resetRejectedCount();
+    }
+}
@@ -44,6 +44,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
     private Statistic meanProcessingTime;
+    private StatisticHistogram processingTimeHistogram;
     private Statistic firstExchangeCompletedTimestamp;
     private String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
@@ -71,6 +72,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         this.lastProcessingTime = new StatisticValue();
         this.deltaProcessingTime = new StatisticDelta();
         this.meanProcessingTime = new StatisticValue();
+        // the percentiles are only recorded with the extended statistics level
+        if (strategy.getManagementAgent() != null
+                && strategy.getManagementAgent().getStatisticsLevel().isExtended()) {
+            this.processingTimeHistogram = new StatisticHistogram();
+        }
 
         this.firstExchangeCompletedTimestamp = new StatisticValue();
         this.firstExchangeFailureTimestamp = new StatisticValue();
@@ -93,6 +99,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
         meanProcessingTime.reset();
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.reset();
+        }
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -163,6 +172,36 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         return deltaProcessingTime.getValue();
     }
 
+    @Override
+    public boolean isPercentileStatisticsEnabled() {
+        return processingTimeHistogram != null;
+    }
+
+    @Override
+    public long getP50ProcessingTime() {
+        return processingTimePercentile(50);
+    }
+
+    @Override
+    public long getP90ProcessingTime() {
+        return processingTimePercentile(90);
+    }
+
+    @Override
+    public long getP99ProcessingTime() {
+        return processingTimePercentile(99);
+    }
+
+    @Override
+    public long getP999ProcessingTime() {
+        return processingTimePercentile(99.9);
+    }
+
+    @Override
+    public long processingTimePercentile(double percentile) {
+        return processingTimeHistogram != null ? processingTimeHistogram.getValueAtPercentile(percentile) : 0;
+    }
+
     @Override
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
@@ -242,6 +281,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         deltaProcessingTime.updateValue(time);
 
         long now = System.currentTimeMillis();
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.updateValue(time, now);
+        }
         if (!firstExchangeCompletedTimestamp.isUpdated()) {
             firstExchangeCompletedTimestamp.updateValue(now);
         }
@@ -301,6 +343,13 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
         sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        if (processingTimeHistogram != null) {
+            long[] percentiles = processingTimeHistogram.getValuesAtPercentiles(50, 90, 99, 99.9);
+            sb.append(String.format(" p50ProcessingTime=\"%s\"", percentiles[0]));
+            sb.append(String.format(" p90ProcessingTime=\"%s\"", percentiles[1]));
+            sb.append(String.format(" p99ProcessingTime=\"%s\"", percentiles[2]));
+            sb.append(String.format(" p999ProcessingTime=\"%s\"", percentiles[3]));
+        }
 
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getTime())));
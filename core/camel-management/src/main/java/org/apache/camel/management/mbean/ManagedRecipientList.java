@@ -33,6 +33,7 @@ import org.apache.camel.model.RecipientListDefinition;
 import org.apache.camel.processor.RecipientList;
 import org.apache.camel.spi.EndpointUtilizationStatistics;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.spi.ProducerCache;
 import org.apache.camel.util.URISupport;
 
 @ManagedResource(description = "Managed RecipientList")
@@ -94,6 +95,24 @@ public class ManagedRecipientList extends ManagedProcessor implements ManagedRec
         return processor.getCacheSize();
     }
 
+    @Override
+    public Long getCacheHits() {
+        ProducerCache cache = processor.getProducerCache();
+        return cache != null ? cache.getHits() : 0L;
+    }
+
+    @Override
+    public Long getCacheMisses() {
+        ProducerCache cache = processor.getProducerCache();
+        return cache != null ? cache.getMisses() : 0L;
+    }
+
+    @Override
+    public Long getCacheEvictions() {
+        ProducerCache cache = processor.getProducerCache();
+        return cache != null ? cache.getEvictions() : 0L;
+    }
+
     @Override
     public Boolean isParallelAggregate() {
         return processor.isParallelAggregate();
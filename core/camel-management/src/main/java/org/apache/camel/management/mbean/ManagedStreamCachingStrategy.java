@@ -152,6 +152,41 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.isAnySpoolRules();
     }
 
+    @Override
+    public boolean isOffHeapEnabled() {
+        return streamCachingStrategy.isOffHeapEnabled();
+    }
+
+    @Override
+    public int getOffHeapSegmentSize() {
+        return streamCachingStrategy.getOffHeapSegmentSize();
+    }
+
+    @Override
+    public long getOffHeapArenaSize() {
+        return streamCachingStrategy.getStatistics().getOffHeapArenaSize();
+    }
+
+    @Override
+    public long getOffHeapArenaUsed() {
+        return streamCachingStrategy.getStatistics().getOffHeapArenaUsed();
+    }
+
+    @Override
+    public long getOffHeapSpoolSize() {
+        return streamCachingStrategy.getStatistics().getOffHeapSpoolSize();
+    }
+
+    @Override
+    public long getOffHeapSpoolUsed() {
+        return streamCachingStrategy.getStatistics().getOffHeapSpoolUsed();
+    }
+
+    @Override
+    public long getOffHeapSpillCounter() {
+        return streamCachingStrategy.getStatistics().getOffHeapSpillCounter();
+    }
+
     @Override
     public long getCacheMemoryCounter() {
         return streamCachingStrategy.getStatistics().getCacheMemoryCounter();
@@ -16,9 +16,16 @@
  */
 package org.apache.camel.management.mbean;
 
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedTypeConverterRegistryMBean;
 import org.apache.camel.spi.TypeConverterRegistry;
 
@@ -105,4 +112,38 @@ public class ManagedTypeConverterRegistry extends ManagedService implements Mana
         }
     }
 
+    @Override
+    public boolean isLookupTableEnabled() {
+        return registry.isLookupTableEnabled();
+    }
+
+    @Override
+    public int getLookupTableSize() {
+        return registry.getLookupTableSize();
+    }
+
+    @Override
+    public void buildLookupTable() {
+        registry.buildLookupTable();
+    }
+
+    @Override
+    public TabularData listTypeConversions() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.listTypeConversionsTabularType());
+            for (TypeConverterRegistry.ConversionStatistics stat : registry.getStatistics().getConversionStatistics()) {
+                CompositeType ct = CamelOpenMBeanTypes.listTypeConversionsCompositeType();
+                CompositeData data = new CompositeDataSupport(
+                        ct, new String[] { "fromType", "toType", "hits", "misses", "failures", "lookupTable" },
+                        new Object[] {
+                                stat.getFromType().getName(), stat.getToType().getName(), stat.getHitCounter(),
+                                stat.getMissCounter(), stat.getFailedCounter(), stat.getLookupTableCounter() });
+                answer.put(data);
+            }
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
 }
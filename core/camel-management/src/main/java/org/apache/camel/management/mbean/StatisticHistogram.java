@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A statistic which records the values into a histogram, so the values at given percentiles can be computed over a
+ * rolling window of about the last minute.
+ * <p/>
+ * The histogram uses the same log-linear buckets as a HDR histogram, where values below 64 are recorded exactly, and
+ * larger values are recorded within 3% of their value. Values are recorded without locking into the active interval of
+ * a recorder, which is swapped with an inactive interval every 15 seconds. A writer-reader phaser ensures that no
+ * values are being recorded into the swapped interval before it is added to the rolling window.
+ */
+public class StatisticHistogram extends Statistic {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    // values up to Integer.MAX_VALUE can be recorded
+    private static final int BUCKETS = SUB_BUCKET_COUNT + (Integer.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+    private static final long INTERVAL = 15000;
+    private static final int INTERVALS = 4;
+    private static final long WINDOW = INTERVAL * INTERVALS;
+
+    // writer-reader phaser, where the sign of the start epoch is the current phase
+    private final AtomicLong startEpoch = new AtomicLong();
+    private final AtomicLong evenEndEpoch = new AtomicLong();
+    private final AtomicLong oddEndEpoch = new AtomicLong(Long.MIN_VALUE);
+    private final Lock lock = new ReentrantLock();
+    private volatile AtomicIntegerArray active = new AtomicIntegerArray(BUCKETS);
+    private AtomicIntegerArray inactive = new AtomicIntegerArray(BUCKETS);
+    private volatile long nextSwap;
+    private long activeStart;
+    // the completed intervals of the rolling window, where an interval without any values is null
+    private final int[][] intervals = new int[INTERVALS][];
+    private final long[] intervalStarts = new long[INTERVALS];
+    private int nextInterval;
+    private volatile boolean updated;
+
+    public StatisticHistogram() {
+        long now = System.currentTimeMillis();
+        this.activeStart = now;
+        this.nextSwap = now + INTERVAL;
+    }
+
+    @Override
+    public void updateValue(long newValue) {
+        updateValue(newValue, System.currentTimeMillis());
+    }
+
+    /**
+     * Records the value
+     *
+     * @param newValue the value
+     * @param now      the current time in millis, used for swapping the recorded interval
+     */
+    public void updateValue(long newValue, long now) {
+        if (now >= nextSwap) {
+            swap(now, false);
+        }
+        long epoch = startEpoch.getAndIncrement();
+        try {
+            active.incrementAndGet(indexOf(newValue));
+        } finally {
+            if (epoch < 0) {
+                oddEndEpoch.incrementAndGet();
+            } else {
+                evenEndEpoch.incrementAndGet();
+            }
+        }
+        if (!updated) {
+            updated = true;
+        }
+    }
+
+    /**
+     * The number of values in the rolling window
+     */
+    @Override
+    public long getValue() {
+        long count = 0;
+        for (int c : snapshot()) {
+            count += c;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isUpdated() {
+        return updated;
+    }
+
+    /**
+     * Gets the value at the given percentile of the values in the rolling window
+     *
+     * @param  percentile the percentile, such as 99.9
+     * @return            the value, or 0 if no values has been recorded in the window
+     */
+    public long getValueAtPercentile(double percentile) {
+        return getValuesAtPercentiles(percentile)[0];
+    }
+
+    /**
+     * Gets the values at the given percentiles of the values in the rolling window
+     *
+     * @param  percentiles the percentiles, such as 50, 90, 99 and 99.9, in ascending order
+     * @return             the values, or 0 if no values has been recorded in the window
+     */
+    public long[] getValuesAtPercentiles(double... percentiles) {
+        int[] counts = snapshot();
+        long total = 0;
+        for (int c : counts) {
+            total += c;
+        }
+        long[] answer = new long[percentiles.length];
+        if (total == 0) {
+            return answer;
+        }
+        int index = 0;
+        long count = 0;
+        for (int i = 0; i < percentiles.length; i++) {
+            double percentile = Math.min(Math.max(percentiles[i], 0), 100);
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            while (count + counts[index] < rank) {
+                count += counts[index];
+                index++;
+            }
+            answer[i] = highestEquivalentValue(index);
+        }
+        return answer;
+    }
+
+    @Override
+    public void reset() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            swap(now, true);
+            for (int i = 0; i < INTERVALS; i++) {
+                intervals[i] = null;
+            }
+            updated = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "" + getValue();
+    }
+
+    /**
+     * Sums the counts of the intervals in the rolling window, and the active interval
+     */
+    private int[] snapshot() {
+        int[] answer = new int[BUCKETS];
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (now >= nextSwap) {
+                swap(now, true);
+            }
+            for (int i = 0; i < INTERVALS; i++) {
+                int[] counts = intervals[i];
+                if (counts != null && intervalStarts[i] >= now - WINDOW) {
+                    for (int j = 0; j < BUCKETS; j++) {
+                        answer[j] += counts[j];
+                    }
+                }
+            }
+            // values may be recorded into the active interval while we read it, which is okay
+            AtomicIntegerArray current = active;
+            for (int j = 0; j < BUCKETS; j++) {
+                answer[j] += current.get(j);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return answer;
+    }
+
+    /**
+     * Swaps the active interval, and adds the previous active interval to the rolling window
+     *
+     * @param now    the current time in millis
+     * @param locked whether the lock is already held, otherwise the swap is skipped if another thread holds the lock
+     */
+    private void swap(long now, boolean locked) {
+        if (!locked && !lock.tryLock()) {
+            return;
+        }
+        try {
+            if (!locked && now < nextSwap) {
+                // another thread has swapped the interval
+                return;
+            }
+            AtomicIntegerArray previous = active;
+            active = inactive;
+            inactive = previous;
+            flipPhase();
+
+            // the previous interval is no longer being recorded into
+            int[] counts = null;
+            for (int i = 0; i < BUCKETS; i++) {
+                int c = previous.get(i);
+                if (c != 0) {
+                    if (counts == null) {
+                        counts = new int[BUCKETS];
+                    }
+                    counts[i] = c;
+                    previous.set(i, 0);
+                }
+            }
+            intervals[nextInterval] = counts;
+            intervalStarts[nextInterval] = activeStart;
+            nextInterval = (nextInterval + 1) % INTERVALS;
+            activeStart = now;
+            nextSwap = now + INTERVAL;
+        } finally {
+            if (!locked) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Starts a new phase, and waits for the writers of the previous phase to complete
+     */
+    private void flipPhase() {
+        boolean nextPhaseIsEven = startEpoch.get() < 0;
+        long initialStartValue = nextPhaseIsEven ? 0 : Long.MIN_VALUE;
+        if (nextPhaseIsEven) {
+            evenEndEpoch.set(initialStartValue);
+        } else {
+            oddEndEpoch.set(initialStartValue);
+        }
+        long startValueAtFlip = startEpoch.getAndSet(initialStartValue);
+        AtomicLong endEpoch = nextPhaseIsEven ? oddEndEpoch : evenEndEpoch;
+        while (endEpoch.get() != startValueAtFlip) {
+            Thread.yield();
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int v = (int) Math.min(value, Integer.MAX_VALUE);
+        // the values with the same highest bit are split into half a sub bucket count of buckets
+        int shift = Integer.SIZE - Integer.numberOfLeadingZeros(v) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (v >>> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
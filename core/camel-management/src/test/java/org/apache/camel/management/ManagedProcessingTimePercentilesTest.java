@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ManagementStatisticsLevel;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.management.mbean.StatisticHistogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_ROUTE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.AIX)
+public class ManagedProcessingTimePercentilesTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getManagementStrategy().getManagementAgent().setStatisticsLevel(ManagementStatisticsLevel.Extended);
+        return context;
+    }
+
+    @Test
+    public void testProcessingTimePercentiles() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(20);
+
+        for (int i = 0; i < 18; i++) {
+            template.sendBody("direct:start", 0);
+        }
+        template.sendBody("direct:start", 200);
+        template.sendBody("direct:start", 200);
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = getCamelObjectName(TYPE_ROUTE, "route1");
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(on, "PercentileStatisticsEnabled"));
+        Long p50 = (Long) mbeanServer.getAttribute(on, "P50ProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(on, "P99ProcessingTime");
+        Long p999 = (Long) mbeanServer.getAttribute(on, "P999ProcessingTime");
+        assertTrue(p50 < 200, "Should be fast: " + p50);
+        assertTrue(p99 >= 200, "Should be slow: " + p99);
+        assertTrue(p999 >= p99);
+
+        Long p95 = invoke(mbeanServer, on, "processingTimePercentile", new Object[] { 95d }, new String[] { "double" });
+        assertTrue(p95 >= 200, "Should be slow: " + p95);
+
+        String xml = invoke(mbeanServer, on, "dumpStatsAsXml", new Object[] { false }, new String[] { "boolean" });
+        assertTrue(xml.contains("p99ProcessingTime=\"" + p99 + "\""));
+
+        mbeanServer.invoke(on, "reset", null, null);
+        assertEquals(0L, mbeanServer.getAttribute(on, "P99ProcessingTime"));
+    }
+
+    @Test
+    public void testHistogram() throws Exception {
+        StatisticHistogram histogram = new StatisticHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        for (int i = 1; i <= 10000; i++) {
+            histogram.updateValue(i);
+        }
+        assertEquals(10000, histogram.getValue());
+
+        long[] values = histogram.getValuesAtPercentiles(50, 90, 99, 99.9, 100);
+        assertEquals(5000, values[0], 5000 * 0.03);
+        assertEquals(9000, values[1], 9000 * 0.03);
+        assertEquals(9900, values[2], 9900 * 0.03);
+        assertEquals(9990, values[3], 9990 * 0.03);
+        assertEquals(10000, values[4], 10000 * 0.03);
+
+        histogram.reset();
+        assertEquals(0, histogram.getValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").delay(body()).to("mock:result");
+            }
+        };
+    }
+
+}
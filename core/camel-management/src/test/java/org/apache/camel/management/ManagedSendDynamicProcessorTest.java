@@ -88,6 +88,11 @@ public class ManagedSendDynamicProcessorTest extends ManagementTestSupport {
         TabularData data = (TabularData) mbeanServer.invoke(on, "extendedInformation", null, null);
         assertNotNull(data);
         assertEquals(2, data.size());
+
+        // foo was reused from the producer cache
+        assertEquals(1L, mbeanServer.getAttribute(on, "CacheHits"));
+        assertEquals(2L, mbeanServer.getAttribute(on, "CacheMisses"));
+        assertEquals(0L, mbeanServer.getAttribute(on, "CacheEvictions"));
     }
 
     @Override
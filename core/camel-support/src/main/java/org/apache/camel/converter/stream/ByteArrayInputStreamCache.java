@@ -17,7 +17,6 @@
 package org.apache.camel.converter.stream;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -56,12 +55,11 @@ public class ByteArrayInputStreamCache extends FilterInputStream implements Stre
     @Override
     public StreamCache copy(Exchange exchange) throws IOException {
         if (byteArrayForCopy == null) {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream(in.available());
-            IOHelper.copy(in, baos);
+            // cache the byte array, in order not to copy the byte array in the next call again,
+            // as the copies are sharing the same byte array
+            byteArrayForCopy = in.readAllBytes();
             // reset so that the stream can be reused
             reset();
-            // cache the byte array, in order not to copy the byte array in the next call again
-            byteArrayForCopy = baos.toByteArray();
         }
         return new InputStreamCache(byteArrayForCopy);
     }
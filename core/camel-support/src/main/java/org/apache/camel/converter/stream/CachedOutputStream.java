@@ -24,6 +24,7 @@ import java.io.OutputStream;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache.SegmentManager;
 import org.apache.camel.spi.StreamCachingStrategy;
 
 /**
@@ -36,6 +37,10 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * You can get a cached input stream of this stream. The temp file which is created with this output stream will be
  * deleted when you close this output stream or the cached fileInputStream(s) is/are closed after all the exchanges
  * using the temp file are completed.
+ * <p/>
+ * If off-heap stream caching is enabled, then the content is stored in segments of off-heap memory, or of a
+ * memory-mapped spool file, instead. If no segments are available, then the content is moved to memory or a temp file
+ * as above.
  */
 public class CachedOutputStream extends OutputStream {
 
@@ -45,6 +50,7 @@ public class CachedOutputStream extends OutputStream {
     private int totalLength;
     private final TempFileManager tempFileManager;
     private final boolean closedOnCompletion;
+    private SegmentManager segmentManager;
 
     public CachedOutputStream(Exchange exchange) {
         this(exchange, true);
@@ -55,7 +61,13 @@ public class CachedOutputStream extends OutputStream {
         this.tempFileManager = new TempFileManager(closedOnCompletion);
         this.tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
-        this.currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        if (strategy.isOffHeapEnabled()) {
+            this.segmentManager = new SegmentManager(strategy, closedOnCompletion);
+            this.segmentManager.addExchange(exchange);
+            this.currentStream = new SegmentOutputStream(segmentManager);
+        } else {
+            this.currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        }
     }
 
     @Override
@@ -68,6 +80,9 @@ public class CachedOutputStream extends OutputStream {
         currentStream.close();
         // need to clean up the temp file this time
         if (!closedOnCompletion) {
+            if (segmentManager != null) {
+                segmentManager.release();
+            }
             tempFileManager.closeFileInputStreams();
             tempFileManager.cleanUpTempFile();
         }
@@ -95,6 +110,12 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
+        if (segmentManager != null) {
+            if (segmentManager.tryWrite(b, off, len)) {
+                return;
+            }
+            pageFromSegments();
+        }
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
@@ -104,6 +125,12 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
+        if (segmentManager != null) {
+            if (segmentManager.tryWrite(b, 0, b.length)) {
+                return;
+            }
+            pageFromSegments();
+        }
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
@@ -113,6 +140,12 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(int b) throws IOException {
         this.totalLength++;
+        if (segmentManager != null) {
+            if (segmentManager.tryWrite(b)) {
+                return;
+            }
+            pageFromSegments();
+        }
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
@@ -134,7 +167,9 @@ public class CachedOutputStream extends OutputStream {
     public StreamCache newStreamCache() throws IOException {
         flush();
 
-        if (inMemory) {
+        if (segmentManager != null) {
+            return segmentManager.newStreamCache();
+        } else if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
             } else {
@@ -160,10 +195,51 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private void pageFromSegments() throws IOException {
+        SegmentManager segments = segmentManager;
+        segmentManager = null;
+        try {
+            // no more segments available so continue in memory, or in a temp file if over the spool threshold
+            if (strategy.shouldSpoolCache(totalLength)) {
+                currentStream = tempFileManager.createOutputStream(strategy);
+                inMemory = false;
+            } else {
+                currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+            }
+            segments.writeTo(currentStream, 0);
+        } finally {
+            segments.release();
+        }
+    }
+
     public int getStrategyBufferSize() {
         return strategy.getBufferSize();
     }
 
+    // The current stream when using off-heap segments, which is only used for flushing and closing as writes go
+    // directly to the segments
+    private static final class SegmentOutputStream extends OutputStream {
+        private final SegmentManager segmentManager;
+
+        SegmentOutputStream(SegmentManager segmentManager) {
+            this.segmentManager = segmentManager;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!segmentManager.tryWrite(b)) {
+                throw new IOException("No off-heap segments available");
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!segmentManager.tryWrite(b, off, len)) {
+                throw new IOException("No off-heap segments available");
+            }
+        }
+    }
+
     // This class will close the CachedOutputStream when it is closed
     private static class WrappedInputStream extends InputStream {
         private CachedOutputStream cachedOutputStream;
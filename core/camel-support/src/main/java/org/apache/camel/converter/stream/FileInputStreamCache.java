@@ -23,6 +23,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
@@ -50,6 +52,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A {@link StreamCache} for {@link File}s
+ * <p/>
+ * When the stream cache is copied, for example for the branches of a multicast, then the copies reads from a shared
+ * read-only memory-mapped view of the file, instead of opening the file for every copy.
  */
 public final class FileInputStreamCache extends InputStream implements StreamCache {
     private InputStream stream;
@@ -93,7 +98,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
 
     @Override
     public void writeTo(OutputStream os) throws IOException {
-        if (stream == null && ciphers == null) {
+        ByteBuffer shared = stream == null ? tempFileManager.getSharedBuffer() : null;
+        if (shared != null) {
+            ByteBufferInputStream.writeTo(shared, os);
+        } else if (stream == null && ciphers == null) {
             Files.copy(file.toPath(), os);
         } else {
             IOHelper.copy(getInputStream(), os);
@@ -103,6 +111,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     @Override
     public StreamCache copy(Exchange exchange) throws IOException {
         tempFileManager.addExchange(exchange);
+        tempFileManager.share();
         FileInputStreamCache copy = new FileInputStreamCache(tempFileManager);
         return copy;
     }
@@ -170,6 +179,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
 
     private InputStream createInputStream(File file) throws IOException {
+        ByteBuffer shared = tempFileManager.getSharedBuffer();
+        if (shared != null) {
+            return new ByteBufferInputStream(shared);
+        }
         InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath(), StandardOpenOption.READ));
         if (ciphers != null) {
             in = new CipherInputStream(in, ciphers.createDecryptor()) {
@@ -206,6 +219,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private volatile ByteBuffer sharedBuffer;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -329,6 +343,36 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return out;
         }
 
+        /**
+         * Maps the temporary file into memory, so the stream caches can read from a shared view of the file, when the
+         * stream caches are shared by several exchanges.
+         * <p/>
+         * The file is not mapped on Windows, as a mapped file cannot be deleted until the mapping is garbage collected.
+         */
+        synchronized void share() throws IOException {
+            if (sharedBuffer != null || ciphers != null || tempFile == null || FileUtil.isWindows()) {
+                return;
+            }
+            long length = tempFile.length();
+            if (length > 0 && length <= Integer.MAX_VALUE) {
+                try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+                    // the mapping remains valid after the channel is closed
+                    sharedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                }
+                LOG.trace("Mapped temporary stream cache file: {} to share between stream caches", tempFile);
+            }
+        }
+
+        /**
+         * Gets a new view of the memory-mapped temporary file.
+         *
+         * @return the view, or <tt>null</tt> if the file is not mapped
+         */
+        ByteBuffer getSharedBuffer() {
+            ByteBuffer buffer = sharedBuffer;
+            return buffer != null ? buffer.duplicate() : null;
+        }
+
         FileInputStreamCache newStreamCache() throws IOException {
             try {
                 return new FileInputStreamCache(this);
@@ -349,6 +393,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         void cleanUpTempFile() {
             // cleanup temporary file
             try {
+                sharedBuffer = null;
                 if (tempFile != null) {
                     FileUtil.deleteFile(tempFile);
                     tempFile = null;
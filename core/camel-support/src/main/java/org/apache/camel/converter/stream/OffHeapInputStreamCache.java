@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.StreamCachingStrategy.OffHeapSegment;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.SynchronizationAdapter;
+
+/**
+ * A {@link StreamCache} for caching using segments of off-heap memory, which may be spooled to a memory-mapped spool
+ * file.
+ *
+ * @see StreamCachingStrategy#isOffHeapEnabled()
+ */
+public final class OffHeapInputStreamCache extends InputStream implements StreamCache {
+
+    private final SegmentManager segmentManager;
+    private long position;
+    private int index;
+    private ByteBuffer buffer;
+
+    private OffHeapInputStreamCache(SegmentManager segmentManager) {
+        this.segmentManager = segmentManager;
+    }
+
+    @Override
+    public synchronized void reset() {
+        if (segmentManager.released) {
+            throw new RuntimeCamelException("Cannot reset stream cache as the off-heap segments has been released");
+        }
+        position = 0;
+        index = 0;
+        buffer = null;
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        acquire();
+        try {
+            segmentManager.writeTo(os, position);
+        } finally {
+            segmentManager.releaseReference();
+        }
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        segmentManager.addExchange(exchange);
+        return new OffHeapInputStreamCache(segmentManager);
+    }
+
+    @Override
+    public boolean inMemory() {
+        return !segmentManager.spooled;
+    }
+
+    @Override
+    public long length() {
+        return segmentManager.length;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkReleased();
+        return (int) Math.min(segmentManager.length - position, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int read() throws IOException {
+        acquire();
+        try {
+            if (position >= segmentManager.length) {
+                return -1;
+            }
+            position++;
+            return nextBuffer().get() & 0xff;
+        } finally {
+            segmentManager.releaseReference();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            checkReleased();
+            return 0;
+        }
+        acquire();
+        try {
+            if (position >= segmentManager.length) {
+                return -1;
+            }
+            int count = 0;
+            while (count < len && position < segmentManager.length) {
+                ByteBuffer buf = nextBuffer();
+                int n = Math.min(len - count, buf.remaining());
+                buf.get(b, off + count, n);
+                count += n;
+                position += n;
+            }
+            return count;
+        } finally {
+            segmentManager.releaseReference();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        acquire();
+        try {
+            long skipped = 0;
+            while (skipped < n && position < segmentManager.length) {
+                ByteBuffer buf = nextBuffer();
+                int s = (int) Math.min(n - skipped, buf.remaining());
+                buf.position(buf.position() + s);
+                skipped += s;
+                position += s;
+            }
+            return skipped;
+        } finally {
+            segmentManager.releaseReference();
+        }
+    }
+
+    @Override
+    public void close() {
+        // noop as the segments are released when the exchange is done
+    }
+
+    private ByteBuffer nextBuffer() {
+        if (buffer == null || !buffer.hasRemaining()) {
+            buffer = segmentManager.segments.get(index++).getBuffer().duplicate();
+            buffer.clear();
+            long remaining = segmentManager.length - position;
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+        }
+        return buffer;
+    }
+
+    private void checkReleased() throws IOException {
+        if (segmentManager.released) {
+            throw new IOException("Cannot read stream cache as the off-heap segments has been released");
+        }
+    }
+
+    private void acquire() throws IOException {
+        if (!segmentManager.acquireReference()) {
+            throw new IOException("Cannot read stream cache as the off-heap segments has been released");
+        }
+    }
+
+    /**
+     * Manages the off-heap segments of the stream caches.
+     * <p/>
+     * The segments are allocated from the {@link StreamCachingStrategy} as data is written, and released back to the
+     * strategy when all exchanges using the stream caches are done. The stream caches hold a reference to the segments
+     * while reading, and the segments are released by the last reference, so a segment is not released (and reused by
+     * another stream cache) while a copy of the stream cache is reading from it in another thread.
+     *
+     * @see CachedOutputStream
+     */
+    static final class SegmentManager {
+
+        private final StreamCachingStrategy strategy;
+        private final boolean closedOnCompletion;
+        private final AtomicInteger exchangeCounter = new AtomicInteger();
+        // the references to the segments, which is the manager itself until released, and the stream caches reading
+        private final AtomicInteger referenceCounter = new AtomicInteger(1);
+        private final List<OffHeapSegment> segments = new ArrayList<>();
+        private volatile boolean released;
+        private boolean spooled;
+        private long length;
+        private long capacity;
+        private int writeIndex;
+        private ByteBuffer writeBuffer;
+
+        SegmentManager(StreamCachingStrategy strategy, boolean closedOnCompletion) {
+            this.strategy = strategy;
+            this.closedOnCompletion = closedOnCompletion;
+        }
+
+        void addExchange(Exchange exchange) {
+            if (closedOnCompletion) {
+                exchangeCounter.incrementAndGet();
+                Synchronization onCompletion = new SynchronizationAdapter() {
+                    @Override
+                    public void onDone(Exchange exchange) {
+                        if (exchangeCounter.decrementAndGet() == 0) {
+                            release();
+                        }
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "OnCompletion[OffHeapInputStreamCache]";
+                    }
+                };
+                UnitOfWork streamCacheUnitOfWork
+                        = exchange.getProperty(ExchangePropertyKey.STREAM_CACHE_UNIT_OF_WORK, UnitOfWork.class);
+                if (streamCacheUnitOfWork != null && streamCacheUnitOfWork.getRoute() != null) {
+                    // release with the unit of work of the main route (see TempFileManager for details)
+                    streamCacheUnitOfWork.addSynchronization(onCompletion);
+                } else {
+                    exchange.adapt(ExtendedExchange.class).addOnCompletion(onCompletion);
+                }
+            }
+        }
+
+        /**
+         * Writes the data to the segments, allocating new segments as needed.
+         *
+         * @return <tt>true</tt> if written, or <tt>false</tt> if no segments was available, and nothing was written
+         */
+        boolean tryWrite(byte[] b, int off, int len) {
+            if (!reserve(len)) {
+                return false;
+            }
+            int count = 0;
+            while (count < len) {
+                ByteBuffer buf = nextWriteBuffer();
+                int n = Math.min(len - count, buf.remaining());
+                buf.put(b, off + count, n);
+                count += n;
+            }
+            length += len;
+            return true;
+        }
+
+        boolean tryWrite(int b) {
+            if (!reserve(1)) {
+                return false;
+            }
+            nextWriteBuffer().put((byte) b);
+            length++;
+            return true;
+        }
+
+        private boolean reserve(int len) {
+            if (released) {
+                throw new IllegalStateException("The off-heap segments has been released");
+            }
+            while (capacity - length < len) {
+                OffHeapSegment segment = strategy.allocateOffHeapSegment(strategy.shouldSpoolCache(length + len));
+                if (segment == null) {
+                    return false;
+                }
+                segments.add(segment);
+                capacity += segment.getBuffer().capacity();
+                spooled |= segment.isSpooled();
+            }
+            return true;
+        }
+
+        private ByteBuffer nextWriteBuffer() {
+            if (writeBuffer == null || !writeBuffer.hasRemaining()) {
+                writeBuffer = segments.get(writeIndex++).getBuffer().duplicate();
+                writeBuffer.clear();
+            }
+            return writeBuffer;
+        }
+
+        void writeTo(OutputStream os, long position) throws IOException {
+            byte[] data = new byte[(int) Math.min(Math.max(length - position, 1), strategy.getBufferSize())];
+            long offset = 0;
+            for (int i = 0; i < segments.size() && offset < length; i++) {
+                ByteBuffer buf = segments.get(i).getBuffer().duplicate();
+                buf.clear();
+                long remaining = length - offset;
+                if (remaining < buf.capacity()) {
+                    buf.limit((int) remaining);
+                }
+                offset += buf.limit();
+                if (offset <= position) {
+                    continue;
+                }
+                buf.position((int) Math.max(0, position - (offset - buf.limit())));
+                while (buf.hasRemaining()) {
+                    int n = Math.min(data.length, buf.remaining());
+                    buf.get(data, 0, n);
+                    os.write(data, 0, n);
+                }
+            }
+        }
+
+        OffHeapInputStreamCache newStreamCache() {
+            return new OffHeapInputStreamCache(this);
+        }
+
+        boolean acquireReference() {
+            int count;
+            do {
+                count = referenceCounter.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!referenceCounter.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        void releaseReference() {
+            if (referenceCounter.decrementAndGet() == 0) {
+                // no stream caches are reading, so the segments can be reused
+                for (OffHeapSegment segment : segments) {
+                    segment.release();
+                }
+                segments.clear();
+            }
+        }
+
+        synchronized void release() {
+            if (!released) {
+                released = true;
+                releaseReference();
+            }
+        }
+    }
+
+}
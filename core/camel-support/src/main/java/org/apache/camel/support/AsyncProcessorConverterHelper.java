@@ -23,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.AsyncProducer;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.DelegateProcessor;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
@@ -47,7 +48,8 @@ public final class AsyncProcessorConverterHelper {
      * {@link DelegateProcessor}
      */
     // CHECKSTYLE:OFF
-    private static class ProcessorToAsyncProcessorBridge implements DelegateProcessor, AsyncProcessor, Navigate<Processor>, Service {
+    private static class ProcessorToAsyncProcessorBridge
+            implements DelegateProcessor, AsyncProcessor, BatchProcessor, Navigate<Processor>, Service {
     // CHECKSTYLE:ON
         protected final Processor processor;
 
@@ -102,6 +104,13 @@ public final class AsyncProcessorConverterHelper {
             }
         }
 
+        @Override
+        public void processBatch(List<Exchange> exchanges) throws Exception {
+            if (processor != null) {
+                BatchProcessorHelper.process(processor, exchanges);
+            }
+        }
+
         @Override
         public void build() {
             ServiceHelper.buildService(processor);
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.List;
+
+import org.apache.camel.BatchProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Helper methods for processing a batch of message exchanges with a {@link Processor}.
+ */
+public final class BatchProcessorHelper {
+
+    private BatchProcessorHelper() {
+        // Helper class
+    }
+
+    /**
+     * Processes the batch of exchanges with the given processor, in one call if the processor is a
+     * {@link BatchProcessor}, or otherwise by processing the exchanges one by one.
+     *
+     * @param  processor the processor
+     * @param  exchanges the exchanges to process
+     * @throws Exception if an internal processing error has occurred, which means the batch as a whole failed
+     */
+    public static void process(Processor processor, List<Exchange> exchanges) throws Exception {
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        if (processor instanceof BatchProcessor) {
+            ((BatchProcessor) processor).processBatch(exchanges);
+        } else {
+            processEach(processor, exchanges);
+        }
+    }
+
+    /**
+     * Processes the exchanges one by one with the given processor, where a failure is set on the exchange that failed,
+     * and the remainder of the batch is still processed.
+     *
+     * @param processor the processor
+     * @param exchanges the exchanges to process
+     */
+    public static void processEach(Processor processor, List<Exchange> exchanges) {
+        for (Exchange exchange : exchanges) {
+            try {
+                processor.process(exchange);
+            } catch (Throwable e) {
+                // must catch throwable so we catch all
+                exchange.setException(e);
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link BatchProcessor} that processes batches with the given processor.
+     *
+     * @param  processor the processor
+     * @return           the processor as is if its already a {@link BatchProcessor}, or otherwise a
+     *                   {@link BatchProcessor} which process the exchanges one by one
+     */
+    public static BatchProcessor convert(Processor processor) {
+        if (processor instanceof BatchProcessor) {
+            return (BatchProcessor) processor;
+        }
+        return new BatchProcessor() {
+            @Override
+            public void processBatch(List<Exchange> exchanges) {
+                processEach(processor, exchanges);
+            }
+
+            @Override
+            public void process(Exchange exchange) throws Exception {
+                processor.process(exchange);
+            }
+
+            @Override
+            public String toString() {
+                return processor.toString();
+            }
+        };
+    }
+}
@@ -25,10 +25,12 @@ public class DefaultEndpointUtilizationStatistics implements EndpointUtilization
 
     private final int maxCapacity;
     private final Map<String, Long> map;
+    private final Map<String, SendTime> times;
 
     @SuppressWarnings("unchecked")
     public DefaultEndpointUtilizationStatistics(int maxCapacity) {
         this.map = LRUCacheFactory.newLRUCache(16, maxCapacity, false);
+        this.times = LRUCacheFactory.newLRUCache(16, maxCapacity, false);
         this.maxCapacity = maxCapacity;
     }
 
@@ -54,8 +56,26 @@ public class DefaultEndpointUtilizationStatistics implements EndpointUtilization
     }
 
     @Override
-    public void remove(String uri) {
+    public synchronized void onSent(String uri, long timeTaken) {
+        times.computeIfAbsent(uri, k -> new SendTime()).update(timeTaken);
+    }
+
+    @Override
+    public synchronized long getMeanTime(String uri) {
+        SendTime time = times.get(uri);
+        return time != null ? time.total / time.count : -1;
+    }
+
+    @Override
+    public synchronized long getMaxTime(String uri) {
+        SendTime time = times.get(uri);
+        return time != null ? time.max : -1;
+    }
+
+    @Override
+    public synchronized void remove(String uri) {
         map.remove(uri);
+        times.remove(uri);
     }
 
     @Override
@@ -64,7 +84,20 @@ public class DefaultEndpointUtilizationStatistics implements EndpointUtilization
     }
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         map.clear();
+        times.clear();
+    }
+
+    private static final class SendTime {
+        private long count;
+        private long total;
+        private long max;
+
+        void update(long timeTaken) {
+            count++;
+            total += timeTaken;
+            max = Math.max(max, timeTaken);
+        }
     }
 }
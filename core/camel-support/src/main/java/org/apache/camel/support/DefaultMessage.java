@@ -49,6 +49,7 @@ public class DefaultMessage extends MessageSupport {
     public DefaultMessage(CamelContext camelContext) {
         this.camelContext = (ExtendedCamelContext) camelContext;
         this.typeConverter = camelContext.getTypeConverter();
+        this.typeConverterRegistry = camelContext.getTypeConverterRegistry();
     }
 
     @Override
@@ -132,9 +133,9 @@ public class DefaultMessage extends MessageSupport {
 
         Exchange e = getExchange();
         if (e != null) {
-            return typeConverter.convertTo(type, e, value);
+            return typeConverterFor(type).convertTo(type, e, value);
         } else {
-            return typeConverter.convertTo(type, value);
+            return typeConverterFor(type).convertTo(type, value);
         }
     }
 
@@ -170,9 +171,9 @@ public class DefaultMessage extends MessageSupport {
 
         Exchange e = getExchange();
         if (e != null) {
-            return typeConverter.convertTo(type, e, value);
+            return typeConverterFor(type).convertTo(type, e, value);
         } else {
-            return typeConverter.convertTo(type, value);
+            return typeConverterFor(type).convertTo(type, value);
         }
     }
 
@@ -196,9 +197,9 @@ public class DefaultMessage extends MessageSupport {
 
         Exchange e = getExchange();
         if (e != null) {
-            return typeConverter.convertTo(type, e, value);
+            return typeConverterFor(type).convertTo(type, e, value);
         } else {
-            return typeConverter.convertTo(type, value);
+            return typeConverterFor(type).convertTo(type, value);
         }
     }
 
@@ -208,6 +209,7 @@ public class DefaultMessage extends MessageSupport {
             headers = createHeaders();
         }
         headers.put(name, value);
+        incrementVersion();
     }
 
     @Override
@@ -219,6 +221,7 @@ public class DefaultMessage extends MessageSupport {
         if (headers.isEmpty()) {
             return null;
         }
+        incrementVersion();
         return headers.remove(name);
     }
 
@@ -236,6 +239,7 @@ public class DefaultMessage extends MessageSupport {
         if (headers.isEmpty()) {
             return false;
         }
+        incrementVersion();
 
         // special optimized
         if (excludePatterns == null && "*".equals(pattern)) {
@@ -284,6 +288,7 @@ public class DefaultMessage extends MessageSupport {
 
     @Override
     public void setHeaders(Map<String, Object> headers) {
+        incrementVersion();
         HeadersMapFactory factory = camelContext.getHeadersMapFactory();
         if (factory != null) {
             if (factory.isInstanceOf(headers)) {
@@ -141,6 +141,36 @@ public final class MessageHelper {
         }
     }
 
+    /**
+     * Gets a result cached on the message, such as a parsed message body, which is valid until the message is changed.
+     *
+     * @param  message the message
+     * @param  key     the key of the result
+     * @return         the cached result, or <tt>null</tt> if not cached or the message does not support caching results
+     * @see            MessageSupport#getCachedResult(Object)
+     */
+    public static Object getCachedResult(Message message, Object key) {
+        if (message instanceof MessageSupport) {
+            return ((MessageSupport) message).getCachedResult(key);
+        }
+        return null;
+    }
+
+    /**
+     * Caches a result on the message, which is discarded when the message is changed. Does nothing if the message does
+     * not support caching results.
+     *
+     * @param message the message
+     * @param key     the key of the result
+     * @param value   the result
+     * @see           MessageSupport#setCachedResult(Object, Object)
+     */
+    public static void setCachedResult(Message message, Object key, Object value) {
+        if (message instanceof MessageSupport) {
+            ((MessageSupport) message).setCachedResult(key, value);
+        }
+    }
+
     /**
      * Returns the MIME content type on the message or <tt>null</tt> if none defined
      */
@@ -16,6 +16,9 @@
  */
 package org.apache.camel.support;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
@@ -25,6 +28,7 @@ import org.apache.camel.Message;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.DataType;
 import org.apache.camel.spi.DataTypeAware;
+import org.apache.camel.spi.TypeConverterRegistry;
 
 /**
  * A base class for implementation inheritance providing the core {@link Message} body handling features but letting the
@@ -36,17 +40,27 @@ import org.apache.camel.spi.DataTypeAware;
 public abstract class MessageSupport implements Message, CamelContextAware, DataTypeAware {
     ExtendedCamelContext camelContext;
     TypeConverter typeConverter;
+    TypeConverterRegistry typeConverterRegistry;
     private Exchange exchange;
     private Object body;
     private String messageId;
     private long messageTimestamp;
     private DataType dataType;
+    private int version;
+    private int cachedResultsVersion;
+    private Object cachedResultsBody;
+    private Map<Object, Object> cachedResults;
 
     @Override
     public void reset() {
         body = null;
         messageId = null;
         dataType = null;
+        incrementVersion();
+        if (cachedResults != null) {
+            cachedResults.clear();
+            cachedResultsBody = null;
+        }
     }
 
     @Override
@@ -93,7 +107,7 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
             // lets first try converting the body itself first
             // as for some types like InputStream v Reader its more efficient to do the transformation
             // from the body itself as its got efficient implementations of them, before trying the message
-            T answer = typeConverter.convertTo(type, e, body);
+            T answer = typeConverterFor(type).convertTo(type, e, body);
             if (answer != null) {
                 return answer;
             }
@@ -120,7 +134,7 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
         Exchange e = getExchange();
         if (e != null) {
             try {
-                return typeConverter.mandatoryConvertTo(type, e, getBody());
+                return typeConverterFor(type).mandatoryConvertTo(type, e, getBody());
             } catch (Exception cause) {
                 throw new InvalidPayloadException(e, type, this, cause);
             }
@@ -132,6 +146,7 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
     @Override
     public void setBody(Object body) {
         this.body = body;
+        incrementVersion();
         // set data type if in use
         if (body != null && camelContext != null && camelContext.isUseDataType()) {
             this.dataType = new DataType(body.getClass());
@@ -154,6 +169,59 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
     public void setBody(Object body, DataType type) {
         this.body = body;
         this.dataType = type;
+        incrementVersion();
+    }
+
+    /**
+     * The version of this message, which is incremented whenever the body or headers are changed using the setter
+     * methods on the message.
+     * <p/>
+     * <b>Important:</b> Changes made directly to the map returned by {@link #getHeaders()}, or to the body object
+     * itself, does not change the version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Increments the version of this message, which discards any cached results.
+     */
+    protected void incrementVersion() {
+        version++;
+    }
+
+    /**
+     * Gets a result cached on this message, such as the parsed body of a language which otherwise would parse the body
+     * on every evaluation.
+     *
+     * @param  key the key of the result
+     * @return     the cached result, or <tt>null</tt> if not cached, or the message has changed since it was cached
+     * @see        #getVersion()
+     */
+    public Object getCachedResult(Object key) {
+        // the body is also compared in case it was set by other means than the setter methods
+        if (cachedResults == null || cachedResultsVersion != version || cachedResultsBody != body) {
+            return null;
+        }
+        return cachedResults.get(key);
+    }
+
+    /**
+     * Caches a result on this message, which is discarded when the message is changed.
+     *
+     * @param key   the key of the result
+     * @param value the result
+     * @see         #getVersion()
+     */
+    public void setCachedResult(Object key, Object value) {
+        if (cachedResults == null) {
+            cachedResults = new HashMap<>(4);
+        } else if (cachedResultsVersion != version || cachedResultsBody != body) {
+            cachedResults.clear();
+        }
+        cachedResultsVersion = version;
+        cachedResultsBody = body;
+        cachedResults.put(key, value);
     }
 
     @Override
@@ -260,6 +328,18 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
     public void setCamelContext(CamelContext camelContext) {
         this.camelContext = (ExtendedCamelContext) camelContext;
         this.typeConverter = camelContext.getTypeConverter();
+        this.typeConverterRegistry = camelContext.getTypeConverterRegistry();
+    }
+
+    /**
+     * Gets the type converter for converting to the given type, which is the handle shared by the type converter
+     * registry when its lookup table is enabled, otherwise the type converter of the {@link CamelContext}.
+     */
+    TypeConverter typeConverterFor(Class<?> type) {
+        if (typeConverterRegistry != null && typeConverterRegistry.isLookupTableEnabled()) {
+            return typeConverterRegistry.getTypeConverterHandle(type);
+        }
+        return typeConverter;
     }
 
     /**
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
+import org.apache.camel.util.concurrent.ThreadHelper;
+import org.apache.camel.util.concurrent.ThreadPerTaskExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory for thread pools that uses virtual threads, which allows to run a very high number of concurrent tasks (such
+ * as calling blocking JDBC, file or HTTP clients) without using an OS thread per task.
+ * <p/>
+ * Instead of pooling threads, a new virtual thread is started per task, and the number of concurrent tasks is by default
+ * unbounded. The settings from the {@link ThreadPoolProfile} can be mapped onto concurrency limits, by enabling
+ * {@link #setConcurrencyLimitEnabled(boolean)}: the max pool size is then the maximum number of tasks running at the
+ * same time, and the max queue size is the maximum number of tasks waiting to run (0 for no waiting tasks, and -1 for
+ * unlimited). The pool size and keep alive time are not in use. The scheduled thread pools are still using platform
+ * threads.
+ * <p/>
+ * Virtual threads requires Java 21 (or Java 19/20 with preview features enabled), and this factory falls back to use
+ * regular thread pools on older JVMs.
+ * <p/>
+ * To use this factory then set it on the {@link org.apache.camel.spi.ExecutorServiceManager}, or when using camel-main
+ * then bind it to the registry.
+ */
+public class VirtualThreadPoolFactory extends DefaultThreadPoolFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPoolFactory.class);
+
+    private boolean concurrencyLimitEnabled;
+
+    public boolean isConcurrencyLimitEnabled() {
+        return concurrencyLimitEnabled;
+    }
+
+    /**
+     * Whether to limit the number of concurrent tasks using the max pool size and max queue size from the thread pool
+     * profiles. This is by default disabled, and the number of concurrent tasks is unbounded. Beware that the default
+     * thread pool profile has a max pool size of 20, which then limits routes using the default profile to run 20 tasks
+     * at the same time.
+     */
+    public void setConcurrencyLimitEnabled(boolean concurrencyLimitEnabled) {
+        this.concurrencyLimitEnabled = concurrencyLimitEnabled;
+    }
+
+    public boolean isVirtualThreadsSupported() {
+        return ThreadHelper.isVirtualThreadsSupported();
+    }
+
+    @Override
+    protected void doInit() throws Exception {
+        super.doInit();
+        if (!isVirtualThreadsSupported()) {
+            LOG.warn("Virtual threads are not supported on this JVM (requires Java 21 or newer)."
+                     + " Using regular thread pools instead.");
+        }
+    }
+
+    @Override
+    public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
+        if (!isVirtualThreadsSupported()) {
+            return super.newCachedThreadPool(threadFactory);
+        }
+        return new ThreadPerTaskExecutorService(asVirtual(threadFactory));
+    }
+
+    @Override
+    public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+        if (!isVirtualThreadsSupported()) {
+            return super.newThreadPool(profile, threadFactory);
+        }
+
+        int maxConcurrentTasks = 0;
+        int maxQueueSize = -1;
+        if (concurrencyLimitEnabled) {
+            maxConcurrentTasks = profile.getMaxPoolSize() != null ? profile.getMaxPoolSize() : 0;
+            // 0 is direct handoff (no waiting tasks) and -1 is unbounded as with regular thread pools
+            maxQueueSize = profile.getMaxQueueSize() != null ? profile.getMaxQueueSize() : -1;
+        }
+        RejectedExecutionHandler handler = profile.getRejectedExecutionHandler();
+        boolean callerRuns = handler == null || handler instanceof ThreadPoolExecutor.CallerRunsPolicy;
+
+        return new ThreadPerTaskExecutorService(asVirtual(threadFactory), maxConcurrentTasks, maxQueueSize, callerRuns);
+    }
+
+    protected ThreadFactory asVirtual(ThreadFactory threadFactory) {
+        if (threadFactory instanceof CamelThreadFactory) {
+            return ((CamelThreadFactory) threadFactory).asVirtual();
+        }
+        // cannot tell how the custom thread factory names its threads so use a sequence in the name
+        return runnable -> ThreadHelper.newVirtualThread(ThreadHelper.resolveThreadName(null, "Virtual"), runnable);
+    }
+
+}
@@ -17,8 +17,13 @@
 package org.apache.camel.support.cache;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -36,6 +41,7 @@ import org.apache.camel.StatefulService;
 import org.apache.camel.spi.EndpointUtilizationStatistics;
 import org.apache.camel.spi.ProducerCache;
 import org.apache.camel.spi.SharedInternalProcessor;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.DefaultEndpointUtilizationStatistics;
 import org.apache.camel.support.EventHelper;
@@ -63,6 +69,8 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
     private final SharedInternalProcessor sharedInternalProcessor;
 
     private EndpointUtilizationStatistics statistics;
+    private List<Endpoint> hotEndpoints;
+    private ExecutorService warmUpExecutor;
     private boolean eventNotifierEnabled = true;
     private boolean extendedStatistics;
     private int maxCacheSize;
@@ -170,6 +178,54 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         producers.release(endpoint, producer);
     }
 
+    /**
+     * Creates and starts the producers for the endpoints in the background, so the first exchanges sent to the
+     * endpoints do not pay for creating the producers. The endpoints which are no longer in the
+     * {@link CamelContext} are skipped.
+     *
+     * @param  endpoints the endpoints
+     * @return           future that completes when the producers have been created
+     */
+    public CompletableFuture<Void> warmUp(Collection<Endpoint> endpoints) {
+        if (producers == null || endpoints.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final List<Endpoint> list = new ArrayList<>(endpoints);
+        return CompletableFuture.runAsync(() -> doWarmUp(list), getOrCreateWarmUpExecutor());
+    }
+
+    private synchronized ExecutorService getOrCreateWarmUpExecutor() {
+        if (warmUpExecutor == null || warmUpExecutor.isShutdown()) {
+            // a single thread which is only kept while warming up (the thread pool is shutdown when stopping Camel)
+            ThreadPoolProfile profile = new ThreadPoolProfile("ProducerCacheWarmUp");
+            profile.setPoolSize(1);
+            profile.setMaxPoolSize(1);
+            profile.setAllowCoreThreadTimeOut(true);
+            warmUpExecutor = camelContext.getExecutorServiceManager().newThreadPool(this, "ProducerCacheWarmUp", profile);
+        }
+        return warmUpExecutor;
+    }
+
+    private void doWarmUp(List<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            if (!isRunAllowed()) {
+                return;
+            }
+            if (camelContext.hasEndpoint(endpoint.getEndpointUri()) == null) {
+                continue;
+            }
+            try {
+                AsyncProducer producer = producers.acquire(endpoint);
+                if (producer != null) {
+                    producers.release(endpoint, producer);
+                }
+                LOG.trace("Warmed up producer for endpoint: {}", endpoint);
+            } catch (Exception e) {
+                LOG.debug("Error warming up producer for endpoint: {}. This exception is ignored.", endpoint, e);
+            }
+        }
+    }
+
     @Override
     public Exchange send(Endpoint endpoint, Exchange exchange, Processor resultProcessor) {
         if (camelContext.isStopped()) {
@@ -187,6 +243,7 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
 
             // send the exchange using the processor
             StopWatch watch = null;
+            long start = statistics != null ? System.nanoTime() : 0;
             try {
                 if (eventNotifierEnabled && camelContext.isEventNotificationApplicable()) {
                     boolean sending = EventHelper.notifyExchangeSending(exchange.getContext(), exchange, endpoint);
@@ -207,6 +264,9 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
                     long timeTaken = watch.taken();
                     EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
                 }
+                if (statistics != null) {
+                    onSent(endpoint, start);
+                }
             }
             return exchange;
         } finally {
@@ -322,6 +382,7 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
             } else {
                 watch = null;
             }
+            final long start = statistics != null ? System.nanoTime() : 0;
 
             // invoke the callback
             return producerCallback.doInAsyncProducer(producer, exchange, doneSync -> {
@@ -331,6 +392,9 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
                         // emit event that the exchange was sent to the endpoint
                         EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
                     }
+                    if (statistics != null) {
+                        onSent(endpoint, start);
+                    }
 
                     // release back to the pool
                     releaseProducer(endpoint, producer);
@@ -348,6 +412,11 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         }
     }
 
+    private void onSent(Endpoint endpoint, long start) {
+        long timeTaken = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        statistics.onSent(endpoint.getEndpointUri(), timeTaken);
+    }
+
     protected boolean asyncDispatchExchange(
             Endpoint endpoint, AsyncProducer producer,
             Processor resultProcessor, Exchange exchange, AsyncCallback callback) {
@@ -392,16 +461,30 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
             statistics.clear();
         }
         ServiceHelper.startService(producers);
+        if (hotEndpoints != null) {
+            // the producers for the hot endpoints were stopped when this cache was stopped
+            warmUp(hotEndpoints);
+            hotEndpoints = null;
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
+        if (producers != null) {
+            hotEndpoints = producers.getHotEndpoints();
+        }
         ServiceHelper.stopService(producers);
     }
 
     @Override
     protected void doShutdown() throws Exception {
         ServiceHelper.stopAndShutdownServices(producers);
+        synchronized (this) {
+            if (warmUpExecutor != null) {
+                camelContext.getExecutorServiceManager().shutdown(warmUpExecutor);
+                warmUpExecutor = null;
+            }
+        }
     }
 
     @Override
@@ -421,8 +504,10 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
     public synchronized void purge() {
         try {
             if (producers != null) {
+                List<Endpoint> hot = producers.getHotEndpoints();
                 producers.stop();
                 producers.start();
+                warmUp(hot);
             }
         } catch (Exception e) {
             LOG.debug("Error restarting producers", e);
@@ -444,6 +529,21 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         return statistics;
     }
 
+    @Override
+    public long getHits() {
+        return producers != null ? producers.getHits() : 0;
+    }
+
+    @Override
+    public long getMisses() {
+        return producers != null ? producers.getMisses() : 0;
+    }
+
+    @Override
+    public long getEvictions() {
+        return producers != null ? producers.getEvictions() : 0;
+    }
+
     @Override
     public String toString() {
         return "ProducerCache for source: " + source + ", capacity: " + getCapacity();
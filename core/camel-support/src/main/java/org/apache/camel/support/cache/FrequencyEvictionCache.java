@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the services in a {@link ServicePool}, which evicts the services by how often their endpoints are
+ * used, instead of how recently as a LRU cache does. This avoids evicting the services for the hot endpoints when
+ * sending to many dynamic endpoints, which are each used only a few times.
+ * <p/>
+ * This is a simplified W-TinyLFU cache. New services are added to a small LRU window (1% of the capacity), and when
+ * they are evicted from the window they are only admitted to the main region, if their endpoint has been used more
+ * often recently than the endpoint of the service they would evict from the main region. The main region is split in
+ * a probation segment, and a protected segment (80% of the main region) for the services which have been used again
+ * while in the main region. The frequencies are estimated by a {@link FrequencySketch}.
+ * <p/>
+ * The hits are recorded in a buffer when the cache is used by another thread, which is drained by the next thread using
+ * the cache, so the threads do not wait for each other to record the hits.
+ * <p/>
+ * The evicted services are passed to the eviction callback from the thread which added the service to the cache.
+ */
+final class FrequencyEvictionCache<S> {
+
+    // the maximum number of hits in the buffer, before a thread waits to record them
+    private static final int MAX_PENDING_HITS = 64;
+
+    private enum Region {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+
+    private final int maximumSize;
+    private final int windowMaximumSize;
+    private final int protectedMaximumSize;
+    private final Function<S, Object> keyOf;
+    private final Consumer<S> onEvict;
+    private final FrequencySketch sketch;
+    private final Map<S, Region> regions = new ConcurrentHashMap<>();
+    // the regions are access ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<S, S> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<S, S> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<S, S> protect = new LinkedHashMap<>(16, 0.75f, true);
+    // guards the regions and the sketch
+    private final ReentrantLock lock = new ReentrantLock();
+    // the hits which are not yet recorded, as the lock was held by another thread
+    private final ConcurrentLinkedQueue<S> pendingHits = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingHitsSize = new AtomicInteger();
+
+    /**
+     * @param maximumSize the maximum number of services
+     * @param keyOf       the key to estimate the frequency of the services by, such as their endpoint
+     * @param onEvict     callback for the evicted services
+     */
+    FrequencyEvictionCache(int maximumSize, Function<S, Object> keyOf, Consumer<S> onEvict) {
+        this.maximumSize = maximumSize;
+        this.windowMaximumSize = Math.max(1, maximumSize / 100);
+        this.protectedMaximumSize = (int) ((maximumSize - windowMaximumSize) * 0.8);
+        this.keyOf = keyOf;
+        this.onEvict = onEvict;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Records that the service is used, and adds the service if not already in the cache, which may evict another
+     * service.
+     */
+    void access(S s) {
+        if (regions.containsKey(s)) {
+            // buffer the hit, which is recorded by this thread, or another thread holding the lock
+            pendingHits.offer(s);
+            if (pendingHitsSize.incrementAndGet() >= MAX_PENDING_HITS) {
+                // too many hits are pending so wait for the lock
+                lock.lock();
+            } else if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                drainPendingHits();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        List<S> evicted;
+        lock.lock();
+        try {
+            drainPendingHits();
+            if (regions.containsKey(s)) {
+                onHit(s);
+                return;
+            }
+            evicted = onMiss(s);
+        } finally {
+            lock.unlock();
+        }
+        // invoke the callback without holding the lock
+        for (S e : evicted) {
+            onEvict.accept(e);
+        }
+    }
+
+    private void drainPendingHits() {
+        S s;
+        while ((s = pendingHits.poll()) != null) {
+            pendingHitsSize.decrementAndGet();
+            onHit(s);
+        }
+    }
+
+    private void onHit(S s) {
+        sketch.increment(keyOf.apply(s));
+        Region region = regions.get(s);
+        if (region == Region.WINDOW) {
+            window.get(s);
+        } else if (region == Region.PROBATION) {
+            // used again so promote to the protected segment, and demote its least recently used service if full
+            probation.remove(s);
+            protect.put(s, s);
+            regions.put(s, Region.PROTECTED);
+            if (protect.size() > protectedMaximumSize) {
+                S demoted = removeEldest(protect);
+                probation.put(demoted, demoted);
+                regions.put(demoted, Region.PROBATION);
+            }
+        } else if (region == Region.PROTECTED) {
+            protect.get(s);
+        }
+    }
+
+    private List<S> onMiss(S s) {
+        sketch.increment(keyOf.apply(s));
+        window.put(s, s);
+        regions.put(s, Region.WINDOW);
+        if (window.size() <= windowMaximumSize) {
+            return Collections.emptyList();
+        }
+
+        S candidate = removeEldest(window);
+        if (probation.size() + protect.size() < maximumSize - windowMaximumSize) {
+            // there is room in the main region
+            probation.put(candidate, candidate);
+            regions.put(candidate, Region.PROBATION);
+            return Collections.emptyList();
+        }
+
+        LinkedHashMap<S, S> victims = !probation.isEmpty() ? probation : protect;
+        S victim = victims.isEmpty() ? null : victims.keySet().iterator().next();
+        if (victim != null && sketch.frequency(keyOf.apply(candidate)) > sketch.frequency(keyOf.apply(victim))) {
+            victims.remove(victim);
+            regions.remove(victim);
+            probation.put(candidate, candidate);
+            regions.put(candidate, Region.PROBATION);
+            return Collections.singletonList(victim);
+        } else {
+            regions.remove(candidate);
+            return Collections.singletonList(candidate);
+        }
+    }
+
+    private static <S> S removeEldest(LinkedHashMap<S, S> map) {
+        Iterator<S> it = map.keySet().iterator();
+        S eldest = it.next();
+        it.remove();
+        return eldest;
+    }
+
+    /**
+     * The number of services in the cache
+     */
+    int size() {
+        return regions.size();
+    }
+
+    /**
+     * All the services in the cache
+     */
+    List<S> values() {
+        lock.lock();
+        try {
+            drainPendingHits();
+            List<S> answer = new ArrayList<>(regions.size());
+            answer.addAll(window.keySet());
+            answer.addAll(probation.keySet());
+            answer.addAll(protect.keySet());
+            return answer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The services which have been used again while in the main region, most recently used first
+     */
+    List<S> hotValues() {
+        lock.lock();
+        try {
+            drainPendingHits();
+            List<S> answer = new ArrayList<>(protect.keySet());
+            Collections.reverse(answer);
+            return answer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the services, but keeps the frequencies of their endpoints
+     */
+    void clear() {
+        lock.lock();
+        try {
+            window.clear();
+            probation.clear();
+            protect.clear();
+            regions.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
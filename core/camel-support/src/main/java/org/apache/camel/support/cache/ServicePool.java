@@ -17,19 +17,20 @@
 package org.apache.camel.support.cache;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.camel.Endpoint;
 import org.apache.camel.NonManagedService;
 import org.apache.camel.Service;
-import org.apache.camel.support.LRUCache;
-import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.function.ThrowingFunction;
 import org.slf4j.Logger;
@@ -50,9 +51,10 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
     // for multi pool then they have their own house-keeping for evictions (more complex)
     private final ConcurrentMap<Endpoint, Pool<S>> singlePoolEvicted = new ConcurrentHashMap<>();
     private int capacity;
-    private Map<S, S> cache;
-    // synchronizes access only to cache
-    private final Object cacheLock;
+    private FrequencyEvictionCache<S> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     private interface Pool<S> {
         S acquire() throws Exception;
@@ -72,18 +74,18 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         this.creator = creator;
         this.getEndpoint = getEndpoint;
         this.capacity = capacity;
-        this.cache = capacity > 0 ? LRUCacheFactory.newLRUCache(capacity, this::onEvict) : null;
-        this.cacheLock = capacity > 0 ? new Object() : null;
+        this.cache = capacity > 0 ? new FrequencyEvictionCache<>(capacity, getEndpoint::apply, this::onEvict) : null;
     }
 
     /**
-     * This callback is invoked by LRUCache from a separate background cleanup thread. Therefore we mark the entries to
-     * be evicted from this thread only, and then let SinglePool and MultiPool handle the evictions (stop the
-     * producer/consumer safely) when they are acquiring/releases producers/consumers. If we sop the producer/consumer
-     * from the LRUCache background thread we can have a race condition with a pooled producer may have been acquired at
+     * This callback is invoked by the cache from the thread which acquired another producer/consumer. Therefore we mark
+     * the entries to be evicted from this thread only, and then let SinglePool and MultiPool handle the evictions (stop
+     * the producer/consumer safely) when they are acquiring/releases producers/consumers. If we stop the
+     * producer/consumer from this thread we can have a race condition with a pooled producer may have been acquired at
      * the same time its being evicted.
      */
     protected void onEvict(S s) {
+        evictions.increment();
         Endpoint e = getEndpoint.apply(s);
         Pool<S> p = pool.get(e);
         if (p != null) {
@@ -111,15 +113,7 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         }
         S s = getOrCreatePool(endpoint).acquire();
         if (s != null && cache != null) {
-            if (isStoppingOrStopped()) {
-                // during stopping then access to the cache is synchronized
-                synchronized (cacheLock) {
-                    cache.putIfAbsent(s, s);
-                }
-            } else {
-                // optimize for normal operation
-                cache.putIfAbsent(s, s);
-            }
+            cache.access(s);
         }
         return s;
     }
@@ -158,13 +152,41 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         return pool.values().stream().mapToInt(Pool::size).sum();
     }
 
+    /**
+     * Number of times a producer/consumer was acquired from the pool without creating a new one
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of times a new producer/consumer was created when acquiring from the pool
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of producers/consumers evicted from the pool
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * The endpoints of the producers/consumers which are used most often, which are kept in the pool when evicting.
+     */
+    public List<Endpoint> getHotEndpoints() {
+        if (cache == null) {
+            return Collections.emptyList();
+        }
+        return cache.hotValues().stream().map(getEndpoint).distinct().collect(Collectors.toList());
+    }
+
     /**
      * Cleanup the pool (removing stale instances that should be evicted)
      */
     public void cleanUp() {
-        if (cache instanceof LRUCache) {
-            ((LRUCache) cache).cleanUp();
-        }
         pool.values().forEach(Pool::cleanUp);
     }
 
@@ -189,10 +211,8 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         pool.values().forEach(Pool::stop);
         pool.clear();
         if (cache != null) {
-            synchronized (cacheLock) {
-                cache.values().forEach(ServicePool::stop);
-                cache.clear();
-            }
+            cache.values().forEach(ServicePool::stop);
+            cache.clear();
         }
         singlePoolEvicted.values().forEach(Pool::stop);
         singlePoolEvicted.clear();
@@ -230,6 +250,7 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         public S acquire() throws Exception {
             cleanupEvicts();
 
+            boolean created = false;
             if (s == null) {
                 synchronized (this) {
                     if (s == null) {
@@ -237,9 +258,15 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
                         S tempS = creator.apply(endpoint);
                         endpoint.getCamelContext().addService(tempS, true, true);
                         s = tempS;
+                        created = true;
                     }
                 }
             }
+            if (created) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
             LOG.trace("Acquired service: {}", s);
             return s;
         }
@@ -347,8 +374,11 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
             synchronized (lock) {
                 s = queue.poll();
                 if (s == null) {
+                    misses.increment();
                     s = creator.apply(endpoint);
                     s.start();
+                } else {
+                    hits.increment();
                 }
             }
             return s;
@@ -20,9 +20,13 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
@@ -37,12 +41,15 @@ import org.apache.camel.util.ObjectHelper;
  * <p/>
  * If the conversion fails an {@link org.apache.camel.InvalidPayloadException} is thrown.
  */
-public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcessor, IdAware, RouteIdAware {
+public class ConvertBodyProcessor extends ServiceSupport
+        implements AsyncProcessor, CamelContextAware, IdAware, RouteIdAware {
+    private CamelContext camelContext;
     private String id;
     private String routeId;
     private final Class<?> type;
     private final String charset;
     private final boolean mandatory;
+    private TypeConverter converter;
 
     public ConvertBodyProcessor(Class<?> type) {
         ObjectHelper.notNull(type, "type", this);
@@ -70,6 +77,16 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
         return id;
     }
 
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -112,9 +129,12 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
             // have explicit configured and expects to be used
             exchange.setProperty(ExchangePropertyKey.CHARSET_NAME, charset);
         }
-        // use mandatory conversion
         Object value;
-        if (mandatory) {
+        if (converter != null) {
+            // the body is often of the same type so use the handle which keeps the type converter resolved for it
+            value = convertBody(exchange, old);
+        } else if (mandatory) {
+            // use mandatory conversion
             value = old.getMandatoryBody(type);
         } else {
             value = old.getBody(type);
@@ -146,6 +166,23 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
         }
     }
 
+    private Object convertBody(Exchange exchange, Message message) throws InvalidPayloadException {
+        Object body = message.getBody();
+        if (mandatory) {
+            try {
+                return converter.mandatoryConvertTo(type, exchange, body);
+            } catch (Exception e) {
+                throw new InvalidPayloadException(exchange, type, message, e);
+            }
+        }
+        Object answer = converter.convertTo(type, exchange, body);
+        if (answer == null) {
+            // fallback and try the message itself (same as Message#getBody(Class))
+            answer = exchange.getContext().getTypeConverter().tryConvertTo(type, exchange, message);
+        }
+        return answer;
+    }
+
     @Override
     public CompletableFuture<Exchange> processAsync(Exchange exchange) {
         AsyncCallbackToCompletableFutureAdapter<Exchange> callback = new AsyncCallbackToCompletableFutureAdapter<>(exchange);
@@ -172,6 +209,13 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
         return charset;
     }
 
+    @Override
+    protected void doInit() throws Exception {
+        if (camelContext != null) {
+            converter = camelContext.getTypeConverterRegistry().createTypeConverterHandle(type);
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         // noop
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+/**
+ * A Bloom filter of 64-bit hashes of keys, used to quickly tell that a key has not been added to an idempotent
+ * repository.
+ */
+final class BloomFilter {
+
+    // upper bound of 256mb for the bits of the filter
+    private static final long MAX_BITS = 1L << 31;
+
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+
+    /**
+     * Creates the filter.
+     *
+     * @param expectedEntries          the expected number of keys
+     * @param falsePositiveProbability the probability of a false positive when the filter holds the expected number of
+     *                                 keys, such as 0.01 for 1%
+     */
+    BloomFilter(long expectedEntries, double falsePositiveProbability) {
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, Math.min(m, MAX_BITS));
+        this.bits = new long[(int) ((m + 63) / 64)];
+        this.numBits = bits.length * 64L;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+    }
+
+    void add(long hash) {
+        long h2 = secondHash(hash);
+        for (int i = 0; i < numHashes; i++) {
+            long index = Math.floorMod(hash + i * h2, numBits);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    /**
+     * Whether the key of the hash may have been added.
+     *
+     * @return <tt>false</tt> if the key has definitely not been added, <tt>true</tt> if it may have been added
+     */
+    boolean mightContain(long hash) {
+        long h2 = secondHash(hash);
+        for (int i = 0; i < numHashes; i++) {
+            long index = Math.floorMod(hash + i * h2, numBits);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getNumBits() {
+        return numBits;
+    }
+
+    int getNumHashes() {
+        return numHashes;
+    }
+
+    private static long secondHash(long hash) {
+        // derive an odd hash for double hashing, so all bits can be reached
+        return (Long.rotateLeft(hash, 32) * 0x9E3779B97F4A7C15L) | 1;
+    }
+}
@@ -0,0 +1,847 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} which can hold a large number of
+ * keys.
+ * <p/>
+ * The keys are appended to a log of segment files in the directory of the repository, and an on-disk hash index (which
+ * is memory-mapped) refers to the record of each key in the segments. An in-memory Bloom filter is used in front of the
+ * index, so checking for keys which has never been added does not need to look up the index or read the segments. The
+ * keys are not held in memory, so the memory usage is bounded by the size of the Bloom filter, and adding or checking a
+ * key takes the same time regardless of the number of keys in the repository.
+ * <p/>
+ * When a segment is full, then a new segment is started. At this point the segments are compacted if more than the
+ * {@link #getCompactionThreshold()} of the records in the segments are removed or expired keys, by rewriting the
+ * current keys to new segments. The index is kept when the repository is stopped so the repository is fast to start
+ * again, and if the repository was not stopped gracefully then the index is rebuilt from the segments on start.
+ * <p/>
+ * The keys can optionally expire after a given {@link #setTimeToLive(long) time to live}.
+ */
+@ManagedResource(description = "Segmented file based idempotent repository")
+public class SegmentedFileIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileIdempotentRepository.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String INDEX_FILE = "index.dat";
+
+    // a record is the type, timestamp and length of the key followed by the key
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final int RECORD_HEADER = 13;
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private final TreeMap<Integer, FileChannel> segments = new TreeMap<>();
+    private File directory;
+    private long maxSegmentSize = 16 * 1024 * 1024L;
+    private long timeToLive;
+    private int expectedEntries = 1000000;
+    private double falsePositiveProbability = 0.01;
+    private double compactionThreshold = 0.5;
+
+    private Index index;
+    private BloomFilter bloomFilter;
+    private int activeSegment;
+    private FileChannel activeChannel;
+    private long activeSize;
+    private long recordCount;
+    private boolean rolled;
+    private long compactionCounter;
+
+    public SegmentedFileIdempotentRepository() {
+    }
+
+    public SegmentedFileIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new segmented file based repository.
+     *
+     * @param directory the directory of the segment and index files
+     */
+    public static IdempotentRepository segmentedFileIdempotentRepository(File directory) {
+        return new SegmentedFileIdempotentRepository(directory);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public synchronized boolean add(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        long now = System.currentTimeMillis();
+        try {
+            if (bloomFilter.mightContain(hash) && find(bytes, hash, now) >= 0) {
+                return false;
+            }
+            long location = append(ADD, now, bytes);
+            insert(hash, location, now, now);
+            if (rolled) {
+                rolled = false;
+                if (isCompactionNeeded(now)) {
+                    doCompact(now);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public synchronized boolean contains(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        if (!bloomFilter.mightContain(hash)) {
+            return false;
+        }
+        try {
+            return find(bytes, hash, System.currentTimeMillis()) >= 0;
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public synchronized boolean remove(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        long now = System.currentTimeMillis();
+        try {
+            int slot = bloomFilter.mightContain(hash) ? find(bytes, hash, now) : -1;
+            if (slot < 0) {
+                return false;
+            }
+            // the removal is logged so the key stays removed if the index is rebuilt from the segments
+            append(REMOVE, now, bytes);
+            index.remove(slot);
+            return true;
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public synchronized void clear() {
+        try {
+            closeSegments(true);
+            index = Index.create(new File(directory, INDEX_FILE), capacityFor(expectedEntries));
+            bloomFilter = new BloomFilter(expectedEntries, falsePositiveProbability);
+            recordCount = 0;
+            startSegment(1);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    /**
+     * Compacts the segments by rewriting the current keys to new segments, and deleting the old segments with the
+     * removed and expired keys.
+     */
+    @ManagedOperation(description = "Compacts the segments by rewriting the current keys to new segments")
+    public synchronized void compact() {
+        try {
+            doCompact(System.currentTimeMillis());
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The directory of the segment and index files.
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The directory path for the store")
+    public String getDirectoryPath() {
+        return directory.getPath();
+    }
+
+    @ManagedAttribute(description = "The maximum size of a segment file in bytes")
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Sets the maximum size of a segment file in bytes, before a new segment is started.
+     * <p/>
+     * The default is 16mb.
+     */
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    @ManagedAttribute(description = "Time in millis after which the keys expire")
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time in millis after a key was added, after which the key expires and is no longer contained in the
+     * repository. You can set the value to 0 or negative to turn this off.
+     * <p/>
+     * The default is 0.
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @ManagedAttribute(description = "The expected number of keys")
+    public int getExpectedEntries() {
+        return expectedEntries;
+    }
+
+    /**
+     * Sets the expected number of keys, which is used for the initial size of the index, and the size of the Bloom
+     * filter. The index and the Bloom filter are grown as needed when there are more keys.
+     * <p/>
+     * The default is 1000000.
+     */
+    public void setExpectedEntries(int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+    }
+
+    @ManagedAttribute(description = "The probability of false positives of the Bloom filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the probability of false positives of the Bloom filter, where the index must be looked up to check a key
+     * which has never been added. A lower probability uses more memory for the Bloom filter.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "The fraction of removed or expired records in the segments which triggers compaction")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the fraction of the records in the segments which must be removed or expired keys, before the segments are
+     * compacted when a new segment is started. You can set the value to 0 or negative to turn this off, and only
+     * compact using the {@link #compact()} operation.
+     * <p/>
+     * The default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @ManagedAttribute(description = "The current number of keys in the index (including expired keys not yet compacted)")
+    public synchronized int getSize() {
+        return index != null ? index.size : 0;
+    }
+
+    @ManagedAttribute(description = "The current number of segment files")
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @ManagedAttribute(description = "The number of records in the segment files")
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    @ManagedAttribute(description = "Number of times the segments has been compacted")
+    public synchronized long getCompactionCounter() {
+        return compactionCounter;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+        if (maxSegmentSize <= RECORD_HEADER || maxSegmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "MaxSegmentSize must be between " + RECORD_HEADER + " and " + Integer.MAX_VALUE + ", was: "
+                                               + maxSegmentSize);
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory: " + directory);
+        }
+
+        synchronized (this) {
+            for (Integer id : listSegments()) {
+                segments.put(id, openSegment(id));
+            }
+
+            File indexFile = new File(directory, INDEX_FILE);
+            index = Index.load(indexFile);
+            if (index != null) {
+                recordCount = index.getRecordCount();
+                bloomFilter = createBloomFilter(index, index.size);
+                LOG.debug("Loaded index with {} keys of idempotent repository: {}", index.size, directory);
+            } else {
+                rebuildIndex(indexFile);
+            }
+
+            if (segments.isEmpty()) {
+                startSegment(1);
+            } else {
+                activeSegment = segments.lastKey();
+                activeChannel = segments.get(activeSegment);
+                activeSize = activeChannel.size();
+            }
+
+            // the index is rebuilt on next start unless stopped gracefully
+            index.setClean(false);
+            index.force();
+        }
+    }
+
+    @Override
+    protected synchronized void doStop() throws Exception {
+        if (index != null) {
+            for (FileChannel channel : segments.values()) {
+                channel.force(false);
+            }
+            index.setRecordCount(recordCount);
+            index.setClean(true);
+            index.force();
+            index = null;
+        }
+        closeSegments(false);
+        bloomFilter = null;
+    }
+
+    /**
+     * Finds the slot of the key in the index
+     *
+     * @return the slot, or <tt>-1</tt> if the key is not in the index or has expired
+     */
+    private int find(byte[] key, long hash, long now) throws IOException {
+        int slot = (int) hash & index.mask;
+        for (int n = 0; n < index.capacity; n++) {
+            long location = index.location(slot);
+            if (location == Index.EMPTY) {
+                return -1;
+            }
+            if (location != Index.REMOVED && index.hash(slot) == hash && !isExpired(index.timestamp(slot), now)
+                    && keyEquals(location, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & index.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts a key which is not in the index, reusing the slot of a removed or expired key if possible.
+     */
+    private void insert(long hash, long location, long timestamp, long now) throws IOException {
+        if (index.used >= index.capacity / 4 * 3) {
+            rehash(now);
+        }
+        int slot = (int) hash & index.mask;
+        while (true) {
+            long current = index.location(slot);
+            if (current == Index.EMPTY) {
+                index.used++;
+                index.size++;
+                break;
+            } else if (current == Index.REMOVED) {
+                index.size++;
+                break;
+            } else if (isExpired(index.timestamp(slot), now)) {
+                break;
+            }
+            slot = (slot + 1) & index.mask;
+        }
+        index.set(slot, hash, location, timestamp);
+        bloomFilter.add(hash);
+    }
+
+    /**
+     * Rebuilds the index (and the Bloom filter) without the removed and expired keys, and grows the index if needed.
+     */
+    private void rehash(long now) throws IOException {
+        int live = countLive(now);
+        File indexFile = new File(directory, INDEX_FILE);
+        File tmp = new File(directory, INDEX_FILE + ".tmp");
+        Index answer = Index.create(tmp, capacityFor(live));
+        for (int slot = 0; slot < index.capacity; slot++) {
+            if (isLive(slot, now)) {
+                answer.put(index.hash(slot), index.location(slot), index.timestamp(slot));
+            }
+        }
+        Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        LOG.debug("Rehashed index of idempotent repository: {} with {} keys from capacity {} to {}", directory, live,
+                index.capacity, answer.capacity);
+        index = answer;
+        bloomFilter = createBloomFilter(index, live);
+    }
+
+    private boolean isCompactionNeeded(long now) {
+        if (compactionThreshold <= 0 || recordCount == 0) {
+            return false;
+        }
+        long live = timeToLive > 0 ? countLive(now) : index.size;
+        return recordCount - live >= recordCount * compactionThreshold;
+    }
+
+    private void doCompact(long now) throws IOException {
+        int live = countLive(now);
+        LOG.debug("Compacting {} segments with {} records to {} keys of idempotent repository: {}", segments.size(),
+                recordCount, live, directory);
+
+        // the current keys are appended to new segments, and a new index is built
+        int firstSegment = activeSegment + 1;
+        Index old = index;
+        File indexFile = new File(directory, INDEX_FILE);
+        File tmp = new File(directory, INDEX_FILE + ".tmp");
+        Index answer = Index.create(tmp, capacityFor(live));
+        startSegment(firstSegment);
+        recordCount = 0;
+        for (int slot = 0; slot < old.capacity; slot++) {
+            if (isLive(slot, now)) {
+                byte[] key = readKey(old.location(slot));
+                if (key != null) {
+                    long timestamp = old.timestamp(slot);
+                    answer.put(old.hash(slot), append(ADD, timestamp, key), timestamp);
+                }
+            }
+        }
+        rolled = false;
+        Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        index = answer;
+        bloomFilter = createBloomFilter(index, index.size);
+
+        // the old segments can be deleted as the keys are in the new segments
+        Iterator<Map.Entry<Integer, FileChannel>> it = segments.headMap(firstSegment).entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, FileChannel> entry = it.next();
+            IOHelper.close(entry.getValue());
+            FileUtil.deleteFile(segmentFile(entry.getKey()));
+            it.remove();
+        }
+        compactionCounter++;
+    }
+
+    private int countLive(long now) {
+        if (timeToLive <= 0) {
+            return index.size;
+        }
+        int answer = 0;
+        for (int slot = 0; slot < index.capacity; slot++) {
+            if (isLive(slot, now)) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    private boolean isLive(int slot, long now) {
+        long location = index.location(slot);
+        return location != Index.EMPTY && location != Index.REMOVED && !isExpired(index.timestamp(slot), now);
+    }
+
+    private boolean isExpired(long timestamp, long now) {
+        return timeToLive > 0 && now - timestamp >= timeToLive;
+    }
+
+    private void rebuildIndex(File indexFile) throws IOException {
+        LOG.info("Rebuilding index of idempotent repository: {} from {} segments", directory, segments.size());
+        index = Index.create(indexFile, capacityFor(expectedEntries));
+        bloomFilter = new BloomFilter(expectedEntries, falsePositiveProbability);
+        recordCount = 0;
+        for (Map.Entry<Integer, FileChannel> entry : segments.entrySet()) {
+            replay(entry.getKey(), entry.getValue());
+        }
+        LOG.info("Rebuilt index with {} keys of idempotent repository: {}", index.size, directory);
+    }
+
+    private void replay(int id, FileChannel channel) throws IOException {
+        long now = System.currentTimeMillis();
+        long length = channel.size();
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segmentFile(id))))) {
+            while (offset + RECORD_HEADER <= length) {
+                byte type = in.readByte();
+                long timestamp = in.readLong();
+                int len = in.readInt();
+                if ((type != ADD && type != REMOVE) || len < 0 || offset + RECORD_HEADER + len > length) {
+                    break;
+                }
+                byte[] key = new byte[len];
+                in.readFully(key);
+
+                long hash = hash(key);
+                int slot = find(key, hash, now);
+                if (type == ADD) {
+                    long location = location(id, offset);
+                    if (slot >= 0) {
+                        index.set(slot, hash, location, timestamp);
+                    } else if (!isExpired(timestamp, now)) {
+                        insert(hash, location, timestamp, now);
+                    }
+                } else if (slot >= 0) {
+                    index.remove(slot);
+                }
+                recordCount++;
+                offset += RECORD_HEADER + len;
+            }
+        } catch (EOFException e) {
+            // incomplete record
+        }
+        if (offset < length) {
+            LOG.warn("Truncating incomplete record at position {} of segment: {}", offset, segmentFile(id));
+            channel.truncate(offset);
+        }
+    }
+
+    /**
+     * Appends the record to the active segment, and starts a new segment when the active segment is full.
+     *
+     * @return the location of the record
+     */
+    private long append(byte type, long timestamp, byte[] key) throws IOException {
+        int length = RECORD_HEADER + key.length;
+        if (activeSize > 0 && activeSize + length > maxSegmentSize) {
+            startSegment(activeSegment + 1);
+            rolled = true;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(type).putLong(timestamp).putInt(key.length).put(key).flip();
+        long offset = activeSize;
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer, offset + buffer.position());
+        }
+        activeSize += length;
+        recordCount++;
+        return location(activeSegment, offset);
+    }
+
+    private boolean keyEquals(long location, byte[] key) throws IOException {
+        FileChannel channel = segments.get(segmentId(location));
+        if (channel == null) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + key.length);
+        readFully(channel, buffer, segmentOffset(location));
+        if (buffer.position() < RECORD_HEADER || buffer.getInt(9) != key.length || buffer.position() < buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(RECORD_HEADER + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] readKey(long location) throws IOException {
+        FileChannel channel = segments.get(segmentId(location));
+        if (channel == null) {
+            return null;
+        }
+        long offset = segmentOffset(location);
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        readFully(channel, header, offset);
+        if (header.hasRemaining()) {
+            return null;
+        }
+        ByteBuffer key = ByteBuffer.allocate(header.getInt(9));
+        readFully(channel, key, offset + RECORD_HEADER);
+        return key.hasRemaining() ? null : key.array();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+    }
+
+    private void startSegment(int id) throws IOException {
+        activeChannel = openSegment(id);
+        segments.put(id, activeChannel);
+        activeSegment = id;
+        activeSize = activeChannel.size();
+    }
+
+    private FileChannel openSegment(int id) throws IOException {
+        return FileChannel.open(segmentFile(id).toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    private void closeSegments(boolean delete) {
+        for (Map.Entry<Integer, FileChannel> entry : segments.entrySet()) {
+            IOHelper.close(entry.getValue(), "Closing segment of idempotent repository", LOG);
+            if (delete) {
+                FileUtil.deleteFile(segmentFile(entry.getKey()));
+            }
+        }
+        segments.clear();
+        activeChannel = null;
+        activeSegment = 0;
+        activeSize = 0;
+    }
+
+    private List<Integer> listSegments() {
+        List<Integer> answer = new ArrayList<>();
+        String[] names = directory.list();
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        answer.add(Integer.parseInt(
+                                name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        LOG.debug("Ignoring file: {} in directory of idempotent repository: {}", name, directory);
+                    }
+                }
+            }
+        }
+        return answer;
+    }
+
+    private File segmentFile(int id) {
+        return new File(directory, SEGMENT_PREFIX + String.format("%010d", id) + SEGMENT_SUFFIX);
+    }
+
+    private BloomFilter createBloomFilter(Index index, int size) {
+        BloomFilter answer = new BloomFilter(Math.max(expectedEntries, size * 2L), falsePositiveProbability);
+        for (int slot = 0; slot < index.capacity; slot++) {
+            long location = index.location(slot);
+            if (location != Index.EMPTY && location != Index.REMOVED) {
+                answer.add(index.hash(slot));
+            }
+        }
+        return answer;
+    }
+
+    private int capacityFor(long size) {
+        // keep the index at most half full, so there is room for new keys before it must be grown again
+        long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(Math.max(1, size * 2 - 1)) << 1);
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException(
+                    "Idempotent repository: " + directory + " cannot hold more than " + MAX_CAPACITY / 2 + " keys");
+        }
+        return (int) capacity;
+    }
+
+    private static long location(int segment, long offset) {
+        return (long) segment << 32 | offset;
+    }
+
+    private static int segmentId(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static long segmentOffset(long location) {
+        return location & 0xffffffffL;
+    }
+
+    /**
+     * A 64-bit hash of the key (FNV-1a with a final mix of the bits), used for both the index and the Bloom filter.
+     */
+    static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e87ecL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * The hash index, which is a memory-mapped file with a header followed by slots of the hash, location and timestamp
+     * of the keys, using open addressing with linear probing.
+     */
+    private static final class Index {
+
+        static final long EMPTY = 0;
+        static final long REMOVED = -1;
+
+        private static final int MAGIC = 0x43494458;
+        private static final int HEADER = 24;
+        private static final int SLOT = 24;
+
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final int mask;
+        // number of slots in use including removed keys, and number of keys
+        private int used;
+        private int size;
+
+        private Index(File file, int capacity) throws IOException {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * SLOT);
+            }
+        }
+
+        static Index create(File file, int capacity) throws IOException {
+            Files.deleteIfExists(file.toPath());
+            Index answer = new Index(file, capacity);
+            answer.buffer.putInt(0, MAGIC);
+            answer.buffer.putInt(4, capacity);
+            return answer;
+        }
+
+        /**
+         * Loads the index if it is valid and was stored when the repository was stopped gracefully.
+         *
+         * @return the index, or <tt>null</tt> if the index must be rebuilt
+         */
+        static Index load(File file) throws IOException {
+            if (!file.exists()) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            long length;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                length = channel.size();
+                readFully(channel, header, 0);
+            }
+            int capacity = header.getInt(4);
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(8) != 1
+                    || capacity < MIN_CAPACITY || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1
+                    || length != HEADER + (long) capacity * SLOT) {
+                return null;
+            }
+            Index answer = new Index(file, capacity);
+            for (int slot = 0; slot < capacity; slot++) {
+                long location = answer.location(slot);
+                if (location != EMPTY) {
+                    answer.used++;
+                    if (location != REMOVED) {
+                        answer.size++;
+                    }
+                }
+            }
+            return answer;
+        }
+
+        long hash(int slot) {
+            return buffer.getLong(HEADER + slot * SLOT);
+        }
+
+        long location(int slot) {
+            return buffer.getLong(HEADER + slot * SLOT + 8);
+        }
+
+        long timestamp(int slot) {
+            return buffer.getLong(HEADER + slot * SLOT + 16);
+        }
+
+        void set(int slot, long hash, long location, long timestamp) {
+            int position = HEADER + slot * SLOT;
+            buffer.putLong(position, hash);
+            buffer.putLong(position + 8, location);
+            buffer.putLong(position + 16, timestamp);
+        }
+
+        void remove(int slot) {
+            buffer.putLong(HEADER + slot * SLOT + 8, REMOVED);
+            size--;
+        }
+
+        /**
+         * Puts a key into the index, which must not contain the key or any removed keys.
+         */
+        void put(long hash, long location, long timestamp) {
+            int slot = (int) hash & mask;
+            while (location(slot) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            set(slot, hash, location, timestamp);
+            used++;
+            size++;
+        }
+
+        long getRecordCount() {
+            return buffer.getLong(16);
+        }
+
+        void setRecordCount(long recordCount) {
+            buffer.putLong(16, recordCount);
+        }
+
+        void setClean(boolean clean) {
+            buffer.putInt(8, clean ? 1 : 0);
+        }
+
+        void force() {
+            buffer.force();
+        }
+    }
+
+}
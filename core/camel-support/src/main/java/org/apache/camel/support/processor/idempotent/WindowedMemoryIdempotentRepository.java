@@ -0,0 +1,448 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.Arrays;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository} which only remembers the keys
+ * within a sliding window of time and/or number of keys.
+ * <p/>
+ * The keys are not stored, but only a 128-bit (or 64-bit) hash of the keys in primitive hash tables, which uses about
+ * 20 bytes per key (or 10 bytes when using 64-bit hashes), and is a fraction of the memory of storing the keys in a
+ * {@link java.util.Map}. The hash tables are a ring of buckets, where new keys are added to the current bucket. When
+ * the current bucket is older than the {@link #getWindow() window} divided by the number of buckets, or holds its share
+ * of the {@link #getMaxEntries() maximum entries}, then the oldest bucket is cleared and becomes the current bucket.
+ * This means the keys expire in bulk one bucket at a time.
+ * <p/>
+ * As the keys are hashed, then there is a tiny probability that a key which has not been added is reported as
+ * contained in the repository, which is about the number of keys divided by 2^128 (or 2^64 when using 64-bit hashes).
+ */
+@ManagedResource(description = "Windowed memory based idempotent repository")
+public class WindowedMemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private long window;
+    private int maxEntries = 1000;
+    private int bucketCount = 10;
+    private int hashBits = 128;
+
+    private Bucket[] buckets;
+    private int current;
+    private long bucketDuration;
+    private int bucketMaxSize;
+    private long duplicateCounter;
+    private long expiredCounter;
+
+    public WindowedMemoryIdempotentRepository() {
+    }
+
+    /**
+     * Creates a new windowed memory based repository.
+     *
+     * @param window     the time window in millis to remember the keys, or 0 to remember the keys regardless of time
+     * @param maxEntries the maximum number of keys to remember, or 0 for no limit
+     */
+    public static IdempotentRepository windowedMemoryIdempotentRepository(long window, int maxEntries) {
+        WindowedMemoryIdempotentRepository answer = new WindowedMemoryIdempotentRepository();
+        answer.setWindow(window);
+        answer.setMaxEntries(maxEntries);
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public synchronized boolean add(String key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        advance(System.currentTimeMillis());
+        if (indexOf(h1, h2) >= 0) {
+            duplicateCounter++;
+            return false;
+        }
+        if (bucketMaxSize > 0 && buckets[current].size >= bucketMaxSize) {
+            rotate(buckets[current].epoch);
+        }
+        buckets[current].add(h1, h2);
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public synchronized boolean contains(String key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        advance(System.currentTimeMillis());
+        return indexOf(h1, h2) >= 0;
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public synchronized boolean remove(String key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        advance(System.currentTimeMillis());
+        int index = indexOf(h1, h2);
+        if (index >= 0) {
+            Bucket bucket = buckets[index];
+            bucket.remove(bucket.find(h1, h2));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public synchronized void clear() {
+        if (buckets != null) {
+            for (Bucket bucket : buckets) {
+                bucket.clear();
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "The time window in millis to remember the keys")
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Sets the time window in millis to remember the keys. You can set the value to 0 or negative to turn this off, and
+     * only use the {@link #setMaxEntries(int) maximum entries}.
+     * <p/>
+     * The default is 0.
+     */
+    public void setWindow(long window) {
+        this.window = window;
+    }
+
+    @ManagedAttribute(description = "The maximum number of keys to remember")
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of keys to remember. As the keys are expired one bucket at a time, then the number of
+     * keys is between the maximum entries minus the share of one bucket and the maximum entries. You can set the value
+     * to 0 or negative to turn this off, and only use the {@link #setWindow(long) window}.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @ManagedAttribute(description = "The number of buckets the keys are expired by")
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Sets the number of buckets the window is divided into. More buckets expire the keys more precisely, but checking
+     * a key must look in every bucket.
+     * <p/>
+     * The default is 10.
+     */
+    public void setBucketCount(int bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+
+    @ManagedAttribute(description = "The number of bits of the hashes of the keys")
+    public int getHashBits() {
+        return hashBits;
+    }
+
+    /**
+     * Sets the number of bits of the hashes of the keys, which can be 64 or 128. With 64-bit hashes the memory usage is
+     * halved, but the probability of a key which has not been added being reported as contained is about the number of
+     * keys divided by 2^64.
+     * <p/>
+     * The default is 128.
+     */
+    public void setHashBits(int hashBits) {
+        this.hashBits = hashBits;
+    }
+
+    @ManagedAttribute(description = "The current number of keys")
+    public synchronized int getSize() {
+        int answer = 0;
+        if (buckets != null) {
+            for (Bucket bucket : buckets) {
+                answer += bucket.size;
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "The memory in bytes used by the hash tables")
+    public synchronized long getMemoryUsage() {
+        long answer = 0;
+        if (buckets != null) {
+            for (Bucket bucket : buckets) {
+                answer += bucket.hashes.length * 8L;
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of duplicate keys which was not added")
+    public synchronized long getDuplicateCounter() {
+        return duplicateCounter;
+    }
+
+    @ManagedAttribute(description = "Number of keys which has expired")
+    public synchronized long getExpiredCounter() {
+        return expiredCounter;
+    }
+
+    @ManagedOperation(description = "Reset the counters")
+    public synchronized void resetStatistics() {
+        duplicateCounter = 0;
+        expiredCounter = 0;
+    }
+
+    @Override
+    protected synchronized void doStart() throws Exception {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("BucketCount must be positive, was: " + bucketCount);
+        }
+        if (hashBits != 64 && hashBits != 128) {
+            throw new IllegalArgumentException("HashBits must be 64 or 128, was: " + hashBits);
+        }
+        bucketDuration = window > 0 ? Math.max(1, window / bucketCount) : 0;
+        bucketMaxSize = maxEntries > 0 ? Math.max(1, maxEntries / bucketCount) : 0;
+
+        int stride = hashBits / 64;
+        int capacity = bucketMaxSize > 0 ? Bucket.capacityFor(bucketMaxSize) : Bucket.MIN_CAPACITY;
+        long epoch = bucketDuration > 0 ? System.currentTimeMillis() / bucketDuration : 0;
+        buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(stride, capacity);
+        }
+        current = 0;
+        buckets[current].epoch = epoch;
+    }
+
+    @Override
+    protected synchronized void doStop() throws Exception {
+        buckets = null;
+    }
+
+    /**
+     * Starts a new bucket when the time of the current bucket has passed, and clears the buckets which are older than
+     * the window.
+     */
+    private void advance(long now) {
+        if (bucketDuration <= 0) {
+            return;
+        }
+        long epoch = now / bucketDuration;
+        if (epoch == buckets[current].epoch) {
+            return;
+        }
+        rotate(epoch);
+        for (Bucket bucket : buckets) {
+            if (bucket.size > 0 && bucket.epoch <= epoch - bucketCount) {
+                expiredCounter += bucket.size;
+                bucket.clear();
+            }
+        }
+    }
+
+    /**
+     * Clears the oldest bucket and makes it the current bucket.
+     */
+    private void rotate(long epoch) {
+        current = (current + 1) % bucketCount;
+        Bucket bucket = buckets[current];
+        expiredCounter += bucket.size;
+        bucket.clear();
+        bucket.epoch = epoch;
+    }
+
+    /**
+     * The index of the bucket which contains the hash, or <tt>-1</tt> if not contained, looking in the newest buckets
+     * first.
+     */
+    private int indexOf(long h1, long h2) {
+        for (int i = 0; i < bucketCount; i++) {
+            int index = (current - i + bucketCount) % bucketCount;
+            Bucket bucket = buckets[index];
+            if (bucket.size > 0 && bucket.find(h1, h2) >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private long hash1(String key) {
+        // FNV-1a over the chars
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = mix(h ^ key.length());
+        // zero marks an empty slot in the hash tables
+        return h != 0 ? h : 1;
+    }
+
+    private long hash2(String key) {
+        if (hashBits == 64) {
+            return 0;
+        }
+        // polynomial hash over the chars with another multiplier, so the hashes are independent
+        long h = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h + key.charAt(i)) * 0xc6a4a7935bd1e995L;
+        }
+        return mix(h + key.length());
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e87ecL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A hash table of the hashes of the keys using open addressing with linear probing. The hashes are stored in a
+     * single array with one or two longs per slot, where the first long is never zero for a used slot.
+     */
+    private static final class Bucket {
+
+        static final int MIN_CAPACITY = 64;
+
+        private final int stride;
+        private final int minCapacity;
+        private long[] hashes;
+        private int mask;
+        private int size;
+        private long epoch;
+
+        Bucket(int stride, int capacity) {
+            this.stride = stride;
+            this.minCapacity = capacity;
+            this.hashes = new long[capacity * stride];
+            this.mask = capacity - 1;
+        }
+
+        static int capacityFor(int size) {
+            // keep the load factor at most 0.8
+            int capacity = MIN_CAPACITY;
+            while (capacity / 5 * 4 < size) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+
+        int find(long h1, long h2) {
+            int slot = (int) h1 & mask;
+            while (true) {
+                long current = hashes[slot * stride];
+                if (current == 0) {
+                    return -1;
+                }
+                if (current == h1 && (stride == 1 || hashes[slot * stride + 1] == h2)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        void add(long h1, long h2) {
+            if (size + 1 > (mask + 1) / 5 * 4) {
+                resize((mask + 1) * 2);
+            }
+            put(h1, h2);
+            size++;
+        }
+
+        private void put(long h1, long h2) {
+            int slot = (int) h1 & mask;
+            while (hashes[slot * stride] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot * stride] = h1;
+            if (stride == 2) {
+                hashes[slot * stride + 1] = h2;
+            }
+        }
+
+        /**
+         * Removes the hash in the slot, and shifts the following hashes back so there are no gaps when probing.
+         */
+        void remove(int slot) {
+            int free = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                long h1 = hashes[next * stride];
+                if (h1 == 0) {
+                    break;
+                }
+                int home = (int) h1 & mask;
+                // the hash can be moved to the free slot unless its home slot is cyclically after the free slot
+                boolean stay = free <= next ? (free < home && home <= next) : (free < home || home <= next);
+                if (!stay) {
+                    System.arraycopy(hashes, next * stride, hashes, free * stride, stride);
+                    free = next;
+                }
+            }
+            Arrays.fill(hashes, free * stride, free * stride + stride, 0);
+            size--;
+        }
+
+        void clear() {
+            if (size > 0) {
+                if (hashes.length > minCapacity * stride * 4) {
+                    // shrink after a burst of keys
+                    hashes = new long[minCapacity * stride];
+                    mask = minCapacity - 1;
+                } else {
+                    Arrays.fill(hashes, 0);
+                }
+                size = 0;
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] old = hashes;
+            hashes = new long[capacity * stride];
+            mask = capacity - 1;
+            for (int i = 0; i < old.length; i += stride) {
+                if (old[i] != 0) {
+                    put(old[i], stride == 2 ? old[i + 1] : 0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ThrottlerStateRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.ThrottlerStateRepository}, where the state of each
+ * correlation key is an atomic long, so the state is updated without locking.
+ * <p/>
+ * The state of a correlation key which has not been used for the idle period is removed, which is checked at most once
+ * per idle period when a new correlation key is added.
+ */
+@ManagedResource(description = "Memory based throttler state repository")
+public class MemoryThrottlerStateRepository extends ServiceSupport implements ThrottlerStateRepository {
+
+    // the value of a state which has been evicted, and which is replaced when the key is used again
+    private static final long EVICTED = -1;
+
+    private final Map<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final AtomicLong lastEvictCheck = new AtomicLong(System.nanoTime());
+    private long idlePeriodMillis = 60000;
+
+    @Override
+    public long get(String key) {
+        AtomicLong state = states.get(key);
+        long answer = state != null ? state.get() : 0;
+        return answer != EVICTED ? answer : 0;
+    }
+
+    @Override
+    public boolean compareAndSet(String key, long expect, long update) {
+        AtomicLong state = states.get(key);
+        if (state == null || state.get() == EVICTED) {
+            if (expect != 0) {
+                return false;
+            }
+            if (state == null) {
+                evictIdleStates();
+                return states.putIfAbsent(key, new AtomicLong(update)) == null;
+            }
+            return states.replace(key, state, new AtomicLong(update));
+        }
+        return state.compareAndSet(expect, update);
+    }
+
+    /**
+     * Removes the states which theoretical arrival time is more than the idle period in the past, as such a state
+     * allows the same as no state at all.
+     */
+    private void evictIdleStates() {
+        long now = System.nanoTime();
+        long last = lastEvictCheck.get();
+        if (now - last < TimeUnit.MILLISECONDS.toNanos(idlePeriodMillis) || !lastEvictCheck.compareAndSet(last, now)) {
+            return;
+        }
+        long threshold = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - idlePeriodMillis);
+        // mark the state as evicted first, so an update racing with the removal is not lost
+        states.values().removeIf(state -> {
+            long value = state.get();
+            return value < threshold && state.compareAndSet(value, EVICTED);
+        });
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        states.clear();
+    }
+
+    @ManagedAttribute(description = "The current number of correlation keys in the store")
+    public int getSize() {
+        return states.size();
+    }
+
+    @ManagedAttribute(description = "The time in millis a correlation key must be idle before it is removed")
+    public long getIdlePeriodMillis() {
+        return idlePeriodMillis;
+    }
+
+    /**
+     * Sets the time in millis a correlation key must be idle before its state is removed.
+     */
+    public void setIdlePeriodMillis(long idlePeriodMillis) {
+        this.idlePeriodMillis = idlePeriodMillis;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        states.clear();
+    }
+}
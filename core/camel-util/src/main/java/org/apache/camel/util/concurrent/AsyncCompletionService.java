@@ -16,6 +16,7 @@
  */
 package org.apache.camel.util.concurrent;
 
+import java.util.Arrays;
 import java.util.PriorityQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -26,12 +27,17 @@ import java.util.function.Consumer;
 
 /**
  * A completion service that orders the completed tasks in the same order as they where submitted.
+ * <p/>
+ * If the completion service is bounded, then the ordered tasks are kept in a ring buffer with room for the given
+ * capacity of tasks, instead of a priority queue. The caller must then ensure that a task is not submitted if that would
+ * mean more than capacity tasks are submitted but not yet polled.
  */
 public class AsyncCompletionService<V> {
 
     private final Executor executor;
     private final boolean ordered;
     private final PriorityQueue<Task> queue;
+    private final Object[] ring;
     private final AtomicInteger nextId = new AtomicInteger();
     private final AtomicInteger index = new AtomicInteger();
     private final ReentrantLock lock;
@@ -46,14 +52,26 @@ public class AsyncCompletionService<V> {
     }
 
     public AsyncCompletionService(Executor executor, boolean ordered, ReentrantLock lock, int capacity) {
+        this(executor, ordered, lock, capacity, false);
+    }
+
+    public AsyncCompletionService(Executor executor, boolean ordered, ReentrantLock lock, int capacity, boolean bounded) {
         this.executor = executor;
         this.ordered = ordered;
         this.lock = lock != null ? lock : new ReentrantLock();
         this.available = this.lock.newCondition();
-        if (capacity > 0) {
+        if (bounded && capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive when bounded, was: " + capacity);
+        }
+        if (bounded && ordered) {
+            queue = null;
+            ring = new Object[capacity];
+        } else if (capacity > 0) {
             queue = new PriorityQueue<>(capacity);
+            ring = null;
         } else {
             queue = new PriorityQueue<>();
+            ring = null;
         }
     }
 
@@ -70,11 +88,22 @@ public class AsyncCompletionService<V> {
         index.incrementAndGet();
     }
 
+    @SuppressWarnings("unchecked")
     public V pollUnordered() {
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            Task t = queue.poll();
+            Task t;
+            if (ring != null) {
+                t = null;
+                for (int i = 0; i < ring.length && t == null; i++) {
+                    int slot = Math.floorMod(index.get() + i, ring.length);
+                    t = (Task) ring[slot];
+                    ring[slot] = null;
+                }
+            } else {
+                t = queue.poll();
+            }
             return t != null ? t.result : null;
         } finally {
             lock.unlock();
@@ -85,13 +114,8 @@ public class AsyncCompletionService<V> {
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            Task t = queue.peek();
-            if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
-                queue.poll();
-                return t.result;
-            } else {
-                return null;
-            }
+            Task t = pollNext();
+            return t != null ? t.result : null;
         } finally {
             lock.unlock();
         }
@@ -103,9 +127,8 @@ public class AsyncCompletionService<V> {
         lock.lockInterruptibly();
         try {
             for (;;) {
-                Task t = queue.peek();
-                if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
-                    queue.poll();
+                Task t = pollNext();
+                if (t != null) {
                     return t.result;
                 }
                 if (nanos <= 0) {
@@ -124,9 +147,8 @@ public class AsyncCompletionService<V> {
         lock.lockInterruptibly();
         try {
             for (;;) {
-                Task t = queue.peek();
-                if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
-                    queue.poll();
+                Task t = pollNext();
+                if (t != null) {
                     return t.result;
                 }
                 available.await();
@@ -136,11 +158,62 @@ public class AsyncCompletionService<V> {
         }
     }
 
+    /**
+     * Polls the next completed task, which must be called while holding the lock.
+     */
+    @SuppressWarnings("unchecked")
+    private Task pollNext() {
+        if (ring != null) {
+            int slot = Math.floorMod(index.get(), ring.length);
+            Task t = (Task) ring[slot];
+            if (t != null && t.id == index.get()) {
+                ring[slot] = null;
+                index.incrementAndGet();
+                return t;
+            }
+            return null;
+        }
+        Task t = queue.peek();
+        if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
+            queue.poll();
+            return t;
+        }
+        return null;
+    }
+
+    /**
+     * Resets this completion service so it can be reused, which discards any completed tasks not yet polled.
+     */
+    public void reset() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (ring != null) {
+                Arrays.fill(ring, null);
+            } else {
+                queue.clear();
+            }
+            nextId.set(0);
+            index.set(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private void complete(Task task) {
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            queue.add(task);
+            if (ring != null) {
+                int slot = Math.floorMod(task.id, ring.length);
+                if (ring[slot] != null) {
+                    throw new IllegalStateException(
+                            "Cannot complete task " + task.id + " as the capacity of " + ring.length + " tasks is exceeded");
+                }
+                ring[slot] = task;
+            } else {
+                queue.add(task);
+            }
             available.signalAll();
         } finally {
             lock.unlock();
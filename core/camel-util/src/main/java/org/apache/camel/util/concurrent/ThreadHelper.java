@@ -16,13 +16,16 @@
  */
 package org.apache.camel.util.concurrent;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import org.apache.camel.util.StringHelper;
 
 /**
- * Various helper method for thread naming.
+ * Various helper method for thread naming and creating threads.
  */
 public final class ThreadHelper {
     public static final String DEFAULT_PATTERN = "Camel Thread ##counter# - #name#";
@@ -30,6 +33,32 @@ public final class ThreadHelper {
 
     private static AtomicLong threadCounter = new AtomicLong();
 
+    // virtual threads are only available from Java 21 (or Java 19/20 with preview enabled) so they are created using
+    // method handles as Camel is compiled for an older Java version
+    private static final MethodHandle VIRTUAL_THREAD_BUILDER;
+    private static final MethodHandle VIRTUAL_THREAD_UNSTARTED;
+
+    static {
+        MethodHandle builder = null;
+        MethodHandle unstarted = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            unstarted = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            // on Java 19/20 the methods exist but fails at runtime if preview is not enabled
+            Object dummy = builder.invoke();
+            unstarted.invoke(dummy, (Runnable) () -> {
+            });
+        } catch (Throwable e) {
+            builder = null;
+            unstarted = null;
+        }
+        VIRTUAL_THREAD_BUILDER = builder;
+        VIRTUAL_THREAD_UNSTARTED = unstarted;
+    }
+
     private ThreadHelper() {
     }
 
@@ -68,4 +97,36 @@ public final class ThreadHelper {
         return answer;
     }
 
+    /**
+     * Whether the JVM supports virtual threads (Java 21 onwards, or Java 19/20 with preview features enabled).
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_BUILDER != null;
+    }
+
+    /**
+     * Creates a new unstarted virtual thread
+     *
+     * @param  name                          the thread name
+     * @param  runnable                      the task the thread should execute
+     * @return                               the unstarted virtual thread
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     * @see                                  #isVirtualThreadsSupported()
+     */
+    public static Thread newVirtualThread(String name, Runnable runnable) {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported on this JVM");
+        }
+        try {
+            Object builder = VIRTUAL_THREAD_BUILDER.invoke();
+            Thread answer = (Thread) VIRTUAL_THREAD_UNSTARTED.invoke(builder, runnable);
+            answer.setName(name);
+            return answer;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error creating virtual thread due " + e.getMessage(), e);
+        }
+    }
+
 }
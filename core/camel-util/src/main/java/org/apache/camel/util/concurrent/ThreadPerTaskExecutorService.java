@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} which starts a new thread for each task, which is intended to be used
+ * with a {@link ThreadFactory} that creates virtual threads.
+ * <p/>
+ * Instead of sizing a pool of threads, the number of tasks running at the same time can be limited by the
+ * <tt>maxConcurrentTasks</tt> option. Tasks exceeding this limit are started but will wait (which is cheap when using
+ * virtual threads) until they are permitted to run, and the number of waiting tasks can be limited by the
+ * <tt>maxQueueSize</tt> option, where 0 means no tasks may wait (direct handoff) and a negative value means unlimited,
+ * as with the thread pools from the {@link java.util.concurrent.ExecutorService} of Camel. Tasks exceeding both limits
+ * are rejected, which either runs the task by the caller
+ * thread, or rejects the task (calling {@link Rejectable#reject()} if the task is {@link Rejectable}, otherwise
+ * throwing {@link RejectedExecutionException}).
+ */
+public class ThreadPerTaskExecutorService extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrentTasks;
+    private final int maxQueueSize;
+    private final boolean callerRunsWhenRejected;
+    private final Semaphore permits;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile boolean shutdown;
+
+    /**
+     * Creates an unbounded executor which starts a new thread per task
+     *
+     * @param threadFactory the thread factory
+     */
+    public ThreadPerTaskExecutorService(ThreadFactory threadFactory) {
+        this(threadFactory, 0, -1, true);
+    }
+
+    /**
+     * Creates an executor which starts a new thread per task
+     *
+     * @param threadFactory          the thread factory
+     * @param maxConcurrentTasks     maximum number of tasks running at the same time, use 0 or negative value for
+     *                               unlimited
+     * @param maxQueueSize           maximum number of tasks waiting to run when the concurrent limit has been reached,
+     *                               use 0 for no waiting tasks (direct handoff) or negative value for unlimited
+     * @param callerRunsWhenRejected whether the caller thread should run the task if the task is rejected, or to reject
+     *                               the task
+     */
+    public ThreadPerTaskExecutorService(ThreadFactory threadFactory, int maxConcurrentTasks, int maxQueueSize,
+                                        boolean callerRunsWhenRejected) {
+        this.threadFactory = threadFactory;
+        this.maxConcurrentTasks = maxConcurrentTasks;
+        this.maxQueueSize = maxQueueSize;
+        this.callerRunsWhenRejected = callerRunsWhenRejected;
+        this.permits = maxConcurrentTasks > 0 ? new Semaphore(maxConcurrentTasks) : null;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        // count the task before checking for shutdown, so shutdown cannot terminate while the task is being started
+        int count = inflight.incrementAndGet();
+        if (shutdown || permits != null && maxQueueSize >= 0 && count > (long) maxConcurrentTasks + maxQueueSize) {
+            taskDone();
+            reject(task);
+            return;
+        }
+
+        Thread thread = threadFactory.newThread(() -> doRun(task));
+        threads.add(thread);
+        try {
+            thread.start();
+        } catch (Throwable e) {
+            threads.remove(thread);
+            taskDone();
+            throw e;
+        }
+    }
+
+    private void doRun(Runnable task) {
+        boolean acquired = false;
+        try {
+            if (permits != null) {
+                permits.acquire();
+                acquired = true;
+            }
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                completed.increment();
+            }
+        } catch (InterruptedException e) {
+            // interrupted while waiting for a permit (shutdownNow) so the task was never run
+            Thread.currentThread().interrupt();
+            if (task instanceof Rejectable) {
+                ((Rejectable) task).reject();
+            }
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+            threads.remove(Thread.currentThread());
+            taskDone();
+        }
+    }
+
+    private void taskDone() {
+        if (inflight.decrementAndGet() == 0 && shutdown) {
+            terminated.countDown();
+        }
+    }
+
+    private void reject(Runnable task) {
+        rejected.increment();
+        if (callerRunsWhenRejected && !shutdown) {
+            task.run();
+        } else if (task instanceof Rejectable) {
+            ((Rejectable) task).reject();
+        } else {
+            throw new RejectedExecutionException("Task " + task + " rejected from " + this);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (inflight.get() == 0) {
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        // there is no task queue as each task has its own thread
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Maximum number of tasks running at the same time (0 or negative for unlimited)
+     */
+    public int getMaxConcurrentTasks() {
+        return maxConcurrentTasks;
+    }
+
+    /**
+     * Maximum number of tasks waiting to run (0 for no waiting tasks, negative for unlimited)
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Number of tasks currently running
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Number of tasks which has been submitted and are either running or waiting to run
+     */
+    public int getInflightCount() {
+        return inflight.get();
+    }
+
+    /**
+     * Number of tasks waiting to run because the concurrent limit has been reached
+     */
+    public int getQueueSize() {
+        return Math.max(0, inflight.get() - active.get());
+    }
+
+    /**
+     * Number of tasks that has completed
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Number of tasks that has been rejected
+     */
+    public long getRejectedTaskCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadPerTaskExecutorService[maxConcurrentTasks=" + maxConcurrentTasks + ", maxQueueSize=" + maxQueueSize
+               + ", inflight=" + inflight.get() + ", active=" + active.get() + "]";
+    }
+}
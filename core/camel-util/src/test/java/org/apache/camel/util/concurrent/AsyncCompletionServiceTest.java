@@ -173,6 +173,28 @@ public class AsyncCompletionServiceTest {
         assertEquals("B", b);
     }
 
+    @Test
+    public void testReset() throws Exception {
+
+        service.submit(result("A"));
+        service.submit(result("B"));
+
+        Object a = service.take();
+        assertEquals("A", a);
+
+        // wait for b to complete, and then discard it
+        Thread.sleep(100);
+        service.reset();
+        assertNull(service.poll());
+
+        // the service can be reused and is ordered from the start again
+        service.submit(result("C"));
+        service.submit(result("D"));
+
+        assertEquals("C", service.take());
+        assertEquals("D", service.take());
+    }
+
     Consumer<Consumer<Object>> result(Object r) {
         return result -> result.accept(r);
     }
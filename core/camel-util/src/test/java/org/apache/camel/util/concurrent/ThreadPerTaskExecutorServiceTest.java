@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThreadPerTaskExecutorServiceTest {
+
+    @Test
+    public void testThreadPerTask() throws Exception {
+        ThreadPerTaskExecutorService service
+                = new ThreadPerTaskExecutorService(new CamelThreadFactory(null, "test", true));
+
+        CountDownLatch latch = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            service.execute(latch::countDown);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(service.isTerminated());
+        assertEquals(10, service.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testMaxConcurrentTasks() throws Exception {
+        ThreadPerTaskExecutorService service
+                = new ThreadPerTaskExecutorService(new CamelThreadFactory(null, "test", true), 2, -1, true);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            service.execute(() -> {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 2, "Should run at most 2 tasks concurrently, was " + maxRunning.get());
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        ThreadPerTaskExecutorService service
+                = new ThreadPerTaskExecutorService(new CamelThreadFactory(null, "test", true), 1, 1, false);
+
+        CountDownLatch block = new CountDownLatch(1);
+        service.execute(() -> awaitQuietly(block));
+        service.execute(() -> awaitQuietly(block));
+
+        assertThrows(RejectedExecutionException.class, () -> service.execute(() -> {
+        }));
+        assertEquals(1, service.getRejectedTaskCount());
+
+        block.countDown();
+        service.shutdown();
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDirectHandoff() throws Exception {
+        ThreadPerTaskExecutorService service
+                = new ThreadPerTaskExecutorService(new CamelThreadFactory(null, "test", true), 1, 0, false);
+
+        CountDownLatch block = new CountDownLatch(1);
+        service.execute(() -> awaitQuietly(block));
+
+        // no tasks may wait for the running task
+        assertThrows(RejectedExecutionException.class, () -> service.execute(() -> {
+        }));
+        assertEquals(1, service.getRejectedTaskCount());
+
+        block.countDown();
+        service.shutdown();
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testExecuteWhileShutdown() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            ThreadPerTaskExecutorService service
+                    = new ThreadPerTaskExecutorService(new CamelThreadFactory(null, "test", true), 0, -1, false);
+            AtomicInteger executed = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        service.execute(executed::incrementAndGet);
+                    }
+                } catch (RejectedExecutionException e) {
+                    // expected when shutdown
+                }
+            });
+            producer.start();
+            started.await();
+            service.shutdown();
+            producer.join(5000);
+
+            // all the tasks that was accepted must have run when terminated
+            assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(executed.get(), service.getCompletedTaskCount());
+            assertEquals(0, service.getInflightCount());
+        }
+    }
+
+    @Test
+    public void testCallerRunsWhenRejected() throws Exception {
+        ThreadPerTaskExecutorService service
+                = new ThreadPerTaskExecutorService(new CamelThreadFactory(null, "test", true), 1, 1, true);
+
+        CountDownLatch block = new CountDownLatch(1);
+        service.execute(() -> awaitQuietly(block));
+        service.execute(() -> awaitQuietly(block));
+
+        String caller = Thread.currentThread().getName();
+        String[] name = new String[1];
+        service.execute(() -> name[0] = Thread.currentThread().getName());
+        assertEquals(caller, name[0]);
+
+        block.countDown();
+        service.shutdown();
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownNow() throws Exception {
+        ThreadPerTaskExecutorService service
+                = new ThreadPerTaskExecutorService(new CamelThreadFactory(null, "test", true));
+
+        CountDownLatch block = new CountDownLatch(1);
+        service.execute(() -> awaitQuietly(block));
+        assertFalse(service.isTerminated());
+
+        service.shutdownNow();
+        assertTrue(service.isShutdown());
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
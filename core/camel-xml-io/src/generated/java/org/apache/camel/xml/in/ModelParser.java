@@ -99,6 +99,7 @@ public class ModelParser extends BaseParser {
                 case "executorService": def.setExecutorService(val); break;
                 case "forceCompletionOnStop": def.setForceCompletionOnStop(val); break;
                 case "ignoreInvalidCorrelationKeys": def.setIgnoreInvalidCorrelationKeys(val); break;
+                case "lockStripes": def.setLockStripes(val); break;
                 case "optimisticLocking": def.setOptimisticLocking(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
                 case "timeoutCheckerExecutorService": def.setTimeoutCheckerExecutorService(val); break;
@@ -277,6 +278,27 @@ public class ModelParser extends BaseParser {
             return true;
         }, optionalIdentifiedDefinitionElementHandler(), noValueHandler());
     }
+    protected ConcurrencyLimitDefinition doParseConcurrencyLimitDefinition() throws IOException, XmlPullParserException {
+        return doParse(new ConcurrencyLimitDefinition(), (def, key, val) -> {
+            switch (key) {
+                case "initialLimit": def.setInitialLimit(val); break;
+                case "longWindow": def.setLongWindow(val); break;
+                case "maxLimit": def.setMaxLimit(val); break;
+                case "maxQueueSize": def.setMaxQueueSize(val); break;
+                case "minLimit": def.setMinLimit(val); break;
+                case "rttTolerance": def.setRttTolerance(val); break;
+                case "smoothing": def.setSmoothing(val); break;
+                default: return processorDefinitionAttributeHandler().accept(def, key, val);
+            }
+            return true;
+        }, (def, key) -> {
+            if ("correlationExpression".equals(key)) {
+                def.setCorrelationExpression(doParseExpressionSubElementDefinition());
+                return true;
+            }
+            return outputDefinitionElementHandler().accept(def, key);
+        }, noValueHandler());
+    }
     protected ContextScanDefinition doParseContextScanDefinition() throws IOException, XmlPullParserException {
         return doParse(new ContextScanDefinition(), (def, key, val) -> {
             if ("includeNonSingletons".equals(key)) {
@@ -1336,9 +1358,11 @@ public class ModelParser extends BaseParser {
                 case "onPrepare": def.setOnPrepare(val); break;
                 case "parallelAggregate": def.setParallelAggregate(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
+                case "parallelWindowSize": def.setParallelWindowSize(val); break;
                 case "shareUnitOfWork": def.setShareUnitOfWork(val); break;
                 case "stopOnException": def.setStopOnException(val); break;
                 case "streaming": def.setStreaming(val); break;
+                case "streamingOrdered": def.setStreamingOrdered(val); break;
                 case "timeout": def.setTimeout(val); break;
                 default: return processorDefinitionAttributeHandler().accept(def, key, val);
             }
@@ -1455,9 +1479,12 @@ public class ModelParser extends BaseParser {
         return doParse(new ThrottleDefinition(), (def, key, val) -> {
             switch (key) {
                 case "asyncDelayed": def.setAsyncDelayed(val); break;
+                case "burstSize": def.setBurstSize(val); break;
                 case "callerRunsWhenRejected": def.setCallerRunsWhenRejected(val); break;
                 case "executorService": def.setExecutorService(val); break;
+                case "mode": def.setMode(val); break;
                 case "rejectExecution": def.setRejectExecution(val); break;
+                case "stateRepository": def.setStateRepository(val); break;
                 case "timePeriodMillis": def.setTimePeriodMillis(val); break;
                 default: return processorDefinitionAttributeHandler().accept(def, key, val);
             }
@@ -3244,6 +3271,7 @@ public class ModelParser extends BaseParser {
             case "otherwise": return doParseOtherwiseDefinition();
             case "circuitBreaker": return doParseCircuitBreakerDefinition();
             case "claimCheck": return doParseClaimCheckDefinition();
+            case "concurrencyLimit": return doParseConcurrencyLimitDefinition();
             case "convertBodyTo": return doParseConvertBodyDefinition();
             case "delay": return doParseDelayDefinition();
             case "dynamicRouter": return doParseDynamicRouterDefinition();
@@ -120,6 +120,53 @@ public interface SedaEndpointBuilderFactory {
         default SedaEndpointConsumerBuilder basic() {
             return (SedaEndpointConsumerBuilder) this;
         }
+        /**
+         * Whether the exchanges each consumer thread takes from the queue in
+         * one go (see pollBatchSize) are routed together as a batch. Steps
+         * which can process a batch of exchanges in one call, such as sending
+         * to a producer which supports batches, then receive all the exchanges
+         * in one call. Each exchange still has its own unit of work and error
+         * handling. This option is only in use when pollBatchSize is greater
+         * than 1, and the queue has a single consumer (multipleConsumers is
+         * disabled).
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param batchProcessing the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder batchProcessing(
+                boolean batchProcessing) {
+            doSetProperty("batchProcessing", batchProcessing);
+            return this;
+        }
+        /**
+         * Whether the exchanges each consumer thread takes from the queue in
+         * one go (see pollBatchSize) are routed together as a batch. Steps
+         * which can process a batch of exchanges in one call, such as sending
+         * to a producer which supports batches, then receive all the exchanges
+         * in one call. Each exchange still has its own unit of work and error
+         * handling. This option is only in use when pollBatchSize is greater
+         * than 1, and the queue has a single consumer (multipleConsumers is
+         * disabled).
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param batchProcessing the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder batchProcessing(
+                String batchProcessing) {
+            doSetProperty("batchProcessing", batchProcessing);
+            return this;
+        }
         /**
          * Allows for bridging the consumer to the Camel routing Error Handler,
          * which mean any exceptions occurred while the consumer is trying to
@@ -15,6 +15,7 @@ import org.apache.camel.model.CatchDefinition;
 import org.apache.camel.model.ChoiceDefinition;
 import org.apache.camel.model.CircuitBreakerDefinition;
 import org.apache.camel.model.ClaimCheckDefinition;
+import org.apache.camel.model.ConcurrencyLimitDefinition;
 import org.apache.camel.model.ContextScanDefinition;
 import org.apache.camel.model.ConvertBodyDefinition;
 import org.apache.camel.model.DataFormatDefinition;
@@ -2002,6 +2003,109 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         }
     }
 
+    @YamlType(
+            nodes = {
+                    "concurrency-limit",
+                    "concurrencyLimit"
+            },
+            types = org.apache.camel.model.ConcurrencyLimitDefinition.class,
+            order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
+            properties = {
+                    @YamlProperty(name = "correlation-expression", type = "object:org.apache.camel.model.ExpressionSubElementDefinition"),
+                    @YamlProperty(name = "description", type = "string"),
+                    @YamlProperty(name = "id", type = "string"),
+                    @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "initial-limit", type = "number"),
+                    @YamlProperty(name = "long-window", type = "number"),
+                    @YamlProperty(name = "max-limit", type = "number"),
+                    @YamlProperty(name = "max-queue-size", type = "number"),
+                    @YamlProperty(name = "min-limit", type = "number"),
+                    @YamlProperty(name = "rtt-tolerance", type = "number"),
+                    @YamlProperty(name = "smoothing", type = "number"),
+                    @YamlProperty(name = "steps", type = "array:org.apache.camel.model.ProcessorDefinition")
+            }
+    )
+    public static class ConcurrencyLimitDefinitionDeserializer extends YamlDeserializerBase<ConcurrencyLimitDefinition> {
+        public ConcurrencyLimitDefinitionDeserializer() {
+            super(ConcurrencyLimitDefinition.class);
+        }
+
+        @Override
+        protected ConcurrencyLimitDefinition newInstance() {
+            return new ConcurrencyLimitDefinition();
+        }
+
+        @Override
+        protected boolean setProperty(ConcurrencyLimitDefinition target, String propertyKey,
+                String propertyName, Node node) {
+            switch(propertyKey) {
+                case "correlation-expression": {
+                    org.apache.camel.model.ExpressionSubElementDefinition val = asType(node, org.apache.camel.model.ExpressionSubElementDefinition.class);
+                    target.setCorrelationExpression(val);
+                    break;
+                }
+                case "inherit-error-handler": {
+                    String val = asText(node);
+                    target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
+                    break;
+                }
+                case "initial-limit": {
+                    String val = asText(node);
+                    target.setInitialLimit(val);
+                    break;
+                }
+                case "long-window": {
+                    String val = asText(node);
+                    target.setLongWindow(val);
+                    break;
+                }
+                case "max-limit": {
+                    String val = asText(node);
+                    target.setMaxLimit(val);
+                    break;
+                }
+                case "max-queue-size": {
+                    String val = asText(node);
+                    target.setMaxQueueSize(val);
+                    break;
+                }
+                case "min-limit": {
+                    String val = asText(node);
+                    target.setMinLimit(val);
+                    break;
+                }
+                case "rtt-tolerance": {
+                    String val = asText(node);
+                    target.setRttTolerance(val);
+                    break;
+                }
+                case "smoothing": {
+                    String val = asText(node);
+                    target.setSmoothing(val);
+                    break;
+                }
+                case "id": {
+                    String val = asText(node);
+                    target.setId(val);
+                    break;
+                }
+                case "description": {
+                    org.apache.camel.model.DescriptionDefinition val = asType(node, org.apache.camel.model.DescriptionDefinition.class);
+                    target.setDescription(val);
+                    break;
+                }
+                case "steps": {
+                    setSteps(target, node);
+                    break;
+                }
+                default: {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @YamlType(
             nodes = "constant",
             inline = true,
@@ -15430,6 +15534,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
             properties = {
                     @YamlProperty(name = "__extends", type = "object:org.apache.camel.model.language.ExpressionDefinition"),
                     @YamlProperty(name = "async-delayed", type = "boolean"),
+                    @YamlProperty(name = "burst-size", type = "number"),
                     @YamlProperty(name = "caller-runs-when-rejected", type = "boolean"),
                     @YamlProperty(name = "correlation-expression", type = "object:org.apache.camel.model.ExpressionSubElementDefinition"),
                     @YamlProperty(name = "description", type = "string"),
@@ -15437,7 +15542,9 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition"),
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "mode", type = "enum:DelayQueue,TokenBucket"),
                     @YamlProperty(name = "reject-execution", type = "boolean"),
+                    @YamlProperty(name = "state-repository", type = "string"),
                     @YamlProperty(name = "time-period-millis", type = "string")
             }
     )
@@ -15460,6 +15567,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setAsyncDelayed(val);
                     break;
                 }
+                case "burst-size": {
+                    String val = asText(node);
+                    target.setBurstSize(val);
+                    break;
+                }
                 case "caller-runs-when-rejected": {
                     String val = asText(node);
                     target.setCallerRunsWhenRejected(val);
@@ -15485,11 +15597,21 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "mode": {
+                    String val = asText(node);
+                    target.setMode(val);
+                    break;
+                }
                 case "reject-execution": {
                     String val = asText(node);
                     target.setRejectExecution(val);
                     break;
                 }
+                case "state-repository": {
+                    String val = asText(node);
+                    target.setStateRepository(val);
+                    break;
+                }
                 case "time-period-millis": {
                     String val = asText(node);
                     target.setTimePeriodMillis(val);
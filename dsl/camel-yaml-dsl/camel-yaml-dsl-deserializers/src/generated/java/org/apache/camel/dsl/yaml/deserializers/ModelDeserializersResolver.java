@@ -69,6 +69,9 @@ public final class ModelDeserializersResolver implements YamlDeserializerResolve
             case "combined-service-filter": return new ModelDeserializers.CombinedServiceCallServiceFilterConfigurationDeserializer();
             case "combinedServiceFilter": return new ModelDeserializers.CombinedServiceCallServiceFilterConfigurationDeserializer();
             case "org.apache.camel.model.cloud.CombinedServiceCallServiceFilterConfiguration": return new ModelDeserializers.CombinedServiceCallServiceFilterConfigurationDeserializer();
+            case "concurrency-limit": return new ModelDeserializers.ConcurrencyLimitDefinitionDeserializer();
+            case "concurrencyLimit": return new ModelDeserializers.ConcurrencyLimitDefinitionDeserializer();
+            case "org.apache.camel.model.ConcurrencyLimitDefinition": return new ModelDeserializers.ConcurrencyLimitDefinitionDeserializer();
             case "constant": return new ModelDeserializers.ConstantExpressionDeserializer();
             case "org.apache.camel.model.language.ConstantExpression": return new ModelDeserializers.ConstantExpressionDeserializer();
             case "consul-service-discovery": return new ModelDeserializers.ConsulServiceCallServiceDiscoveryConfigurationDeserializer();